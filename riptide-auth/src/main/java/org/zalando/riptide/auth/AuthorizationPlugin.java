@@ -14,6 +14,11 @@ public final class AuthorizationPlugin implements Plugin {
 
     private final AuthorizationProvider provider;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundNetwork(final RequestExecution execution) {
         return arguments -> execution.execute(withAuthorizationIfAbsent(arguments));
@@ -0,0 +1,32 @@
+package org.zalando.riptide;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public final class Account {
+
+    private final String id;
+    private final String revision;
+    private final String name;
+
+    public Account(
+            @JsonProperty("id") final String id,
+            @JsonProperty("revision") final String revision,
+            @JsonProperty("name") final String name) {
+        this.id = id;
+        this.revision = revision;
+        this.name = name;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.zalando.riptide;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Shared fixtures of all benchmarks.
+ */
+final class Benchmarks {
+
+    static final String BASE_URL = "https://api.example.org";
+
+    static final byte[] ACCOUNT = ("{\"id\":\"1234567890\",\"revision\":\"1\",\"name\":\"Riptide\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private Benchmarks() {
+
+    }
+
+    static InMemoryRequestFactory json(final HttpStatus status, final byte[] body) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return new InMemoryRequestFactory(status, headers, body);
+    }
+
+    static List<HttpMessageConverter<?>> converters() {
+        return new RestTemplate().getMessageConverters();
+    }
+
+    /**
+     * Resembles a typical, auto-configured client: the original stack trace plugin followed by a number of
+     * pass-through plugins that wrap every phase, just like instrumentation plugins do.
+     *
+     * @param count the number of plugins
+     * @return a list of the given size
+     */
+    static List<Plugin> plugins(final int count) {
+        final List<Plugin> plugins = new ArrayList<>(count);
+
+        if (count > 0) {
+            plugins.add(new OriginalStackTracePlugin());
+        }
+
+        while (plugins.size() < count) {
+            plugins.add(new ForwardingPlugin());
+        }
+
+        return plugins;
+    }
+
+    private static final class ForwardingPlugin implements Plugin {
+
+        @Override
+        public RequestExecution aroundDispatch(final RequestExecution execution) {
+            return arguments -> execution.execute(arguments);
+        }
+
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            return arguments -> execution.execute(arguments);
+        }
+
+    }
+
+}
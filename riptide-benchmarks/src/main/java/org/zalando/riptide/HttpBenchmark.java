@@ -0,0 +1,114 @@
+package org.zalando.riptide;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.zalando.riptide.Bindings.anyContentType;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.anyStatus;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.contentType;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+/**
+ * End-to-end benchmarks of {@link Http}: request building, plugin composition, request URI construction, network
+ * (in-memory), routing and deserialization. Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpBenchmark {
+
+    @Param({"0", "1", "8"})
+    public int plugins;
+
+    private Http http;
+
+    private Route route;
+
+    @Setup
+    public void setup() {
+        this.http = Http.builder()
+                .requestFactory(Benchmarks.json(OK, Benchmarks.ACCOUNT))
+                .baseUrl(Benchmarks.BASE_URL)
+                .plugins(Benchmarks.plugins(plugins))
+                .build();
+
+        this.route = dispatch(series(),
+                on(SUCCESSFUL).dispatch(status(),
+                        on(OK).dispatch(contentType(),
+                                on(APPLICATION_JSON).call(Account.class, this::consume),
+                                anyContentType().call(pass())),
+                        anyStatus().call(pass())),
+                anySeries().call(pass()));
+    }
+
+    private void consume(final Account account) {
+        // deserialization is what's being measured
+    }
+
+    @Benchmark
+    public ClientHttpResponse callAndPass() {
+        return http.get("/accounts/{id}", "1234567890")
+                .call(pass())
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse dispatchAndRead(final Blackhole blackhole) {
+        return http.get("/accounts/{id}", "1234567890")
+                .queryParam("fields", "id,name")
+                .header("X-Flow-ID", "REcCvlqMSReeo7adheiYFA")
+                .accept(APPLICATION_JSON)
+                .dispatch(series(),
+                        on(SUCCESSFUL).dispatch(status(),
+                                on(OK).dispatch(contentType(),
+                                        on(APPLICATION_JSON).call(Account.class, blackhole::consume),
+                                        anyContentType().call(pass())),
+                                anyStatus().call(pass())),
+                        anySeries().call(pass()))
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse dispatchAndReadWithPrebuiltRoute() {
+        return http.get("/accounts/{id}", "1234567890")
+                .queryParam("fields", "id,name")
+                .header("X-Flow-ID", "REcCvlqMSReeo7adheiYFA")
+                .accept(APPLICATION_JSON)
+                .call(route)
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse writeBody() {
+        return http.put("/accounts/{id}", "1234567890")
+                .contentType(APPLICATION_JSON)
+                .body(new Account("1234567890", "1", "Riptide"))
+                .call(pass())
+                .join();
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.zalando.riptide;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * An in-process stand-in for a real {@link ClientHttpRequestFactory}. Request bodies are discarded and every request
+ * is answered with the same canned response, i.e. benchmarks using it measure library overhead only.
+ */
+final class InMemoryRequestFactory implements ClientHttpRequestFactory {
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    InMemoryRequestFactory(final HttpStatusCode status, final HttpHeaders headers, final byte[] body) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
+        return new Request(uri, method);
+    }
+
+    private final class Request extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+
+        private Request(final URI uri, final HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(final HttpHeaders headers) {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(final HttpHeaders headers) {
+            return new Response();
+        }
+
+    }
+
+    private final class Response implements ClientHttpResponse {
+
+        private final InputStream stream = new ByteArrayInputStream(body);
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            return "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return stream;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.zalando.riptide;
+
+import com.google.common.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.OK;
+import static org.zalando.riptide.Types.listOf;
+import static org.zalando.riptide.Types.responseEntityOf;
+
+/**
+ * Benchmarks the default {@link MessageReader}, i.e. converter selection and deserialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageReaderBenchmark {
+
+    private static final URI URL = URI.create(Benchmarks.BASE_URL);
+
+    private static final TypeToken<Account> ACCOUNT = TypeToken.of(Account.class);
+
+    private final MessageReader reader = new DefaultMessageReader(Benchmarks.converters());
+
+    private InMemoryRequestFactory single;
+    private InMemoryRequestFactory list;
+
+    @Setup
+    public void setup() {
+        this.single = Benchmarks.json(OK, Benchmarks.ACCOUNT);
+        this.list = Benchmarks.json(OK, ("[" +
+                new String(Benchmarks.ACCOUNT, StandardCharsets.UTF_8) + "," +
+                new String(Benchmarks.ACCOUNT, StandardCharsets.UTF_8) + "]").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Account read() throws IOException {
+        return reader.read(ACCOUNT, single.createRequest(URL, GET).execute());
+    }
+
+    @Benchmark
+    public ResponseEntity<Account> readResponseEntity() throws IOException {
+        return reader.read(responseEntityOf(Account.class), single.createRequest(URL, GET).execute());
+    }
+
+    @Benchmark
+    public List<Account> readList() throws IOException {
+        return reader.read(listOf(Account.class), list.createRequest(URL, GET).execute());
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.zalando.riptide;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Benchmarks {@link RequestArguments#getRequestUri()}. Every invocation works on a fresh copy of the arguments since
+ * the request URI is cached per instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestUriBenchmark {
+
+    private final List<Object> variables = Arrays.asList("1234567890", "c0ffee");
+
+    private RequestArguments template;
+    private RequestArguments templateWithQuery;
+    private RequestArguments uri;
+
+    @Setup
+    public void setup() {
+        final RequestArguments arguments = RequestArguments.create()
+                .withMethod(GET)
+                .withBaseUrl(URI.create(Benchmarks.BASE_URL));
+
+        this.template = arguments
+                .withUriTemplate("/accounts/{id}/orders/{order}")
+                .replaceUriVariables(variables);
+
+        this.templateWithQuery = template
+                .withQueryParam("fields", "id,name")
+                .withQueryParam("limit", "10")
+                .withQueryParam("q", "name:Riptide+Core");
+
+        this.uri = arguments
+                .withUri(URI.create("/accounts/1234567890/orders/c0ffee"));
+    }
+
+    @Benchmark
+    public URI template() {
+        return template.replaceUriVariables(variables).getRequestUri();
+    }
+
+    @Benchmark
+    public URI templateWithQuery() {
+        return templateWithQuery.replaceUriVariables(variables).getRequestUri();
+    }
+
+    @Benchmark
+    public URI uri() {
+        return uri.withMethod(GET).getRequestUri();
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.zalando.riptide;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.CLIENT_ERROR;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
+import static org.zalando.riptide.Bindings.anyContentType;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.anyStatus;
+import static org.zalando.riptide.Bindings.anyStatusCode;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.contentType;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.Navigators.statusCode;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+/**
+ * Benchmarks nested dispatch (series, status, status code and content type) of a prebuilt {@link RoutingTree}
+ * including reading the response body using the default {@link MessageReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingTreeBenchmark {
+
+    private static final URI URL = URI.create(Benchmarks.BASE_URL);
+
+    private final MessageReader reader = new DefaultMessageReader(Benchmarks.converters());
+
+    private InMemoryRequestFactory success;
+    private InMemoryRequestFactory problem;
+    private Route tree;
+
+    @Setup
+    public void setup() {
+        this.success = Benchmarks.json(OK, Benchmarks.ACCOUNT);
+
+        final byte[] body = "{\"title\":\"Not Found\",\"status\":404}".getBytes();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/problem+json;charset=UTF-8"));
+        this.problem = new InMemoryRequestFactory(NOT_FOUND, headers, body);
+
+        this.tree = dispatch(series(),
+                on(SUCCESSFUL).dispatch(status(),
+                        on(OK).dispatch(contentType(),
+                                on(APPLICATION_JSON).call(Account.class, this::consume),
+                                anyContentType().call(pass())),
+                        on(CREATED).call(pass()),
+                        anyStatus().call(pass())),
+                on(CLIENT_ERROR).dispatch(statusCode(),
+                        on(404).dispatch(contentType(),
+                                on(APPLICATION_PROBLEM_JSON).call(pass()),
+                                anyContentType().call(pass())),
+                        anyStatusCode().call(pass())),
+                anySeries().call(pass()));
+    }
+
+    private void consume(final Account account) {
+        // deserialization is what's being measured
+    }
+
+    @Benchmark
+    public ClientHttpResponse success() throws Exception {
+        return execute(success);
+    }
+
+    /**
+     * The response's content type has parameters and needs a best match.
+     */
+    @Benchmark
+    public ClientHttpResponse problem() throws Exception {
+        return execute(problem);
+    }
+
+    private ClientHttpResponse execute(final InMemoryRequestFactory factory) throws Exception {
+        final ClientHttpResponse response = respond(factory);
+        tree.execute(response, reader);
+        return response;
+    }
+
+    private static ClientHttpResponse respond(final InMemoryRequestFactory factory) throws IOException {
+        return factory.createRequest(URL, GET).execute();
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.zalando.riptide.caching;
+
+import lombok.AllArgsConstructor;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Locale.ROOT;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The directives of one or more {@code Cache-Control} headers.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-5.2">RFC 9111, Section 5.2: Cache-Control</a>
+ */
+@AllArgsConstructor(access = PRIVATE)
+final class CacheControl {
+
+    private final Map<String, String> directives;
+
+    static CacheControl parse(final Collection<String> values) {
+        final Map<String, String> directives = new HashMap<>();
+
+        for (final String value : values) {
+            for (final String directive : split(value)) {
+                final int index = directive.indexOf('=');
+
+                if (index == -1) {
+                    directives.putIfAbsent(directive.toLowerCase(ROOT), "");
+                } else {
+                    directives.putIfAbsent(
+                            directive.substring(0, index).trim().toLowerCase(ROOT),
+                            unquote(directive.substring(index + 1).trim()));
+                }
+            }
+        }
+
+        return new CacheControl(directives);
+    }
+
+    private static List<String> split(final String value) {
+        final List<String> directives = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+
+        for (int index = 0; index <= value.length(); index++) {
+            if (index == value.length() || (value.charAt(index) == ',' && !quoted)) {
+                final String directive = value.substring(start, index).trim();
+
+                if (!directive.isEmpty()) {
+                    directives.add(directive);
+                }
+
+                start = index + 1;
+            } else if (value.charAt(index) == '"') {
+                quoted = !quoted;
+            }
+        }
+
+        return directives;
+    }
+
+    private static String unquote(final String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    boolean has(final String directive) {
+        return directives.containsKey(directive);
+    }
+
+    /**
+     * @param directive the name of a directive with a delta-seconds argument, e.g. {@code max-age}
+     * @return the argument of the given directive, if present and valid; negative values are treated as zero
+     */
+    Optional<Duration> getSeconds(final String directive) {
+        @Nullable final String value = directives.get(directive);
+
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+        } catch (final NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,287 @@
+package org.zalando.riptide.caching;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.time.Duration.ZERO;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.naturalOrder;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.http.HttpHeaders.AGE;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.DATE;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.EXPIRES;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+import static org.springframework.http.HttpHeaders.TRANSFER_ENCODING;
+import static org.springframework.http.HttpHeaders.VARY;
+
+/**
+ * A stored response, including everything that is needed to calculate its age and freshness.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2">RFC 9111, Section 4.2: Freshness</a>
+ */
+@AllArgsConstructor
+final class CacheEntry {
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    /**
+     * The values of all request headers that are nominated by the {@code Vary} response header.
+     */
+    private final Map<String, List<String>> variance;
+
+    private final Instant requestTime;
+    private final Instant responseTime;
+
+    static CacheEntry create(
+            final RequestArguments arguments,
+            final ClientHttpResponse response,
+            final byte[] body,
+            final Instant requestTime,
+            final Instant responseTime) throws IOException {
+
+        final HttpHeaders headers = HttpHeaders.copyOf(response.getHeaders());
+        final Map<String, List<String>> variance = new LinkedHashMap<>();
+
+        for (final String name : getVary(headers)) {
+            variance.put(name, arguments.getHeaders().getOrDefault(name, emptyList()));
+        }
+
+        return new CacheEntry(
+                response.getStatusCode(),
+                response.getStatusText(),
+                headers,
+                body,
+                variance,
+                requestTime,
+                responseTime);
+    }
+
+    static List<String> getVary(final HttpHeaders headers) {
+        return headers.getOrEmpty(VARY).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(toList());
+    }
+
+    long getWeight() {
+        long weight = body.length;
+
+        for (final Map.Entry<String, List<String>> header : headers.headerSet()) {
+            weight += header.getKey().length();
+
+            for (final String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+
+        return weight;
+    }
+
+    CacheControl getCacheControl() {
+        return CacheControl.parse(headers.getOrEmpty(CACHE_CONTROL));
+    }
+
+    /**
+     * @param arguments the current request
+     * @return true if the current request has the same values for all headers nominated by {@code Vary}
+     */
+    boolean matches(final RequestArguments arguments) {
+        return variance.entrySet().stream().allMatch(entry ->
+                entry.getValue().equals(arguments.getHeaders().getOrDefault(entry.getKey(), emptyList())));
+    }
+
+    /**
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.3">RFC 9111, Section 4.2.3: Calculating Age</a>
+     */
+    Duration getAge(final Instant now) {
+        final Duration apparentAge = max(ZERO, Duration.between(getDate(), responseTime));
+        final Duration responseDelay = Duration.between(requestTime, responseTime);
+        final Duration correctedAgeValue = getAgeValue().plus(responseDelay);
+        final Duration correctedInitialAge = max(apparentAge, correctedAgeValue);
+        final Duration residentTime = Duration.between(responseTime, now);
+        return correctedInitialAge.plus(residentTime);
+    }
+
+    /**
+     * Heuristic freshness is not supported, i.e. responses without explicit expiration time are always stale.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.1">RFC 9111, Section 4.2.1: Calculating Freshness Lifetime</a>
+     */
+    Duration getFreshnessLifetime() {
+        final CacheControl control = getCacheControl();
+
+        return control.getSeconds("s-maxage")
+                .or(() -> control.getSeconds("max-age"))
+                .orElseGet(() -> {
+                    @Nullable final Instant expires = parseDate(headers.getFirst(EXPIRES));
+                    return expires == null ? ZERO : max(ZERO, Duration.between(getDate(), expires));
+                });
+    }
+
+    /**
+     * @param now the current time
+     * @param request the directives of the current request
+     * @return true if this entry may be served without revalidation
+     */
+    boolean isFresh(final Instant now, final CacheControl request) {
+        if (getCacheControl().has("no-cache") || request.has("no-cache")) {
+            return false;
+        }
+
+        final Duration age = getAge(now);
+        final Duration lifetime = getFreshnessLifetime();
+        final Duration minFresh = request.getSeconds("min-fresh").orElse(ZERO);
+        final Duration maxAge = request.getSeconds("max-age").orElse(lifetime);
+
+        return age.plus(minFresh).compareTo(lifetime) < 0 && age.compareTo(maxAge) <= 0;
+    }
+
+    /**
+     * @param now the current time
+     * @param request the directives of the current request
+     * @return true if this stale entry may be served while it's being revalidated in the background
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc5861#section-3">RFC 5861, Section 3: The stale-while-revalidate Cache-Control Extension</a>
+     */
+    boolean isStaleWhileRevalidate(final Instant now, final CacheControl request) {
+        return isStaleAllowed(request) && getCacheControl().getSeconds("stale-while-revalidate")
+                .map(window -> isWithin(now, window))
+                .orElse(false);
+    }
+
+    /**
+     * @param now the current time
+     * @param request the directives of the current request
+     * @return true if this stale entry may be served instead of an error
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc5861#section-4">RFC 5861, Section 4: The stale-if-error Cache-Control Extension</a>
+     */
+    boolean isStaleIfError(final Instant now, final CacheControl request) {
+        final Optional<Duration> window = Stream.of(getCacheControl(), request)
+                .map(control -> control.getSeconds("stale-if-error"))
+                .flatMap(Optional::stream)
+                .max(naturalOrder());
+
+        return isStaleAllowed(request) && window.map(duration -> isWithin(now, duration)).orElse(false);
+    }
+
+    /**
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.4">RFC 9111, Section 4.2.4: Serving Stale Responses</a>
+     */
+    private boolean isStaleAllowed(final CacheControl request) {
+        final CacheControl control = getCacheControl();
+
+        return !control.has("no-cache")
+                && !control.has("must-revalidate")
+                && !control.has("proxy-revalidate")
+                && !request.has("no-cache");
+    }
+
+    private boolean isWithin(final Instant now, final Duration window) {
+        return getAge(now).compareTo(getFreshnessLifetime().plus(window)) < 0;
+    }
+
+    boolean hasValidator() {
+        return headers.containsHeader(ETAG) || headers.containsHeader(LAST_MODIFIED);
+    }
+
+    /**
+     * @param arguments the current request
+     * @return the current request, turned into a conditional request using this entry's validators
+     */
+    RequestArguments toConditional(final RequestArguments arguments) {
+        RequestArguments conditional = arguments;
+
+        @Nullable final String etag = headers.getFirst(ETAG);
+        if (etag != null) {
+            conditional = conditional.withHeader(IF_NONE_MATCH, etag);
+        }
+
+        @Nullable final String lastModified = headers.getFirst(LAST_MODIFIED);
+        if (lastModified != null) {
+            conditional = conditional.withHeader(IF_MODIFIED_SINCE, lastModified);
+        }
+
+        return conditional;
+    }
+
+    /**
+     * @param update the headers of a {@code 304 Not Modified} response
+     * @return a new entry with updated headers and timestamps
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-3.2">RFC 9111, Section 3.2: Updating Stored Header Fields</a>
+     */
+    CacheEntry update(final HttpHeaders update, final Instant requestTime, final Instant responseTime) {
+        final HttpHeaders headers = HttpHeaders.copyOf(this.headers);
+
+        update.forEach((name, values) -> {
+            if (!name.equalsIgnoreCase(CONTENT_LENGTH) && !name.equalsIgnoreCase(TRANSFER_ENCODING)) {
+                headers.put(name, values);
+            }
+        });
+
+        return new CacheEntry(statusCode, statusText, headers, body, variance, requestTime, responseTime);
+    }
+
+    ClientHttpResponse toResponse(final Instant now) {
+        final HttpHeaders headers = HttpHeaders.copyOf(this.headers);
+        headers.set(AGE, String.valueOf(getAge(now).getSeconds()));
+        return new CachedClientHttpResponse(statusCode, statusText, headers, new ByteArrayInputStream(body));
+    }
+
+    private Instant getDate() {
+        @Nullable final Instant date = parseDate(headers.getFirst(DATE));
+        return date == null ? responseTime : date;
+    }
+
+    private Duration getAgeValue() {
+        try {
+            @Nullable final String age = headers.getFirst(AGE);
+            return age == null ? ZERO : Duration.ofSeconds(Math.max(0, Long.parseLong(age)));
+        } catch (final NumberFormatException e) {
+            return ZERO;
+        }
+    }
+
+    @Nullable
+    static Instant parseDate(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return ZonedDateTime.parse(value, RFC_1123_DATE_TIME).toInstant();
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Duration max(final Duration left, final Duration right) {
+        return left.compareTo(right) >= 0 ? left : right;
+    }
+
+}
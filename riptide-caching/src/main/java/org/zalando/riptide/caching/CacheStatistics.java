@@ -0,0 +1,48 @@
+package org.zalando.riptide.caching;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public interface CacheStatistics {
+
+    /**
+     * @return the number of requests that were served from the cache without contacting the server
+     */
+    long getHits();
+
+    /**
+     * @return the number of cacheable requests that had to be sent to the server and were not answered with
+     * {@code 304 Not Modified}
+     */
+    long getMisses();
+
+    /**
+     * @return the number of requests that were served from the cache after the server confirmed, using
+     * {@code 304 Not Modified}, that the stored response is still valid
+     */
+    long getRevalidations();
+
+    /**
+     * @return the number of requests that were served with a stale response, either while it was revalidated in the
+     * background or instead of an error
+     */
+    long getStale();
+
+    /**
+     * @return the number of entries that were evicted in order to stay within the maximum size
+     */
+    long getEvictions();
+
+    /**
+     * @return the current number of entries
+     */
+    long getSize();
+
+    /**
+     * @return the current size of all entries, in bytes
+     */
+    long getWeight();
+
+}
@@ -0,0 +1,48 @@
+package org.zalando.riptide.caching;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+
+@AllArgsConstructor
+final class CachedClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final InputStream body;
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+}
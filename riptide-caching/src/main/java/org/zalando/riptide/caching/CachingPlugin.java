@@ -0,0 +1,401 @@
+package org.zalando.riptide.caching;
+
+import com.google.common.collect.ImmutableSet;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.fauxpas.ThrowingSupplier;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.EXPIRES;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+import static org.springframework.http.HttpHeaders.RANGE;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.zalando.fauxpas.FauxPas.handleCompose;
+import static org.zalando.fauxpas.FauxPas.throwingBiFunction;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+
+/**
+ * A transport-independent, in-memory HTTP cache. It behaves like a shared cache, i.e. responses marked as
+ * {@code private} are not stored, and only supports explicit expiration times, i.e. no heuristic freshness.
+ * Stale responses that carry an {@code ETag} or {@code Last-Modified} header are revalidated using conditional
+ * requests.
+ *
+ * Stale responses are served instead of server errors if permitted by {@code stale-if-error}. If an executor for
+ * {@link #withBackgroundRevalidation(Executor) background revalidation} is configured, stale responses are also served
+ * if permitted by {@code stale-while-revalidate}, while being revalidated in the background.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc9111">RFC 9111: HTTP Caching</a>
+ */
+@API(status = EXPERIMENTAL)
+public final class CachingPlugin implements Plugin {
+
+    /**
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9110#section-15.1">RFC 9110, Section 15.1: Overview of Status Codes</a>
+     */
+    private static final ImmutableSet<HttpStatus> CACHEABLE_STATUSES = ImmutableSet.of(
+            HttpStatus.OK,
+            HttpStatus.NON_AUTHORITATIVE_INFORMATION,
+            HttpStatus.NO_CONTENT,
+            HttpStatus.MULTIPLE_CHOICES,
+            HttpStatus.MOVED_PERMANENTLY,
+            HttpStatus.PERMANENT_REDIRECT,
+            HttpStatus.NOT_FOUND,
+            HttpStatus.METHOD_NOT_ALLOWED,
+            HttpStatus.GONE,
+            HttpStatus.URI_TOO_LONG,
+            HttpStatus.NOT_IMPLEMENTED
+    );
+
+    private static final ImmutableSet<HttpMethod> SAFE_METHODS = ImmutableSet.of(
+            HttpMethod.GET,
+            HttpMethod.HEAD,
+            HttpMethod.OPTIONS,
+            HttpMethod.TRACE
+    );
+
+    private static final ImmutableSet<String> CONDITIONAL_HEADERS = ImmutableSet.of(
+            IF_MATCH,
+            IF_MODIFIED_SINCE,
+            IF_NONE_MATCH,
+            IF_RANGE,
+            IF_UNMODIFIED_SINCE,
+            RANGE
+    );
+
+    private static final ImmutableSet<HttpStatus> ERROR_STATUSES = ImmutableSet.of(
+            HttpStatus.INTERNAL_SERVER_ERROR,
+            HttpStatus.BAD_GATEWAY,
+            HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT
+    );
+
+    private final Set<String> revalidations = ConcurrentHashMap.newKeySet();
+
+    private final long maxSize;
+    private final int maxObjectSize;
+    private final Clock clock;
+
+    @Nullable
+    private final Executor executor;
+
+    private final ResponseCache cache;
+
+    public CachingPlugin() {
+        this(64 * 1024 * 1024, 1024 * 1024, Clock.systemUTC(), null);
+    }
+
+    private CachingPlugin(
+            final long maxSize,
+            final int maxObjectSize,
+            final Clock clock,
+            @Nullable final Executor executor) {
+
+        this.maxSize = maxSize;
+        this.maxObjectSize = maxObjectSize;
+        this.clock = clock;
+        this.executor = executor;
+        this.cache = new ResponseCache(maxSize);
+    }
+
+    /**
+     * @param maxSize the maximum size of all cached responses, in bytes
+     * @return a new plugin with an empty cache of the given size
+     */
+    public CachingPlugin withMaxSize(final long maxSize) {
+        return new CachingPlugin(maxSize, maxObjectSize, clock, executor);
+    }
+
+    /**
+     * @param maxObjectSize the maximum size of a single response body, in bytes
+     * @return a new plugin with an empty cache that only stores responses up to the given size
+     */
+    public CachingPlugin withMaxObjectSize(final int maxObjectSize) {
+        return new CachingPlugin(maxSize, maxObjectSize, clock, executor);
+    }
+
+    public CachingPlugin withClock(final Clock clock) {
+        return new CachingPlugin(maxSize, maxObjectSize, clock, executor);
+    }
+
+    /**
+     * Enables {@code stale-while-revalidate}. The executor should be bounded, revalidations that are rejected by it
+     * are skipped. There is at most one background revalidation per cached response at any time.
+     *
+     * @param executor the executor to revalidate stale responses on
+     * @return a new plugin with an empty cache that revalidates in the background
+     */
+    public CachingPlugin withBackgroundRevalidation(final Executor executor) {
+        return new CachingPlugin(maxSize, maxObjectSize, clock, executor);
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            if (!SAFE_METHODS.contains(arguments.getMethod())) {
+                return execution.execute(arguments)
+                        .thenApply(throwingFunction(response -> invalidate(arguments, response)));
+            }
+
+            if (!isCacheable(arguments)) {
+                return execution.execute(arguments);
+            }
+
+            final String key = arguments.getRequestUri().toString();
+            final CacheControl request = getCacheControl(arguments);
+            final Instant now = clock.instant();
+            @Nullable final CacheEntry entry = cache.get(key);
+
+            if (entry == null || !entry.matches(arguments)) {
+                cache.miss();
+                return fetch(execution, arguments, key);
+            }
+
+            if (entry.isFresh(now, request)) {
+                cache.hit();
+                return completedFuture(entry.toResponse(now));
+            }
+
+            if (executor != null && entry.isStaleWhileRevalidate(now, request)) {
+                cache.stale();
+                revalidateInBackground(executor, execution, arguments, key, entry);
+                return completedFuture(entry.toResponse(now));
+            }
+
+            return staleIfError(entry, request, () -> refresh(execution, arguments, key, entry));
+        };
+    }
+
+    private CompletableFuture<ClientHttpResponse> refresh(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final String key,
+            final CacheEntry entry) throws IOException {
+
+        if (entry.hasValidator()) {
+            return revalidate(execution, arguments, key, entry);
+        }
+
+        cache.miss();
+        return fetch(execution, arguments, key);
+    }
+
+    private void revalidateInBackground(
+            final Executor executor,
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final String key,
+            final CacheEntry entry) {
+
+        if (!revalidations.add(key)) {
+            // already in progress
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(execution, arguments, key, entry).whenComplete((response, throwable) -> {
+                        revalidations.remove(key);
+
+                        if (response != null) {
+                            response.close();
+                        }
+                    });
+                } catch (final IOException | RuntimeException e) {
+                    revalidations.remove(key);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            revalidations.remove(key);
+        }
+    }
+
+    private CompletableFuture<ClientHttpResponse> staleIfError(
+            final CacheEntry entry,
+            final CacheControl request,
+            final ThrowingSupplier<CompletableFuture<ClientHttpResponse>, IOException> supplier) {
+
+        CompletableFuture<ClientHttpResponse> future;
+
+        try {
+            future = supplier.tryGet();
+        } catch (final IOException | RuntimeException e) {
+            future = failedFuture(e);
+        }
+
+        return handleCompose(future, throwingBiFunction((response, throwable) -> {
+            final Instant now = clock.instant();
+
+            if (entry.isStaleIfError(now, request) && (throwable != null || isError(response))) {
+                if (response != null) {
+                    response.close();
+                }
+
+                cache.stale();
+                return completedFuture(entry.toResponse(now));
+            }
+
+            return throwable == null ? completedFuture(response) : failedFuture(throwable);
+        }));
+    }
+
+    private static boolean isError(final ClientHttpResponse response) throws IOException {
+        @Nullable final HttpStatus status = HttpStatus.resolve(response.getStatusCode().value());
+        return status != null && ERROR_STATUSES.contains(status);
+    }
+
+    /**
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.4">RFC 9111, Section 4.4: Invalidating Stored Responses</a>
+     */
+    private ClientHttpResponse invalidate(
+            final RequestArguments arguments, final ClientHttpResponse response) throws IOException {
+
+        if (!response.getStatusCode().isError()) {
+            cache.remove(arguments.getRequestUri().toString());
+        }
+
+        return response;
+    }
+
+    private boolean isCacheable(final RequestArguments arguments) {
+        final Map<String, ?> headers = arguments.getHeaders();
+
+        return arguments.getMethod() == HttpMethod.GET
+                && arguments.getEntity().isEmpty()
+                && CONDITIONAL_HEADERS.stream().noneMatch(headers::containsKey)
+                && !getCacheControl(arguments).has("no-store");
+    }
+
+    private CompletableFuture<ClientHttpResponse> revalidate(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final String key,
+            final CacheEntry entry) throws IOException {
+
+        final Instant requestTime = clock.instant();
+
+        return execution.execute(entry.toConditional(arguments))
+                .thenApply(throwingFunction(response -> {
+                    if (response.getStatusCode().value() != NOT_MODIFIED.value()) {
+                        cache.miss();
+                        return store(arguments, key, response, requestTime);
+                    }
+
+                    try (response) {
+                        final CacheEntry updated = entry.update(response.getHeaders(), requestTime, clock.instant());
+                        cache.put(key, updated);
+                        cache.revalidation();
+                        return updated.toResponse(clock.instant());
+                    }
+                }));
+    }
+
+    private CompletableFuture<ClientHttpResponse> fetch(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final String key) throws IOException {
+
+        final Instant requestTime = clock.instant();
+
+        return execution.execute(arguments)
+                .thenApply(throwingFunction(response -> store(arguments, key, response, requestTime)));
+    }
+
+    private ClientHttpResponse store(
+            final RequestArguments arguments,
+            final String key,
+            final ClientHttpResponse response,
+            final Instant requestTime) throws IOException {
+
+        if (!isStorable(arguments, response) || response.getHeaders().getContentLength() > maxObjectSize) {
+            return response;
+        }
+
+        final byte[] body = response.getBody().readNBytes(maxObjectSize + 1);
+
+        if (body.length > maxObjectSize) {
+            return new PrefixedClientHttpResponse(response, body);
+        }
+
+        try (response) {
+            final CacheEntry entry = CacheEntry.create(arguments, response, body, requestTime, clock.instant());
+            cache.put(key, entry);
+            return entry.toResponse(clock.instant());
+        }
+    }
+
+    /**
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-3">RFC 9111, Section 3: Storing Responses in Caches</a>
+     */
+    private boolean isStorable(
+            final RequestArguments arguments, final ClientHttpResponse response) throws IOException {
+
+        @Nullable final HttpStatus status = HttpStatus.resolve(response.getStatusCode().value());
+
+        if (status == null || !CACHEABLE_STATUSES.contains(status)) {
+            return false;
+        }
+
+        final CacheControl control = CacheControl.parse(response.getHeaders().getOrEmpty(CACHE_CONTROL));
+
+        if (control.has("no-store") || control.has("private")) {
+            return false;
+        }
+
+        if (CacheEntry.getVary(response.getHeaders()).contains("*")) {
+            return false;
+        }
+
+        if (arguments.getHeaders().containsKey(AUTHORIZATION)
+                && !(control.has("public") || control.has("s-maxage") || control.has("must-revalidate"))) {
+            return false;
+        }
+
+        return control.has("max-age")
+                || control.has("s-maxage")
+                || response.getHeaders().containsHeader(EXPIRES)
+                || response.getHeaders().containsHeader(ETAG)
+                || response.getHeaders().containsHeader(LAST_MODIFIED);
+    }
+
+    private static CacheControl getCacheControl(final RequestArguments arguments) {
+        return CacheControl.parse(arguments.getHeaders().getOrDefault(CACHE_CONTROL, emptyList()));
+    }
+
+}
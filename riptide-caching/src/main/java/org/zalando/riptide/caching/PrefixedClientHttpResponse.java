@@ -0,0 +1,56 @@
+package org.zalando.riptide.caching;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * A response of which a prefix of the body was already read, e.g. in order to find out whether it's too big to be
+ * cached. The prefix is served first, followed by the remainder of the original body.
+ */
+final class PrefixedClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final InputStream body;
+
+    PrefixedClientHttpResponse(final ClientHttpResponse response, final byte[] prefix) throws IOException {
+        this.response = response;
+        this.body = new SequenceInputStream(new ByteArrayInputStream(prefix), response.getBody());
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.zalando.riptide.caching;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory cache that is bounded by the total size of its entries, in bytes, rather than their number. The
+ * least recently used entries are evicted first.
+ */
+final class ResponseCache implements CacheStatistics {
+
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final long maxWeight;
+    private long weight;
+
+    ResponseCache(final long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    @Nullable
+    CacheEntry get(final String key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(final String key, final CacheEntry entry) {
+        lock.lock();
+        try {
+            remove(entries.remove(key));
+
+            if (entry.getWeight() > maxWeight) {
+                return;
+            }
+
+            entries.put(key, entry);
+            weight += entry.getWeight();
+
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(final String key) {
+        lock.lock();
+        try {
+            remove(entries.remove(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(@Nullable final CacheEntry entry) {
+        if (entry != null) {
+            weight -= entry.getWeight();
+        }
+    }
+
+    private void evict() {
+        final Iterator<CacheEntry> iterator = entries.values().iterator();
+
+        while (weight > maxWeight) {
+            final CacheEntry eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.getWeight();
+            evictions.increment();
+        }
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void revalidation() {
+        revalidations.increment();
+    }
+
+    void stale() {
+        stale.increment();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    @Override
+    public long getStale() {
+        return stale.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.caching;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,64 @@
+package org.zalando.riptide.caching;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CacheControlTest {
+
+    @Test
+    void shouldParseDirectives() {
+        final CacheControl unit = CacheControl.parse(List.of("public, Max-Age=60", "must-revalidate"));
+
+        assertTrue(unit.has("public"));
+        assertTrue(unit.has("must-revalidate"));
+        assertFalse(unit.has("private"));
+        assertThat(unit.getSeconds("max-age"), is(Optional.of(Duration.ofSeconds(60))));
+    }
+
+    @Test
+    void shouldParseQuotedArguments() {
+        final CacheControl unit = CacheControl.parse(List.of("no-cache=\"Set-Cookie, Set-Cookie2\", max-age=\"10\""));
+
+        assertTrue(unit.has("no-cache"));
+        assertThat(unit.getSeconds("max-age"), is(Optional.of(Duration.ofSeconds(10))));
+    }
+
+    @Test
+    void shouldIgnoreEmptyDirectives() {
+        final CacheControl unit = CacheControl.parse(List.of(" , ,no-store,,"));
+
+        assertTrue(unit.has("no-store"));
+        assertFalse(unit.has(""));
+    }
+
+    @Test
+    void shouldPreferFirstOccurrence() {
+        final CacheControl unit = CacheControl.parse(List.of("max-age=10", "max-age=20"));
+
+        assertThat(unit.getSeconds("max-age"), is(Optional.of(Duration.ofSeconds(10))));
+    }
+
+    @Test
+    void shouldIgnoreMissingOrInvalidSeconds() {
+        final CacheControl unit = CacheControl.parse(List.of("max-age=forever"));
+
+        assertThat(unit.getSeconds("max-age"), is(Optional.empty()));
+        assertThat(unit.getSeconds("s-maxage"), is(Optional.empty()));
+    }
+
+    @Test
+    void shouldTreatNegativeSecondsAsZero() {
+        final CacheControl unit = CacheControl.parse(List.of("max-age=-1"));
+
+        assertThat(unit.getSeconds("max-age"), is(Optional.of(Duration.ZERO)));
+    }
+
+}
@@ -0,0 +1,172 @@
+package org.zalando.riptide.caching;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Duration.ZERO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CacheEntryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private static final CacheControl NONE = CacheControl.parse(List.of());
+
+    @Test
+    void shouldCalculateAgeFromResidentTime() {
+        final CacheEntry unit = entry(new HttpHeaders(), NOW, NOW);
+
+        assertThat(unit.getAge(NOW.plusSeconds(10)), is(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void shouldCalculateAgeFromAgeHeaderAndResponseDelay() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Age", "30");
+
+        final CacheEntry unit = entry(headers, NOW.minusSeconds(2), NOW);
+
+        assertThat(unit.getAge(NOW.plusSeconds(10)), is(Duration.ofSeconds(42)));
+    }
+
+    @Test
+    void shouldCalculateAgeFromDateHeader() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Date", "Sun, 18 Oct 2026 11:59:00 GMT");
+
+        final CacheEntry unit = entry(headers, NOW, NOW);
+
+        assertThat(unit.getAge(NOW), is(Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void shouldIgnoreInvalidAgeAndDateHeaders() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Age", "old");
+        headers.set("Date", "yesterday");
+
+        final CacheEntry unit = entry(headers, NOW, NOW);
+
+        assertThat(unit.getAge(NOW), is(ZERO));
+    }
+
+    @Test
+    void shouldPreferSharedMaxAge() {
+        final CacheEntry unit = entry(cacheControl("max-age=10, s-maxage=20"), NOW, NOW);
+
+        assertThat(unit.getFreshnessLifetime(), is(Duration.ofSeconds(20)));
+    }
+
+    @Test
+    void shouldUseMaxAge() {
+        final CacheEntry unit = entry(cacheControl("max-age=10"), NOW, NOW);
+
+        assertThat(unit.getFreshnessLifetime(), is(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void shouldUseExpires() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Date", "Sun, 18 Oct 2026 12:00:00 GMT");
+        headers.set("Expires", "Sun, 18 Oct 2026 12:05:00 GMT");
+
+        final CacheEntry unit = entry(headers, NOW, NOW);
+
+        assertThat(unit.getFreshnessLifetime(), is(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void shouldTreatInvalidOrPastExpiresAsStale() {
+        final HttpHeaders invalid = new HttpHeaders();
+        invalid.set("Expires", "0");
+
+        final HttpHeaders past = new HttpHeaders();
+        past.set("Expires", "Sun, 18 Oct 2026 11:00:00 GMT");
+
+        assertThat(entry(invalid, NOW, NOW).getFreshnessLifetime(), is(ZERO));
+        assertThat(entry(past, NOW, NOW).getFreshnessLifetime(), is(ZERO));
+        assertThat(entry(new HttpHeaders(), NOW, NOW).getFreshnessLifetime(), is(ZERO));
+    }
+
+    @Test
+    void shouldBeFreshWithinLifetime() {
+        final CacheEntry unit = entry(cacheControl("max-age=10"), NOW, NOW);
+
+        assertTrue(unit.isFresh(NOW.plusSeconds(9), NONE));
+        assertFalse(unit.isFresh(NOW.plusSeconds(10), NONE));
+    }
+
+    @Test
+    void shouldNotBeFreshIfNoCache() {
+        final CacheEntry unit = entry(cacheControl("max-age=10, no-cache"), NOW, NOW);
+
+        assertFalse(unit.isFresh(NOW, NONE));
+    }
+
+    @Test
+    void shouldHonorRequestDirectives() {
+        final CacheEntry unit = entry(cacheControl("max-age=10"), NOW, NOW);
+        final Instant now = NOW.plusSeconds(5);
+
+        assertFalse(unit.isFresh(now, CacheControl.parse(List.of("no-cache"))));
+        assertFalse(unit.isFresh(now, CacheControl.parse(List.of("max-age=4"))));
+        assertTrue(unit.isFresh(now, CacheControl.parse(List.of("max-age=5"))));
+        assertFalse(unit.isFresh(now, CacheControl.parse(List.of("min-fresh=5"))));
+        assertTrue(unit.isFresh(now, CacheControl.parse(List.of("min-fresh=4"))));
+    }
+
+    @Test
+    void shouldUpdateHeadersExceptFraming() throws IOException {
+        final HttpHeaders headers = cacheControl("max-age=10");
+        headers.setContentLength(5);
+
+        final HttpHeaders update = cacheControl("max-age=60");
+        update.setContentLength(0);
+        update.set("Transfer-Encoding", "chunked");
+
+        final CacheEntry unit = entry(headers, NOW, NOW)
+                .update(update, NOW.plusSeconds(20), NOW.plusSeconds(21));
+
+        final ClientHttpResponse response = unit.toResponse(NOW.plusSeconds(21));
+
+        assertThat(response.getHeaders().get("Cache-Control"), contains("max-age=60"));
+        assertThat(response.getHeaders().getContentLength(), is(5L));
+        assertThat(response.getHeaders().getFirst("Transfer-Encoding"), is(nullValue()));
+        assertThat(response.getHeaders().getFirst("Age"), is("1"));
+        assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello"));
+    }
+
+    @Test
+    void shouldWeighBodyAndHeaders() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("ETag", "\"1\"");
+
+        assertThat(entry(headers, NOW, NOW).getWeight(), is(5L + 4L + 3L));
+    }
+
+    private static HttpHeaders cacheControl(final String value) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(value);
+        return headers;
+    }
+
+    private static CacheEntry entry(final HttpHeaders headers, final Instant requestTime, final Instant responseTime) {
+        return new CacheEntry(HttpStatus.OK, "OK", headers, "Hello".getBytes(UTF_8), Map.of(),
+                requestTime, responseTime);
+    }
+
+}
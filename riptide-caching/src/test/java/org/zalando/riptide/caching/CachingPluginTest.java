@@ -0,0 +1,633 @@
+package org.zalando.riptide.caching;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestArguments.Entity;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.HEAD;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.caching.MockWebServerUtil.getBaseUrl;
+
+final class CachingPluginTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final TestClock clock = new TestClock();
+
+    private final Queue<ClientHttpResponse> responses = new ArrayDeque<>();
+    private final List<RequestArguments> requests = new ArrayList<>();
+
+    private final CachingPlugin unit = new CachingPlugin().withClock(clock);
+    private final RequestExecution execution = unit.aroundNetwork(arguments -> {
+        requests.add(arguments);
+        return CompletableFuture.completedFuture(responses.remove());
+    });
+
+    @SneakyThrows
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldServeFreshResponseFromCache() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=60"));
+
+        assertEquals("Hello", read(execute(arguments(GET))));
+        clock.advance(10);
+        final ClientHttpResponse response = execute(arguments(GET));
+
+        assertEquals("Hello", read(response));
+        assertEquals("10", response.getHeaders().getFirst("Age"));
+        response.close();
+        assertThat(requests, hasSize(1));
+        assertEquals(1, unit.getStatistics().getHits());
+        assertEquals(1, unit.getStatistics().getMisses());
+    }
+
+    @Test
+    void shouldRevalidateStaleResponseUsingETag() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10", "ETag", "\"v1\""));
+        responses.add(response(NOT_MODIFIED, "", "Cache-Control", "max-age=60"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+        final ClientHttpResponse revalidated = execute(arguments(GET));
+        clock.advance(30);
+        final ClientHttpResponse cached = execute(arguments(GET));
+
+        assertEquals(OK, revalidated.getStatusCode());
+        assertEquals("OK", revalidated.getStatusText());
+        assertEquals("Hello", read(revalidated));
+        assertEquals("Hello", read(cached));
+        assertThat(requests, hasSize(2));
+        assertEquals("\"v1\"", header(requests.get(1), "If-None-Match"));
+        assertEquals(1, unit.getStatistics().getRevalidations());
+        assertEquals(1, unit.getStatistics().getHits());
+    }
+
+    @Test
+    void shouldRevalidateStaleResponseUsingLastModified() throws IOException {
+        final String lastModified = "Sun, 18 Oct 2026 10:00:00 GMT";
+        responses.add(response("Hello", "Last-Modified", lastModified));
+        responses.add(response(NOT_MODIFIED, ""));
+
+        execute(arguments(GET));
+        final ClientHttpResponse response = execute(arguments(GET));
+
+        assertEquals("Hello", read(response));
+        assertEquals(lastModified, header(requests.get(1), "If-Modified-Since"));
+        assertThat(header(requests.get(1), "If-None-Match"), is(nullValue()));
+    }
+
+    @Test
+    void shouldReplaceModifiedResponse() throws IOException {
+        responses.add(response("Hello", "ETag", "\"v1\""));
+        responses.add(response("World", "Cache-Control", "max-age=60", "ETag", "\"v2\""));
+
+        execute(arguments(GET));
+        assertEquals("World", read(execute(arguments(GET))));
+        assertEquals("World", read(execute(arguments(GET))));
+
+        assertThat(requests, hasSize(2));
+        assertEquals(2, unit.getStatistics().getMisses());
+        assertEquals(0, unit.getStatistics().getRevalidations());
+    }
+
+    @Test
+    void shouldNotRevalidateWithoutValidator() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10"));
+        responses.add(response("World"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+        assertEquals("World", read(execute(arguments(GET))));
+
+        assertThat(header(requests.get(1), "If-None-Match"), is(nullValue()));
+        assertThat(header(requests.get(1), "If-Modified-Since"), is(nullValue()));
+    }
+
+    @Test
+    void shouldNotStoreUncacheableResponses() throws IOException {
+        responses.add(response("no-store", "Cache-Control", "max-age=60, no-store"));
+        responses.add(response("private", "Cache-Control", "max-age=60, private"));
+        responses.add(response("vary", "Cache-Control", "max-age=60", "Vary", "Accept, *"));
+        responses.add(response(INTERNAL_SERVER_ERROR, "error", "Cache-Control", "max-age=60"));
+        responses.add(response("implicit"));
+        responses.add(new MockClientHttpResponse("unknown".getBytes(UTF_8), 299));
+
+        for (int i = 0; i < 6; i++) {
+            execute(arguments(GET));
+        }
+
+        assertThat(requests, hasSize(6));
+        assertEquals(0, unit.getStatistics().getSize());
+        assertEquals(6, unit.getStatistics().getMisses());
+    }
+
+    @Test
+    void shouldOnlyStoreAuthorizedResponsesIfExplicitlyAllowed() throws IOException {
+        responses.add(response("private", "Cache-Control", "max-age=60"));
+        responses.add(response("public", "Cache-Control", "max-age=60, public"));
+        responses.add(response("shared", "Cache-Control", "s-maxage=60"));
+        responses.add(response("revalidate", "Cache-Control", "max-age=60, must-revalidate"));
+
+        final RequestArguments arguments = arguments(GET).withHeader("Authorization", "Bearer token");
+
+        for (int i = 0; i < 4; i++) {
+            execute(arguments.withQueryParam("i", String.valueOf(i)));
+        }
+
+        assertEquals(3, unit.getStatistics().getSize());
+    }
+
+    @Test
+    void shouldBypassCacheForUncacheableRequests() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=60"));
+        execute(arguments(GET));
+
+        responses.add(response("no-store"));
+        responses.add(response("conditional"));
+        responses.add(response("range"));
+        responses.add(response("body"));
+        responses.add(response("head"));
+
+        assertEquals("no-store", read(execute(arguments(GET).withHeader("Cache-Control", "no-store"))));
+        assertEquals("conditional", read(execute(arguments(GET).withHeader("If-None-Match", "\"v1\""))));
+        assertEquals("range", read(execute(arguments(GET).withHeader("Range", "bytes=0-1"))));
+        assertEquals("body", read(execute(arguments(GET).withEntity(message ->
+                message.getBody().write("{}".getBytes(UTF_8))))));
+        assertEquals("head", read(execute(arguments(HEAD))));
+
+        assertEquals(1, unit.getStatistics().getSize());
+        assertEquals(0, unit.getStatistics().getHits());
+    }
+
+    @Test
+    void shouldRevalidateIfRequestedByClient() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=60", "ETag", "\"v1\""));
+        responses.add(response(NOT_MODIFIED, ""));
+
+        execute(arguments(GET));
+        execute(arguments(GET).withHeader("Cache-Control", "no-cache"));
+
+        assertThat(requests, hasSize(2));
+        assertEquals("\"v1\"", header(requests.get(1), "If-None-Match"));
+    }
+
+    @Test
+    void shouldSelectByVary() throws IOException {
+        responses.add(response("json", "Cache-Control", "max-age=60", "Vary", "Accept"));
+        responses.add(response("xml", "Cache-Control", "max-age=60", "Vary", "Accept"));
+
+        execute(arguments(GET).withHeader("Accept", "application/json"));
+        assertEquals("json", read(execute(arguments(GET).withHeader("accept", "application/json"))));
+        assertEquals("xml", read(execute(arguments(GET).withHeader("Accept", "application/xml"))));
+
+        assertThat(requests, hasSize(2));
+    }
+
+    @Test
+    void shouldInvalidateOnSuccessfulUnsafeRequest() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=60"));
+        responses.add(response(INTERNAL_SERVER_ERROR, "error"));
+        responses.add(response("created"));
+        responses.add(response("World", "Cache-Control", "max-age=60"));
+
+        execute(arguments(GET));
+        execute(arguments(POST));
+        assertEquals(1, unit.getStatistics().getSize());
+
+        execute(arguments(POST));
+        assertEquals(0, unit.getStatistics().getSize());
+
+        assertEquals("World", read(execute(arguments(GET))));
+    }
+
+    @Test
+    void shouldNotStoreResponsesExceedingMaxObjectSize() throws IOException {
+        final RequestExecution execution = new CachingPlugin()
+                .withMaxObjectSize(4)
+                .withMaxSize(1024)
+                .aroundNetwork(arguments -> CompletableFuture.completedFuture(responses.remove()));
+
+        final MockClientHttpResponse known = response("Hello", "Cache-Control", "max-age=60");
+        known.getHeaders().setContentLength(5);
+        responses.add(known);
+
+        final MockClientHttpResponse unknown = new MockClientHttpResponse(
+                new ByteArrayInputStream("World".getBytes(UTF_8)), OK);
+        unknown.getHeaders().setCacheControl("max-age=60");
+        responses.add(unknown);
+
+        final ClientHttpResponse first = execution.execute(arguments(GET)).join();
+        assertThat(first, is(known));
+        assertEquals("Hello", read(first));
+
+        final ClientHttpResponse second = execution.execute(arguments(GET)).join();
+        assertEquals(OK, second.getStatusCode());
+        assertEquals("OK", second.getStatusText());
+        assertEquals("max-age=60", second.getHeaders().getCacheControl());
+        assertEquals("World", read(second));
+        second.close();
+
+        assertThat(responses, hasSize(0));
+    }
+
+    @Test
+    void shouldServeStaleWhileRevalidatingInBackground() throws IOException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final RequestExecution execution = backgroundRevalidation(tasks::add);
+
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v1\""));
+        responses.add(response(NOT_MODIFIED, "", "Cache-Control", "max-age=60"));
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        assertThat(requests, hasSize(1));
+        assertThat(tasks, hasSize(1));
+
+        tasks.remove(0).run();
+
+        assertThat(requests, hasSize(2));
+        assertEquals("\"v1\"", header(requests.get(1), "If-None-Match"));
+
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        assertThat(requests, hasSize(2));
+        assertThat(tasks, hasSize(0));
+    }
+
+    @Test
+    void shouldFetchInBackgroundWithoutValidator() throws IOException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final RequestExecution execution = backgroundRevalidation(tasks::add);
+
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60"));
+        responses.add(response("World", "Cache-Control", "max-age=60"));
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        tasks.remove(0).run();
+        assertEquals("World", read(execution.execute(arguments(GET)).join()));
+
+        assertThat(header(requests.get(1), "If-None-Match"), is(nullValue()));
+    }
+
+    @Test
+    void shouldRetryBackgroundRevalidationAfterFailure() throws IOException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final RequestExecution execution = backgroundRevalidation(tasks::add);
+
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v1\""));
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        execution.execute(arguments(GET)).join();
+        tasks.remove(0).run();
+
+        // no response queued, i.e. the revalidation failed
+        execution.execute(arguments(GET)).join();
+        assertThat(tasks, hasSize(1));
+    }
+
+    @Test
+    void shouldRetryBackgroundRevalidationAfterSynchronousFailure() throws IOException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final RequestExecution execution = new CachingPlugin()
+                .withClock(clock)
+                .withBackgroundRevalidation(tasks::add)
+                .aroundNetwork(arguments -> {
+                    requests.add(arguments);
+
+                    if (requests.size() > 1) {
+                        throw new IOException("Connection refused");
+                    }
+
+                    return CompletableFuture.completedFuture(responses.remove());
+                });
+
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v1\""));
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        execution.execute(arguments(GET)).join();
+        tasks.remove(0).run();
+
+        execution.execute(arguments(GET)).join();
+        assertThat(tasks, hasSize(1));
+    }
+
+    @Test
+    void shouldSkipRejectedBackgroundRevalidation() throws IOException {
+        final RequestExecution execution = backgroundRevalidation(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60"));
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        assertThat(requests, hasSize(1));
+    }
+
+    @Test
+    void shouldRevalidateSynchronouslyBeyondStaleWhileRevalidate() throws IOException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final RequestExecution execution = backgroundRevalidation(tasks::add);
+
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60"));
+        responses.add(response("World"));
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(70);
+
+        assertEquals("World", read(execution.execute(arguments(GET)).join()));
+        assertThat(tasks, hasSize(0));
+    }
+
+    @Test
+    void shouldNotServeStaleWhileRevalidateWithoutExecutor() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-while-revalidate=60"));
+        responses.add(response("World"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+
+        assertEquals("World", read(execute(arguments(GET))));
+    }
+
+    @Test
+    void shouldServeStaleIfError() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-if-error=60", "ETag", "\"v1\""));
+        responses.add(response(HttpStatus.SERVICE_UNAVAILABLE, "unavailable"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+
+        final ClientHttpResponse response = execute(arguments(GET));
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals("Hello", read(response));
+        assertEquals(1, unit.getStatistics().getStale());
+    }
+
+    @Test
+    void shouldServeStaleIfFailed() throws IOException {
+        final RequestExecution execution = new CachingPlugin()
+                .withClock(clock)
+                .aroundNetwork(arguments -> {
+                    requests.add(arguments);
+
+                    if (requests.size() == 1) {
+                        return CompletableFuture.completedFuture(
+                                response("Hello", "Cache-Control", "max-age=10, stale-if-error=60"));
+                    } else if (requests.size() == 2) {
+                        return CompletableFuture.failedFuture(new IOException("Connection reset"));
+                    }
+
+                    throw new IOException("Connection refused");
+                });
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+        assertEquals("Hello", read(execution.execute(arguments(GET)).join()));
+    }
+
+    @Test
+    void shouldServeStaleIfErrorRequestedByClient() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-if-error=5"));
+        responses.add(response(HttpStatus.BAD_GATEWAY, "bad gateway"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+
+        assertEquals("Hello", read(execute(arguments(GET).withHeader("Cache-Control", "stale-if-error=60"))));
+    }
+
+    @Test
+    void shouldNotServeStaleIfNotPermitted() throws IOException {
+        responses.add(response("expired", "Cache-Control", "max-age=10, stale-if-error=5"));
+        responses.add(response(HttpStatus.SERVICE_UNAVAILABLE, "unavailable"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+
+        assertEquals("unavailable", read(execute(arguments(GET))));
+    }
+
+    @Test
+    void shouldNotServeStaleIfMustRevalidate() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-if-error=60, must-revalidate"));
+        responses.add(response(HttpStatus.GATEWAY_TIMEOUT, "timeout"));
+
+        execute(arguments(GET));
+        clock.advance(20);
+
+        assertEquals("timeout", read(execute(arguments(GET))));
+    }
+
+    @Test
+    void shouldNotServeStaleForNonServerErrors() throws IOException {
+        responses.add(response("Hello", "Cache-Control", "max-age=10, stale-if-error=60"));
+        responses.add(response(HttpStatus.NOT_FOUND, "not found"));
+        responses.add(new MockClientHttpResponse(new byte[0], 599));
+
+        execute(arguments(GET));
+        clock.advance(20);
+
+        assertEquals(HttpStatus.NOT_FOUND, execute(arguments(GET)).getStatusCode());
+        assertEquals(599, execute(arguments(GET).withHeader("Cache-Control", "max-age=0")).getStatusCode().value());
+    }
+
+    @Test
+    void shouldPropagateFailureIfStaleIsNotPermitted() throws IOException {
+        final RequestExecution execution = new CachingPlugin()
+                .withClock(clock)
+                .aroundNetwork(arguments -> {
+                    requests.add(arguments);
+
+                    if (requests.size() == 1) {
+                        return CompletableFuture.completedFuture(
+                                response("Hello", "Cache-Control", "max-age=10"));
+                    }
+
+                    return CompletableFuture.failedFuture(new IOException("Connection reset"));
+                });
+
+        execution.execute(arguments(GET)).join();
+        clock.advance(20);
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                execution.execute(arguments(GET)).join());
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldServeEveryCallerThroughHttp() {
+        server.enqueue(MockWebServerUtil.textMockResponse("Hello").setHeader("Cache-Control", "max-age=60"));
+
+        final CachingPlugin plugin = new CachingPlugin();
+        final Http http = Http.builder()
+                .executor(executor)
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .baseUrl(getBaseUrl(server))
+                .plugin(plugin)
+                .build();
+
+        final List<String> bodies = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            http.get("/products/{id}", 123)
+                    .dispatch(series(),
+                            on(SUCCESSFUL).call(String.class, bodies::add))
+                    .join();
+        }
+
+        assertEquals(List.of("Hello", "Hello", "Hello"), bodies);
+        assertEquals(1, server.getRequestCount());
+        assertEquals(2, plugin.getStatistics().getHits());
+    }
+
+    private RequestExecution backgroundRevalidation(final Executor executor) {
+        return new CachingPlugin()
+                .withClock(clock)
+                .withBackgroundRevalidation(executor)
+                .aroundNetwork(arguments -> {
+                    requests.add(arguments);
+                    return CompletableFuture.completedFuture(responses.remove());
+                });
+    }
+
+    private ClientHttpResponse execute(final RequestArguments arguments) throws IOException {
+        return execution.execute(arguments).join();
+    }
+
+    private static RequestArguments arguments(final HttpMethod method) {
+        return RequestArguments.create()
+                .withBaseUrl(URI.create("http://localhost"))
+                .withMethod(method)
+                .withUriTemplate("/products/123")
+                .withEntity(new Entity() {
+                    @Override
+                    public void writeTo(final HttpOutputMessage message) {
+                        // nothing to write
+                    }
+
+                    @Override
+                    public boolean isEmpty() {
+                        return true;
+                    }
+                });
+    }
+
+    private static MockClientHttpResponse response(final String body, final String... headers) {
+        return response(OK, body, headers);
+    }
+
+    private static MockClientHttpResponse response(
+            final HttpStatus status, final String body, final String... headers) {
+
+        final MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(UTF_8), status);
+
+        for (int i = 0; i < headers.length; i += 2) {
+            response.getHeaders().add(headers[i], headers[i + 1]);
+        }
+
+        return response;
+    }
+
+    private static String header(final RequestArguments arguments, final String name) {
+        final List<String> values = arguments.getHeaders().get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    private static String read(final ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), UTF_8);
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant = Instant.parse("2026-10-18T12:00:00Z");
+
+        void advance(final long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.zalando.riptide.caching;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+final class ResponseCacheTest {
+
+    private final ResponseCache unit = new ResponseCache(100);
+
+    @Test
+    void shouldStoreEntries() {
+        final CacheEntry entry = entry(10);
+
+        unit.put("a", entry);
+
+        assertThat(unit.get("a"), is(sameInstance(entry)));
+        assertThat(unit.getSize(), is(1L));
+        assertThat(unit.getWeight(), is(10L));
+    }
+
+    @Test
+    void shouldReplaceEntries() {
+        unit.put("a", entry(10));
+        unit.put("a", entry(20));
+
+        assertThat(unit.getSize(), is(1L));
+        assertThat(unit.getWeight(), is(20L));
+    }
+
+    @Test
+    void shouldRemoveEntries() {
+        unit.put("a", entry(10));
+        unit.remove("a");
+        unit.remove("b");
+
+        assertThat(unit.get("a"), is(nullValue()));
+        assertThat(unit.getSize(), is(0L));
+        assertThat(unit.getWeight(), is(0L));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() {
+        unit.put("a", entry(40));
+        unit.put("b", entry(40));
+        unit.get("a");
+        unit.put("c", entry(40));
+
+        assertThat(unit.get("a"), is(notNullValue()));
+        assertThat(unit.get("b"), is(nullValue()));
+        assertThat(unit.get("c"), is(notNullValue()));
+        assertThat(unit.getWeight(), is(80L));
+        assertThat(unit.getEvictions(), is(1L));
+    }
+
+    @Test
+    void shouldNotStoreEntriesExceedingMaximum() {
+        unit.put("a", entry(10));
+        unit.put("a", entry(101));
+
+        assertThat(unit.get("a"), is(nullValue()));
+        assertThat(unit.getWeight(), is(0L));
+        assertThat(unit.getEvictions(), is(0L));
+    }
+
+    @Test
+    void shouldCount() {
+        unit.hit();
+        unit.hit();
+        unit.miss();
+        unit.revalidation();
+
+        assertThat(unit.getHits(), is(2L));
+        assertThat(unit.getMisses(), is(1L));
+        assertThat(unit.getRevalidations(), is(1L));
+    }
+
+    private static CacheEntry entry(final int size) {
+        return new CacheEntry(HttpStatus.OK, "OK", new HttpHeaders(), new byte[size], Map.of(),
+                Instant.EPOCH, Instant.EPOCH);
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.zalando.riptide.coalescing;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A fully buffered response that can be {@link #replay() replayed} any number of times. Every replay has its own
+ * copy of the headers and its own body stream, i.e. callers can't interfere with each other.
+ */
+@AllArgsConstructor
+final class BufferedClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final InputStream stream;
+
+    static BufferedClientHttpResponse of(final ClientHttpResponse response, final byte[] body) throws IOException {
+        return new BufferedClientHttpResponse(
+                response.getStatusCode(),
+                response.getStatusText(),
+                HttpHeaders.copyOf(response.getHeaders()),
+                body,
+                new ByteArrayInputStream(body));
+    }
+
+    ClientHttpResponse replay() {
+        return new BufferedClientHttpResponse(
+                statusCode, statusText, HttpHeaders.copyOf(headers), body, new ByteArrayInputStream(body));
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return stream;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+}
@@ -0,0 +1,285 @@
+package org.zalando.riptide.coalescing;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.idempotency.IdempotencyPredicate;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.ACCEPT_LANGUAGE;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+
+/**
+ * Merges concurrent, identical requests into a single network call. Requests are considered identical if they share
+ * the same method, request URI and values for a configurable subset of headers. If other callers joined while the call
+ * was in flight, its response is buffered once and replayed to every caller, i.e. routing and deserialization still
+ * happen per caller.
+ *
+ * Only safe requests without a body are coalesced. Streams, i.e. requests that accept and responses that use a
+ * streaming media type, are never buffered. Neither are responses that exceed the {@link #withMaxBufferSize(int)
+ * maximum buffer size}. Their first caller receives the original response and every other caller re-issues its own
+ * request instead.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class CoalescingPlugin implements Plugin {
+
+    private static final ImmutableSet<HttpMethod> SAFE_METHODS = ImmutableSet.of(
+            HttpMethod.GET,
+            HttpMethod.HEAD,
+            HttpMethod.OPTIONS,
+            HttpMethod.TRACE
+    );
+
+    private static final ImmutableList<MediaType> STREAMING_MEDIA_TYPES = ImmutableList.of(
+            TEXT_EVENT_STREAM,
+            APPLICATION_NDJSON,
+            MediaType.parseMediaType("application/x-json-stream"),
+            MediaType.parseMediaType("application/stream+json"),
+            MediaType.parseMediaType("application/json-seq")
+    );
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Predicate<RequestArguments> predicate;
+    private final ImmutableList<String> headers;
+    private final int maxBufferSize;
+
+    public CoalescingPlugin() {
+        this(new IdempotencyPredicate(),
+                ImmutableList.of(ACCEPT, ACCEPT_ENCODING, ACCEPT_LANGUAGE, AUTHORIZATION),
+                1024 * 1024);
+    }
+
+    /**
+     * @param predicate decides which safe requests are coalesced, defaults to {@link IdempotencyPredicate}
+     * @return a new plugin which only coalesces requests matching the given predicate
+     */
+    public CoalescingPlugin withPredicate(final Predicate<RequestArguments> predicate) {
+        return new CoalescingPlugin(predicate, headers, maxBufferSize);
+    }
+
+    /**
+     * @param headers the names of headers that need to be equal for requests to be coalesced
+     * @return a new plugin which distinguishes requests by the given headers
+     */
+    public CoalescingPlugin withHeaders(final Collection<String> headers) {
+        return new CoalescingPlugin(predicate, ImmutableList.copyOf(headers), maxBufferSize);
+    }
+
+    /**
+     * @param maxBufferSize the maximum number of bytes of a response body that is buffered, defaults to 1 MiB
+     * @return a new plugin which only shares responses up to the given size
+     */
+    public CoalescingPlugin withMaxBufferSize(final int maxBufferSize) {
+        checkArgument(maxBufferSize >= 0 && maxBufferSize < Integer.MAX_VALUE, "Invalid max buffer size");
+        return new CoalescingPlugin(predicate, headers, maxBufferSize);
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            if (!isCoalescable(arguments)) {
+                return execution.execute(arguments);
+            }
+
+            final Key key = key(arguments);
+            final Flight flight = new Flight();
+            @Nullable final Flight leader = flights.putIfAbsent(key, flight);
+
+            if (leader != null) {
+                if (leader.join()) {
+                    return leader.shared.thenCompose(shared -> shared == null ?
+                            reissue(execution, arguments) :
+                            completedFuture(shared.replay()));
+                }
+
+                // the leader's response arrived in the meantime, it's not going to be shared anymore
+                return execution.execute(arguments);
+            }
+
+            // every caller, including the leader, gets its own future, so cancelling one doesn't affect the others
+            final CompletableFuture<ClientHttpResponse> result = new CompletableFuture<>();
+
+            try {
+                execution.execute(arguments).whenComplete((response, throwable) -> {
+                    flights.remove(key, flight);
+
+                    if (throwable == null) {
+                        land(flight, response, result);
+                    } else {
+                        flight.land();
+                        flight.shared.completeExceptionally(throwable);
+                        result.completeExceptionally(throwable);
+                    }
+                });
+            } catch (final IOException | RuntimeException e) {
+                flights.remove(key, flight);
+                flight.land();
+                flight.shared.completeExceptionally(e);
+                throw e;
+            }
+
+            return result;
+        };
+    }
+
+    private void land(
+            final Flight flight,
+            final ClientHttpResponse response,
+            final CompletableFuture<ClientHttpResponse> result) {
+
+        // runs within whenComplete, i.e. any exception that escapes would leave leader and followers hanging
+        try {
+            if (!flight.land() || !isShareable(response)) {
+                flight.shared.complete(null);
+                deliver(result, response);
+                return;
+            }
+
+            // reads at most one byte more than allowed, to detect bodies that are too large
+            final byte[] body = response.getBody().readNBytes(maxBufferSize + 1);
+
+            if (body.length > maxBufferSize) {
+                flight.shared.complete(null);
+                deliver(result, new PrefixedClientHttpResponse(response, body));
+                return;
+            }
+
+            final BufferedClientHttpResponse buffered = BufferedClientHttpResponse.of(response, body);
+            response.close();
+            flight.shared.complete(buffered);
+            result.complete(buffered.replay());
+        } catch (final IOException | RuntimeException e) {
+            response.close();
+            flight.shared.completeExceptionally(e);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static void deliver(final CompletableFuture<ClientHttpResponse> result, final ClientHttpResponse response) {
+        if (!result.complete(response)) {
+            // cancelled in the meantime
+            response.close();
+        }
+    }
+
+    private static CompletableFuture<ClientHttpResponse> reissue(
+            final RequestExecution execution, final RequestArguments arguments) {
+
+        try {
+            return execution.execute(arguments);
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean isCoalescable(final RequestArguments arguments) {
+        return SAFE_METHODS.contains(arguments.getMethod())
+                && arguments.getEntity().isEmpty()
+                && !isStreaming(arguments.getHeaders().getOrDefault(ACCEPT, emptyList()))
+                && predicate.test(arguments);
+    }
+
+    private boolean isShareable(final ClientHttpResponse response) {
+        final long contentLength = response.getHeaders().getContentLength();
+        @Nullable final String contentType = response.getHeaders().getFirst(CONTENT_TYPE);
+
+        return contentLength <= maxBufferSize
+                && (contentType == null || !isStreaming(List.of(contentType)));
+    }
+
+    private static boolean isStreaming(final List<String> values) {
+        final List<MediaType> mediaTypes;
+
+        try {
+            mediaTypes = MediaType.parseMediaTypes(values);
+        } catch (final InvalidMediaTypeException e) {
+            return false;
+        }
+
+        return mediaTypes.stream().anyMatch(mediaType ->
+                STREAMING_MEDIA_TYPES.stream().anyMatch(mediaType::equalsTypeAndSubtype));
+    }
+
+    private Key key(final RequestArguments arguments) {
+        final ImmutableList.Builder<List<String>> values = ImmutableList.builder();
+
+        for (final String header : headers) {
+            values.add(arguments.getHeaders().getOrDefault(header, emptyList()));
+        }
+
+        return new Key(arguments.getMethod(), arguments.getRequestUri(), values.build());
+    }
+
+    @Value
+    private static class Key {
+        HttpMethod method;
+        URI requestUri;
+        List<List<String>> headers;
+    }
+
+    /**
+     * A network call that other callers may join until its response arrived. The shared response is {@code null} if
+     * it can't be shared, in which case every caller that joined has to re-issue its request.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<BufferedClientHttpResponse> shared = new CompletableFuture<>();
+
+        private int followers;
+        private boolean landed;
+
+        synchronized boolean join() {
+            if (landed) {
+                return false;
+            }
+
+            followers++;
+            return true;
+        }
+
+        /**
+         * @return whether any other caller joined this flight
+         */
+        synchronized boolean land() {
+            landed = true;
+            return followers > 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.zalando.riptide.coalescing;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A response of which the beginning of the body was already read. The body is the already read prefix, followed by
+ * the remainder of the original body.
+ */
+@AllArgsConstructor(access = PRIVATE)
+final class PrefixedClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final InputStream body;
+
+    PrefixedClientHttpResponse(final ClientHttpResponse response, final byte[] prefix) throws IOException {
+        this(response, new SequenceInputStream(new ByteArrayInputStream(prefix), response.getBody()));
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.coalescing;
+
+import javax.annotation.ParametersAreNonnullByDefault;
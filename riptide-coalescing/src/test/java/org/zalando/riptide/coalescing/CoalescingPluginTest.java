@@ -0,0 +1,441 @@
+package org.zalando.riptide.coalescing;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestArguments.Entity;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PUT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.zalando.riptide.Attributes.IDEMPOTENT;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.coalescing.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.coalescing.MockWebServerUtil.textMockResponse;
+
+final class CoalescingPluginTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newFixedThreadPool(4);
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+
+    private final CoalescingPlugin unit = new CoalescingPlugin();
+
+    @SneakyThrows
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentRequests() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        future.complete(response("Hello"));
+
+        assertEquals(1, executions.get());
+        assertEquals("Hello", read(first.join()));
+        assertEquals("Hello", read(second.join()));
+        assertThat(first.join(), is(not(sameInstance(second.join()))));
+        assertThat(first.join().getHeaders(), is(not(sameInstance(second.join().getHeaders()))));
+    }
+
+    @Test
+    void shouldReplayStatusAndHeaders() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        final MockClientHttpResponse response = spy(response("Hello"));
+        response.getHeaders().add("ETag", "\"1\"");
+        future.complete(response);
+
+        for (final ClientHttpResponse replay : List.of(first.join(), second.join())) {
+            assertEquals(OK, replay.getStatusCode());
+            assertEquals("OK", replay.getStatusText());
+            assertEquals("\"1\"", replay.getHeaders().getFirst("ETag"));
+            replay.close();
+        }
+
+        verify(response).close();
+    }
+
+    @Test
+    void shouldNotCoalesceSequentialRequests() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(response("Hello"));
+        });
+
+        execution.execute(arguments(GET)).join();
+        execution.execute(arguments(GET)).join();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCoalesceUnsafeMethods() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(PUT));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(PUT));
+
+        assertEquals(2, executions.get());
+        assertThat(first, is(sameInstance(future)));
+        assertThat(second, is(sameInstance(future)));
+    }
+
+    @Test
+    void shouldNotCoalesceNonIdempotentRequests() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET).withAttribute(IDEMPOTENT, false));
+        execution.execute(arguments(GET).withAttribute(IDEMPOTENT, false));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithBody() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+        final Entity entity = message -> message.getBody().write("{}".getBytes(UTF_8));
+
+        execution.execute(arguments(GET).withEntity(entity));
+        execution.execute(arguments(GET).withEntity(entity));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithDifferentUris() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET));
+        execution.execute(arguments(GET).withQueryParam("q", "1"));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithDifferentCredentials() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET).withHeader("Authorization", "Bearer alice"));
+        execution.execute(arguments(GET).withHeader("authorization", "Bearer bob"));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldCoalesceRequestsWithDifferentUnrelatedHeaders() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET).withHeader("X-Flow-ID", "a"));
+        execution.execute(arguments(GET).withHeader("X-Flow-ID", "b"));
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldDistinguishByConfiguredHeaders() throws IOException {
+        final RequestExecution execution = unit
+                .withHeaders(List.of("X-Tenant-ID"))
+                .aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET).withHeader("X-Tenant-ID", "1").withHeader("Authorization", "a"));
+        execution.execute(arguments(GET).withHeader("X-Tenant-ID", "1").withHeader("Authorization", "b"));
+        execution.execute(arguments(GET).withHeader("X-Tenant-ID", "2"));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCoalesceIfPredicateDoesNotMatch() throws IOException {
+        final RequestExecution execution = unit
+                .withPredicate(arguments -> false)
+                .aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET));
+        execution.execute(arguments(GET));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldShareFailure() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        future.completeExceptionally(new IOException("Connection reset"));
+
+        for (final CompletableFuture<ClientHttpResponse> response : List.of(first, second)) {
+            final CompletionException exception = assertThrows(CompletionException.class, response::join);
+            assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+        }
+
+        execution.execute(arguments(GET));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldShareFailureToReadBody() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        future.complete(new MockClientHttpResponse(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Premature end of body");
+            }
+        }, OK));
+
+        for (final CompletableFuture<ClientHttpResponse> response : List.of(first, second)) {
+            final CompletionException exception = assertThrows(CompletionException.class, response::join);
+            assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+        }
+    }
+
+    @Test
+    void shouldShareFailureToInspectResponse() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        final MockClientHttpResponse response = spy(response("Hello"));
+        response.getHeaders().set("Content-Length", "invalid");
+
+        future.complete(response);
+
+        for (final CompletableFuture<ClientHttpResponse> result : List.of(first, second)) {
+            final CompletionException exception = assertThrows(CompletionException.class, result::join);
+            assertThat(exception.getCause(), is(instanceOf(NumberFormatException.class)));
+        }
+
+        verify(response).close();
+    }
+
+    @Test
+    void shouldNotKeepFlightAfterSynchronousFailure() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            if (executions.incrementAndGet() == 1) {
+                throw new IOException("Connection refused");
+            }
+            return future;
+        });
+
+        assertThrows(IOException.class, () -> execution.execute(arguments(GET)));
+
+        execution.execute(arguments(GET));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCancelOtherCallers() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        first.cancel(true);
+        future.complete(response("Hello"));
+
+        assertTrue(first.isCancelled());
+        assertEquals("Hello", read(second.join()));
+    }
+
+    @Test
+    void shouldNotBufferWithoutConcurrentCallers() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+
+        final MockClientHttpResponse response = response("Hello");
+        future.complete(response);
+
+        assertThat(first.join(), is(sameInstance(response)));
+    }
+
+    @Test
+    void shouldReissueIfBodyExceedsMaxBufferSize() throws IOException {
+        final RequestExecution execution = unit
+                .withMaxBufferSize(4)
+                .aroundNetwork(arguments -> executions.incrementAndGet() == 1 ?
+                        future : CompletableFuture.completedFuture(response("Hello, again")));
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        final MockClientHttpResponse response = spy(response("Hello"));
+        future.complete(response);
+
+        assertEquals("Hello", read(first.join()));
+        assertEquals("Hello, again", read(second.join()));
+        assertEquals(2, executions.get());
+
+        first.join().close();
+        verify(response).close();
+    }
+
+    @Test
+    void shouldReissueIfContentLengthExceedsMaxBufferSize() throws IOException {
+        final RequestExecution execution = unit
+                .withMaxBufferSize(4)
+                .aroundNetwork(arguments -> executions.incrementAndGet() == 1 ?
+                        future : CompletableFuture.completedFuture(response("Hello, again")));
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        final MockClientHttpResponse response = response("Hello");
+        response.getHeaders().setContentLength(5);
+        future.complete(response);
+
+        assertThat(first.join(), is(sameInstance(response)));
+        assertEquals("Hello, again", read(second.join()));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldReissueIfResponseIsStreamed() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(arguments ->
+                executions.incrementAndGet() == 1 ?
+                        future : CompletableFuture.completedFuture(response("data: again\n\n")));
+
+        final CompletableFuture<ClientHttpResponse> first = execution.execute(arguments(GET));
+        final CompletableFuture<ClientHttpResponse> second = execution.execute(arguments(GET));
+
+        final MockClientHttpResponse response = response("data: hello\n\n");
+        response.getHeaders().setContentType(TEXT_EVENT_STREAM);
+        future.complete(response);
+
+        assertThat(first.join(), is(sameInstance(response)));
+        assertEquals("data: again\n\n", read(second.join()));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldNotCoalesceStreamingRequests() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(this::execute);
+
+        execution.execute(arguments(GET).withHeader("Accept", "application/x-json-stream, application/json"));
+        execution.execute(arguments(GET).withHeader("Accept", "application/x-json-stream, application/json"));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldRejectInvalidMaxBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> unit.withMaxBufferSize(-1));
+    }
+
+    @Test
+    void shouldRouteEveryCallerWithSingleNetworkCall() {
+        server.enqueue(textMockResponse("Hello").setHeadersDelay(500, MILLISECONDS));
+
+        final Http http = Http.builder()
+                .executor(executor)
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .baseUrl(getBaseUrl(server))
+                .plugin(new CoalescingPlugin())
+                .build();
+
+        final Queue<String> bodies = new ConcurrentLinkedQueue<>();
+
+        final List<CompletableFuture<ClientHttpResponse>> futures = range(0, 4)
+                .mapToObj(i -> http.get("/products/{id}", 123)
+                        .dispatch(series(),
+                                on(SUCCESSFUL).call(String.class, bodies::add)))
+                .collect(toList());
+
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(1, server.getRequestCount());
+        assertThat(bodies, hasSize(4));
+        assertThat(bodies, everyItem(is("Hello")));
+    }
+
+    private CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) {
+        executions.incrementAndGet();
+        return future;
+    }
+
+    private static RequestArguments arguments(final HttpMethod method) {
+        return RequestArguments.create()
+                .withBaseUrl(URI.create("http://localhost"))
+                .withMethod(method)
+                .withUriTemplate("/products/123")
+                .withEntity(new Entity() {
+                    @Override
+                    public void writeTo(final HttpOutputMessage message) {
+                        // nothing to write
+                    }
+
+                    @Override
+                    public boolean isEmpty() {
+                        return true;
+                    }
+                });
+    }
+
+    private static MockClientHttpResponse response(final String body) {
+        return new MockClientHttpResponse(body.getBytes(UTF_8), OK);
+    }
+
+    private static String read(final ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), UTF_8);
+    }
+
+}
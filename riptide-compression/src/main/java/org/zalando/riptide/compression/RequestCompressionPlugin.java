@@ -28,6 +28,11 @@ public final class RequestCompressionPlugin implements Plugin {
         this(Compression.of("gzip", GZIPOutputStream::new));
     }
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundNetwork(final RequestExecution execution) {
         return arguments -> {
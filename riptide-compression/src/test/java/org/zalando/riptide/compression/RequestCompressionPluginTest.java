@@ -15,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.zalando.riptide.Entities;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
@@ -23,6 +24,7 @@ import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
@@ -32,6 +34,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
@@ -72,6 +75,25 @@ class RequestCompressionPluginTest {
 
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(RequestFactorySource.class)
+    void shouldCompressChannelEntity(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final Http http = buildHttp(factory, new RequestCompressionPlugin());
+        http.post("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Entities.of(ByteBuffer.wrap("{}".getBytes(UTF_8))))
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        verifyRequestBody(recordedRequest, "{}");
+        assertEquals("gzip", recordedRequest.getHeaders().get("Content-Encoding"));
+        assertNotEquals("2", recordedRequest.getHeaders().get("Content-Length"));
+    }
+
     @ParameterizedTest
     @ArgumentsSource(RequestFactorySource.class)
     void shouldNotCompressEmptyRequestBody(final ClientHttpRequestFactory factory) {
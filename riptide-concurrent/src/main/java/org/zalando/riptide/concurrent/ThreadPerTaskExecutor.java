@@ -0,0 +1,232 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An executor that starts a new thread for every task, usually a {@link #virtual(String, int) virtual} one. Other
+ * than a thread pool it doesn't need to be sized, but it still bounds the number of tasks that run concurrently.
+ * Tasks that exceed the {@link #getConcurrencyLimit() concurrency limit} wait in their own thread until a permit
+ * becomes available, i.e. they never block the caller. Tasks beyond the {@link #getWaitingLimit() waiting limit} are
+ * rejected. Waiting is unbounded, unless a waiting limit is given.
+ *
+ * {@link #shutdownNow()} interrupts all started tasks and returns those that are still waiting for a permit. They
+ * won't be run anymore.
+ */
+@API(status = EXPERIMENTAL)
+public final class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+    private final Object lock = new Object();
+    private final Map<Thread, Task> tasks = new HashMap<>();
+    private final CountDownLatch termination = new CountDownLatch(1);
+
+    private final ThreadFactory threadFactory;
+    private final int concurrencyLimit;
+    private final int waitingLimit;
+    private final Semaphore permits;
+
+    private boolean shutdown;
+
+    public ThreadPerTaskExecutor(final ThreadFactory threadFactory, final int concurrencyLimit) {
+        this(threadFactory, concurrencyLimit, Integer.MAX_VALUE);
+    }
+
+    public ThreadPerTaskExecutor(final ThreadFactory threadFactory, final int concurrencyLimit,
+            final int waitingLimit) {
+
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+
+        if (waitingLimit < 0) {
+            throw new IllegalArgumentException("Waiting limit must not be negative");
+        }
+
+        this.threadFactory = threadFactory;
+        this.concurrencyLimit = concurrencyLimit;
+        this.waitingLimit = waitingLimit;
+        this.permits = new Semaphore(concurrencyLimit, true);
+    }
+
+    /**
+     * Creates an executor that runs every task in a new virtual thread. Tasks wait for a permit without any limit.
+     *
+     * @param prefix the prefix of all thread names, followed by a sequence number
+     * @param concurrencyLimit the maximum number of tasks that run at the same time
+     * @return a new executor
+     * @throws UnsupportedOperationException if the runtime doesn't support virtual threads, i.e. before Java 21
+     */
+    public static ThreadPerTaskExecutor virtual(final String prefix, final int concurrencyLimit) {
+        return virtual(prefix, concurrencyLimit, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an executor that runs every task in a new virtual thread.
+     *
+     * @param prefix the prefix of all thread names, followed by a sequence number
+     * @param concurrencyLimit the maximum number of tasks that run at the same time
+     * @param waitingLimit the maximum number of tasks that wait for a permit, any further task is rejected
+     * @return a new executor
+     * @throws UnsupportedOperationException if the runtime doesn't support virtual threads, i.e. before Java 21
+     */
+    public static ThreadPerTaskExecutor virtual(final String prefix, final int concurrencyLimit,
+            final int waitingLimit) {
+        return new ThreadPerTaskExecutor(VirtualThreads.factory(prefix), concurrencyLimit, waitingLimit);
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public int getWaitingLimit() {
+        return waitingLimit;
+    }
+
+    /**
+     * @return the number of tasks that are currently running
+     */
+    public int getActiveCount() {
+        return concurrencyLimit - permits.availablePermits();
+    }
+
+    /**
+     * @return an estimate of the number of tasks that are waiting for a permit
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final Task task = new Task(command);
+        final Thread thread = threadFactory.newThread(task);
+
+        if (thread == null) {
+            throw new RejectedExecutionException("Thread factory refused to create a new thread");
+        }
+
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+
+            // started tasks are either running or waiting for a permit
+            if (tasks.size() >= (long) concurrencyLimit + waitingLimit) {
+                throw new RejectedExecutionException("Too many tasks are waiting for a permit");
+            }
+
+            tasks.put(thread, task);
+        }
+
+        thread.start();
+    }
+
+    private void terminate(final Thread thread) {
+        synchronized (lock) {
+            tasks.remove(thread);
+
+            if (shutdown && tasks.isEmpty()) {
+                termination.countDown();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+
+            if (tasks.isEmpty()) {
+                termination.countDown();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> waiting = new ArrayList<>();
+
+        synchronized (lock) {
+            shutdown();
+
+            // claims all waiting tasks first, otherwise they could get the permit of an interrupted task
+            tasks.values().stream()
+                    .filter(Task::claim)
+                    .forEach(task -> waiting.add(task.command));
+
+            tasks.keySet().forEach(Thread::interrupt);
+        }
+
+        return waiting;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return termination.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+
+    private final class Task implements Runnable {
+
+        /**
+         * Claimed by either the task itself, once it got a permit, or by {@link #shutdownNow()}.
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final Runnable command;
+
+        private Task(final Runnable command) {
+            this.command = command;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                permits.acquire();
+            } catch (final InterruptedException e) {
+                // interrupted while waiting, e.g. by shutdownNow(), i.e. the command is skipped
+                terminate(Thread.currentThread());
+                return;
+            }
+
+            try {
+                if (claim()) {
+                    command.run();
+                }
+            } finally {
+                permits.release();
+                terminate(Thread.currentThread());
+            }
+        }
+
+    }
+
+}
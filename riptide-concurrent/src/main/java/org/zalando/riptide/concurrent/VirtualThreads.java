@@ -0,0 +1,26 @@
+package org.zalando.riptide.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads are only available on Java 21 and later. They are looked up reflectively in order to keep this
+ * module compatible with older runtimes, on which {@link #factory(String)} fails.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+
+    }
+
+    static ThreadFactory factory(final String prefix) {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> type = Class.forName("java.lang.Thread$Builder");
+            final Object named = type.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) type.getMethod("factory").invoke(named);
+        } catch (final ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.condition.JRE.JAVA_20;
+import static org.junit.jupiter.api.condition.JRE.JAVA_21;
+
+final class ThreadPerTaskExecutorTest {
+
+    private final ThreadPerTaskExecutor unit =
+            new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 1);
+
+    @Test
+    void shouldRejectNonPositiveConcurrencyLimit() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 0));
+    }
+
+    @Test
+    void shouldRejectNegativeWaitingLimit() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 1, -1));
+    }
+
+    @Test
+    void shouldRunTaskInNewThread() throws Exception {
+        final Future<Thread> future = unit.submit(Thread::currentThread);
+
+        assertThat(future.get(5, TimeUnit.SECONDS)).isNotSameAs(Thread.currentThread());
+        assertThat(unit.getConcurrencyLimit()).isOne();
+    }
+
+    @Test
+    void shouldLimitConcurrency() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final Future<?> first = unit.submit(() -> {
+            latch.await();
+            return null;
+        });
+
+        final Future<?> second = unit.submit(() -> "second");
+
+        await(() -> unit.getActiveCount() == 1 && unit.getWaitingCount() == 1);
+        assertThat(second.isDone()).isFalse();
+
+        latch.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+
+        await(() -> unit.getActiveCount() == 0);
+        assertThat(unit.getWaitingCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectTasksBeyondWaitingLimit() throws Exception {
+        final ThreadPerTaskExecutor unit = new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final Future<?> first = unit.submit(() -> {
+            latch.await();
+            return null;
+        });
+
+        final Future<?> second = unit.submit(() -> "second");
+
+        assertThat(unit.getWaitingLimit()).isOne();
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {}));
+
+        latch.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    void shouldRejectIfThreadFactoryRefuses() {
+        final ThreadPerTaskExecutor unit = new ThreadPerTaskExecutor(runnable -> null, 1);
+
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {}));
+    }
+
+    @Test
+    void shouldTerminateImmediatelyIfIdle() {
+        unit.shutdown();
+
+        assertThat(unit.isShutdown()).isTrue();
+        assertThat(unit.isTerminated()).isTrue();
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {}));
+    }
+
+    @Test
+    void shouldTerminateAfterRunningTasks() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        unit.execute(() -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        unit.shutdown();
+
+        assertThat(unit.isShutdown()).isTrue();
+        assertThat(unit.isTerminated()).isFalse();
+
+        latch.countDown();
+
+        assertThat(unit.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(unit.isTerminated()).isTrue();
+    }
+
+    @Test
+    void shouldInterruptRunningTasks() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+
+        unit.execute(() -> {
+            try {
+                latch.countDown();
+                new CountDownLatch(1).await();
+                interrupted.complete(false);
+            } catch (final InterruptedException e) {
+                interrupted.complete(true);
+            }
+        });
+
+        latch.await();
+
+        assertThat(unit.shutdownNow()).isEmpty();
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(unit.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldNotRunWaitingTasksAfterShutdownNow() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicBoolean ran = new AtomicBoolean();
+
+        unit.execute(() -> {
+            try {
+                latch.countDown();
+                new CountDownLatch(1).await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        latch.await();
+
+        final Runnable waiting = () -> ran.set(true);
+        unit.execute(waiting);
+
+        await(() -> unit.getWaitingCount() == 1);
+
+        assertThat(unit.shutdownNow()).containsExactly(waiting);
+        assertThat(unit.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JAVA_21)
+    void shouldUseVirtualThreads() throws Exception {
+        final ThreadPerTaskExecutor unit = ThreadPerTaskExecutor.virtual("http-test-", 1);
+
+        final Thread thread = unit.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertThat(thread.getName()).isEqualTo("http-test-0");
+        assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+    }
+
+    @Test
+    @EnabledForJreRange(max = JAVA_20)
+    void shouldNotSupportVirtualThreadsBeforeJava21() {
+        assertThrows(UnsupportedOperationException.class, () ->
+                ThreadPerTaskExecutor.virtual("http-test-", 1));
+    }
+
+    private static void await(final Condition condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.isMet()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean isMet();
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.zalando.riptide;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.springframework.http.HttpHeaders.TRANSFER_ENCODING;
+
+abstract class AbstractChannelEntity implements ChannelEntity {
+
+    @Override
+    public boolean isEmpty() {
+        return getContentLength() == 0;
+    }
+
+    @Override
+    public void writeTo(final HttpOutputMessage message) throws IOException {
+        final HttpHeaders headers = message.getHeaders();
+
+        // same as Spring's converters: an explicit length or a chunked (e.g. compressed) body takes precedence
+        if (headers.getContentLength() < 0 && !headers.containsHeader(TRANSFER_ENCODING)) {
+            headers.setContentLength(getContentLength());
+        }
+
+        if (message instanceof StreamingHttpOutputMessage) {
+            ((StreamingHttpOutputMessage) message).setBody(new StreamingHttpOutputMessage.Body() {
+                @Override
+                public void writeTo(final OutputStream stream) throws IOException {
+                    transferTo(stream);
+                }
+
+                @Override
+                public boolean repeatable() {
+                    return true;
+                }
+            });
+        } else {
+            transferTo(message.getBody());
+        }
+    }
+
+    abstract void transferTo(OutputStream stream) throws IOException;
+
+}
@@ -13,6 +13,11 @@ final class AsyncPlugin implements Plugin {
 
     private final Executor executor;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return arguments ->
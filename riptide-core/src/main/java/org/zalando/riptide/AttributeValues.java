@@ -0,0 +1,57 @@
+package org.zalando.riptide;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import org.organicdesign.fp.collections.BaseMap;
+import org.organicdesign.fp.collections.PersistentHashMap;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * An immutable set of {@link Attribute attribute} values. Values of {@link Attribute#generate() generated}
+ * attributes are stored in a copy-on-write array, indexed by {@link DefaultAttribute#getIndex()}. Lookups are
+ * therefore a plain array read and updates copy a short array, at most {@link DefaultAttribute#SLOTS} elements long.
+ * Custom {@link Attribute} implementations and generated attributes without a slot are supported as well, but
+ * stored in a persistent map.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class AttributeValues {
+
+    static final AttributeValues EMPTY = new AttributeValues(new Object[0], PersistentHashMap.empty());
+
+    private final Object[] slots;
+    private final BaseMap<Attribute<?>, Object> others;
+
+    @Nullable
+    Object get(final Attribute<?> attribute) {
+        final int index = indexOf(attribute);
+
+        if (index == DefaultAttribute.NO_SLOT) {
+            return others.get(attribute);
+        }
+
+        return index < slots.length ? slots[index] : null;
+    }
+
+    AttributeValues with(final Attribute<?> attribute, @Nullable final Object value) {
+        final int index = indexOf(attribute);
+
+        if (index != DefaultAttribute.NO_SLOT) {
+            final Object[] copy = Arrays.copyOf(slots, Math.max(slots.length, index + 1));
+            copy[index] = value;
+            return new AttributeValues(copy, others);
+        }
+
+        return new AttributeValues(slots, others.assoc(attribute, value));
+    }
+
+    private static int indexOf(final Attribute<?> attribute) {
+        if (attribute instanceof DefaultAttribute) {
+            return ((DefaultAttribute<?>) attribute).getIndex();
+        }
+
+        return DefaultAttribute.NO_SLOT;
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Sends the remaining bytes of a {@link ByteBuffer buffer}. Every write works on a duplicate, i.e. neither the
+ * position nor the limit of the given buffer are modified.
+ */
+@AllArgsConstructor
+final class ByteBufferEntity extends AbstractChannelEntity {
+
+    private final ByteBuffer buffer;
+
+    @Override
+    public long getContentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public ReadableByteChannel open() {
+        return new Reader(buffer.duplicate());
+    }
+
+    @Override
+    void transferTo(final OutputStream stream) throws IOException {
+        if (buffer.hasArray()) {
+            stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+
+        final ByteBuffer source = buffer.duplicate();
+        final WritableByteChannel target = Channels.newChannel(stream);
+
+        while (source.hasRemaining()) {
+            target.write(source);
+        }
+    }
+
+    private static final class Reader implements ReadableByteChannel {
+
+        private final ByteBuffer source;
+        private boolean open = true;
+
+        private Reader(final ByteBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(final ByteBuffer target) {
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+
+            final int length = Math.min(source.remaining(), target.remaining());
+            target.put(source.slice().limit(length));
+            source.position(source.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+    }
+
+}
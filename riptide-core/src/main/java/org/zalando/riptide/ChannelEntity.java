@@ -0,0 +1,33 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An {@link Entity entity} of known length that can be read as a {@link ReadableByteChannel channel}. Channel-based
+ * transports can read it into their own buffers, rather than letting the entity write it to an
+ * {@link java.io.OutputStream}, which would require a copy into an array on the heap.
+ *
+ * @see Entities
+ */
+@API(status = EXPERIMENTAL)
+public interface ChannelEntity extends Entity {
+
+    @Override
+    long getContentLength();
+
+    /**
+     * Opens a new channel, positioned at the start of the body. Every call returns an independent channel, i.e. the
+     * entity can be sent repeatedly.
+     *
+     * @return a new channel that reads exactly {@link #getContentLength()} bytes
+     * @throws IOException if the channel can't be opened
+     */
+    ReadableByteChannel open() throws IOException;
+
+}
@@ -0,0 +1,185 @@
+package org.zalando.riptide;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import org.organicdesign.fp.collections.ImList;
+import org.organicdesign.fp.collections.PersistentVector;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable, case-insensitive multi value map of header names to lists of values. Names and values are kept in
+ * two flat, parallel arrays that are copied on modification. Requests usually carry a handful of headers, which makes
+ * a linear scan over the names cheaper than hashing or comparing them in a tree. Value lists are persistent and
+ * therefore shared between modified copies.
+ *
+ * Entries are kept in insertion order and retain the first spelling of every name.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class CompactMultiMap extends AbstractMap<String, List<String>> {
+
+    private static final String[] NO_NAMES = new String[0];
+
+    @SuppressWarnings("unchecked")
+    private static final ImList<String>[] NO_VALUES = (ImList<String>[]) new ImList<?>[0];
+
+    static final CompactMultiMap EMPTY = new CompactMultiMap(NO_NAMES, NO_VALUES);
+
+    private final String[] names;
+    private final ImList<String>[] values;
+
+    CompactMultiMap with(final String name, final String value) {
+        final int index = indexOf(name);
+
+        if (index == -1) {
+            return append(name, PersistentVector.<String>empty().append(value));
+        }
+
+        return replace(index, values[index].append(value));
+    }
+
+    CompactMultiMap with(final String name, final Collection<String> additions) {
+        final int index = indexOf(name);
+
+        if (index == -1) {
+            return append(name, PersistentVector.ofIter(additions));
+        }
+
+        return replace(index, values[index].concat(additions));
+    }
+
+    CompactMultiMap with(final Map<String, ? extends Collection<String>> additions) {
+        CompactMultiMap result = this;
+
+        for (final Map.Entry<String, ? extends Collection<String>> entry : additions.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+
+        return result;
+    }
+
+    CompactMultiMap without(final String name) {
+        final int index = indexOf(name);
+
+        if (index == -1) {
+            return this;
+        }
+
+        final String[] names = new String[this.names.length - 1];
+        System.arraycopy(this.names, 0, names, 0, index);
+        System.arraycopy(this.names, index + 1, names, index, names.length - index);
+
+        final ImList<String>[] values = Arrays.copyOf(this.values, names.length);
+        System.arraycopy(this.values, index + 1, values, index, names.length - index);
+
+        return new CompactMultiMap(names, values);
+    }
+
+    private CompactMultiMap append(final String name, final ImList<String> value) {
+        final String[] names = Arrays.copyOf(this.names, this.names.length + 1);
+        names[this.names.length] = name;
+
+        final ImList<String>[] values = Arrays.copyOf(this.values, names.length);
+        values[this.values.length] = value;
+
+        return new CompactMultiMap(names, values);
+    }
+
+    private CompactMultiMap replace(final int index, final ImList<String> value) {
+        final ImList<String>[] values = this.values.clone();
+        values[index] = value;
+        return new CompactMultiMap(names, values);
+    }
+
+    private int indexOf(@Nullable final Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        final String name = (String) key;
+
+        for (int index = 0; index < names.length; index++) {
+            if (names[index].equalsIgnoreCase(name)) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Nullable
+    @Override
+    public List<String> get(@Nullable final Object key) {
+        final int index = indexOf(key);
+        return index == -1 ? null : values[index];
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super List<String>> action) {
+        for (int index = 0; index < names.length; index++) {
+            action.accept(names[index], values[index]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return new AbstractSet<Entry<String, List<String>>>() {
+
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                return new Iterator<Entry<String, List<String>>>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, List<String>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        final int current = index++;
+                        return new SimpleImmutableEntry<>(names[current], values[current]);
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link RequestExecution} that composes all {@link Plugin plugins} once, i.e. when the {@link Http} instance is
+ * being built, rather than on every request. Composition happens phase by phase, from the inside out, in exactly the
+ * same order as a per-request composition would do it. As soon as the first plugin that is not
+ * {@link Plugin#isStateless() stateless} is encountered, this and every following composition step is deferred and
+ * replayed on top of the precompiled part for every request.
+ */
+@AllArgsConstructor(access = PRIVATE)
+final class CompiledExecution implements RequestExecution {
+
+    private static final List<BiFunction<Plugin, RequestExecution, RequestExecution>> PHASES = Arrays.asList(
+            Plugin::aroundNetwork,
+            Plugin::aroundSerialization,
+            Plugin::aroundDispatch,
+            Plugin::aroundAsync);
+
+    private final RequestExecution compiled;
+    private final List<UnaryOperator<RequestExecution>> deferred;
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        RequestExecution execution = compiled;
+
+        for (final UnaryOperator<RequestExecution> step : deferred) {
+            execution = step.apply(execution);
+        }
+
+        return execution.execute(arguments);
+    }
+
+    static RequestExecution compile(final RequestExecution network, final List<Plugin> plugins) {
+        RequestExecution compiled = network;
+        final List<UnaryOperator<RequestExecution>> deferred = new ArrayList<>();
+
+        for (final BiFunction<Plugin, RequestExecution, RequestExecution> phase : PHASES) {
+            for (final Plugin plugin : plugins) {
+                final UnaryOperator<RequestExecution> step = before ->
+                        GuardedRequestExecution.guard(before, phase.apply(plugin, before));
+
+                if (deferred.isEmpty() && plugin.isStateless()) {
+                    compiled = step.apply(compiled);
+                } else {
+                    deferred.add(step);
+                }
+            }
+        }
+
+        return deferred.isEmpty() ? compiled : new CompiledExecution(compiled, deferred);
+    }
+
+}
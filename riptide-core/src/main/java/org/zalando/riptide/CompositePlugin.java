@@ -3,7 +3,6 @@ package org.zalando.riptide;
 import lombok.AllArgsConstructor;
 
 import java.util.Collection;
-import java.util.Objects;
 import java.util.function.BiFunction;
 
 @AllArgsConstructor
@@ -11,6 +10,11 @@ final class CompositePlugin implements Plugin {
 
     private final Collection<Plugin> plugins;
 
+    @Override
+    public boolean isStateless() {
+        return plugins.stream().allMatch(Plugin::isStateless);
+    }
+
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return combine(execution, Plugin::aroundAsync);
@@ -37,22 +41,10 @@ final class CompositePlugin implements Plugin {
         RequestExecution result = execution;
 
         for (final Plugin plugin : plugins) {
-            result = apply(plugin, result, combiner);
+            result = GuardedRequestExecution.guard(result, combiner.apply(plugin, result));
         }
 
         return result;
     }
 
-    private RequestExecution apply(final Plugin plugin, final RequestExecution before,
-            final BiFunction<Plugin, RequestExecution, RequestExecution> combiner) {
-
-        final RequestExecution after = combiner.apply(plugin, before);
-
-        if (Objects.equals(before, after)) {
-            return after;
-        }
-
-        return new GuardedRequestExecution(after);
-    }
-
 }
@@ -6,12 +6,13 @@ import org.springframework.http.client.ClientHttpResponse;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * @see Navigators#contentType()
  */
-enum ContentTypeNavigator implements EqualityNavigator<MediaType> {
+enum ContentTypeNavigator implements EqualityNavigator<MediaType>, SpecializedNavigator<MediaType> {
 
     INSTANCE;
 
@@ -27,6 +28,11 @@ enum ContentTypeNavigator implements EqualityNavigator<MediaType> {
         return response.getHeaders().getContentType();
     }
 
+    @Override
+    public RoutingTree<MediaType> dispatch(final List<Binding<MediaType>> bindings) {
+        return new ContentTypeRoutingTree(bindings);
+    }
+
     @Override
     public Optional<Route> navigate(@Nullable final MediaType contentType, final RoutingTree<MediaType> tree) throws IOException {
         final Optional<Route> exact = exactMatch(contentType, tree);
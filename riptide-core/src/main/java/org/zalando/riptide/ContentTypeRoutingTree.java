@@ -0,0 +1,134 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.parseMediaType;
+import static org.springframework.util.StringUtils.hasLength;
+import static org.zalando.riptide.ContentTypeNavigator.SPECIFIC_COMPARATOR;
+
+/**
+ * A {@link RoutingTree routing tree} of the {@link Navigators#contentType() content type navigator}. The best match
+ * for a content type is found by a single pass over the keys, which are captured once, when the tree is created.
+ *
+ * Routes are memorized per raw {@code Content-Type} header in a small, direct-mapped table. Responses of an API tend
+ * to use the very same couple of content types, i.e. repeated dispatches neither parse the header nor search for the
+ * best match again. Routing trees are frequently created per request, which is why the table is deliberately tiny
+ * and free of any locking: entries are immutable and racing writes just replace each other.
+ */
+final class ContentTypeRoutingTree implements RoutingTree<MediaType> {
+
+    private static final int MEMO_SIZE = 8;
+
+    private final RoutingTree<MediaType> tree;
+    private final MediaType[] keys;
+
+    @Nullable
+    private final Route wildcard;
+
+    private final Match[] memo = new Match[MEMO_SIZE];
+
+    ContentTypeRoutingTree(final List<Binding<MediaType>> bindings) {
+        this.tree = new DefaultRoutingTree<>(ContentTypeNavigator.INSTANCE, bindings);
+        this.keys = tree.keySet().toArray(new MediaType[0]);
+        this.wildcard = tree.getWildcard().orElse(null);
+    }
+
+    @Override
+    public Navigator<MediaType> getNavigator() {
+        return tree.getNavigator();
+    }
+
+    @Override
+    public Set<MediaType> keySet() {
+        return tree.keySet();
+    }
+
+    @Override
+    public Optional<Route> get(final MediaType attribute) {
+        return tree.get(attribute);
+    }
+
+    @Override
+    public Optional<Route> getWildcard() {
+        return Optional.ofNullable(wildcard);
+    }
+
+    @Override
+    public void execute(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        @Nullable final Route route = find(response.getHeaders().getFirst(CONTENT_TYPE));
+
+        if (route == null) {
+            executeWildcard(response, reader);
+        } else {
+            try {
+                route.execute(response, reader);
+            } catch (final NoWildcardException e) {
+                executeWildcard(response, reader);
+            }
+        }
+    }
+
+    @Nullable
+    private Route find(@Nullable final String contentType) {
+        if (!hasLength(contentType)) {
+            return wildcard;
+        }
+
+        final int slot = contentType.hashCode() & (MEMO_SIZE - 1);
+        @Nullable final Match match = memo[slot];
+
+        if (match != null && match.contentType.equals(contentType)) {
+            return match.route;
+        }
+
+        @Nullable final Route route = find(parseMediaType(contentType));
+        memo[slot] = new Match(contentType, route);
+        return route;
+    }
+
+    @Nullable
+    private Route find(final MediaType contentType) {
+        final Optional<Route> exact = tree.get(contentType);
+
+        if (exact.isPresent()) {
+            return exact.get();
+        }
+
+        @Nullable MediaType best = null;
+
+        for (final MediaType key : keys) {
+            if (key.includes(contentType) && (best == null || SPECIFIC_COMPARATOR.compare(best, key) > 0)) {
+                best = key;
+            }
+        }
+
+        return best == null ? null : tree.get(best).orElse(null);
+    }
+
+    private void executeWildcard(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        if (wildcard == null) {
+            throw new NoWildcardException();
+        }
+
+        wildcard.execute(response, reader);
+    }
+
+    @AllArgsConstructor
+    private static final class Match {
+
+        private final String contentType;
+
+        @Nullable
+        private final Route route;
+
+    }
+
+}
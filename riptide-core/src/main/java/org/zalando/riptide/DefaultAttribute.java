@@ -1,5 +1,33 @@
 package org.zalando.riptide;
 
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class DefaultAttribute<T> implements Attribute<T> {
 
+    /**
+     * The number of attributes that get a slot. Attributes are usually constants, i.e. only a handful are ever
+     * generated, but nothing prevents generating them at runtime. Those must neither leak slots nor make every
+     * request's slot array grow indefinitely.
+     */
+    static final int SLOTS = 64;
+
+    static final int NO_SLOT = -1;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    /**
+     * A dense, zero-based index that is unique across the first {@link #SLOTS} generated attributes, or
+     * {@link #NO_SLOT} for any attribute after that. The index can be used as a slot in a small array, rather than a
+     * key in a map.
+     */
+    @Getter
+    private final int index = nextIndex();
+
+    private static int nextIndex() {
+        final int next = SEQUENCE.getAndUpdate(current -> Math.min(current + 1, SLOTS));
+        return next < SLOTS ? next : NO_SLOT;
+    }
+
 }
@@ -10,16 +10,14 @@ import static java.util.Objects.requireNonNull;
 
 final class DefaultHttp implements Http {
 
-    private final RequestExecution network;
+    private final RequestExecution execution;
     private final Supplier<URI> baseUrl;
     private final RequestArguments arguments;
-    private final Plugin plugin;
 
-    DefaultHttp(final IO io, final Supplier<URI> baseUrl, final UrlResolution resolution, final Plugin plugin) {
-        this.network = new GuardedRequestExecution(io);
+    DefaultHttp(final RequestExecution execution, final Supplier<URI> baseUrl, final UrlResolution resolution) {
+        this.execution = execution;
         this.baseUrl = requireNonNull(baseUrl, "base url provider");
         this.arguments = RequestArguments.create().withUrlResolution(resolution);
-        this.plugin = plugin;
     }
 
     @Override
@@ -167,7 +165,7 @@ final class DefaultHttp implements Http {
     }
 
     private AttributeStage execute(final RequestArguments arguments) {
-        return new Requester(network, arguments, plugin);
+        return new Requester(execution, arguments);
     }
 
 }
@@ -25,7 +25,6 @@ import java.util.function.Supplier;
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
 import static lombok.AccessLevel.PRIVATE;
-import static org.zalando.riptide.Plugin.composite;
 
 @With(PRIVATE)
 @AllArgsConstructor(access = PRIVATE)
@@ -72,6 +71,11 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
         return withIo(new BlockingIO(factory));
     }
 
+    @Override
+    public ConfigurationStage io(final IO io) {
+        return withIo(io);
+    }
+
     @Override
     public ConfigurationStage defaultConverters() {
         return converters(Converters.DEFAULT);
@@ -141,7 +145,8 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
         plugins.add(new SerializationPlugin(new DefaultMessageWriter(converters)));
         plugins.addAll(plugins());
 
-        return new DefaultHttp(io, baseUrl, resolution, composite(plugins));
+        final RequestExecution network = new GuardedRequestExecution(io);
+        return new DefaultHttp(CompiledExecution.compile(network, plugins), baseUrl, resolution);
     }
 
     private List<HttpMessageConverter<?>> converters() {
@@ -1,29 +1,53 @@
 package org.zalando.riptide;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.reflect.TypeToken;
-import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.core.ResolvableType;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.SmartHttpMessageConverter;
 import org.springframework.web.client.HttpMessageConverterExtractor;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 
 import static com.google.common.base.Throwables.propagateIfPossible;
+import static java.util.Collections.singletonList;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
 
-@AllArgsConstructor
 final class DefaultMessageReader implements MessageReader {
 
+    private static final int MAXIMUM_SIZE = 1024;
+
     private final List<HttpMessageConverter<?>> converters;
 
+    /**
+     * Extractors are stateless, but creating them and finding a suitable converter (by asking every single one of
+     * them) is not cheap. Both only depend on the requested type and the content type of the response, which leaves
+     * just a small number of combinations in practice.
+     */
+    private final Cache<Key, ResponseExtractor<?>> extractors = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    DefaultMessageReader(final List<HttpMessageConverter<?>> converters) {
+        this.converters = converters;
+    }
+
     @Override
     public <I> I read(final TypeToken<I> type, final ClientHttpResponse response) throws IOException {
         if (type.isSubtypeOf(ResponseEntity.class)) {
@@ -42,9 +66,9 @@ final class DefaultMessageReader implements MessageReader {
     }
 
     private <I> I readBody(final Type type, final ClientHttpResponse response) throws IOException {
-        final ResponseExtractor<I> extractor = new HttpMessageConverterExtractor<>(type, converters);
         try {
             try {
+                final ResponseExtractor<I> extractor = cast(extractorOf(type, response));
                 return extractor.extractData(response);
             } catch (final IOException | RuntimeException e) {
                 response.close();
@@ -57,6 +81,61 @@ final class DefaultMessageReader implements MessageReader {
         }
     }
 
+    private ResponseExtractor<?> extractorOf(final Type type, final ClientHttpResponse response) {
+        final MediaType contentType;
+
+        try {
+            contentType = contentTypeOf(response);
+        } catch (final InvalidMediaTypeException e) {
+            // not necessarily a problem, e.g. for empty bodies, that's up to the extractor
+            return new HttpMessageConverterExtractor<>(type, converters);
+        }
+
+        final Key key = new Key(type, contentType);
+        @Nullable final ResponseExtractor<?> cached = extractors.getIfPresent(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final ResponseExtractor<?> extractor = createExtractor(type, contentType);
+        extractors.put(key, extractor);
+        return extractor;
+    }
+
+    /**
+     * @see HttpMessageConverterExtractor#getContentType(ClientHttpResponse)
+     */
+    private static MediaType contentTypeOf(final ClientHttpResponse response) {
+        @Nullable final MediaType contentType = response.getHeaders().getContentType();
+        return contentType == null ? APPLICATION_OCTET_STREAM : contentType;
+    }
+
+    private ResponseExtractor<?> createExtractor(final Type type, final MediaType contentType) {
+        return converters.stream()
+                .filter(converter -> canRead(converter, type, contentType))
+                .findFirst()
+                .map(converter -> new HttpMessageConverterExtractor<>(type, singletonList(converter)))
+                // lets the extractor fail just as it would have without the cache
+                .orElseGet(() -> new HttpMessageConverterExtractor<>(type, converters));
+    }
+
+    /**
+     * Mirrors the order in which {@link HttpMessageConverterExtractor#extractData(ClientHttpResponse)} consults each
+     * converter.
+     */
+    private static boolean canRead(final HttpMessageConverter<?> converter, final Type type,
+            final MediaType contentType) {
+
+        if (converter instanceof GenericHttpMessageConverter) {
+            return ((GenericHttpMessageConverter<?>) converter).canRead(type, null, contentType);
+        } else if (converter instanceof SmartHttpMessageConverter) {
+            return ((SmartHttpMessageConverter<?>) converter).canRead(ResolvableType.forType(type), contentType);
+        }
+
+        return type instanceof Class && converter.canRead((Class<?>) type, contentType);
+    }
+
     private <I> void closeIfNecessary(final I body, final ClientHttpResponse response) {
         if (body instanceof AutoCloseable) {
             return;
@@ -70,4 +149,10 @@ final class DefaultMessageReader implements MessageReader {
         return (I) result;
     }
 
+    @Value
+    private static class Key {
+        Type type;
+        MediaType contentType;
+    }
+
 }
@@ -1,6 +1,8 @@
 package org.zalando.riptide;
 
-import lombok.AllArgsConstructor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -12,11 +14,24 @@ import java.util.List;
 
 import static java.lang.String.format;
 
-@AllArgsConstructor
 final class DefaultMessageWriter implements MessageWriter {
 
+    private static final int MAXIMUM_SIZE = 1024;
+
     private final List<HttpMessageConverter<?>> converters;
 
+    /**
+     * The first converter that {@link HttpMessageConverter#canWrite(Class, MediaType) can write} a combination of
+     * body type and content type. Requests of a client tend to use a small, fixed set of those.
+     */
+    private final Cache<Key, HttpMessageConverter<?>> writers = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    DefaultMessageWriter(final List<HttpMessageConverter<?>> converters) {
+        this.converters = converters;
+    }
+
     @Override
     public void write(final HttpOutputMessage request, final RequestArguments arguments)
             throws IOException {
@@ -31,12 +46,25 @@ final class DefaultMessageWriter implements MessageWriter {
 
         @Nullable final MediaType contentType = request.getHeaders().getContentType();
 
-        converters.stream()
+        final HttpMessageConverter<Object> converter = cast(writerOf(type, contentType));
+        converter.write(body, contentType, request);
+    }
+
+    private HttpMessageConverter<?> writerOf(final Class<?> type, @Nullable final MediaType contentType) {
+        final Key key = new Key(type, contentType);
+        @Nullable final HttpMessageConverter<?> cached = writers.getIfPresent(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final HttpMessageConverter<?> writer = converters.stream()
                 .filter(converter -> converter.canWrite(type, contentType))
-                .map(this::cast)
                 .findFirst()
-                .orElseThrow(() -> fail(type, contentType))
-                .write(body, contentType, request);
+                .orElseThrow(() -> fail(type, contentType));
+
+        writers.put(key, writer);
+        return writer;
     }
 
     @SuppressWarnings("unchecked") // guarded by HttpMessageConverter#canWrite
@@ -44,6 +72,14 @@ final class DefaultMessageWriter implements MessageWriter {
         return (HttpMessageConverter<T>) converter;
     }
 
+    @Value
+    private static class Key {
+        Class<?> type;
+
+        @Nullable
+        MediaType contentType;
+    }
+
     private RestClientException fail(final Class<?> type, @Nullable final MediaType contentType) {
         final String message = format(
                 "Could not write request: no suitable HttpMessageConverter found for request type [%s]",
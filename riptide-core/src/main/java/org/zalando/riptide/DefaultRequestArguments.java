@@ -1,5 +1,6 @@
 package org.zalando.riptide;
 
+import com.google.common.base.CharMatcher;
 import com.google.common.net.UrlEscapers;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -11,7 +12,6 @@ import org.apiguardian.api.API;
 import org.organicdesign.fp.collections.BaseMap;
 import org.organicdesign.fp.collections.ImList;
 import org.organicdesign.fp.collections.PersistentHashMap;
-import org.organicdesign.fp.collections.PersistentTreeMap;
 import org.organicdesign.fp.collections.PersistentVector;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -29,9 +29,8 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apiguardian.api.API.Status.INTERNAL;
-import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
 import static org.springframework.web.util.UriUtils.encodeQueryParam;
 import static org.zalando.fauxpas.FauxPas.throwingBiConsumer;
 import static org.zalando.fauxpas.FauxPas.throwingConsumer;
@@ -66,15 +65,14 @@ final class DefaultRequestArguments implements RequestArguments {
     @With
     URI uri;
 
-    BaseMap<Attribute<?>, Object> attributes;
+    AttributeValues attributes;
 
     @Getter
     BaseMap<String, List<String>> queryParams;
 
     AtomicReference<URI> requestUri = new AtomicReference<>();
 
-    @Getter
-    BaseMap<String, List<String>> headers;
+    CompactMultiMap headers;
 
     @Getter
     @With
@@ -89,8 +87,13 @@ final class DefaultRequestArguments implements RequestArguments {
     Route route;
 
     DefaultRequestArguments() {
-        this(null, null, RFC, null, PersistentVector.empty(), null, PersistentHashMap.empty(),
-                PersistentHashMap.empty(), PersistentTreeMap.empty(CASE_INSENSITIVE_ORDER), null, null, null);
+        this(null, null, RFC, null, PersistentVector.empty(), null, AttributeValues.EMPTY,
+                PersistentHashMap.empty(), CompactMultiMap.EMPTY, null, null, null);
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaders() {
+        return headers;
     }
 
     @Override
@@ -125,10 +128,7 @@ final class DefaultRequestArguments implements RequestArguments {
                     unresolvedUri = null;
                 } else {
                     // expand uri template
-                    unresolvedUri = fromUriString(uriTemplate)
-                            .buildAndExpand(getUriVariables().toArray())
-                            .encode()
-                            .toUri();
+                    unresolvedUri = UriTemplates.expand(uriTemplate, getUriVariables());
                 }
             } else {
                 unresolvedUri = uri;
@@ -146,15 +146,9 @@ final class DefaultRequestArguments implements RequestArguments {
                 resolvedUri = getUrlResolution().resolve(baseUrl, unresolvedUri);
             }
 
-            final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
-            // encode query params
-            getQueryParams().forEach(throwingBiConsumer((key, values) ->
-                    values.forEach(throwingConsumer(value ->
-                            components.queryParam(key, encode(value))))));
-
-            // build request uri
-            final URI requestUri = components.uri(resolvedUri)
-                    .build(true).normalize().toUri();
+            final URI requestUri = isCanonical(resolvedUri) && hasCanonicalNames(getQueryParams()) ?
+                    appendQueryParams(resolvedUri) :
+                    buildRequestUri(resolvedUri);
 
             checkArgument(requestUri.isAbsolute(), "Request URI is not absolute");
 
@@ -162,6 +156,78 @@ final class DefaultRequestArguments implements RequestArguments {
         });
     }
 
+    private URI buildRequestUri(final URI resolvedUri) {
+        final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
+        // encode query params
+        getQueryParams().forEach(throwingBiConsumer((key, values) ->
+                values.forEach(throwingConsumer(value ->
+                        components.queryParam(key, encode(value))))));
+
+        // build request uri
+        return components.uri(resolvedUri)
+                .build(true).normalize().toUri();
+    }
+
+    /**
+     * Appends query parameters directly to the given {@link #isCanonical(URI) canonical} URI. The result is the same
+     * as {@link #buildRequestUri(URI)} would produce, just without parsing, copying and normalizing the URI again.
+     */
+    private URI appendQueryParams(final URI resolvedUri) {
+        if (queryParams.isEmpty()) {
+            return resolvedUri;
+        }
+
+        final StringBuilder uri = new StringBuilder(resolvedUri.toString());
+        final int length = uri.length();
+
+        getQueryParams().forEach(throwingBiConsumer((key, values) ->
+                values.forEach(throwingConsumer(value ->
+                        uri.append(uri.length() == length ? '?' : '&')
+                                .append(key).append('=').append(encode(value))))));
+
+        return URI.create(uri.toString());
+    }
+
+    /**
+     * A URI is canonical if building it using a {@link UriComponentsBuilder} and normalizing it would produce the
+     * very same URI again. That's the case for the vast majority of request URIs, i.e. those with a plain host,
+     * an ASCII path without dot segments and without user info, query and fragment.
+     */
+    private static boolean isCanonical(final URI uri) {
+        @Nullable final String host = uri.getHost();
+        @Nullable final String path = uri.getRawPath();
+
+        return host != null
+                && uri.getRawUserInfo() == null
+                && uri.getRawQuery() == null
+                && uri.getRawFragment() == null
+                && hasCanonicalAuthority(uri, host)
+                && path != null
+                && path.indexOf("/.") == -1
+                && CharMatcher.ascii().matchesAllOf(path);
+    }
+
+    /**
+     * Query parameter names are taken as they are, i.e. names that would need to be encoded are left to
+     * {@link UriComponentsBuilder#build(boolean) the builder} to be rejected.
+     */
+    private static boolean hasCanonicalNames(final Map<String, List<String>> queryParams) {
+        return queryParams.keySet().stream()
+                .allMatch(name -> encodeQueryParam(name, UTF_8).equals(name));
+    }
+
+    private static boolean hasCanonicalAuthority(final URI uri, final String host) {
+        final String authority = uri.getRawAuthority();
+
+        if (uri.getPort() == -1) {
+            // rules out empty ports, e.g. https://example.com:/
+            return authority.length() == host.length();
+        }
+
+        // rules out leading zeros, e.g. https://example.com:0443/
+        return authority.charAt(host.length() + 1) != '0';
+    }
+
     /**
      * Older spring versions don't allow {@code +} signs in query parameters even though that is technically
      * allowed and valid. In order to have a consistent behavior across different Spring versions
@@ -191,7 +257,7 @@ final class DefaultRequestArguments implements RequestArguments {
     @Override
     public <T> RequestArguments withAttribute(final Attribute<T> attribute, final T value) {
         return new DefaultRequestArguments(
-                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes.assoc(attribute, value),
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes.with(attribute, value),
                 queryParams, headers, body, entity, route);
     }
 
@@ -223,12 +289,12 @@ final class DefaultRequestArguments implements RequestArguments {
 
     @Override
     public RequestArguments withHeader(final String name, final String value) {
-        return headers(headers.assoc(name, getOrDefault(headers, name).append(value)));
+        return headers(headers.with(name, value));
     }
 
     @Override
     public RequestArguments withHeaders(final Map<String, ? extends Collection<String>> additionalHeaders) {
-        return headers(merge(headers, additionalHeaders));
+        return headers(headers.with(additionalHeaders));
     }
 
     @Override
@@ -238,10 +304,10 @@ final class DefaultRequestArguments implements RequestArguments {
 
     @Override
     public RequestArguments replaceHeaders(final Map<String, ? extends Collection<String>> headers) {
-        return headers(merge(PersistentHashMap.empty(), headers));
+        return headers(CompactMultiMap.EMPTY.with(headers));
     }
 
-    private DefaultRequestArguments headers(final BaseMap<String, List<String>> headers) {
+    private DefaultRequestArguments headers(final CompactMultiMap headers) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes, queryParams,
                 headers, body, entity, route);
@@ -9,6 +9,11 @@ final class DispatchPlugin implements Plugin {
 
     private final MessageReader reader;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundDispatch(final RequestExecution execution) {
         return arguments -> execution.execute(arguments)
@@ -0,0 +1,71 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Static factory methods for {@link Entity entities} of known length, that are sent without being copied through
+ * intermediate arrays where the transport allows it: Files are transferred using
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) FileChannel.transferTo} and
+ * buffers are written as they are.
+ *
+ * <pre>{@code
+ * http.put("/files/{id}", id)
+ *     .body(Entities.of(Paths.get("report.csv")))
+ *     .call(pass());
+ * }</pre>
+ *
+ * @see ChannelEntity
+ * @see BodyStage#body(Entity)
+ */
+@API(status = EXPERIMENTAL)
+public final class Entities {
+
+    private Entities() {
+
+    }
+
+    /**
+     * @param path the file to send, opened anew for every attempt
+     * @return an entity that sends the whole file
+     * @throws IOException if the size of the file can't be determined
+     */
+    public static ChannelEntity of(final Path path) throws IOException {
+        return new PathEntity(path, Files.size(path));
+    }
+
+    /**
+     * The channel is read from its current position up to its current size. It's neither closed nor is its position
+     * modified, i.e. it has to stay open until the request was sent.
+     *
+     * @param channel the file to send
+     * @return an entity that sends the remainder of the file
+     * @throws IOException if the position or size of the file can't be determined
+     */
+    public static ChannelEntity of(final FileChannel channel) throws IOException {
+        final long position = channel.position();
+        return new FileChannelEntity(channel, position, Math.max(channel.size() - position, 0));
+    }
+
+    /**
+     * Sends the remaining bytes of the given buffer, without modifying its position. This includes
+     * {@link MappedByteBuffer memory-mapped} files, as created by
+     * {@link FileChannel#map(FileChannel.MapMode, long, long) FileChannel.map}.
+     *
+     * @param buffer the buffer to send
+     * @return an entity that sends the remaining bytes of the buffer
+     */
+    public static ChannelEntity of(final ByteBuffer buffer) {
+        return new ByteBufferEntity(buffer.duplicate());
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Sends a region of an already opened {@link FileChannel file}. The channel is read using absolute positions, i.e.
+ * its own position is neither used nor modified, and it's never closed.
+ */
+@AllArgsConstructor
+final class FileChannelEntity extends AbstractChannelEntity {
+
+    private final FileChannel channel;
+    private final long position;
+    private final long count;
+
+    @Override
+    public long getContentLength() {
+        return count;
+    }
+
+    @Override
+    public ReadableByteChannel open() {
+        return new Region(channel, position, count);
+    }
+
+    @Override
+    void transferTo(final OutputStream stream) throws IOException {
+        transfer(channel, position, count, stream);
+    }
+
+    static void transfer(final FileChannel channel, final long position, final long count,
+            final OutputStream stream) throws IOException {
+
+        final WritableByteChannel target = Channels.newChannel(stream);
+        long transferred = 0;
+
+        while (transferred < count) {
+            final long written = channel.transferTo(position + transferred, count - transferred, target);
+
+            if (written <= 0) {
+                throw new IOException("Unexpected end of file after " + transferred + " of " + count + " bytes");
+            }
+
+            transferred += written;
+        }
+    }
+
+    private static final class Region implements ReadableByteChannel {
+
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+        private boolean open = true;
+
+        private Region(final FileChannel channel, final long position, final long count) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = count;
+        }
+
+        @Override
+        public int read(final ByteBuffer target) throws IOException {
+            if (remaining == 0) {
+                return -1;
+            }
+
+            final int limit = target.limit();
+            target.limit(target.position() + (int) Math.min(target.remaining(), remaining));
+
+            try {
+                final int read = channel.read(target, position);
+
+                if (read == -1) {
+                    throw new IOException("Unexpected end of file with " + remaining + " bytes remaining");
+                }
+
+                position += read;
+                remaining -= read;
+                return read;
+            } finally {
+                target.limit(limit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            // the underlying channel is owned by the caller
+            open = false;
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Downloads a response body into a file, which is created or replaced. A partially written file is deleted if the
+ * transfer fails.
+ *
+ * @see TransferRoute
+ */
+@AllArgsConstructor
+final class FileRoute implements Route {
+
+    private final Path path;
+    private final ProgressListener listener;
+
+    @Override
+    public void execute(final ClientHttpResponse response, final MessageReader reader) throws IOException {
+        final FileChannel channel;
+
+        try {
+            channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+        } catch (final IOException e) {
+            response.close();
+            throw e;
+        }
+
+        try (final FileChannel target = channel) {
+            new TransferRoute(target, listener).execute(response, reader);
+        } catch (final IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (final IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package org.zalando.riptide;
 import lombok.AllArgsConstructor;
 import org.springframework.http.client.ClientHttpResponse;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 import static org.zalando.riptide.CompletableFutures.exceptionallyCompletedFuture;
@@ -21,4 +22,12 @@ final class GuardedRequestExecution implements RequestExecution {
         }
     }
 
+    static RequestExecution guard(final RequestExecution before, final RequestExecution after) {
+        if (Objects.equals(before, after)) {
+            return after;
+        }
+
+        return new GuardedRequestExecution(after);
+    }
+
 }
@@ -10,6 +10,7 @@ import java.net.URI;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 /**
@@ -36,6 +37,19 @@ public interface Http extends URIStage {
 
     interface RequestFactoryStage {
         ConfigurationStage requestFactory(ClientHttpRequestFactory requestFactory);
+
+        /**
+         * Uses the given {@link IO} instead of a {@link ClientHttpRequestFactory request factory}. Implementations
+         * of this stage that predate this method don't support it.
+         *
+         * @param io the IO to send requests and receive responses with
+         * @return the next stage
+         * @throws UnsupportedOperationException if this stage doesn't support custom IO
+         */
+        @API(status = EXPERIMENTAL)
+        default ConfigurationStage io(final IO io) {
+            throw new UnsupportedOperationException("Custom IO is not supported by " + getClass().getName());
+        }
     }
 
     interface ConfigurationStage extends FinalStage {
@@ -1,18 +1,28 @@
 package org.zalando.riptide;
 
-import org.springframework.util.MultiValueMap;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
 
 import java.util.List;
 import java.util.Map;
 
-import static org.springframework.util.CollectionUtils.toMultiValueMap;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
-interface IO extends RequestExecution {
+/**
+ * The network layer of {@link Http}, i.e. the last {@link RequestExecution execution} that actually sends a request
+ * and receives a response. The default implementation is blocking and based on a
+ * {@link org.springframework.http.client.ClientHttpRequestFactory}. Non-blocking implementations complete the
+ * returned future as soon as the response headers are received, while the body is still being streamed.
+ *
+ * @see Http.RequestFactoryStage#io(IO)
+ */
+@API(status = EXPERIMENTAL)
+public interface IO extends RequestExecution {
 
     default void copyTo(
             final Map<String, List<String>> source,
-            final MultiValueMap<String, String> target) {
-        target.addAll(toMultiValueMap(source));
+            final HttpHeaders target) {
+        source.forEach(target::addAll);
     }
 
 }
@@ -0,0 +1,42 @@
+package org.zalando.riptide;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An {@link EqualityNavigator equality navigator} whose attributes map to a small, dense range of integers, e.g.
+ * status codes. {@link RoutingTree#dispatch(Navigator, List) Routing trees} of those navigators are backed
+ * by an array of routes, rather than a map, and can find the route for a response without boxing or hashing.
+ *
+ * @param <A> generic attribute type
+ * @see IndexedRoutingTree
+ */
+interface IndexedNavigator<A> extends EqualityNavigator<A>, SpecializedNavigator<A> {
+
+    /**
+     * @return the number of distinct indices
+     */
+    int size();
+
+    /**
+     * @param attribute the attribute of a binding
+     * @return the index of the given attribute or {@code -1} if it can't be indexed
+     */
+    int indexOf(@Nullable A attribute);
+
+    /**
+     * @param response the incoming response
+     * @return the index of the response's attribute or {@code -1} if it can't be indexed
+     * @throws IOException if accessing the response failed
+     */
+    int indexOf(ClientHttpResponse response) throws IOException;
+
+    @Override
+    default RoutingTree<A> dispatch(final List<Binding<A>> bindings) {
+        return IndexedRoutingTree.create(this, bindings);
+    }
+
+}
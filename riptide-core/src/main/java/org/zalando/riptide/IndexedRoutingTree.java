@@ -0,0 +1,90 @@
+package org.zalando.riptide;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link RoutingTree routing tree} of an {@link IndexedNavigator indexed navigator} that keeps its routes in an
+ * array. Looking up the route of a response is an array read. Keys and the wildcard are still served by a
+ * {@link DefaultRoutingTree default routing tree}, which preserves the order of bindings.
+ *
+ * @param <A> generic attribute type
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class IndexedRoutingTree<A> implements RoutingTree<A> {
+
+    private final IndexedNavigator<A> navigator;
+    private final RoutingTree<A> tree;
+    private final Route[] routes;
+
+    @Nullable
+    private final Route wildcard;
+
+    static <A> RoutingTree<A> create(final IndexedNavigator<A> navigator, final List<Binding<A>> bindings) {
+        final RoutingTree<A> tree = new DefaultRoutingTree<>(navigator, bindings);
+        final Route[] routes = new Route[navigator.size()];
+
+        for (final A attribute : tree.keySet()) {
+            final int index = navigator.indexOf(attribute);
+
+            if (index == -1) {
+                return tree;
+            }
+
+            routes[index] = tree.get(attribute).orElseThrow(IllegalStateException::new);
+        }
+
+        return new IndexedRoutingTree<>(navigator, tree, routes, tree.getWildcard().orElse(null));
+    }
+
+    @Override
+    public Navigator<A> getNavigator() {
+        return navigator;
+    }
+
+    @Override
+    public Set<A> keySet() {
+        return tree.keySet();
+    }
+
+    @Override
+    public Optional<Route> get(final A attribute) {
+        return tree.get(attribute);
+    }
+
+    @Override
+    public Optional<Route> getWildcard() {
+        return Optional.ofNullable(wildcard);
+    }
+
+    @Override
+    public void execute(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        final int index = navigator.indexOf(response);
+        @Nullable final Route route = index == -1 ? null : routes[index];
+
+        if (route == null) {
+            executeWildcard(response, reader);
+        } else {
+            try {
+                route.execute(response, reader);
+            } catch (final NoWildcardException e) {
+                executeWildcard(response, reader);
+            }
+        }
+    }
+
+    private void executeWildcard(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+        if (wildcard == null) {
+            throw new NoWildcardException();
+        }
+
+        wildcard.execute(response, reader);
+    }
+
+}
@@ -25,6 +25,11 @@ public final class OriginalStackTracePlugin implements Plugin {
      */
     public static final Attribute<Supplier<StackTraceElement[]>> STACK = Attribute.generate();
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return arguments -> {
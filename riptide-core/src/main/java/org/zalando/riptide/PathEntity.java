@@ -0,0 +1,39 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Sends a file, which is opened anew every time the entity is written.
+ */
+@AllArgsConstructor
+final class PathEntity extends AbstractChannelEntity {
+
+    private final Path path;
+    private final long size;
+
+    @Override
+    public long getContentLength() {
+        return size;
+    }
+
+    @Override
+    public ReadableByteChannel open() throws IOException {
+        return FileChannel.open(path, READ);
+    }
+
+    @Override
+    void transferTo(final OutputStream stream) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, READ)) {
+            FileChannelEntity.transfer(channel, 0, size, stream);
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import org.apiguardian.api.API;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
 /**
@@ -76,6 +77,19 @@ public interface Plugin {
         return execution;
     }
 
+    /**
+     * Stateless plugins produce executions that solely depend on the given execution, i.e. they don't capture anything
+     * while being composed, e.g. the calling thread's context or a random decision. Executions of stateless plugins
+     * are composed once per {@link Http} instance and shared by all requests. All other plugins are composed on every
+     * request.
+     *
+     * @return true if this plugin may be composed once and reused for all requests, false otherwise
+     */
+    @API(status = EXPERIMENTAL)
+    default boolean isStateless() {
+        return false;
+    }
+
     static Plugin composite(final Plugin... plugins) {
         return composite(Arrays.asList(plugins));
     }
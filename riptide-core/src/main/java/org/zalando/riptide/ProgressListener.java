@@ -0,0 +1,30 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Receives updates while a response body is being transferred.
+ *
+ * @see Route#to(java.nio.file.Path, ProgressListener)
+ * @see Route#to(java.nio.channels.WritableByteChannel, ProgressListener)
+ */
+@API(status = EXPERIMENTAL)
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * @param transferred the number of bytes transferred so far
+     * @param total the total number of bytes, as announced by the {@code Content-Length} header, or {@code -1} if
+     *              unknown
+     */
+    void onProgress(long transferred, long total);
+
+    static ProgressListener none() {
+        return (transferred, total) -> {
+            // nothing to do
+        };
+    }
+
+}
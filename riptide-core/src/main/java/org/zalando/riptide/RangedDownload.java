@@ -0,0 +1,310 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.ACCEPT_RANGES;
+import static org.springframework.http.HttpHeaders.CONTENT_RANGE;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+import static org.springframework.http.HttpHeaders.RANGE;
+import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.anyStatus;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.CompletableFutures.exceptionallyCompletedFuture;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.NoRoute.noRoute;
+import static org.zalando.riptide.PassRoute.pass;
+
+/**
+ * Downloads large resources into a file using several concurrent connections. A {@code HEAD} request determines the
+ * size of the resource first. If the server advertises {@code Accept-Ranges: bytes}, the resource is split into ranges
+ * which are requested concurrently and written into the file at their respective offsets. Otherwise, the resource is
+ * downloaded using a single, ordinary request.
+ *
+ * A failed range is retried, starting at the first byte that wasn't received yet. Ranges are requested with an
+ * {@code If-Range} precondition, if the resource has a strong {@code ETag} or a {@code Last-Modified} date, i.e. a
+ * resource that changes in the meantime fails the download, rather than producing a file that mixes both versions.
+ * The file is deleted if the download fails.
+ *
+ * <pre>{@code
+ * new RangedDownload(http)
+ *     .withParallelism(8)
+ *     .download(URI.create("https://example.org/feed.csv"), Paths.get("feed.csv"))
+ *     .join();
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class RangedDownload {
+
+    private final Http http;
+    private final int parallelism;
+    private final long rangeSize;
+    private final int maxRetries;
+    private final ProgressListener listener;
+
+    public RangedDownload(final Http http) {
+        this(http, 4, 16 * 1024 * 1024, 3, ProgressListener.none());
+    }
+
+    /**
+     * @param parallelism the maximum number of concurrent requests, defaults to 4
+     * @return a new download which requests at most the given number of ranges at the same time
+     */
+    public RangedDownload withParallelism(final int parallelism) {
+        checkArgument(parallelism > 0, "Parallelism must be positive");
+        return new RangedDownload(http, parallelism, rangeSize, maxRetries, listener);
+    }
+
+    /**
+     * @param rangeSize the number of bytes per range, defaults to 16 MiB
+     * @return a new download which splits resources into ranges of the given size
+     */
+    public RangedDownload withRangeSize(final long rangeSize) {
+        checkArgument(rangeSize > 0, "Range size must be positive");
+        return new RangedDownload(http, parallelism, rangeSize, maxRetries, listener);
+    }
+
+    /**
+     * @param maxRetries the number of retries per range, defaults to 3
+     * @return a new download which retries every range at most the given number of times
+     */
+    public RangedDownload withMaxRetries(final int maxRetries) {
+        checkArgument(maxRetries >= 0, "Max retries must not be negative");
+        return new RangedDownload(http, parallelism, rangeSize, maxRetries, listener);
+    }
+
+    /**
+     * @param listener receives the total progress of all ranges, potentially from several threads at the same time
+     * @return a new download which reports its progress to the given listener
+     */
+    public RangedDownload withListener(final ProgressListener listener) {
+        return new RangedDownload(http, parallelism, rangeSize, maxRetries, listener);
+    }
+
+    public CompletableFuture<Void> download(final URI uri, final Path path) {
+        return http.head(uri)
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()),
+                        anySeries().call(noRoute()))
+                .thenCompose(response -> {
+                    final HttpHeaders headers = response.getHeaders();
+                    final long length = headers.getContentLength();
+
+                    if (length > 0 && acceptsRanges(headers)) {
+                        return new Download(uri, path, length, validator(headers)).start();
+                    }
+
+                    return http.get(uri)
+                            .dispatch(series(),
+                                    on(SUCCESSFUL).call(Route.to(path, listener)),
+                                    anySeries().call(noRoute()))
+                            .thenApply(ignored -> null);
+                });
+    }
+
+    private static boolean acceptsRanges(final HttpHeaders headers) {
+        return headers.getValuesAsList(ACCEPT_RANGES).stream()
+                .anyMatch("bytes"::equalsIgnoreCase);
+    }
+
+    /**
+     * Weak entity tags are not allowed in {@code If-Range}, see
+     * <a href="https://tools.ietf.org/html/rfc7233#section-3.2">RFC 7233, Section 3.2</a>.
+     */
+    @Nullable
+    private static String validator(final HttpHeaders headers) {
+        @Nullable final String etag = headers.getETag();
+
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+
+        return headers.getFirst(LAST_MODIFIED);
+    }
+
+    private final class Download {
+
+        private final AtomicLong transferred = new AtomicLong();
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final Queue<Range> ranges = new ArrayDeque<>();
+
+        private final URI uri;
+        private final Path path;
+        private final long length;
+
+        @Nullable
+        private final String validator;
+
+        @Nullable
+        private FileChannel channel;
+
+        private Download(final URI uri, final Path path, final long length, @Nullable final String validator) {
+            this.uri = uri;
+            this.path = path;
+            this.length = length;
+            this.validator = validator;
+
+            for (long start = 0; start < length; start += rangeSize) {
+                ranges.add(new Range(start, Math.min(start + rangeSize, length) - 1));
+            }
+        }
+
+        CompletableFuture<Void> start() {
+            try {
+                channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+            } catch (final IOException e) {
+                return exceptionallyCompletedFuture(e);
+            }
+
+            final int workers = Math.min(parallelism, ranges.size());
+
+            final CompletableFuture<Void> future = CompletableFuture.allOf(IntStream.range(0, workers)
+                    .mapToObj(worker -> next())
+                    .toArray(CompletableFuture[]::new));
+
+            return future.handle((result, throwable) -> {
+                try {
+                    channel.close();
+
+                    if (throwable != null) {
+                        Files.deleteIfExists(path);
+                    }
+                } catch (final IOException e) {
+                    if (throwable == null) {
+                        throw new CompletionException(e);
+                    }
+
+                    throwable.addSuppressed(e);
+                }
+
+                if (throwable != null) {
+                    throw throwable instanceof CompletionException ?
+                            (CompletionException) throwable : new CompletionException(throwable);
+                }
+
+                return null;
+            });
+        }
+
+        private CompletableFuture<Void> next() {
+            @Nullable final Range range;
+
+            synchronized (ranges) {
+                range = failed.get() ? null : ranges.poll();
+            }
+
+            if (range == null) {
+                return completedFuture(null);
+            }
+
+            return fetch(range, 0).thenCompose(ignored -> next());
+        }
+
+        private CompletableFuture<Void> fetch(final Range range, final int attempt) {
+            final HeaderStage request = http.get(uri)
+                    .header(RANGE, "bytes=" + range.position + "-" + range.end);
+
+            return (validator == null ? request : request.header(IF_RANGE, validator))
+                    .dispatch(status(),
+                            on(PARTIAL_CONTENT).call(range),
+                            anyStatus().call(noRoute()))
+                    .<Void>thenApply(ignored -> null)
+                    .exceptionallyCompose(throwable -> {
+                        final Throwable cause = throwable instanceof CompletionException ?
+                                throwable.getCause() : throwable;
+
+                        // an unexpected response, e.g. a full 200 OK, won't get any better by retrying
+                        if (attempt >= maxRetries || cause instanceof UnexpectedResponseException) {
+                            failed.set(true);
+                            return exceptionallyCompletedFuture(throwable);
+                        }
+
+                        return fetch(range, attempt + 1);
+                    });
+        }
+
+        /**
+         * A range of the resource, which writes the response body at its offset into the file. The position is
+         * retained across attempts, i.e. a retry continues where the previous attempt stopped.
+         */
+        private final class Range implements Route, WritableByteChannel {
+
+            private final long end;
+            private long position;
+
+            private Range(final long start, final long end) {
+                this.position = start;
+                this.end = end;
+            }
+
+            @Override
+            public void execute(final ClientHttpResponse response, final MessageReader reader) throws Exception {
+                final String expected = "bytes " + position + "-" + end + "/";
+                @Nullable final String actual = response.getHeaders().getFirst(CONTENT_RANGE);
+
+                if (actual == null || !actual.startsWith(expected)) {
+                    response.close();
+                    throw new IOException("Expected content range " + expected + length + ", but got " + actual);
+                }
+
+                Route.to(this).execute(response, reader);
+            }
+
+            @Override
+            public int write(final ByteBuffer source) throws IOException {
+                // never write beyond the end of the range, it would overwrite the next one
+                if (source.remaining() > end + 1 - position) {
+                    throw new IOException("Received more than the requested range of " + uri);
+                }
+
+                final int written = channel.write(source, position);
+                position += written;
+                listener.onProgress(transferred.addAndGet(written), length);
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // the file is closed once all ranges are done
+            }
+
+        }
+
+    }
+
+}
@@ -25,6 +25,13 @@ public interface RequestArguments {
             return false;
         }
 
+        /**
+         * @return the length of the body in bytes, if known in advance, or {@code -1} otherwise
+         */
+        default long getContentLength() {
+            return -1;
+        }
+
     }
 
     URI getBaseUrl();
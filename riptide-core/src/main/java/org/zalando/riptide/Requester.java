@@ -29,9 +29,8 @@ import static org.zalando.fauxpas.FauxPas.throwingFunction;
 @AllArgsConstructor
 final class Requester extends AttributeStage {
 
-    private final RequestExecution network;
+    private final RequestExecution execution;
     private final RequestArguments arguments;
-    private final Plugin plugins;
 
     @Override
     public <T> AttributeStage attribute(final Attribute<T> attribute, final T value) {
@@ -120,7 +119,7 @@ final class Requester extends AttributeStage {
     }
 
     private Requester withArguments(final RequestArguments arguments) {
-        return new Requester(network, arguments, plugins);
+        return new Requester(execution, arguments);
     }
 
     @Override
@@ -145,13 +144,6 @@ final class Requester extends AttributeStage {
 
         @Override
         public CompletableFuture<ClientHttpResponse> call(final Route route) {
-            final RequestExecution execution =
-                    plugins.aroundAsync(
-                            plugins.aroundDispatch(
-                                    plugins.aroundSerialization(
-                                            plugins.aroundNetwork(
-                                                    network))));
-
             return throwingFunction(execution::execute).apply(arguments.withRoute(route));
         }
 
@@ -6,6 +6,10 @@ import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.fauxpas.ThrowingConsumer;
 import org.zalando.fauxpas.ThrowingRunnable;
 
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.zalando.fauxpas.TryWith.tryWith;
 
@@ -59,4 +63,40 @@ public interface Route {
         };
     }
 
+    /**
+     * Produces a {@link Route route} that downloads the response body into the given file, as is, i.e. without any
+     * deserialization. An existing file is replaced. A partially written file is deleted if the download fails.
+     *
+     * @param path the target file
+     * @return a {@link Route route} that writes the response body to a file
+     * @see #to(Path, ProgressListener)
+     */
+    @API(status = EXPERIMENTAL)
+    static Route to(final Path path) {
+        return to(path, ProgressListener.none());
+    }
+
+    @API(status = EXPERIMENTAL)
+    static Route to(final Path path, final ProgressListener listener) {
+        return new FileRoute(path, listener);
+    }
+
+    /**
+     * Produces a {@link Route route} that writes the response body to the given channel, as is, i.e. without any
+     * deserialization. The channel is neither closed nor, in case of a failure, truncated.
+     *
+     * @param channel the target channel
+     * @return a {@link Route route} that writes the response body to a channel
+     * @see #to(WritableByteChannel, ProgressListener)
+     */
+    @API(status = EXPERIMENTAL)
+    static Route to(final WritableByteChannel channel) {
+        return to(channel, ProgressListener.none());
+    }
+
+    @API(status = EXPERIMENTAL)
+    static Route to(final WritableByteChannel channel, final ProgressListener listener) {
+        return new TransferRoute(channel, listener);
+    }
+
 }
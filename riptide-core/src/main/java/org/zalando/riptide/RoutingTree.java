@@ -95,6 +95,10 @@ public interface RoutingTree<A> extends Route {
     }
 
     static <A> RoutingTree<A> dispatch(final Navigator<A> navigator, final List<Binding<A>> bindings) {
+        if (navigator instanceof SpecializedNavigator) {
+            return ((SpecializedNavigator<A>) navigator).dispatch(bindings);
+        }
+
         return new DefaultRoutingTree<>(navigator, bindings);
     }
 
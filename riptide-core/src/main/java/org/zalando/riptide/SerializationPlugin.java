@@ -11,6 +11,11 @@ final class SerializationPlugin implements Plugin {
 
     private final MessageWriter writer;
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundSerialization(final RequestExecution execution) {
         return arguments -> execution.execute(arguments.getEntity() == null ?
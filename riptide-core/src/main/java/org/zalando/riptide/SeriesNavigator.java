@@ -4,18 +4,36 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatus.Series;
 import org.springframework.http.client.ClientHttpResponse;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
  * @see Navigators#series()
  */
-enum SeriesNavigator implements EqualityNavigator<Series> {
+enum SeriesNavigator implements IndexedNavigator<Series> {
 
     INSTANCE;
 
+    private static final Series[] SERIES = Series.values();
+
     @Override
     public Series attributeOf(final ClientHttpResponse response) throws IOException {
         return HttpStatus.resolve(response.getStatusCode().value()).series();
     }
 
+    @Override
+    public int size() {
+        return SERIES.length;
+    }
+
+    @Override
+    public int indexOf(@Nullable final Series attribute) {
+        return attribute == null ? -1 : attribute.ordinal();
+    }
+
+    @Override
+    public int indexOf(final ClientHttpResponse response) throws IOException {
+        return indexOf(Series.resolve(response.getStatusCode().value()));
+    }
+
 }
@@ -0,0 +1,15 @@
+package org.zalando.riptide;
+
+import java.util.List;
+
+/**
+ * A {@link Navigator navigator} that comes with its own, specialized {@link RoutingTree routing tree}
+ * implementation, which {@link RoutingTree#dispatch(Navigator, List)} will use instead of the default one.
+ *
+ * @param <A> generic attribute type
+ */
+interface SpecializedNavigator<A> extends Navigator<A> {
+
+    RoutingTree<A> dispatch(List<Binding<A>> bindings);
+
+}
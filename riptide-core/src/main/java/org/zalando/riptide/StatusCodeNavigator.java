@@ -2,18 +2,41 @@ package org.zalando.riptide;
 
 import org.springframework.http.client.ClientHttpResponse;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
  * @see Navigators#status()
  */
-enum StatusCodeNavigator implements EqualityNavigator<Integer> {
+enum StatusCodeNavigator implements IndexedNavigator<Integer> {
 
     INSTANCE;
 
+    private static final int MIN = 100;
+    private static final int MAX = 599;
+
     @Override
     public Integer attributeOf(final ClientHttpResponse response) throws IOException {
         return response.getStatusCode().value();
     }
 
+    @Override
+    public int size() {
+        return MAX - MIN + 1;
+    }
+
+    @Override
+    public int indexOf(@Nullable final Integer attribute) {
+        return attribute == null ? -1 : indexOf(attribute.intValue());
+    }
+
+    @Override
+    public int indexOf(final ClientHttpResponse response) throws IOException {
+        return indexOf(response.getStatusCode().value());
+    }
+
+    static int indexOf(final int statusCode) {
+        return statusCode < MIN || statusCode > MAX ? -1 : statusCode - MIN;
+    }
+
 }
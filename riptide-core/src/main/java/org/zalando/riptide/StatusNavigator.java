@@ -3,12 +3,13 @@ package org.zalando.riptide;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpResponse;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
  * @see Navigators#status()
  */
-enum StatusNavigator implements EqualityNavigator<HttpStatus> {
+enum StatusNavigator implements IndexedNavigator<HttpStatus> {
 
     INSTANCE;
 
@@ -17,4 +18,22 @@ enum StatusNavigator implements EqualityNavigator<HttpStatus> {
         return HttpStatus.resolve(response.getStatusCode().value());
     }
 
+    @Override
+    public int size() {
+        return StatusCodeNavigator.INSTANCE.size();
+    }
+
+    @Override
+    public int indexOf(@Nullable final HttpStatus attribute) {
+        return attribute == null ? -1 : StatusCodeNavigator.indexOf(attribute.value());
+    }
+
+    /**
+     * Codes without a corresponding {@link HttpStatus} are never bound, i.e. their slots are empty.
+     */
+    @Override
+    public int indexOf(final ClientHttpResponse response) throws IOException {
+        return StatusCodeNavigator.indexOf(response.getStatusCode().value());
+    }
+
 }
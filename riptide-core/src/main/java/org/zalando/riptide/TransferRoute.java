@@ -0,0 +1,99 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static org.zalando.fauxpas.TryWith.tryWith;
+
+/**
+ * Copies a response body to a {@link WritableByteChannel channel} as is, without any deserialization. Bodies that are
+ * backed by a file are transferred using {@link FileChannel#transferTo FileChannel.transferTo}, everything else is
+ * copied in large chunks. The response is closed as soon as the body was copied, i.e. the connection is released before
+ * the route returns. The target channel is neither closed nor truncated.
+ */
+@AllArgsConstructor
+final class TransferRoute implements Route {
+
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * The maximum number of bytes transferred between two {@link ProgressListener progress} updates, if the body is
+     * transferred from channel to channel.
+     */
+    private static final long CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final WritableByteChannel target;
+    private final ProgressListener listener;
+
+    @Override
+    public void execute(final ClientHttpResponse response, final MessageReader reader) throws IOException {
+        tryWith(response, this::download);
+    }
+
+    private void download(final ClientHttpResponse response) throws IOException {
+        final long total = response.getHeaders().getContentLength();
+        final InputStream body = response.getBody();
+
+        final long transferred;
+
+        if (body instanceof FileInputStream) {
+            transferred = transfer(((FileInputStream) body).getChannel(), total);
+        } else {
+            transferred = copy(body, total);
+        }
+
+        // some clients silently stop at a premature end of the connection
+        if (total >= 0 && transferred != total) {
+            throw new IOException("Expected " + total + " bytes, but received " + transferred);
+        }
+    }
+
+    private long transfer(final FileChannel source, final long total) throws IOException {
+        long transferred = 0;
+
+        while (true) {
+            final long position = source.position();
+            // writes at, and advances, the target's current position
+            final long count = source.transferTo(position, CHUNK_SIZE, target);
+
+            if (count == 0) {
+                return transferred;
+            }
+
+            source.position(position + count);
+            transferred += count;
+            listener.onProgress(transferred, total);
+        }
+    }
+
+    private long copy(final InputStream source, final long total) throws IOException {
+        final byte[] array = new byte[BUFFER_SIZE];
+        final ByteBuffer buffer = ByteBuffer.wrap(array);
+        long transferred = 0;
+
+        while (true) {
+            final int count = source.readNBytes(array, 0, array.length);
+
+            if (count == 0) {
+                return transferred;
+            }
+
+            buffer.clear().limit(count);
+
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+
+            transferred += count;
+            listener.onProgress(transferred, total);
+        }
+    }
+
+}
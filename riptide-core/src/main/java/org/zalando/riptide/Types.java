@@ -1,17 +1,31 @@
 package org.zalando.riptide;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.reflect.TypeParameter;
 import com.google.common.reflect.TypeToken;
 import org.apiguardian.api.API;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.function.Function;
 
 import static org.apiguardian.api.API.Status.STABLE;
 
 @API(status = STABLE)
 public final class Types {
 
+    private static final int MAXIMUM_SIZE = 1024;
+
+    /**
+     * Resolving type parameters is reflective and rather expensive, while the set of entity types that are passed in
+     * is usually small and fixed, e.g. {@code listOf(User.class)} on every call.
+     */
+    private static final LoadingCache<TypeToken<?>, TypeToken<?>> LISTS = cache(Types::createListOf);
+    private static final LoadingCache<TypeToken<?>, TypeToken<?>> RESPONSE_ENTITIES =
+            cache(Types::createResponseEntityOf);
+
     private Types() {
 
     }
@@ -20,8 +34,20 @@ public final class Types {
         return listOf(TypeToken.of(entityType));
     }
 
-    @SuppressWarnings("serial")
     public static <T> TypeToken<List<T>> listOf(final TypeToken<T> entityType) {
+        return cast(LISTS.getUnchecked(entityType));
+    }
+
+    public static <T> TypeToken<ResponseEntity<T>> responseEntityOf(final Class<T> entityType) {
+        return responseEntityOf(TypeToken.of(entityType));
+    }
+
+    public static <T> TypeToken<ResponseEntity<T>> responseEntityOf(final TypeToken<T> entityType) {
+        return cast(RESPONSE_ENTITIES.getUnchecked(entityType));
+    }
+
+    @SuppressWarnings("serial")
+    private static <T> TypeToken<List<T>> createListOf(final TypeToken<T> entityType) {
         final TypeToken<List<T>> listType = new TypeToken<List<T>>() {
             // nothing to implement!
         };
@@ -33,11 +59,7 @@ public final class Types {
         return listType.where(elementType, entityType);
     }
 
-    public static <T> TypeToken<ResponseEntity<T>> responseEntityOf(final Class<T> entityType) {
-        return responseEntityOf(TypeToken.of(entityType));
-    }
-
-    public static <T> TypeToken<ResponseEntity<T>> responseEntityOf(final TypeToken<T> entityType) {
+    private static <T> TypeToken<ResponseEntity<T>> createResponseEntityOf(final TypeToken<T> entityType) {
         final TypeToken<ResponseEntity<T>> responseEntityType = new TypeToken<ResponseEntity<T>>() {
             // nothing to implement!
         };
@@ -49,4 +71,22 @@ public final class Types {
         return responseEntityType.where(elementType, entityType);
     }
 
+    private static LoadingCache<TypeToken<?>, TypeToken<?>> cache(
+            final Function<TypeToken<?>, TypeToken<?>> function) {
+
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .build(new CacheLoader<TypeToken<?>, TypeToken<?>>() {
+                    @Override
+                    public TypeToken<?> load(final TypeToken<?> type) {
+                        return function.apply(type);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(final TypeToken<?> type) {
+        return (T) type;
+    }
+
 }
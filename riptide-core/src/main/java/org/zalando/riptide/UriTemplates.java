@@ -0,0 +1,338 @@
+package org.zalando.riptide;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import lombok.AllArgsConstructor;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
+
+/**
+ * Expands URI templates the same way {@code fromUriString(template).buildAndExpand(variables).encode().toUri()}
+ * does, but parses every template only once. Templates are usually constants of a small, fixed set of call sites, so
+ * a bounded cache of parsed templates is sufficient.
+ *
+ * Most templates only use variables in their path, query parameter values and fragment. Those are compiled into a
+ * sequence of pre-encoded literals and variables that is expanded into the final URI string in a single pass. All
+ * other templates, e.g. variables in the scheme or authority, fall back to a pre-parsed {@link UriComponents}.
+ */
+final class UriTemplates {
+
+    private static final int MAXIMUM_SIZE = 1024;
+
+    private static final LoadingCache<String, Template> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build(new CacheLoader<String, Template>() {
+                @Override
+                public Template load(final String template) {
+                    return compile(template);
+                }
+            });
+
+    private UriTemplates() {
+
+    }
+
+    static URI expand(final String template, final List<Object> variables) {
+        return TEMPLATES.getUnchecked(template).expand(variables);
+    }
+
+    static Template compile(final String template) {
+        final UriComponents components;
+
+        try {
+            components = fromUriString(template).build();
+        } catch (final RuntimeException e) {
+            // fails again, with the very same exception, on every expansion
+            return variables -> fromUriString(template).buildAndExpand(variables.toArray()).encode().toUri();
+        }
+
+        @Nullable final Template compiled = compile(components);
+        return compiled == null ? new Parsed(components) : compiled;
+    }
+
+    @Nullable
+    private static Template compile(final UriComponents components) {
+        if (components.getSchemeSpecificPart() != null) {
+            // opaque
+            return null;
+        }
+
+        if (isTemplate(components.getScheme())
+                || isTemplate(components.getUserInfo())
+                || isTemplate(components.getHost())) {
+            return null;
+        }
+
+        final String prefix;
+
+        try {
+            prefix = UriComponentsBuilder.newInstance()
+                    .scheme(components.getScheme())
+                    .userInfo(components.getUserInfo())
+                    .host(components.getHost())
+                    .port(components.getPort())
+                    .build()
+                    .encode()
+                    .toUriString();
+        } catch (final IllegalStateException e) {
+            // variable in port
+            return null;
+        }
+
+        final List<Segment> path = new ArrayList<>();
+
+        if (!parse(components.getPath(), UriTemplates::encodePath, path)) {
+            return null;
+        }
+
+        final List<Segment> query = new ArrayList<>();
+
+        if (!parseQuery(components, query)) {
+            return null;
+        }
+
+        @Nullable final List<Segment> fragment;
+
+        if (components.getFragment() == null) {
+            fragment = null;
+        } else {
+            fragment = new ArrayList<>();
+
+            if (!parse(components.getFragment(), UriTemplates::encodeFragment, fragment)) {
+                return null;
+            }
+        }
+
+        return new Compiled(prefix, path, components.getQueryParams().isEmpty() ? null : query, fragment);
+    }
+
+    private static boolean isTemplate(@Nullable final String component) {
+        return component != null && component.indexOf('{') != -1;
+    }
+
+    private static boolean parseQuery(final UriComponents components, final List<Segment> query) {
+        boolean first = true;
+
+        for (final Map.Entry<String, List<String>> entry : components.getQueryParams().entrySet()) {
+            final String name = entry.getKey();
+
+            if (name.indexOf('{') != -1) {
+                // expanded names may collide and would therefore need to be merged
+                return false;
+            }
+
+            final String encodedName = encodeQueryParam(name);
+
+            for (final String value : entry.getValue()) {
+                query.add(new Literal(first ? encodedName : "&" + encodedName));
+                first = false;
+
+                if (value != null) {
+                    query.add(new Literal("="));
+
+                    if (!parse(value, UriTemplates::encodeQueryParam, query)) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Splits the given URI component into literals and variables, following the same syntax as
+     * {@link UriComponents#expand(Object...)}, i.e. {@code {name}} where name doesn't contain slashes.
+     *
+     * @return false if the component uses syntax that is not supported, e.g. regular expressions
+     */
+    private static boolean parse(@Nullable final String component, final UnaryOperator<String> encoder,
+            final List<Segment> segments) {
+
+        if (component == null || component.isEmpty()) {
+            return true;
+        }
+
+        final StringBuilder literal = new StringBuilder();
+        int index = 0;
+
+        while (index < component.length()) {
+            final char c = component.charAt(index);
+
+            if (c != '{') {
+                literal.append(c);
+                index++;
+                continue;
+            }
+
+            final int end = endOfVariable(component, index);
+
+            if (end == -1) {
+                literal.append(c);
+                index++;
+                continue;
+            }
+
+            final String name = component.substring(index + 1, end);
+
+            if (name.isEmpty() || name.indexOf('{') != -1 || name.indexOf(':') != -1) {
+                return false;
+            }
+
+            if (literal.length() > 0) {
+                segments.add(new Literal(encoder.apply(literal.toString())));
+                literal.setLength(0);
+            }
+
+            segments.add(new Variable(name, encoder));
+            index = end + 1;
+        }
+
+        if (literal.length() > 0) {
+            segments.add(new Literal(encoder.apply(literal.toString())));
+        }
+
+        return true;
+    }
+
+    private static int endOfVariable(final String component, final int start) {
+        for (int index = start + 1; index < component.length(); index++) {
+            final char c = component.charAt(index);
+
+            if (c == '/') {
+                return -1;
+            } else if (c == '}') {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    private static String encodePath(final String path) {
+        return UriUtils.encodePath(path, UTF_8);
+    }
+
+    private static String encodeQueryParam(final String param) {
+        return UriUtils.encodeQueryParam(param, UTF_8);
+    }
+
+    private static String encodeFragment(final String fragment) {
+        return UriUtils.encodeFragment(fragment, UTF_8);
+    }
+
+    @FunctionalInterface
+    interface Template {
+        URI expand(List<Object> variables);
+    }
+
+    @AllArgsConstructor
+    private static final class Parsed implements Template {
+
+        private final UriComponents components;
+
+        @Override
+        public URI expand(final List<Object> variables) {
+            return components.expand(variables.toArray()).encode().toUri();
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static final class Compiled implements Template {
+
+        private final String prefix;
+        private final List<Segment> path;
+
+        @Nullable
+        private final List<Segment> query;
+
+        @Nullable
+        private final List<Segment> fragment;
+
+        @Override
+        public URI expand(final List<Object> variables) {
+            final Iterator<Object> values = variables.iterator();
+            final StringBuilder uri = new StringBuilder(prefix.length() + 64).append(prefix);
+
+            append(uri, path, values);
+
+            if (query != null) {
+                uri.append('?');
+                append(uri, query, values);
+            }
+
+            if (fragment != null) {
+                uri.append('#');
+                append(uri, fragment, values);
+            }
+
+            final String result = uri.toString();
+
+            try {
+                return new URI(result);
+            } catch (final URISyntaxException e) {
+                throw new IllegalStateException("Could not create URI object: " + e.getMessage(), e);
+            }
+        }
+
+        private static void append(final StringBuilder uri, final List<Segment> segments,
+                final Iterator<Object> values) {
+
+            for (final Segment segment : segments) {
+                segment.appendTo(uri, values);
+            }
+        }
+
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder uri, Iterator<Object> values);
+    }
+
+    @AllArgsConstructor
+    private static final class Literal implements Segment {
+
+        private final String encoded;
+
+        @Override
+        public void appendTo(final StringBuilder uri, final Iterator<Object> values) {
+            uri.append(encoded);
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static final class Variable implements Segment {
+
+        private final String name;
+        private final UnaryOperator<String> encoder;
+
+        @Override
+        public void appendTo(final StringBuilder uri, final Iterator<Object> values) {
+            if (!values.hasNext()) {
+                throw new IllegalArgumentException(
+                        "Not enough variable values available to expand '" + name + "'");
+            }
+
+            @Nullable final Object value = values.next();
+            uri.append(encoder.apply(value == null ? "" : value.toString()));
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.zalando.riptide.DefaultAttribute.NO_SLOT;
+import static org.zalando.riptide.DefaultAttribute.SLOTS;
+
+final class AttributeValuesTest {
+
+    private final Attribute<String> first = Attribute.generate();
+    private final Attribute<String> second = Attribute.generate();
+    private final Attribute<String> custom = new Attribute<String>() {
+    };
+
+    @Test
+    void shouldGenerateDenseIndices() {
+        final int index = ((DefaultAttribute<String>) first).getIndex();
+        final int expected = index == NO_SLOT || index + 1 == SLOTS ? NO_SLOT : index + 1;
+        assertThat(((DefaultAttribute<String>) second).getIndex(), is(expected));
+    }
+
+    @Test
+    void shouldStoreAttributesBeyondSlots() {
+        Attribute<String> last = first;
+
+        for (int i = 0; i < SLOTS; i++) {
+            last = Attribute.generate();
+        }
+
+        assertThat(((DefaultAttribute<String>) last).getIndex(), is(NO_SLOT));
+
+        final AttributeValues values = AttributeValues.EMPTY
+                .with(last, "z")
+                .with(first, "a");
+
+        assertThat(values.get(last), is("z"));
+        assertThat(values.get(first), is("a"));
+        assertThat(values.get(Attribute.generate()), is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnNullForAbsentAttributes() {
+        assertThat(AttributeValues.EMPTY.get(first), is(nullValue()));
+        assertThat(AttributeValues.EMPTY.get(custom), is(nullValue()));
+        assertThat(AttributeValues.EMPTY.with(second, "b").get(first), is(nullValue()));
+    }
+
+    @Test
+    void shouldStoreGeneratedAttributes() {
+        final AttributeValues values = AttributeValues.EMPTY
+                .with(second, "b")
+                .with(first, "a");
+
+        assertThat(values.get(first), is("a"));
+        assertThat(values.get(second), is("b"));
+    }
+
+    @Test
+    void shouldStoreCustomAttributes() {
+        final AttributeValues values = AttributeValues.EMPTY
+                .with(custom, "c")
+                .with(first, "a");
+
+        assertThat(values.get(custom), is("c"));
+        assertThat(values.get(first), is("a"));
+    }
+
+    @Test
+    void shouldNotModifyOriginal() {
+        final AttributeValues original = AttributeValues.EMPTY.with(first, "a");
+        final AttributeValues modified = original.with(first, "b");
+
+        assertThat(original.get(first), is("a"));
+        assertThat(modified.get(first), is("b"));
+    }
+
+}
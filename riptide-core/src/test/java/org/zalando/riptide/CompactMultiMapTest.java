@@ -0,0 +1,86 @@
+package org.zalando.riptide;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class CompactMultiMapTest {
+
+    private final CompactMultiMap unit = CompactMultiMap.EMPTY
+            .with("Accept", "application/json")
+            .with("Authorization", "Bearer token")
+            .with("accept", "application/problem+json");
+
+    @Test
+    void shouldBeCaseInsensitive() {
+        assertThat(unit.size(), is(2));
+        assertThat(unit.containsKey("ACCEPT"), is(true));
+        assertThat(unit.get("accept"), contains("application/json", "application/problem+json"));
+    }
+
+    @Test
+    void shouldRetainFirstSpellingAndInsertionOrder() {
+        assertThat(unit.keySet(), contains("Accept", "Authorization"));
+    }
+
+    @Test
+    void shouldNotFindUnknownOrNonStringKeys() {
+        assertThat(unit.get("Content-Type"), is(nullValue()));
+        assertThat(unit.get(1), is(nullValue()));
+        assertThat(unit.containsKey(null), is(false));
+    }
+
+    @Test
+    void shouldMergeCollections() {
+        final CompactMultiMap merged = unit.with(ImmutableMap.of(
+                "authorization", singletonList("Basic secret"),
+                "X-Flow-ID", asList("1", "2"),
+                "X-Empty", emptyList()));
+
+        assertThat(merged.get("Authorization"), contains("Bearer token", "Basic secret"));
+        assertThat(merged.get("x-flow-id"), contains("1", "2"));
+        assertThat(merged.get("X-Empty"), is(emptyList()));
+        assertThat(unit.containsKey("X-Flow-ID"), is(false));
+    }
+
+    @Test
+    void shouldRemove() {
+        final CompactMultiMap removed = unit.without("ACCEPT");
+
+        assertThat(removed.keySet(), contains("Authorization"));
+        assertThat(removed.without("Authorization").isEmpty(), is(true));
+        assertThat(unit.without("Content-Type"), is(sameInstance(unit)));
+        assertThat(unit.size(), is(2));
+    }
+
+    @Test
+    void shouldCopyToHeaders() {
+        final HttpHeaders headers = new HttpHeaders();
+        unit.forEach(headers::addAll);
+
+        assertThat(headers.get("Accept"), contains("application/json", "application/problem+json"));
+        assertThat(headers.get("Authorization"), contains("Bearer token"));
+    }
+
+    @Test
+    void shouldFailOnExhaustedIterator() {
+        final Iterator<Map.Entry<String, List<String>>> iterator = CompactMultiMap.EMPTY.entrySet().iterator();
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.zalando.riptide.Plugin.composite;
+
+final class CompiledExecutionTest {
+
+    private final RequestExecution network = arguments -> completedFuture(mock(ClientHttpResponse.class));
+
+    @Test
+    void shouldComposeStatelessPluginsOnce() throws IOException {
+        final CountingPlugin plugin = new CountingPlugin(true);
+        final RequestExecution unit = CompiledExecution.compile(network, Arrays.asList(plugin, plugin));
+
+        unit.execute(RequestArguments.create());
+        unit.execute(RequestArguments.create());
+
+        assertThat(plugin.compositions.get(), is(2));
+        assertThat(plugin.executions.get(), is(4));
+    }
+
+    @Test
+    void shouldComposeStatefulPluginsOnEveryRequest() throws IOException {
+        final CountingPlugin plugin = new CountingPlugin(false);
+        final RequestExecution unit = CompiledExecution.compile(network, Arrays.asList(plugin, plugin));
+
+        unit.execute(RequestArguments.create());
+        unit.execute(RequestArguments.create());
+
+        assertThat(plugin.compositions.get(), is(4));
+        assertThat(plugin.executions.get(), is(4));
+    }
+
+    @Test
+    void shouldComposeStatelessPluginsAfterStatefulPluginOnEveryRequest() throws IOException {
+        final CountingPlugin inner = new CountingPlugin(true);
+        final CountingPlugin stateful = new CountingPlugin(false);
+        final CountingPlugin outer = new CountingPlugin(true);
+        final RequestExecution unit = CompiledExecution.compile(network, Arrays.asList(inner, stateful, outer));
+
+        unit.execute(RequestArguments.create());
+        unit.execute(RequestArguments.create());
+
+        assertThat(inner.compositions.get(), is(1));
+        assertThat(stateful.compositions.get(), is(2));
+        assertThat(outer.compositions.get(), is(2));
+    }
+
+    @Test
+    void shouldPreserveOrder() throws IOException {
+        final List<String> trace = new ArrayList<>();
+        final RequestExecution unit = CompiledExecution.compile(network, Arrays.asList(
+                new TracingPlugin("first", true, trace),
+                new TracingPlugin("second", false, trace),
+                new TracingPlugin("third", true, trace)));
+
+        unit.execute(RequestArguments.create());
+
+        assertThat(trace, contains(
+                "third:async", "second:async", "first:async",
+                "third:network", "second:network", "first:network"));
+    }
+
+    @Test
+    void shouldBeStatelessIfAllPluginsAreStateless() {
+        final Plugin stateless = new CountingPlugin(true);
+        final Plugin stateful = new CountingPlugin(false);
+
+        assertThat(composite(stateless, stateless).isStateless(), is(true));
+        assertThat(composite(stateless, stateful).isStateless(), is(false));
+        assertThat(new Plugin() {}.isStateless(), is(false));
+    }
+
+    private static final class CountingPlugin implements Plugin {
+
+        private final boolean stateless;
+        private final AtomicInteger compositions = new AtomicInteger();
+        private final AtomicInteger executions = new AtomicInteger();
+
+        private CountingPlugin(final boolean stateless) {
+            this.stateless = stateless;
+        }
+
+        @Override
+        public boolean isStateless() {
+            return stateless;
+        }
+
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            compositions.incrementAndGet();
+            return arguments -> {
+                executions.incrementAndGet();
+                return execution.execute(arguments);
+            };
+        }
+
+    }
+
+    private static final class TracingPlugin implements Plugin {
+
+        private final String name;
+        private final boolean stateless;
+        private final List<String> trace;
+
+        private TracingPlugin(final String name, final boolean stateless, final List<String> trace) {
+            this.name = name;
+            this.stateless = stateless;
+            this.trace = trace;
+        }
+
+        @Override
+        public boolean isStateless() {
+            return stateless;
+        }
+
+        @Override
+        public RequestExecution aroundAsync(final RequestExecution execution) {
+            return arguments -> {
+                trace.add(name + ":async");
+                return execution.execute(arguments);
+            };
+        }
+
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            return arguments -> {
+                trace.add(name + ":network");
+                return execution.execute(arguments);
+            };
+        }
+
+    }
+
+}
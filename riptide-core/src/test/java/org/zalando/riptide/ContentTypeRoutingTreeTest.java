@@ -0,0 +1,149 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import javax.annotation.Nullable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.parseMediaType;
+import static org.zalando.riptide.Bindings.anyContentType;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.contentType;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+@ExtendWith(MockitoExtension.class)
+final class ContentTypeRoutingTreeTest {
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route other;
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route expected;
+
+    private final MessageReader reader = mock(MessageReader.class);
+
+    @Test
+    void shouldBeCreatedForContentTypeNavigator() {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(APPLICATION_JSON).call(other),
+                anyContentType().call(expected));
+
+        assertThat(unit, is(instanceOf(ContentTypeRoutingTree.class)));
+        assertThat(unit.getNavigator(), is(contentType()));
+        assertThat(unit.keySet(), contains(APPLICATION_JSON));
+        assertThat(unit.get(APPLICATION_JSON).orElseThrow(AssertionError::new), is(other));
+        assertThat(unit.getWildcard().orElseThrow(AssertionError::new), is(expected));
+    }
+
+    @Test
+    void shouldUseMostSpecificMatch() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(parseMediaType("*/*")).call(other),
+                on(parseMediaType("application/*")).call(expected),
+                on(parseMediaType("text/*")).call(other));
+
+        unit.execute(response("application/problem+json"), reader);
+        unit.execute(response("application/problem+json"), reader);
+
+        verify(expected, times(2)).execute(any(), any());
+        verify(other, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldDistinguishMemorizedContentTypes() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(APPLICATION_JSON).call(expected),
+                on(parseMediaType("application/problem+json")).call(other));
+
+        // "Aa" and "BB" share the same hash code
+        for (final String parameter : new String[]{"Aa", "BB", "Aa"}) {
+            unit.execute(response("application/json;p=" + parameter), reader);
+        }
+
+        verify(expected, times(3)).execute(any(), any());
+        verify(other, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardWithoutContentType() throws Exception {
+        dispatch(contentType(),
+                on(APPLICATION_JSON).call(other),
+                anyContentType().call(expected))
+                .execute(response(null), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardWithoutMatch() throws Exception {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(APPLICATION_JSON).call(other),
+                anyContentType().call(expected));
+
+        unit.execute(response("text/plain"), reader);
+        unit.execute(response("text/plain"), reader);
+
+        verify(expected, times(2)).execute(any(), any());
+    }
+
+    @Test
+    void shouldFallBackToWildcardIfNestedRouteHasNone() throws Exception {
+        doThrow(new NoWildcardException()).when(other).execute(any(), any());
+
+        dispatch(contentType(),
+                on(APPLICATION_JSON).call(other),
+                anyContentType().call(expected))
+                .execute(response("application/json"), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldFailWithoutWildcard() {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                on(APPLICATION_JSON).call(other));
+
+        assertThrows(NoWildcardException.class, () -> unit.execute(response("text/plain"), reader));
+        assertThrows(NoWildcardException.class, () -> unit.execute(response(null), reader));
+    }
+
+    @Test
+    void shouldFailOnInvalidContentType() {
+        final RoutingTree<MediaType> unit = dispatch(contentType(),
+                anyContentType().call(other));
+
+        assertThrows(InvalidMediaTypeException.class, () -> unit.execute(response("json"), reader));
+    }
+
+    private static ClientHttpResponse response(@Nullable final String contentType) {
+        final MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], OK);
+
+        if (contentType != null) {
+            response.getHeaders().set(CONTENT_TYPE, contentType);
+        }
+
+        return response;
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.zalando.riptide;
+
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.UnknownContentTypeException;
+import org.zalando.riptide.model.Message;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Types.listOf;
+import static org.zalando.riptide.Types.responseEntityOf;
+
+final class DefaultMessageReaderTest {
+
+    private final StringHttpMessageConverter strings = new StringHttpMessageConverter();
+
+    private final MessageReader unit = new DefaultMessageReader(Arrays.asList(
+            strings, new JacksonJsonHttpMessageConverter()));
+
+    @Test
+    void shouldReadRepeatedly() throws Exception {
+        assertThat(unit.read(TypeToken.of(String.class), response("text/plain", "Hello")), is("Hello"));
+        assertThat(unit.read(TypeToken.of(String.class), response("text/plain", "World")), is("World"));
+    }
+
+    @Test
+    void shouldReadWithoutContentType() throws Exception {
+        assertThat(unit.read(TypeToken.of(String.class), response(null, "Hello")), is("Hello"));
+    }
+
+    @Test
+    void shouldReadGenericTypes() throws Exception {
+        final String json = "[{\"message\":\"Hello\"}]";
+
+        final List<Message> messages = unit.read(listOf(Message.class), response("application/json", json));
+        assertThat(messages, hasSize(1));
+        assertThat(messages.get(0).getMessage(), is("Hello"));
+
+        assertThat(unit.read(responseEntityOf(String.class), response("text/plain", "Hello")).getBody(),
+                is("Hello"));
+    }
+
+    @Test
+    void shouldIgnoreInvalidContentTypeOfEmptyBody() throws Exception {
+        assertThat(unit.read(TypeToken.of(String.class), response("text", "")), is(nullValue()));
+    }
+
+    @Test
+    void shouldFailOnUnknownContentType() {
+        final MessageReader reader = new DefaultMessageReader(singletonList(new JacksonJsonHttpMessageConverter()));
+
+        final UnknownContentTypeException exception = assertThrows(UnknownContentTypeException.class, () ->
+                reader.read(TypeToken.of(Message.class), response("text/plain", "Hello")));
+
+        assertThat(exception.getContentType(), is(TEXT_PLAIN));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReuseGenericConverter() throws Exception {
+        final GenericHttpMessageConverter<Object> converter = mock(GenericHttpMessageConverter.class);
+        when(converter.canRead(eq(String.class), isNull(), any())).thenReturn(true);
+        when(converter.read(eq(String.class), isNull(), any())).thenReturn("Hello");
+
+        final MessageReader reader = new DefaultMessageReader(Arrays.asList(converter, strings));
+
+        assertThat(reader.read(TypeToken.of(String.class), response("application/json", "\"Hello\"")), is("Hello"));
+        assertThat(reader.read(TypeToken.of(String.class), response("application/json", "\"Hello\"")), is("Hello"));
+
+        verify(converter, times(2)).read(eq(String.class), isNull(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSkipConvertersThatCanNotRead() throws Exception {
+        final GenericHttpMessageConverter<Object> generic = mock(GenericHttpMessageConverter.class);
+        final HttpMessageConverter<Object> plain = mock(HttpMessageConverter.class);
+        final MessageReader reader = new DefaultMessageReader(Arrays.asList(generic, plain, strings));
+
+        assertThat(reader.read(TypeToken.of(String.class), response("text/plain", "Hello")), is("Hello"));
+        assertThrows(UnknownContentTypeException.class, () ->
+                reader.read(listOf(String.class), response("text/plain", "Hello")));
+    }
+
+    private static ClientHttpResponse response(@Nullable final String contentType, final String body) {
+        final MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(UTF_8), OK);
+
+        if (contentType != null) {
+            response.getHeaders().set(CONTENT_TYPE, contentType);
+        }
+
+        return response;
+    }
+
+}
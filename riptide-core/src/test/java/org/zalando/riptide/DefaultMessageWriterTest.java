@@ -0,0 +1,55 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+final class DefaultMessageWriterTest {
+
+    @SuppressWarnings("unchecked")
+    private final HttpMessageConverter<Object> other = mock(HttpMessageConverter.class);
+
+    private final StringHttpMessageConverter strings = new StringHttpMessageConverter();
+
+    private final MessageWriter unit = new DefaultMessageWriter(Arrays.asList(other, strings));
+
+    @Test
+    void shouldWriteRepeatedly() throws Exception {
+        for (final String body : new String[]{"Hello", "World"}) {
+            final MockClientHttpRequest request = new MockClientHttpRequest();
+            request.getHeaders().setContentType(TEXT_PLAIN);
+
+            unit.write(request, RequestArguments.create().withBody(body));
+
+            assertThat(request.getBodyAsString(), is(body));
+        }
+
+        verify(other, times(1)).canWrite(String.class, TEXT_PLAIN);
+    }
+
+    @Test
+    void shouldFailWithoutSuitableConverter() {
+        final MockClientHttpRequest request = new MockClientHttpRequest();
+
+        assertThrows(RestClientException.class, () ->
+                unit.write(request, RequestArguments.create().withBody(new Object())));
+        assertThrows(RestClientException.class, () ->
+                unit.write(request, RequestArguments.create().withBody(new Object())));
+
+        verify(other, times(2)).canWrite(any(), any());
+    }
+
+}
@@ -3,8 +3,10 @@ package org.zalando.riptide;
 import lombok.Value;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.zalando.riptide.RequestArguments.Entity;
 
 import java.net.URI;
@@ -13,6 +15,7 @@ import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -22,8 +25,10 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.springframework.web.util.UriUtils.encodeQueryParam;
 
 final class DefaultRequestArgumentsTest {
 
@@ -120,4 +125,55 @@ final class DefaultRequestArgumentsTest {
         assertSame(arguments.getRequestUri(), arguments.getRequestUri());
     }
 
+    static List<Arguments> requestUris() {
+        return Arrays.asList(
+                Arguments.of("https://example.com", "", new String[0]),
+                Arguments.of("https://example.com", "/users", new String[0]),
+                Arguments.of("https://example.com", "/users", new String[]{"q", "a&b=c+d ü"}),
+                Arguments.of("https://example.com", "/users", new String[]{"q", "1", "q", "2", "r", ""}),
+                Arguments.of("https://example.com", "/users?p=1", new String[]{"q", "1"}),
+                Arguments.of("https://example.com", "/users#top", new String[]{"q", "1"}),
+                Arguments.of("https://example.com", "/users/./me/../you", new String[]{"q", "1"}),
+                Arguments.of("https://example.com", "/users/.hidden", new String[0]),
+                Arguments.of("https://example.com", "/üsers", new String[]{"q", "1"}),
+                Arguments.of("https://example.com", "/users", new String[]{"a b", "1"}),
+                Arguments.of("https://example.com", "/users", new String[]{"a%20b", "1"}),
+                Arguments.of("https://example.com:8080", "/users", new String[]{"q", "1"}),
+                Arguments.of("https://example.com:08080", "/users", new String[]{"q", "1"}),
+                Arguments.of("https://example.com:", "/users", new String[]{"q", "1"}),
+                Arguments.of("https://user@example.com", "/users", new String[]{"q", "1"}),
+                Arguments.of("https://[::1]:8080", "/users", new String[]{"q", "1"}),
+                Arguments.of("file:///tmp", "/users", new String[]{"q", "1"}));
+    }
+
+    @ParameterizedTest
+    @MethodSource("requestUris")
+    void shouldBuildRequestUriLikeUriComponents(final String baseUrl, final String uri, final String[] queryParams) {
+        RequestArguments arguments = unit.withBaseUrl(URI.create(baseUrl)).withUri(URI.create(uri));
+
+        for (int i = 0; i < queryParams.length; i += 2) {
+            arguments = arguments.withQueryParam(queryParams[i], queryParams[i + 1]);
+        }
+
+        final UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
+        arguments.getQueryParams().forEach((key, values) -> values.forEach(value ->
+                builder.queryParam(key, encodeQueryParam(value, UTF_8).replace("+", "%2B"))));
+        builder.uri(UrlResolution.RFC.resolve(URI.create(baseUrl), URI.create(uri)));
+
+        final URI expected;
+
+        try {
+            expected = builder.build(true).normalize().toUri();
+        } catch (final IllegalArgumentException e) {
+            final RequestArguments actual = arguments;
+            final IllegalArgumentException exception =
+                    assertThrows(IllegalArgumentException.class, actual::getRequestUri);
+            assertThat(exception.getMessage(), is(e.getMessage()));
+            return;
+        }
+
+        assertThat(arguments.getRequestUri(), is(expected));
+        assertThat(arguments.getRequestUri().toString(), is(expected.toString()));
+    }
+
 }
@@ -0,0 +1,178 @@
+package org.zalando.riptide;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.riptide.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.MockWebServerUtil.getRecordedRequest;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class EntitiesTest {
+
+    @TempDir
+    Path directory;
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final Http unit = Http.builder()
+            .executor(executor)
+            .requestFactory(new SimpleClientHttpRequestFactory())
+            .baseUrl(getBaseUrl(server))
+            .build();
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdown();
+    }
+
+    @SneakyThrows
+    @AfterEach
+    void shutdownServer() {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldSendFile() throws IOException {
+        server.enqueue(emptyMockResponse());
+
+        unit.put("/").body(Entities.of(file("Hello, world!"))).call(pass()).join();
+
+        final RecordedRequest request = getRecordedRequest(server);
+        assertThat(request.getHeader("Content-Length"), is("13"));
+        assertThat(request.getBody().readUtf8(), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldSendRemainderOfFileChannel() throws IOException {
+        server.enqueue(emptyMockResponse());
+
+        try (final FileChannel channel = FileChannel.open(file("Hello, world!"), READ)) {
+            channel.position(7);
+
+            unit.put("/").body(Entities.of(channel)).call(pass()).join();
+
+            assertThat(channel.position(), is(7L));
+        }
+
+        final RecordedRequest request = getRecordedRequest(server);
+        assertThat(request.getHeader("Content-Length"), is("6"));
+        assertThat(request.getBody().readUtf8(), is("world!"));
+    }
+
+    @Test
+    void shouldSendMappedBuffer() throws IOException {
+        server.enqueue(emptyMockResponse());
+
+        try (final FileChannel channel = FileChannel.open(file("Hello, world!"), READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, 5);
+
+            unit.put("/").body(Entities.of(buffer)).call(pass()).join();
+
+            assertThat(buffer.position(), is(0));
+        }
+
+        final RecordedRequest request = getRecordedRequest(server);
+        assertThat(request.getHeader("Content-Length"), is("5"));
+        assertThat(request.getBody().readUtf8(), is("Hello"));
+    }
+
+    @Test
+    void shouldWriteRemainingBytesOfHeapBuffer() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes("Hello, world!")).position(7).slice();
+        final MockClientHttpRequest request = new MockClientHttpRequest();
+
+        Entities.of(buffer).writeTo(request);
+
+        assertThat(request.getHeaders().getContentLength(), is(6L));
+        assertThat(request.getBodyAsString(), is("world!"));
+    }
+
+    @Test
+    void shouldWriteDirectBufferRepeatedly() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(5).put(bytes("Hello")).flip();
+        final ChannelEntity entity = Entities.of(buffer);
+
+        for (int i = 0; i < 2; i++) {
+            final MockClientHttpRequest request = new MockClientHttpRequest();
+            entity.writeTo(request);
+            assertThat(request.getBodyAsString(), is("Hello"));
+        }
+    }
+
+    @Test
+    void shouldNotOverrideExplicitContentLength() throws IOException {
+        final MockClientHttpRequest request = new MockClientHttpRequest();
+        request.getHeaders().setContentLength(5);
+
+        Entities.of(ByteBuffer.wrap(bytes("Hello"))).writeTo(request);
+
+        assertThat(request.getHeaders().getContentLength(), is(5L));
+    }
+
+    @Test
+    void shouldOpenChannels() throws IOException {
+        final Path file = file("Hello, world!");
+
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            channel.position(7);
+
+            assertThat(read(Entities.of(file)), is("Hello, world!"));
+            assertThat(read(Entities.of(channel)), is("world!"));
+            assertThat(read(Entities.of(ByteBuffer.wrap(bytes("Hello")))), is("Hello"));
+        }
+    }
+
+    @Test
+    void shouldBeEmpty() throws IOException {
+        assertThat(Entities.of(ByteBuffer.allocate(0)).isEmpty(), is(true));
+        assertThat(Entities.of(file("")).isEmpty(), is(true));
+        assertThat(Entities.of(file("Hello")).isEmpty(), is(false));
+    }
+
+    private Path file(final String content) throws IOException {
+        return Files.write(Files.createTempFile(directory, "entity", ".txt"), bytes(content));
+    }
+
+    private static String read(final ChannelEntity entity) throws IOException {
+        // deliberately small, to read in several steps
+        final ByteBuffer target = ByteBuffer.allocate(4);
+        final StringBuilder result = new StringBuilder();
+
+        try (final ReadableByteChannel channel = entity.open()) {
+            while (channel.read(target) != -1) {
+                result.append(UTF_8.decode(target.flip()));
+                target.clear();
+            }
+        }
+
+        return result.toString();
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(UTF_8);
+    }
+
+}
@@ -4,24 +4,32 @@ import lombok.SneakyThrows;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
 import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
 import static org.zalando.riptide.Bindings.on;
 import static org.zalando.riptide.MockWebServerUtil.getBaseUrl;
 import static org.zalando.riptide.MockWebServerUtil.jsonMockResponseFromResource;
 import static org.zalando.riptide.MockWebServerUtil.verify;
 import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
 import static org.zalando.riptide.Types.listOf;
 
 final class IOTest {
@@ -71,4 +79,30 @@ final class IOTest {
         verify(server, 1, "/repos/zalando/riptide/contributors");
     }
 
+    @Test
+    void shouldUseCustomIO() {
+        final ClientHttpResponse response = new MockClientHttpResponse(new byte[0], NO_CONTENT);
+        final AtomicReference<RequestArguments> reference = new AtomicReference<>();
+
+        final Http http = Http.builder()
+                .io(arguments -> {
+                    reference.set(arguments);
+                    return completedFuture(response);
+                })
+                .baseUrl("https://example.com")
+                .build();
+
+        http.get("/foo").call(pass()).join();
+
+        assertThat(reference.get().getRequestUri(), is(URI.create("https://example.com/foo")));
+    }
+
+    @Test
+    void shouldNotSupportCustomIOByDefault() {
+        final Http.RequestFactoryStage stage = requestFactory -> null;
+
+        assertThrows(UnsupportedOperationException.class, () ->
+                stage.io(arguments -> completedFuture(null)));
+    }
+
 }
@@ -0,0 +1,141 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus.Series;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.anyStatus;
+import static org.zalando.riptide.Bindings.anyStatusCode;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.Navigators.statusCode;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+@ExtendWith(MockitoExtension.class)
+final class IndexedRoutingTreeTest {
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route other;
+
+    @Mock(answer = CALLS_REAL_METHODS)
+    private Route expected;
+
+    private final MessageReader reader = mock(MessageReader.class);
+
+    @Test
+    void shouldIndexBuiltInNavigators() {
+        assertThat(dispatch(status(), on(OK).call(other)), is(instanceOf(IndexedRoutingTree.class)));
+        assertThat(dispatch(statusCode(), on(200).call(other)), is(instanceOf(IndexedRoutingTree.class)));
+        assertThat(dispatch(series(), on(SUCCESSFUL).call(other)), is(instanceOf(IndexedRoutingTree.class)));
+    }
+
+    @Test
+    void shouldFallBackToDefaultRoutingTreeForStatusCodesOutOfRange() throws Exception {
+        final RoutingTree<Integer> unit = dispatch(statusCode(),
+                on(200).call(other),
+                on(999).call(expected));
+
+        assertThat(unit, is(instanceOf(DefaultRoutingTree.class)));
+
+        unit.execute(response(999), reader);
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldExposeKeysAndRoutes() {
+        final RoutingTree<Integer> unit = dispatch(statusCode(),
+                on(201).call(other),
+                on(200).call(expected),
+                anyStatusCode().call(other));
+
+        assertThat(unit.keySet(), contains(201, 200));
+        assertThat(unit.get(200).orElseThrow(AssertionError::new), is(expected));
+        assertThat(unit.getWildcard().orElseThrow(AssertionError::new), is(other));
+    }
+
+    @Test
+    void shouldDispatchStatusCode() throws Exception {
+        dispatch(statusCode(),
+                on(201).call(other),
+                on(200).call(expected),
+                anyStatusCode().call(other))
+                .execute(response(200), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardForStatusCodesOutOfRange() throws Exception {
+        dispatch(statusCode(),
+                on(200).call(other),
+                anyStatusCode().call(expected))
+                .execute(response(999), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardForUnknownStatus() throws Exception {
+        dispatch(status(),
+                on(OK).call(other),
+                anyStatus().call(expected))
+                .execute(response(299), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldUseWildcardForUnknownSeries() throws Exception {
+        dispatch(series(),
+                on(SUCCESSFUL).call(other),
+                anySeries().call(expected))
+                .execute(response(999), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldFallBackToWildcardIfNestedRouteHasNone() throws Exception {
+        doThrow(new NoWildcardException()).when(other).execute(any(), any());
+
+        dispatch(status(),
+                on(CREATED).call(other),
+                anyStatus().call(expected))
+                .execute(response(201), reader);
+
+        verify(expected).execute(any(), any());
+    }
+
+    @Test
+    void shouldFailWithoutWildcard() {
+        final RoutingTree<Series> unit = dispatch(series(),
+                on(SUCCESSFUL).call(other));
+
+        assertThrows(NoWildcardException.class, () -> unit.execute(response(500), reader));
+    }
+
+    private static ClientHttpResponse response(final int status) {
+        return new MockClientHttpResponse(new byte[0], HttpStatusCode.valueOf(status));
+    }
+
+}
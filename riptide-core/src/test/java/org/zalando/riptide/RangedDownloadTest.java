@@ -0,0 +1,210 @@
+package org.zalando.riptide;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.riptide.MockWebServerUtil.getBaseUrl;
+
+final class RangedDownloadTest {
+
+    private static final byte[] CONTENT = random(100_000);
+
+    @TempDir
+    Path directory;
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newFixedThreadPool(4);
+
+    private final Http http = Http.builder()
+            .executor(executor)
+            .requestFactory(new SimpleClientHttpRequestFactory())
+            .baseUrl(getBaseUrl(server))
+            .build();
+
+    private final RangedDownload unit = new RangedDownload(http)
+            .withParallelism(4)
+            .withRangeSize(10_000);
+
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Set<Integer> failed = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdown();
+    }
+
+    @SneakyThrows
+    @AfterEach
+    void shutdownServer() {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldDownloadRangesConcurrently() throws IOException {
+        serve(true, false);
+
+        final Path file = directory.resolve("download.bin");
+        final AtomicLong progress = new AtomicLong();
+
+        unit.withListener((transferred, total) -> progress.accumulateAndGet(transferred, Math::max))
+                .download(uri(), file).join();
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+        assertThat(progress.get(), is((long) CONTENT.length));
+        assertThat(gets(), hasSize(10));
+        assertThat(gets().stream().map(request -> request.getHeader("If-Range")).toList(), everyItem(is("\"v1\"")));
+    }
+
+    @Test
+    void shouldFallBackToSingleRequestWithoutRangeSupport() throws IOException {
+        serve(false, false);
+
+        final Path file = directory.resolve("download.bin");
+
+        unit.download(uri(), file).join();
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+        assertThat(gets(), hasSize(1));
+        assertThat(gets().get(0).getHeader("Range"), is(nullValue()));
+    }
+
+    @Test
+    void shouldResumeFailedRanges() throws IOException {
+        serve(true, true);
+
+        final Path file = directory.resolve("download.bin");
+
+        unit.download(uri(), file).join();
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+        // the retry continues after the bytes that were received before the connection dropped
+        assertThat(gets().stream()
+                .map(request -> request.getHeader("Range"))
+                .filter(range -> range.endsWith("-29999"))
+                .toList(), contains(is("bytes=20000-29999"), not("bytes=20000-29999")));
+    }
+
+    @Test
+    void shouldFailAndDeleteFileIfResourceChanged() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                requests.add(request);
+                final MockResponse response = head(request, true);
+
+                // ignores If-Range and Range, as if the resource changed in the meantime
+                return request.getMethod().equals("HEAD") ? response :
+                        response.setHeader("ETag", "\"v2\"").setBody(new Buffer().write(CONTENT));
+            }
+        });
+
+        final Path file = directory.resolve("download.bin");
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                unit.withRangeSize(CONTENT.length / 2).download(uri(), file).join());
+
+        assertThat(exception.getCause(), is(instanceOf(UnexpectedResponseException.class)));
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * @param failing whether the range starting at 20000 fails with a truncated body on its first attempt
+     */
+    private void serve(final boolean ranges, final boolean failing) {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                requests.add(request);
+                final MockResponse response = head(request, ranges);
+
+                if (request.getMethod().equals("HEAD")) {
+                    return response;
+                }
+
+                final String range = request.getHeader("Range");
+
+                if (range == null) {
+                    return response.setBody(new Buffer().write(CONTENT));
+                }
+
+                final String[] bounds = range.substring("bytes=".length()).split("-");
+                final int start = Integer.parseInt(bounds[0]);
+                final int end = Integer.parseInt(bounds[1]);
+
+                final MockResponse partial = new MockResponse()
+                        .setResponseCode(206)
+                        .setHeader("Content-Range", "bytes " + start + "-" + end + "/" + CONTENT.length)
+                        .setBody(new Buffer().write(CONTENT, start, end + 1 - start));
+
+                if (failing && start == 20_000 && failed.add(start)) {
+                    // sends roughly half of the body
+                    return partial.setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY);
+                }
+
+                return partial;
+            }
+        });
+    }
+
+    private static MockResponse head(final RecordedRequest request, final boolean ranges) {
+        final MockResponse response = new MockResponse()
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Content-Length", CONTENT.length);
+
+        if (ranges) {
+            response.setHeader("Accept-Ranges", "bytes");
+        }
+
+        return request.getMethod().equals("HEAD") ? response : response.removeHeader("Content-Length");
+    }
+
+    private List<RecordedRequest> gets() {
+        return requests.stream().filter(request -> request.getMethod().equals("GET")).toList();
+    }
+
+    private URI uri() {
+        return URI.create(getBaseUrl(server) + "/feed.csv");
+    }
+
+    private static byte[] random(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.zalando.riptide;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.zalando.riptide.MockWebServerUtil.getBaseUrl;
+
+final class TransferRouteTest {
+
+    @TempDir
+    Path directory;
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final Http unit = Http.builder()
+            .executor(executor)
+            .requestFactory(new SimpleClientHttpRequestFactory())
+            .baseUrl(getBaseUrl(server))
+            .build();
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdown();
+    }
+
+    @SneakyThrows
+    @AfterEach
+    void shutdownServer() {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldDownloadToFile() throws IOException {
+        final byte[] content = random(TransferRoute.BUFFER_SIZE * 2 + 42);
+        server.enqueue(new MockResponse().setBody(new Buffer().write(content)));
+
+        final Path file = directory.resolve("download.bin");
+        final List<Long> progress = new ArrayList<>();
+
+        unit.get("/").call(Route.to(file, (transferred, total) -> {
+            assertThat(total, is((long) content.length));
+            progress.add(transferred);
+        })).join();
+
+        assertArrayEquals(content, Files.readAllBytes(file));
+        assertThat(progress, contains(
+                (long) TransferRoute.BUFFER_SIZE,
+                (long) TransferRoute.BUFFER_SIZE * 2,
+                (long) content.length));
+    }
+
+    @Test
+    void shouldReplaceExistingFile() throws IOException {
+        server.enqueue(new MockResponse().setBody("Hello"));
+
+        final Path file = Files.write(directory.resolve("download.txt"), "Hello, world!".getBytes(UTF_8));
+
+        unit.get("/").call(Route.to(file)).join();
+
+        assertThat(Files.readString(file), is("Hello"));
+    }
+
+    @Test
+    void shouldDeletePartialFileOnFailure() {
+        server.enqueue(new MockResponse()
+                .setBody(new Buffer().write(random(TransferRoute.BUFFER_SIZE * 2)))
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+        final Path file = directory.resolve("download.bin");
+
+        assertThrows(CompletionException.class, () ->
+                unit.get("/").call(Route.to(file)).join());
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void shouldWriteToChannel() {
+        server.enqueue(new MockResponse().setChunkedBody("Hello, world!", 5));
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<Long> totals = new ArrayList<>();
+
+        unit.get("/").call(Route.to(Channels.newChannel(output),
+                (transferred, total) -> totals.add(total))).join();
+
+        assertThat(output.toString(UTF_8), is("Hello, world!"));
+        assertThat(totals, everyItem(is(-1L)));
+    }
+
+    @Test
+    void shouldTransferFromFileToFile() throws Exception {
+        final byte[] content = random(1024);
+        final Path source = Files.write(directory.resolve("source.bin"), content);
+        final Path target = Files.createFile(directory.resolve("target.bin"));
+
+        try (final FileChannel channel = FileChannel.open(target, WRITE)) {
+            channel.position(3);
+
+            final ClientHttpResponse response = mock(ClientHttpResponse.class);
+            when(response.getHeaders()).thenReturn(new HttpHeaders());
+            when(response.getBody()).thenReturn(new FileInputStream(source.toFile()));
+
+            Route.to(channel).execute(response, mock(MessageReader.class));
+
+            verify(response).close();
+
+            assertThat(channel.position(), is(1027L));
+        }
+
+        final byte[] actual = Files.readAllBytes(target);
+        assertArrayEquals(content, Arrays.copyOfRange(actual, 3, actual.length));
+    }
+
+    private static byte[] random(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+}
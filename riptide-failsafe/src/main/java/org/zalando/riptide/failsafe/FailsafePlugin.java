@@ -65,6 +65,11 @@ public final class FailsafePlugin implements Plugin {
         return new FailsafePlugin(policies, decorators.append(decorator), executorService);
     }
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return arguments -> {
@@ -0,0 +1,59 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+
+final class ApacheAsyncClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final HttpResponse response;
+    private final InputStream body;
+    private final StreamingResponseConsumer consumer;
+
+    ApacheAsyncClientHttpResponse(final HttpResponse response, final InputStream body,
+            final StreamingResponseConsumer consumer) {
+        this.response = response;
+        this.body = body;
+        this.consumer = consumer;
+
+        for (final Header header : response.getHeaders()) {
+            this.headers.add(header.getName(), header.getValue());
+        }
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatusCode.valueOf(response.getCode());
+    }
+
+    @Nonnull
+    @Override
+    public String getStatusText() {
+        return response.getReasonPhrase() == null ? "" : response.getReasonPhrase();
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public void close() {
+        consumer.close();
+    }
+
+}
@@ -0,0 +1,178 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.apiguardian.api.API;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.ChannelEntity;
+import org.zalando.riptide.IO;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A non-blocking {@link IO} based on Apache's {@link CloseableHttpAsyncClient}, i.e. requests don't occupy a thread
+ * while they are in flight. Depending on the client's configuration connections are either pooled (HTTP/1.1) or
+ * multiplexed (HTTP/2).
+ *
+ * Responses are passed on as soon as their headers arrive, while the body is still being received. Reading the body
+ * blocks until enough data is available, which is why responses are handed over to the given {@link Executor}
+ * rather than being processed on one of the client's I/O threads. Slow bodies occupy the executor's threads, i.e. it
+ * should be dedicated to this purpose rather than shared, e.g. the {@link java.util.concurrent.ForkJoinPool#commonPool()
+ * common pool}. Request bodies are buffered, except for {@link ChannelEntity channel entities}, e.g.
+ * {@link org.zalando.riptide.Entities files}, which are streamed straight from their channel.
+ *
+ * Request and response bodies are held in pooled buffers rather than in per-request arrays. Request bodies use direct
+ * buffers, which are handed to the channel as is, while response bodies use heap buffers, since they are read into
+ * arrays on the heap anyway.
+ */
+@API(status = EXPERIMENTAL)
+public final class ApacheAsyncIO implements IO, DisposableBean {
+
+    private final CloseableHttpAsyncClient client;
+    private final Executor executor;
+
+    public ApacheAsyncIO(final CloseableHttpAsyncClient client, final Executor executor) {
+        this.client = client;
+        this.executor = executor;
+        client.start();
+    }
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        final HttpRequest request = new BasicHttpRequest(arguments.getMethod().name(), arguments.getRequestUri());
+        @Nullable final AsyncEntityProducer producer = produce(arguments, request);
+
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        final StreamingResponseConsumer consumer = new StreamingResponseConsumer(response -> {
+            try {
+                executor.execute(() -> {
+                    if (!future.complete(response)) {
+                        response.close();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                // fails first, since closing cancels the exchange
+                future.completeExceptionally(e);
+                response.close();
+            }
+        });
+
+        final Future<ClientHttpResponse> exchange = client.execute(
+                new BasicRequestProducer(request, producer), consumer,
+                new FutureCallback<ClientHttpResponse>() {
+                    @Override
+                    public void completed(final ClientHttpResponse response) {
+                        // already passed on, as soon as the headers arrived
+                    }
+
+                    @Override
+                    public void failed(final Exception e) {
+                        future.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        future.cancel(false);
+                    }
+                });
+
+        consumer.bind(exchange);
+
+        future.whenComplete((response, throwable) -> {
+            if (throwable instanceof CancellationException) {
+                exchange.cancel(true);
+            }
+        });
+
+        return future;
+    }
+
+    @Nullable
+    private AsyncEntityProducer produce(final RequestArguments arguments, final HttpRequest request)
+            throws IOException {
+
+        final Entity entity = arguments.getEntity();
+
+        if (entity instanceof ChannelEntity) {
+            final HttpHeaders headers = new HttpHeaders();
+            copyTo(arguments.getHeaders(), headers);
+            Headers.writeHeaders(headers, request);
+
+            @Nullable final MediaType contentType = headers.getContentType();
+            return new ChannelEntityProducer((ChannelEntity) entity, BufferPool.DEFAULT,
+                    contentType == null ? null : contentType.toString());
+        }
+
+        final BufferingOutputMessage message = new BufferingOutputMessage();
+        copyTo(arguments.getHeaders(), message.getHeaders());
+
+        try {
+            entity.writeTo(message);
+        } catch (final IOException | RuntimeException e) {
+            message.release();
+            throw e;
+        }
+
+        Headers.writeHeaders(message.getHeaders(), request);
+        return message.toEntityProducer();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        client.close();
+    }
+
+    private static final class BufferingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final SegmentedBuffer output = new SegmentedBuffer(BufferPool.DEFAULT);
+
+        @Nonnull
+        @Override
+        public OutputStream getBody() {
+            return output;
+        }
+
+        @Nonnull
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Nullable
+        AsyncEntityProducer toEntityProducer() {
+            if (output.size() == 0) {
+                return null;
+            }
+
+            @Nullable final MediaType contentType = headers.getContentType();
+            return new SegmentedEntityProducer(output, contentType == null ? null : contentType.toString());
+        }
+
+        void release() {
+            output.release();
+        }
+
+    }
+
+}
@@ -57,10 +57,20 @@ public final class ApacheClientHttpRequestFactory implements ClientHttpRequestFa
     private final HttpClient client;
     private final Mode mode;
 
+    /**
+     * The number of bytes of a {@link Mode#BUFFERING buffered} request body that are kept in memory. Everything
+     * beyond that is spilled to a temporary file.
+     */
+    private final int memoryThreshold;
+
     public ApacheClientHttpRequestFactory(final CloseableHttpClient client) {
         this(client, Mode.STREAMING);
     }
 
+    public ApacheClientHttpRequestFactory(final HttpClient client, final Mode mode) {
+        this(client, mode, Integer.MAX_VALUE);
+    }
+
     @Override
     public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
         final HttpUriRequest request = methods.get(method).apply(uri);
@@ -68,7 +78,7 @@ public final class ApacheClientHttpRequestFactory implements ClientHttpRequestFa
         if (mode == Mode.STREAMING) {
             return new StreamingApacheClientHttpRequest(client, request);
         } else {
-            return new BufferingApacheClientHttpRequest(client, request);
+            return new BufferingApacheClientHttpRequest(client, request, memoryThreshold);
         }
     }
 
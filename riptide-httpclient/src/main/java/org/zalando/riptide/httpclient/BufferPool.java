@@ -0,0 +1,67 @@
+package org.zalando.riptide.httpclient;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of fixed-size {@link ByteBuffer buffers}. Buffers are allocated lazily and only up to {@code maxPooled}
+ * released buffers are retained, everything beyond that is left to the garbage collector.
+ *
+ * Direct buffers are meant for non-blocking I/O, where they are handed to the channel as is. Heap buffers are meant
+ * for blocking I/O, where their backing arrays can be written to an {@link java.io.OutputStream} without copying, and
+ * for received data, which arrives in a heap buffer and is eventually read into a byte array anyway.
+ */
+final class BufferPool {
+
+    static final BufferPool DEFAULT = new BufferPool(8 * 1024, 1024);
+    static final BufferPool HEAP = new BufferPool(8 * 1024, 1024, false);
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final boolean direct;
+
+    BufferPool(final int bufferSize, final int maxPooled) {
+        this(bufferSize, maxPooled, true);
+    }
+
+    BufferPool(final int bufferSize, final int maxPooled, final boolean direct) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.direct = direct;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getPooled() {
+        return pooled.get();
+    }
+
+    ByteBuffer acquire() {
+        final ByteBuffer buffer = buffers.poll();
+
+        if (buffer == null) {
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    void release(final ByteBuffer buffer) {
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+}
@@ -1,11 +1,9 @@
 package org.zalando.riptide.httpclient;
 
-import lombok.AllArgsConstructor;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpResponse;
-import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -14,7 +12,6 @@ import org.springframework.http.client.ClientHttpResponse;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
@@ -22,15 +19,25 @@ import java.net.URISyntaxException;
 import java.util.Map;
 import java.util.Optional;
 
-@AllArgsConstructor
 final class BufferingApacheClientHttpRequest implements ClientHttpRequest {
 
     private final HttpHeaders headers = new HttpHeaders();
-    private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+    private final SegmentedBuffer output;
 
     private final HttpClient client;
     private final HttpUriRequest request;
 
+    BufferingApacheClientHttpRequest(final HttpClient client, final HttpUriRequest request) {
+        this(client, request, Integer.MAX_VALUE);
+    }
+
+    BufferingApacheClientHttpRequest(final HttpClient client, final HttpUriRequest request,
+            final int memoryThreshold) {
+        this.client = client;
+        this.request = request;
+        this.output = new SegmentedBuffer(BufferPool.HEAP, memoryThreshold);
+    }
+
     @Override
     @Nonnull
     public HttpMethod getMethod() {
@@ -69,10 +76,13 @@ final class BufferingApacheClientHttpRequest implements ClientHttpRequest {
     @Nonnull
     public ClientHttpResponse execute() throws IOException {
         Headers.writeHeaders(headers, request);
-        request.setEntity(new ByteArrayEntity(output.toByteArray(), toContentType(headers.getContentType())));
 
-        final HttpResponse response = client.executeOpen(null, request, null);
-        return new ApacheClientHttpResponse(response);
+        // the request was sent completely, including retries, once the response arrived
+        try (final SegmentedEntity entity = new SegmentedEntity(output, toContentType(headers.getContentType()))) {
+            request.setEntity(entity);
+            final HttpResponse response = client.executeOpen(null, request, null);
+            return new ApacheClientHttpResponse(response);
+        }
     }
 
     @Nullable
@@ -0,0 +1,146 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.zalando.riptide.ChannelEntity;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.zalando.riptide.httpclient.Closing.closeQuietly;
+
+/**
+ * Reads a {@link ChannelEntity} chunk by chunk into a single {@link BufferPool pooled}, direct buffer, which is
+ * written to the channel as is. Other than buffering the whole request body first, neither the heap nor the pool
+ * hold more than one chunk per request at any time.
+ */
+final class ChannelEntityProducer implements AsyncEntityProducer {
+
+    private final ChannelEntity entity;
+    private final BufferPool pool;
+
+    @Nullable
+    private final String contentType;
+
+    @Nullable
+    private ReadableByteChannel source;
+
+    @Nullable
+    private ByteBuffer buffer;
+
+    private long remaining;
+    private boolean completed;
+
+    ChannelEntityProducer(final ChannelEntity entity, final BufferPool pool, @Nullable final String contentType) {
+        this.entity = entity;
+        this.pool = pool;
+        this.contentType = contentType;
+        this.remaining = entity.getContentLength();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return entity.getContentLength();
+    }
+
+    @Nullable
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Nullable
+    @Override
+    public String getContentEncoding() {
+        return null;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public synchronized int available() {
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void produce(final DataStreamChannel channel) throws IOException {
+        if (completed) {
+            return;
+        }
+
+        if (source == null) {
+            source = entity.open();
+            buffer = pool.acquire().flip();
+            remaining = entity.getContentLength();
+        }
+
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                final int read = source.read(buffer);
+                buffer.flip();
+
+                if (read == -1) {
+                    throw new IOException("Unexpected end of body with " + remaining + " bytes remaining");
+                }
+
+                // never exceed the announced content length
+                buffer.limit((int) Math.min(buffer.limit(), remaining));
+            }
+
+            remaining -= channel.write(buffer);
+
+            if (buffer.hasRemaining()) {
+                // channel is full, we'll be called again
+                return;
+            }
+        }
+
+        channel.endStream();
+        completed = true;
+        close();
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        releaseResources();
+    }
+
+    /**
+     * Closes the current channel, if any. A subsequent {@link #produce(DataStreamChannel) produce} starts over.
+     */
+    @Override
+    public synchronized void releaseResources() {
+        completed = false;
+        remaining = entity.getContentLength();
+        close();
+    }
+
+    private void close() {
+        closeQuietly(source);
+        source = null;
+
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+}
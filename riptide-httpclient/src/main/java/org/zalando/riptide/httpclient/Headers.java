@@ -1,6 +1,6 @@
 package org.zalando.riptide.httpclient;
 
-import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.core5.http.HttpRequest;
 import org.springframework.http.HttpHeaders;
 
 import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
@@ -12,7 +12,7 @@ final class Headers {
 
     }
 
-    static void writeHeaders(final HttpHeaders headers, final HttpUriRequest request) {
+    static void writeHeaders(final HttpHeaders headers, final HttpRequest request) {
         headers.forEach((name, values) ->
                 values.forEach(value ->
                         request.addHeader(name, value)));
@@ -0,0 +1,230 @@
+package org.zalando.riptide.httpclient;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.toList;
+import static org.zalando.riptide.httpclient.Closing.closeQuietly;
+
+/**
+ * An {@link OutputStream} that writes into a chain of {@link BufferPool pooled} buffers. Other than a
+ * {@link java.io.ByteArrayOutputStream} it grows in fixed steps, without copying what was already written, and
+ * its contents can be read {@link #segments() segment by segment}, without copying them into a single array.
+ *
+ * Everything beyond the given memory threshold is spilled to a temporary file, which is deleted once the buffer is
+ * released. Buffers need to be {@link #release() released} back to the pool once the contents are no longer needed.
+ */
+final class SegmentedBuffer extends OutputStream {
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final BufferPool pool;
+    private final long threshold;
+
+    @Nullable
+    private FileChannel overflow;
+
+    private long size;
+
+    SegmentedBuffer(final BufferPool pool) {
+        this(pool, Long.MAX_VALUE);
+    }
+
+    SegmentedBuffer(final BufferPool pool, final long threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        final int length = (int) Math.min(len, Math.max(0, threshold - size));
+
+        fill(b, off, length);
+
+        if (length < len) {
+            spill(b, off + length, len - length);
+        }
+
+        size += len;
+    }
+
+    private void fill(final byte[] b, final int off, final int len) {
+        int offset = off;
+        int remaining = len;
+
+        while (remaining > 0) {
+            final ByteBuffer tail = tail();
+            final int length = Math.min(remaining, tail.remaining());
+            tail.put(b, offset, length);
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    private void spill(final byte[] b, final int off, final int len) throws IOException {
+        if (overflow == null) {
+            final Path file = Files.createTempFile("riptide-", ".buffer");
+            overflow = FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE);
+        }
+
+        final ByteBuffer source = ByteBuffer.wrap(b, off, len);
+
+        while (source.hasRemaining()) {
+            overflow.write(source);
+        }
+    }
+
+    private ByteBuffer tail() {
+        if (!segments.isEmpty()) {
+            final ByteBuffer tail = segments.get(segments.size() - 1);
+
+            if (tail.hasRemaining()) {
+                return tail;
+            }
+        }
+
+        final ByteBuffer tail = pool.acquire();
+        segments.add(tail);
+        return tail;
+    }
+
+    long size() {
+        return size;
+    }
+
+    boolean isSpilled() {
+        return overflow != null;
+    }
+
+    /**
+     * @return read-only views of all written segments, in order
+     * @throws IllegalStateException if parts of the contents were spilled to disk
+     */
+    List<ByteBuffer> segments() {
+        checkState(overflow == null, "Buffer was spilled to disk");
+        return segments.stream()
+                .map(segment -> segment.duplicate().flip().asReadOnlyBuffer())
+                .collect(toList());
+    }
+
+    /**
+     * Writes all segments to the given stream. Segments that are backed by an array are written as is, all others
+     * are copied in chunks. The spilled part is transferred directly from the file.
+     */
+    void writeTo(final OutputStream stream) throws IOException {
+        @Nullable byte[] chunk = null;
+
+        for (final ByteBuffer segment : segments) {
+            if (segment.hasArray()) {
+                stream.write(segment.array(), segment.arrayOffset(), segment.position());
+            } else {
+                chunk = chunk == null ? new byte[segment.capacity()] : chunk;
+                segment.get(0, chunk, 0, segment.position());
+                stream.write(chunk, 0, segment.position());
+            }
+        }
+
+        if (overflow != null) {
+            final WritableByteChannel target = Channels.newChannel(stream);
+            final long count = overflow.size();
+            long position = 0;
+
+            while (position < count) {
+                position += overflow.transferTo(position, count - position, target);
+            }
+        }
+    }
+
+    /**
+     * @return a stream that reads all written segments, in order, followed by the spilled part, if any, which is
+     * memory-mapped
+     */
+    InputStream getInputStream() throws IOException {
+        final List<ByteBuffer> views = segments.stream()
+                .map(segment -> segment.duplicate().flip().asReadOnlyBuffer())
+                .collect(toList());
+
+        if (overflow != null) {
+            final long count = overflow.size();
+
+            for (long position = 0; position < count; position += Integer.MAX_VALUE) {
+                views.add(overflow.map(READ_ONLY, position, Math.min(Integer.MAX_VALUE, count - position)));
+            }
+        }
+
+        return new Input(views);
+    }
+
+    void release() {
+        segments.forEach(pool::release);
+        segments.clear();
+        size = 0;
+
+        if (overflow != null) {
+            closeQuietly(overflow);
+            overflow = null;
+        }
+    }
+
+    private static final class Input extends InputStream {
+
+        private final Iterator<ByteBuffer> segments;
+        private ByteBuffer current = ByteBuffer.allocate(0);
+
+        private Input(final List<ByteBuffer> segments) {
+            this.segments = segments.iterator();
+        }
+
+        @Override
+        public int read() {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (!current.hasRemaining()) {
+                if (!segments.hasNext()) {
+                    return -1;
+                }
+
+                current = segments.next();
+            }
+
+            final int length = Math.min(len, current.remaining());
+            current.get(b, off, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return current.remaining();
+        }
+
+    }
+
+}
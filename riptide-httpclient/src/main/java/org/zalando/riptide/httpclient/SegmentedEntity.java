@@ -0,0 +1,56 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes the segments of a {@link SegmentedBuffer}, including any part that was spilled to disk, directly to the
+ * connection. Other than a {@link org.apache.hc.core5.http.io.entity.ByteArrayEntity} it doesn't require the whole
+ * body to be copied into a single array first. The entity can be written repeatedly, i.e. the request can be
+ * retried, until it's {@link #close() closed}, which releases the segments back to the pool.
+ */
+final class SegmentedEntity extends AbstractHttpEntity {
+
+    private final SegmentedBuffer buffer;
+
+    SegmentedEntity(final SegmentedBuffer buffer, @Nullable final ContentType contentType) {
+        super(contentType, null);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return buffer.size();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return buffer.getInputStream();
+    }
+
+    @Override
+    public void writeTo(final OutputStream stream) throws IOException {
+        buffer.writeTo(stream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        buffer.release();
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Writes the segments of a {@link SegmentedBuffer} directly to the channel and releases them back to the pool once
+ * the request was sent, or failed.
+ */
+final class SegmentedEntityProducer implements AsyncEntityProducer {
+
+    private final SegmentedBuffer buffer;
+    private final Deque<ByteBuffer> segments;
+    private final long contentLength;
+
+    @Nullable
+    private final String contentType;
+
+    SegmentedEntityProducer(final SegmentedBuffer buffer, @Nullable final String contentType) {
+        this.buffer = buffer;
+        this.segments = new ArrayDeque<>(buffer.segments());
+        this.contentLength = buffer.size();
+        this.contentType = contentType;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Nullable
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Nullable
+    @Override
+    public String getContentEncoding() {
+        return null;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public synchronized int available() {
+        final ByteBuffer head = segments.peek();
+        return head == null ? 0 : head.remaining();
+    }
+
+    @Override
+    public synchronized void produce(final DataStreamChannel channel) throws IOException {
+        while (!segments.isEmpty()) {
+            final ByteBuffer head = segments.peek();
+            channel.write(head);
+
+            if (head.hasRemaining()) {
+                // channel is full, we'll be called again
+                return;
+            }
+
+            segments.poll();
+        }
+
+        channel.endStream();
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        releaseResources();
+    }
+
+    @Override
+    public synchronized void releaseResources() {
+        segments.clear();
+        buffer.release();
+    }
+
+}
@@ -0,0 +1,244 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.nio.CapacityChannel;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Receives a response body into a chain of {@link BufferPool pooled} buffers, which are read
+ * {@link #getInputStream() as a stream} and released back to the pool as soon as they have been read. Other than
+ * {@link org.apache.hc.core5.http.nio.support.classic.SharedInputBuffer} it doesn't allocate a dedicated buffer per
+ * response.
+ *
+ * The amount of buffered, unread data is bounded by the given capacity, i.e. the server will only send more data
+ * after it has been read.
+ */
+final class SegmentedInputBuffer {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition condition = lock.newCondition();
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final BufferPool pool;
+    private final int capacity;
+
+    @Nullable
+    private CapacityChannel channel;
+
+    private int buffered;
+    private int requested;
+    private boolean endStream;
+    private boolean aborted;
+
+    SegmentedInputBuffer(final BufferPool pool, final int capacity) {
+        this.pool = pool;
+        this.capacity = capacity;
+    }
+
+    void updateCapacity(final CapacityChannel channel) throws IOException {
+        lock.lock();
+        try {
+            this.channel = channel;
+            requested = 0;
+            credit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void fill(final ByteBuffer src) {
+        lock.lock();
+        try {
+            requested = Math.max(0, requested - src.remaining());
+
+            if (aborted) {
+                src.position(src.limit());
+                return;
+            }
+
+            while (src.hasRemaining()) {
+                final ByteBuffer tail = tail();
+                final int length = Math.min(src.remaining(), tail.remaining());
+                tail.put(src.slice().limit(length));
+                src.position(src.position() + length);
+                buffered += length;
+            }
+
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer tail() {
+        @Nullable final Segment tail = segments.peekLast();
+
+        if (tail != null && tail.buffer.hasRemaining()) {
+            return tail.buffer;
+        }
+
+        final Segment segment = new Segment(pool.acquire());
+        segments.addLast(segment);
+        return segment.buffer;
+    }
+
+    void markEndStream() {
+        lock.lock();
+        try {
+            endStream = true;
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEndStream() {
+        lock.lock();
+        try {
+            return endStream;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards all buffered data. Subsequent reads will fail, unless the end of the stream was already reached.
+     */
+    void abort() {
+        lock.lock();
+        try {
+            aborted = !endStream;
+            buffered = 0;
+            segments.forEach(segment -> pool.release(segment.buffer));
+            segments.clear();
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    InputStream getInputStream() {
+        return new Input();
+    }
+
+    private int read(final byte[] b, final int off, final int len) throws IOException {
+        lock.lock();
+        try {
+            while (buffered == 0 && !endStream && !aborted) {
+                try {
+                    condition.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+
+            if (aborted) {
+                throw new IOException("Response body was aborted");
+            }
+
+            if (buffered == 0) {
+                segments.forEach(segment -> pool.release(segment.buffer));
+                segments.clear();
+                return -1;
+            }
+
+            int read = 0;
+
+            while (read < len && buffered > 0) {
+                final Segment head = segments.getFirst();
+                final int length = head.read(b, off + read, len - read);
+
+                read += length;
+                buffered -= length;
+
+                if (head.isDrained()) {
+                    segments.removeFirst();
+                    pool.release(head.buffer);
+                }
+            }
+
+            credit();
+            return read;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void credit() throws IOException {
+        if (channel == null) {
+            return;
+        }
+
+        final int increment = capacity - buffered - requested;
+
+        if (increment > 0) {
+            requested += increment;
+            channel.update(increment);
+        }
+    }
+
+    /**
+     * A pooled buffer that is written to using its position and read from using a separate index.
+     */
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+        private int index;
+
+        private Segment(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int read(final byte[] b, final int off, final int len) {
+            final int length = Math.min(len, buffer.position() - index);
+            buffer.get(index, b, off, length);
+            index += length;
+            return length;
+        }
+
+        private boolean isDrained() {
+            return index == buffer.position() && !buffer.hasRemaining();
+        }
+
+    }
+
+    private final class Input extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int read = SegmentedInputBuffer.this.read(b, 0, 1);
+            return read == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            return SegmentedInputBuffer.this.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return buffered;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+    }
+
+}
@@ -91,7 +91,7 @@ final class StreamingApacheClientHttpRequest implements ClientHttpRequest, Strea
 
         @Override
         public boolean isRepeatable() {
-            return false;
+            return body.repeatable();
         }
 
         @Override
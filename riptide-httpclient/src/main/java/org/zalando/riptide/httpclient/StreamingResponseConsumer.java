@@ -0,0 +1,118 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.zalando.riptide.httpclient.EmptyInputStream.EMPTY;
+
+/**
+ * Passes on a {@link ClientHttpResponse} as soon as the response headers arrive. The body is received into a bounded
+ * chain of {@link SegmentedInputBuffer pooled buffers}, which applies back pressure, i.e. the server will only send
+ * more data after it has been read.
+ */
+final class StreamingResponseConsumer implements AsyncResponseConsumer<ClientHttpResponse> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SegmentedInputBuffer buffer = new SegmentedInputBuffer(BufferPool.HEAP, BUFFER_SIZE);
+    private final Consumer<ClientHttpResponse> listener;
+
+    private ApacheAsyncClientHttpResponse response;
+    private FutureCallback<ClientHttpResponse> callback;
+
+    @Nullable
+    private Future<?> exchange;
+    private boolean cancelled;
+
+    StreamingResponseConsumer(final Consumer<ClientHttpResponse> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void consumeResponse(final HttpResponse response, @Nullable final EntityDetails entity,
+            final HttpContext context, final FutureCallback<ClientHttpResponse> callback) {
+
+        this.callback = callback;
+
+        if (entity == null) {
+            buffer.markEndStream();
+            this.response = new ApacheAsyncClientHttpResponse(response, EMPTY, this);
+            listener.accept(this.response);
+            callback.completed(this.response);
+        } else {
+            this.response = new ApacheAsyncClientHttpResponse(response, buffer.getInputStream(), this);
+            listener.accept(this.response);
+        }
+    }
+
+    @Override
+    public void informationResponse(final HttpResponse response, final HttpContext context) {
+        // not relevant
+    }
+
+    @Override
+    public void updateCapacity(final CapacityChannel channel) throws IOException {
+        buffer.updateCapacity(channel);
+    }
+
+    @Override
+    public void consume(final ByteBuffer src) {
+        buffer.fill(src);
+    }
+
+    @Override
+    public void streamEnd(@Nullable final List<? extends Header> trailers) {
+        buffer.markEndStream();
+        callback.completed(response);
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        buffer.abort();
+    }
+
+    @Override
+    public void releaseResources() {
+        // nothing to release, the buffer is owned by the response and released once it's read or closed
+    }
+
+    synchronized void bind(final Future<?> exchange) {
+        this.exchange = exchange;
+
+        if (cancelled) {
+            exchange.cancel(true);
+        }
+    }
+
+    /**
+     * Aborts the exchange, unless the body was already received completely.
+     */
+    synchronized void close() {
+        final boolean complete = buffer.isEndStream();
+        buffer.abort();
+
+        if (complete) {
+            return;
+        }
+
+        cancelled = true;
+
+        if (exchange != null) {
+            exchange.cancel(true);
+        }
+    }
+
+}
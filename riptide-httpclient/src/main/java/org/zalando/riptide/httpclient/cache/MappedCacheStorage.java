@@ -0,0 +1,119 @@
+package org.zalando.riptide.httpclient.cache;
+
+import org.apache.hc.client5.http.cache.HttpCacheStorage;
+import org.apache.hc.client5.http.cache.ResourceIOException;
+import org.apache.hc.client5.http.impl.cache.AbstractSerializingCacheStorage;
+import org.apache.hc.client5.http.impl.cache.HttpByteArrayCacheEntrySerializer;
+import org.apiguardian.api.API;
+import org.zalando.riptide.httpclient.cache.SegmentedStore.Location;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A persistent {@link HttpCacheStorage} that keeps serialized cache entries in memory-mapped segment files. Other
+ * than the file-based storage of the caching client, which writes one file per entry, entries are appended to a
+ * small number of large files and survive restarts. Reading an entry copies it straight from the mapped file into an
+ * array, without a file system call, since the caching client deserializes entries from arrays.
+ *
+ * A directory can only be used by one storage at a time. Opening a directory that is in use by another storage, in
+ * this or any other process, fails.
+ *
+ * The storage is bounded by the total size of all segment files. Once exceeded, the oldest segment and all entries
+ * in it are evicted.
+ */
+@API(status = EXPERIMENTAL)
+public final class MappedCacheStorage extends AbstractSerializingCacheStorage<byte[], Location>
+        implements Closeable {
+
+    private static final int MAX_UPDATE_RETRIES = 1;
+
+    private final SegmentedStore store;
+
+    public MappedCacheStorage(final Path directory, final long maxSize, final int segmentSize) throws IOException {
+        super(MAX_UPDATE_RETRIES, HttpByteArrayCacheEntrySerializer.INSTANCE);
+        this.store = new SegmentedStore(directory, maxSize, segmentSize);
+    }
+
+    @Override
+    protected String digestToStorageKey(final String key) {
+        return key;
+    }
+
+    @Override
+    protected void store(final String storageKey, final byte[] storageObject) throws ResourceIOException {
+        try {
+            store.put(storageKey, storageObject);
+        } catch (final IOException e) {
+            throw new ResourceIOException(e.getMessage(), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    protected byte[] restore(final String storageKey) {
+        return store.get(storageKey);
+    }
+
+    @Nullable
+    @Override
+    protected Location getForUpdateCAS(final String storageKey) {
+        return store.locate(storageKey);
+    }
+
+    @Nullable
+    @Override
+    protected byte[] getStorageObject(final Location location) {
+        return store.read(location);
+    }
+
+    @Override
+    protected boolean updateCAS(final String storageKey, final Location location, final byte[] storageObject)
+            throws ResourceIOException {
+        try {
+            return store.replace(storageKey, location, storageObject);
+        } catch (final IOException e) {
+            throw new ResourceIOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected void delete(final String storageKey) throws ResourceIOException {
+        try {
+            store.delete(storageKey);
+        } catch (final IOException e) {
+            throw new ResourceIOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Map<String, byte[]> bulkRestore(final Collection<String> storageKeys) {
+        final Map<String, byte[]> entries = new HashMap<>(storageKeys.size());
+
+        for (final String storageKey : storageKeys) {
+            @Nullable final byte[] entry = store.get(storageKey);
+
+            if (entry != null) {
+                entries.put(storageKey, entry);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Flushes all segments to disk and releases the directory.
+     */
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+
+}
@@ -0,0 +1,376 @@
+package org.zalando.riptide.httpclient.cache;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * A persistent key-value store, backed by a directory of fixed-size, memory-mapped segment files. Records are only
+ * ever appended to the newest segment. Once the segments exceed the maximum size in total, the oldest segment is
+ * dropped as a whole, together with all records it contains.
+ *
+ * Every record is laid out as follows:
+ *
+ * <pre>
+ * | magic (4) | checksum (4) | key length (4) | value length (4) | key | value |
+ * </pre>
+ *
+ * The magic number is written last, i.e. a partially written record is ignored, as is any record that doesn't match
+ * its checksum. Deletions are recorded as tombstones, i.e. records with a value length of {@code -1}. The index of
+ * all keys is rebuilt by scanning all segments, oldest first, when opening a directory.
+ *
+ * A directory is used by a single store at a time, which holds an exclusive lock on a lock file in it until it's
+ * closed. Opening a directory that is already in use, by the same or any other process, fails.
+ */
+final class SegmentedStore implements Closeable {
+
+    static final int HEADER = 16;
+
+    private static final int MAGIC = 0x52495054;
+    private static final int TOMBSTONE = -1;
+    private static final String SUFFIX = ".segment";
+    private static final String LOCK = ".lock";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Map<String, Location> index = new HashMap<>();
+
+    private final Path directory;
+    private final long maxSize;
+    private final int segmentSize;
+    private final FileChannel lockChannel;
+
+    SegmentedStore(final Path directory, final long maxSize, final int segmentSize) throws IOException {
+        checkArgument(segmentSize > HEADER, "Segment size must be greater than %s", HEADER);
+        checkArgument(maxSize >= segmentSize, "Max size must not be less than the segment size");
+
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.segmentSize = segmentSize;
+
+        Files.createDirectories(directory);
+        this.lockChannel = lock(directory);
+
+        try {
+            for (final Segment segment : list(directory)) {
+                segments.addLast(segment);
+                segment.scan(index);
+            }
+
+            evict();
+        } catch (final IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel lock(final Path directory) throws IOException {
+        final FileChannel channel = FileChannel.open(directory.resolve(LOCK), CREATE, WRITE);
+
+        try {
+            if (channel.tryLock() == null) {
+                throw new IOException("Directory " + directory + " is already in use by another process");
+            }
+        } catch (final OverlappingFileLockException e) {
+            channel.close();
+            throw new IOException("Directory " + directory + " is already in use", e);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return channel;
+    }
+
+    @Nullable
+    Location locate(final String key) {
+        lock.readLock().lock();
+        try {
+            return index.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Nullable
+    byte[] get(final String key) {
+        lock.readLock().lock();
+        try {
+            @Nullable final Location location = index.get(key);
+            return location == null ? null : read(location);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the value at the given location or {@code null}, if the location was evicted in the meantime
+     */
+    @Nullable
+    byte[] read(final Location location) {
+        lock.readLock().lock();
+        try {
+            for (final Segment segment : segments) {
+                if (segment.id == location.getSegment()) {
+                    return segment.read(location);
+                }
+            }
+
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(final String key, final byte[] value) throws IOException {
+        lock.writeLock().lock();
+        try {
+            append(key, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the given value, but only if the key is still located where it was expected to be.
+     *
+     * @return true if the value was stored, false otherwise
+     */
+    boolean replace(final String key, final Location expected, final byte[] value) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!expected.equals(index.get(key))) {
+                return false;
+            }
+
+            append(key, value);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void delete(final String key) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index.remove(key) != null) {
+                append(key, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long weight() {
+        lock.readLock().lock();
+        try {
+            return segments.stream().mapToLong(segment -> segment.buffer.capacity()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(final String key, @Nullable final byte[] value) throws IOException {
+        final byte[] bytes = key.getBytes(UTF_8);
+        final int length = HEADER + bytes.length + (value == null ? 0 : value.length);
+
+        if (length > segmentSize) {
+            // too big to be stored at all, but it must not shadow a previously stored value either
+            delete(key);
+            return;
+        }
+
+        @Nullable Segment active = segments.peekLast();
+
+        if (active == null || active.remaining() < length) {
+            active = roll();
+        }
+
+        final Location location = active.append(bytes, value);
+
+        if (value == null) {
+            index.remove(key);
+        } else {
+            index.put(key, location);
+        }
+
+        evict();
+    }
+
+    private Segment roll() throws IOException {
+        final long id = segments.isEmpty() ? 0 : segments.getLast().id + 1;
+        final Path path = directory.resolve(String.format("%016x%s", id, SUFFIX));
+
+        try (final FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE)) {
+            final Segment segment = new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            segments.addLast(segment);
+            return segment;
+        }
+    }
+
+    private void evict() throws IOException {
+        while (segments.size() > 1 && weight() > maxSize) {
+            final Segment eldest = segments.removeFirst();
+            index.values().removeIf(location -> location.getSegment() == eldest.id);
+            // the mapping stays valid until the buffer is garbage collected, even after the file was deleted
+            Files.deleteIfExists(eldest.path);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            segments.forEach(segment -> segment.buffer.force());
+        } finally {
+            lock.writeLock().unlock();
+            // releases the lock as well
+            lockChannel.close();
+        }
+    }
+
+    private static List<Segment> list(final Path directory) throws IOException {
+        final List<Segment> segments = new ArrayList<>();
+
+        try (final DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (final Path path : paths) {
+                final String name = path.getFileName().toString();
+                final long id = Long.parseUnsignedLong(name.substring(0, name.length() - SUFFIX.length()), 16);
+
+                try (final FileChannel channel = FileChannel.open(path, READ, WRITE)) {
+                    segments.add(new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size())));
+                }
+            }
+        }
+
+        segments.sort(comparingLong(segment -> segment.id));
+        return segments;
+    }
+
+    @Value
+    static class Location {
+        long segment;
+        int offset;
+        int length;
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+
+        private int position;
+
+        private Segment(final long id, final Path path, final MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        private Location append(final byte[] key, @Nullable final byte[] value) {
+            final int offset = position;
+            final int valueLength = value == null ? TOMBSTONE : value.length;
+
+            final ByteBuffer record = buffer.duplicate().position(offset + 8);
+            record.putInt(key.length);
+            record.putInt(valueLength);
+            record.put(key);
+
+            if (value != null) {
+                record.put(value);
+            }
+
+            buffer.putInt(offset + 4, checksum(offset, key.length, valueLength));
+            buffer.putInt(offset, MAGIC);
+
+            position = record.position();
+            return new Location(id, offset + HEADER + key.length, Math.max(valueLength, 0));
+        }
+
+        private byte[] read(final Location location) {
+            final byte[] value = new byte[location.getLength()];
+            buffer.get(location.getOffset(), value);
+            return value;
+        }
+
+        /**
+         * Replays all valid records, stopping at the first one that is either missing, incomplete or corrupted.
+         */
+        private void scan(final Map<String, Location> index) {
+            while (remaining() >= HEADER && buffer.getInt(position) == MAGIC) {
+                final int keyLength = buffer.getInt(position + 8);
+                final int valueLength = buffer.getInt(position + 12);
+
+                if (keyLength < 0 || valueLength < TOMBSTONE ||
+                        (long) HEADER + keyLength + Math.max(valueLength, 0) > remaining()) {
+                    break;
+                }
+
+                if (buffer.getInt(position + 4) != checksum(position, keyLength, valueLength)) {
+                    break;
+                }
+
+                final byte[] bytes = new byte[keyLength];
+                buffer.get(position + HEADER, bytes);
+                final String key = new String(bytes, UTF_8);
+
+                if (valueLength == TOMBSTONE) {
+                    index.remove(key);
+                } else {
+                    index.put(key, new Location(id, position + HEADER + keyLength, valueLength));
+                }
+
+                position += HEADER + keyLength + Math.max(valueLength, 0);
+            }
+        }
+
+        private int checksum(final int offset, final int keyLength, final int valueLength) {
+            final CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(offset + 8, HEADER - 8 + keyLength + Math.max(valueLength, 0)));
+            return (int) crc.getValue();
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.httpclient.cache;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -7,6 +7,7 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.AllArgsConstructor;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.ConnPoolControl;
 import org.apache.hc.core5.pool.PoolStats;
 import org.apiguardian.api.API;
 
@@ -32,11 +33,15 @@ public final class HttpConnectionPoolMetrics implements MeterBinder {
     private final ImmutableList<Tag> defaultTags;
 
     public HttpConnectionPoolMetrics(final PoolingHttpClientConnectionManager manager) {
+        this((ConnPoolControl<?>) manager);
+    }
+
+    public HttpConnectionPoolMetrics(final ConnPoolControl<?> manager) {
         this(manager, "http.client.connections", ImmutableList.of());
     }
 
     private HttpConnectionPoolMetrics(
-            final PoolingHttpClientConnectionManager manager,
+            final ConnPoolControl<?> manager,
             final String metricName,
             final ImmutableList<Tag> defaultTags) {
         this(memoizeWithExpiration(manager::getTotalStats, 1, MINUTES),
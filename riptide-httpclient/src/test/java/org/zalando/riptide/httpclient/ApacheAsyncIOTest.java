@@ -0,0 +1,270 @@
+package org.zalando.riptide.httpclient;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.zalando.riptide.Entities;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.capture.Capture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NON_PRIVATE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.Types.listOf;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.jsonMockResponseFromResource;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.textMockResponse;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.verify;
+
+final class ApacheAsyncIOTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final ApacheAsyncIO io = new ApacheAsyncIO(HttpAsyncClients.createDefault(), executor);
+
+    private final Http http = Http.builder()
+            .io(io)
+            .baseUrl(getBaseUrl(server))
+            .converter(new JacksonJsonHttpMessageConverter())
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        io.destroy();
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldReadContributors() throws IOException {
+        server.enqueue(jsonMockResponseFromResource("contributors.json"));
+
+        final Capture<List<User>> capture = Capture.empty();
+
+        final List<User> users = http.get("/repos/{org}/{repo}/contributors", "zalando", "riptide")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(listOf(User.class), capture))
+                .thenApply(capture).join();
+
+        final List<String> names = users.stream()
+                .map(User::getLogin)
+                .collect(toList());
+
+        assertThat(names, hasItems("jhorstmann", "lukasniemeier-zalando", "whiskeysierra"));
+        verify(server, 1, "/repos/zalando/riptide/contributors");
+    }
+
+    @Test
+    void shouldWriteBody() throws InterruptedException {
+        server.enqueue(emptyMockResponse());
+
+        http.post("/")
+                .contentType(APPLICATION_JSON)
+                .header("Content-Length", "1000")
+                .body(singletonList("Hello"))
+                .call(pass())
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getMethod(), is("POST"));
+        assertThat(request.getHeader("Content-Type"), startsWith("application/json"));
+        assertThat(request.getHeader("Content-Length"), is("9"));
+        assertThat(request.getBody().readString(UTF_8), is("[\"Hello\"]"));
+    }
+
+    @Test
+    void shouldStreamFileBody(@TempDir final Path directory) throws IOException, InterruptedException {
+        server.enqueue(emptyMockResponse());
+
+        final Path file = Files.write(directory.resolve("body.txt"), "Hello, world!".getBytes(UTF_8));
+
+        http.put("/")
+                .contentType(TEXT_PLAIN)
+                .body(Entities.of(file))
+                .call(pass())
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getHeader("Content-Type"), startsWith("text/plain"));
+        assertThat(request.getHeader("Content-Length"), is("13"));
+        assertThat(request.getBody().readString(UTF_8), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldReadEmptyBody() {
+        server.enqueue(emptyMockResponse());
+
+        http.get("/").call(call(response -> {
+            assertThat(response.getStatusCode(), is(NO_CONTENT));
+            assertThat(response.getBody().read(), is(-1));
+        })).join();
+    }
+
+    @Test
+    void shouldStreamBody() {
+        server.enqueue(textMockResponse("Hello, world!").throttleBody(5, 100, TimeUnit.MILLISECONDS));
+
+        http.get("/").call(call(response -> {
+            assertThat(response.getStatusText(), is("OK"));
+            assertThat(response.getHeaders().getContentType(), is(TEXT_PLAIN));
+            assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello, world!"));
+        })).join();
+    }
+
+    @Test
+    void shouldCancelExchangeWhenClosedEarly() {
+        server.enqueue(textMockResponse("Hello, world!").throttleBody(1, 1, TimeUnit.SECONDS));
+        server.enqueue(textMockResponse("Hello again!"));
+
+        http.get("/").call(pass()).join();
+
+        http.get("/").call(call(response ->
+                assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello again!"))))
+                .join();
+    }
+
+    @Test
+    void shouldFailOnConnectionError() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                http.get("/").call(pass()).join());
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldFailIfExecutorRejectsResponse() throws IOException {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        final ApacheAsyncIO io = new ApacheAsyncIO(HttpAsyncClients.createDefault(), executor);
+
+        try {
+            final Http http = Http.builder()
+                    .io(io)
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            final CompletionException exception = assertThrows(CompletionException.class, () ->
+                    http.get("/").call(pass()).join());
+
+            assertThat(exception.getCause(), is(instanceOf(RejectedExecutionException.class)));
+        } finally {
+            io.destroy();
+        }
+    }
+
+    @Test
+    void shouldFailOnTruncatedBody() {
+        server.enqueue(textMockResponse("Hello, world!")
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+        // depending on timing, the connection is closed before or after the response was passed on
+        final CompletableFuture<ClientHttpResponse> future = http.get("/").call(call(response ->
+                response.getBody().readAllBytes()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldCancelExchange() {
+        server.enqueue(textMockResponse("Hello, world!").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        final CompletableFuture<?> future = http.get("/").call(pass());
+
+        future.cancel(true);
+
+        assertThat(future.isCancelled(), is(true));
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    void shouldMultiplexOverHttp2() throws Exception {
+        server.setProtocols(singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.enqueue(textMockResponse("Hello"));
+        server.enqueue(textMockResponse("World"));
+
+        final CloseableHttpAsyncClient client = HttpAsyncClients.createHttp2Default();
+        final ApacheAsyncIO io = new ApacheAsyncIO(client, executor);
+
+        try {
+            final Http http = Http.builder()
+                    .io(io)
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            final Capture<String> first = Capture.empty();
+            final Capture<String> second = Capture.empty();
+
+            CompletableFuture.allOf(
+                    http.get("/first").dispatch(series(), on(SUCCESSFUL).call(String.class, first)),
+                    http.get("/second").dispatch(series(), on(SUCCESSFUL).call(String.class, second))
+            ).join();
+
+            assertThat(first.retrieve() + " " + second.retrieve(), anyOf(is("Hello World"), is("World Hello")));
+            // both requests share the same connection, but may arrive in any order
+            assertThat(Arrays.asList(server.takeRequest().getSequenceNumber(),
+                    server.takeRequest().getSequenceNumber()), containsInAnyOrder(0, 1));
+        } finally {
+            io.destroy();
+        }
+    }
+
+    @JsonAutoDetect(fieldVisibility = NON_PRIVATE)
+    static class User {
+        String login;
+        int contributions;
+
+        public String getLogin() {
+            return login;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.zalando.riptide.httpclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+final class BufferPoolTest {
+
+    private final BufferPool unit = new BufferPool(16, 1);
+
+    @Test
+    void shouldAllocateDirectBuffers() {
+        final ByteBuffer buffer = unit.acquire();
+
+        assertThat(buffer.isDirect(), is(true));
+        assertThat(buffer.capacity(), is(16));
+        assertThat(unit.getBufferSize(), is(16));
+    }
+
+    @Test
+    void shouldAllocateHeapBuffers() {
+        final ByteBuffer buffer = new BufferPool(16, 1, false).acquire();
+
+        assertThat(buffer.isDirect(), is(false));
+        assertThat(buffer.hasArray(), is(true));
+    }
+
+    @Test
+    void shouldReuseReleasedBuffers() {
+        final ByteBuffer buffer = unit.acquire();
+        buffer.put((byte) 1);
+
+        unit.release(buffer);
+        assertThat(unit.getPooled(), is(1));
+
+        final ByteBuffer reused = unit.acquire();
+        assertThat(reused, is(sameInstance(buffer)));
+        assertThat(reused.position(), is(0));
+        assertThat(unit.getPooled(), is(0));
+    }
+
+    @Test
+    void shouldNotRetainMoreThanMaxPooled() {
+        final ByteBuffer first = unit.acquire();
+        final ByteBuffer second = unit.acquire();
+
+        unit.release(first);
+        unit.release(second);
+
+        assertThat(unit.getPooled(), is(1));
+        assertThat(unit.acquire(), is(sameInstance(first)));
+        assertThat(unit.acquire(), is(not(sameInstance(second))));
+    }
+
+}
@@ -1,16 +1,30 @@
 package org.zalando.riptide.httpclient;
 
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
 
+import java.net.URI;
 import java.net.URISyntaxException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.httpclient.MockWebServerUtil.getBaseUrl;
 
 class BufferingApacheClientHttpRequestTest {
 
@@ -23,6 +37,28 @@ class BufferingApacheClientHttpRequestTest {
         assertThrows(IllegalArgumentException.class, request::getURI);
     }
 
+    @Test
+    void shouldSpillLargeBodiesToDisk() throws Exception {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(emptyMockResponse());
+
+        try (final CloseableHttpClient client = HttpClients.createDefault()) {
+            final ClientHttpRequestFactory factory = new ApacheClientHttpRequestFactory(client, Mode.BUFFERING, 4);
+            final ClientHttpRequest unit = factory.createRequest(URI.create(getBaseUrl(server)), HttpMethod.POST);
+            unit.getBody().write("Hello, world!".getBytes(UTF_8));
+
+            try (final ClientHttpResponse response = unit.execute()) {
+                assertThat(response.getStatusCode().value(), is(204));
+            }
+
+            final RecordedRequest request = server.takeRequest();
+            assertThat(request.getHeader("Content-Length"), is("13"));
+            assertThat(request.getBody().readUtf8(), is("Hello, world!"));
+        } finally {
+            server.shutdown();
+        }
+    }
+
     @Test
     void shouldNotSupportGetAttributes() {
         final HttpClient client = mock(HttpClient.class);
@@ -0,0 +1,105 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.Entities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class ChannelEntityProducerTest {
+
+    private final BufferPool pool = new BufferPool(4, 10);
+
+    private final ChannelEntityProducer unit = new ChannelEntityProducer(
+            Entities.of(ByteBuffer.wrap("Hello, world!".getBytes(UTF_8))), pool, "text/plain");
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    void shouldDescribeEntity() {
+        assertThat(unit.getContentLength(), is(13L));
+        assertThat(unit.getContentType(), is("text/plain"));
+        assertThat(unit.getContentEncoding(), is(nullValue()));
+        assertThat(unit.isChunked(), is(false));
+        assertThat(unit.isRepeatable(), is(true));
+        assertThat(unit.getTrailerNames(), is(empty()));
+    }
+
+    @Test
+    void shouldWriteChunksUntilChannelIsFull() throws IOException {
+        final DataStreamChannel channel = channel();
+
+        assertThat(unit.available(), is(13));
+
+        unit.produce(channel);
+        verify(channel, never()).endStream();
+        assertThat(unit.available(), is(10));
+
+        while (unit.available() > 0) {
+            unit.produce(channel);
+        }
+
+        unit.produce(channel);
+
+        verify(channel).endStream();
+        assertThat(output.toString(UTF_8), is("Hello, world!"));
+        assertThat(pool.getPooled(), is(1));
+    }
+
+    @Test
+    void shouldStartOverAfterRelease() throws IOException {
+        final DataStreamChannel channel = channel();
+
+        unit.produce(channel);
+        unit.releaseResources();
+        output.reset();
+
+        for (int i = 0; i < 10; i++) {
+            unit.produce(channel);
+        }
+
+        verify(channel, times(1)).endStream();
+        assertThat(output.toString(UTF_8), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldReleaseBufferOnFailure() throws IOException {
+        unit.produce(channel());
+        unit.failed(new IOException());
+
+        assertThat(pool.getPooled(), is(1));
+    }
+
+    /**
+     * @return a channel that accepts at most 3 bytes at a time
+     */
+    private DataStreamChannel channel() throws IOException {
+        final DataStreamChannel channel = mock(DataStreamChannel.class);
+
+        when(channel.write(any())).thenAnswer(invocation -> {
+            final ByteBuffer src = invocation.getArgument(0);
+            final int length = Math.min(3, src.remaining());
+            for (int i = 0; i < length; i++) {
+                output.write(src.get());
+            }
+            return length;
+        });
+
+        return channel;
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.zalando.riptide.httpclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class SegmentedBufferTest {
+
+    private final BufferPool pool = new BufferPool(4, 10);
+    private final SegmentedBuffer unit = new SegmentedBuffer(pool);
+
+    @Test
+    void shouldGrowInSegments() throws IOException {
+        unit.write('H');
+        unit.write("ello, world!".getBytes(UTF_8));
+
+        final List<ByteBuffer> segments = unit.segments();
+
+        assertThat(unit.size(), is(13L));
+        assertThat(segments, hasSize(4));
+        assertThat(read(segments), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldNotExposeWritableSegments() throws IOException {
+        unit.write(1);
+
+        assertThat(unit.segments().get(0).isReadOnly(), is(true));
+    }
+
+    @Test
+    void shouldReleaseSegments() throws IOException {
+        unit.write("Hello, world!".getBytes(UTF_8));
+        unit.release();
+
+        assertThat(unit.size(), is(0L));
+        assertThat(unit.segments(), is(empty()));
+        assertThat(pool.getPooled(), is(4));
+    }
+
+    @Test
+    void shouldWriteDirectSegmentsToStream() throws IOException {
+        unit.write("Hello, world!".getBytes(UTF_8));
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        unit.writeTo(stream);
+
+        assertThat(stream.toString(UTF_8), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldWriteHeapSegmentsToStream() throws IOException {
+        final SegmentedBuffer unit = new SegmentedBuffer(new BufferPool(4, 10, false));
+        unit.write("Hello, world!".getBytes(UTF_8));
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        unit.writeTo(stream);
+
+        assertThat(stream.toString(UTF_8), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldReadSegmentsAsStream() throws IOException {
+        unit.write("Hello, world!".getBytes(UTF_8));
+
+        try (final InputStream stream = unit.getInputStream()) {
+            assertThat(stream.read(), is((int) 'H'));
+            assertThat(new String(stream.readAllBytes(), UTF_8), is("ello, world!"));
+            assertThat(stream.read(), is(-1));
+        }
+
+        assertThat(unit.size(), is(13L));
+    }
+
+    @Test
+    void shouldSpillBeyondThreshold() throws IOException {
+        final SegmentedBuffer unit = new SegmentedBuffer(pool, 5);
+        unit.write("Hello".getBytes(UTF_8));
+
+        assertThat(unit.isSpilled(), is(false));
+
+        unit.write(',');
+        unit.write(" world!".getBytes(UTF_8));
+
+        assertThat(unit.isSpilled(), is(true));
+        assertThat(unit.size(), is(13L));
+        assertThat(pool.getPooled(), is(0));
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        unit.writeTo(stream);
+        assertThat(stream.toString(UTF_8), is("Hello, world!"));
+
+        try (final InputStream input = unit.getInputStream()) {
+            assertThat(new String(input.readAllBytes(), UTF_8), is("Hello, world!"));
+        }
+
+        assertThrows(IllegalStateException.class, unit::segments);
+
+        unit.release();
+
+        assertThat(unit.isSpilled(), is(false));
+        assertThat(unit.size(), is(0L));
+        assertThat(pool.getPooled(), is(2));
+    }
+
+    private static String read(final List<ByteBuffer> segments) {
+        final StringBuilder builder = new StringBuilder();
+        segments.forEach(segment -> builder.append(UTF_8.decode(segment)));
+        return builder.toString();
+    }
+
+}
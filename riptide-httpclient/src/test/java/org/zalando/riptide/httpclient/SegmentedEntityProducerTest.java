@@ -0,0 +1,86 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class SegmentedEntityProducerTest {
+
+    private final BufferPool pool = new BufferPool(4, 10);
+    private final SegmentedBuffer buffer = new SegmentedBuffer(pool);
+
+    @Test
+    void shouldDescribeEntity() throws IOException {
+        buffer.write("Hello, world!".getBytes(UTF_8));
+
+        final SegmentedEntityProducer unit = new SegmentedEntityProducer(buffer, "text/plain");
+
+        assertThat(unit.getContentLength(), is(13L));
+        assertThat(unit.getContentType(), is("text/plain"));
+        assertThat(unit.getContentEncoding(), is(nullValue()));
+        assertThat(unit.isChunked(), is(false));
+        assertThat(unit.isRepeatable(), is(false));
+        assertThat(unit.getTrailerNames(), is(empty()));
+    }
+
+    @Test
+    void shouldWriteSegmentsUntilChannelIsFull() throws IOException {
+        buffer.write("Hello, world!".getBytes(UTF_8));
+
+        final SegmentedEntityProducer unit = new SegmentedEntityProducer(buffer, null);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DataStreamChannel channel = mock(DataStreamChannel.class);
+
+        // accepts at most 3 bytes at a time
+        when(channel.write(any())).thenAnswer(invocation -> {
+            final ByteBuffer src = invocation.getArgument(0);
+            final int length = Math.min(3, src.remaining());
+            for (int i = 0; i < length; i++) {
+                output.write(src.get());
+            }
+            return length;
+        });
+
+        assertThat(unit.available(), is(4));
+
+        unit.produce(channel);
+        verify(channel, never()).endStream();
+        assertThat(unit.available(), is(1));
+
+        while (unit.available() > 0) {
+            unit.produce(channel);
+        }
+
+        verify(channel).endStream();
+        assertThat(output.toString(UTF_8), is("Hello, world!"));
+
+        unit.releaseResources();
+        assertThat(pool.getPooled(), is(4));
+    }
+
+    @Test
+    void shouldReleaseSegmentsOnFailure() throws IOException {
+        buffer.write("Hello".getBytes(UTF_8));
+
+        final SegmentedEntityProducer unit = new SegmentedEntityProducer(buffer, null);
+        unit.failed(new IOException());
+
+        assertThat(unit.available(), is(0));
+        assertThat(pool.getPooled(), is(2));
+    }
+
+}
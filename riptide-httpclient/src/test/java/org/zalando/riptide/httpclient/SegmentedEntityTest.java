@@ -0,0 +1,60 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class SegmentedEntityTest {
+
+    private final BufferPool pool = new BufferPool(4, 10, false);
+    private final SegmentedBuffer buffer = new SegmentedBuffer(pool);
+
+    @Test
+    void shouldReportExactContentLength() throws IOException {
+        buffer.write("Hello, world!".getBytes(UTF_8));
+
+        try (final SegmentedEntity unit = new SegmentedEntity(buffer, ContentType.TEXT_PLAIN)) {
+            assertThat(unit.getContentLength(), is(13L));
+            assertThat(unit.getContentType(), is(ContentType.TEXT_PLAIN.toString()));
+            assertThat(unit.isChunked(), is(false));
+            assertThat(unit.isStreaming(), is(false));
+        }
+    }
+
+    @Test
+    void shouldWriteRepeatedly() throws IOException {
+        buffer.write("Hello, world!".getBytes(UTF_8));
+
+        try (final SegmentedEntity unit = new SegmentedEntity(buffer, null)) {
+            assertThat(unit.isRepeatable(), is(true));
+
+            for (int i = 0; i < 2; i++) {
+                final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                unit.writeTo(stream);
+                assertThat(stream.toString(UTF_8), is("Hello, world!"));
+            }
+
+            try (final InputStream content = unit.getContent()) {
+                assertThat(new String(content.readAllBytes(), UTF_8), is("Hello, world!"));
+            }
+        }
+    }
+
+    @Test
+    void shouldReleaseSegmentsOnClose() throws IOException {
+        buffer.write("Hello, world!".getBytes(UTF_8));
+
+        new SegmentedEntity(buffer, null).close();
+
+        assertThat(buffer.size(), is(0L));
+        assertThat(pool.getPooled(), is(4));
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+final class SegmentedInputBufferTest {
+
+    private final BufferPool pool = new BufferPool(4, 10);
+    private final SegmentedInputBuffer unit = new SegmentedInputBuffer(pool, 8);
+    private final InputStream stream = unit.getInputStream();
+
+    @Test
+    void shouldReadAcrossSegments() throws IOException {
+        unit.fill(UTF_8.encode("Hello, world!"));
+        unit.markEndStream();
+
+        assertThat(stream.available(), is(13));
+        assertThat(stream.read(), is((int) 'H'));
+        assertThat(stream.read(new byte[0]), is(0));
+        assertThat(new String(stream.readAllBytes(), UTF_8), is("ello, world!"));
+        assertThat(stream.read(), is(-1));
+        assertThat(pool.getPooled(), is(4));
+    }
+
+    @Test
+    void shouldBlockUntilDataArrives() throws Exception {
+        final CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new String(stream.readAllBytes(), UTF_8);
+            } catch (final IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        unit.fill(UTF_8.encode("Hello"));
+        unit.fill(UTF_8.encode(", world!"));
+        unit.markEndStream();
+
+        assertThat(future.get(5, TimeUnit.SECONDS), is("Hello, world!"));
+        assertThat(unit.isEndStream(), is(true));
+    }
+
+    @Test
+    void shouldCreditCapacityAsDataIsRead() throws IOException {
+        final CapacityChannel channel = mock(CapacityChannel.class);
+
+        unit.updateCapacity(channel);
+        verify(channel).update(8);
+
+        unit.fill(UTF_8.encode("Hello, w"));
+        unit.updateCapacity(channel);
+        verifyNoMoreInteractions(channel);
+
+        assertThat(stream.read(new byte[5]), is(5));
+        verify(channel).update(5);
+    }
+
+    @Test
+    void shouldFailReadsAfterAbort() throws IOException {
+        unit.fill(UTF_8.encode("Hello"));
+        unit.abort();
+        unit.fill(UTF_8.encode(", world!"));
+
+        assertThrows(IOException.class, stream::read);
+        assertThat(stream.available(), is(0));
+        assertThat(pool.getPooled(), is(2));
+    }
+
+    @Test
+    void shouldNotFailReadsAfterAbortAtEndOfStream() throws IOException {
+        unit.fill(UTF_8.encode("Hello"));
+        unit.markEndStream();
+        unit.abort();
+
+        assertThat(stream.read(), is(-1));
+    }
+
+    @Test
+    void shouldFailOnInterrupt() {
+        Thread.currentThread().interrupt();
+
+        assertThrows(InterruptedIOException.class, stream::read);
+        assertThat(Thread.interrupted(), is(true));
+    }
+
+    @Test
+    void shouldConsumeSource() {
+        final ByteBuffer src = UTF_8.encode("Hello");
+        unit.fill(src);
+
+        assertThat(src.hasRemaining(), is(false));
+    }
+
+}
@@ -12,6 +12,7 @@ import java.net.URISyntaxException;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +33,20 @@ final class StreamingApacheClientHttpRequestTest {
         assertThrows(UnsupportedOperationException.class, entity::getContent);
     }
 
+    @Test
+    void shouldPropagateRepeatability() {
+        final HttpClient client = mock(HttpClient.class);
+        final HttpPost request = new HttpPost("https://example.org");
+
+        final StreamingApacheClientHttpRequest unit = new StreamingApacheClientHttpRequest(client, request);
+
+        final Body body = mock(Body.class);
+        when(body.repeatable()).thenReturn(true);
+        unit.setBody(body);
+
+        assertTrue(request.getEntity().isRepeatable());
+    }
+
     @Test
     void shouldNotSupportGetBody() {
         final HttpClient client = mock(HttpClient.class);
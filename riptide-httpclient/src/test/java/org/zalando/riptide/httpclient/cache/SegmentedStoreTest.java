@@ -0,0 +1,186 @@
+package org.zalando.riptide.httpclient.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zalando.riptide.httpclient.cache.SegmentedStore.Location;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class SegmentedStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldStoreAndRetrieve() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            unit.put("a", bytes("Hello"));
+            unit.put("b", bytes("World"));
+
+            assertThat(string(unit.get("a")), is("Hello"));
+            assertThat(string(unit.get("b")), is("World"));
+            assertThat(unit.get("c"), is(nullValue()));
+            assertThat(unit.size(), is(2));
+        }
+    }
+
+    @Test
+    void shouldOverwrite() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            unit.put("a", bytes("Hello"));
+            unit.put("a", bytes("World"));
+
+            assertThat(string(unit.get("a")), is("World"));
+            assertThat(unit.size(), is(1));
+        }
+    }
+
+    @Test
+    void shouldDelete() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            unit.put("a", bytes("Hello"));
+            unit.delete("a");
+            unit.delete("b");
+
+            assertThat(unit.get("a"), is(nullValue()));
+            assertThat(unit.size(), is(0));
+        }
+    }
+
+    @Test
+    void shouldReplaceIfUnchanged() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            unit.put("a", bytes("Hello"));
+            final Location location = unit.locate("a");
+
+            assertThat(location, is(notNullValue()));
+            assertThat(string(unit.read(location)), is("Hello"));
+            assertThat(unit.replace("a", location, bytes("World")), is(true));
+            assertThat(unit.replace("a", location, bytes("Again")), is(false));
+            assertThat(string(unit.get("a")), is("World"));
+        }
+    }
+
+    @Test
+    void shouldSurviveRestarts() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 64)) {
+            unit.put("a", bytes("Hello"));
+            unit.put("b", bytes("World"));
+            unit.put("c", bytes("Hello, world!"));
+            unit.put("a", bytes("Bonjour"));
+            unit.delete("b");
+        }
+
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 64)) {
+            assertThat(string(unit.get("a")), is("Bonjour"));
+            assertThat(unit.get("b"), is(nullValue()));
+            assertThat(string(unit.get("c")), is("Hello, world!"));
+            assertThat(unit.size(), is(2));
+
+            unit.put("d", bytes("Hallo"));
+            assertThat(string(unit.get("d")), is("Hallo"));
+        }
+    }
+
+    @Test
+    void shouldEvictOldestSegments() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 128, 64)) {
+            // every record takes 32 bytes, i.e. two records per segment
+            for (int i = 0; i < 6; i++) {
+                unit.put("key-" + i, bytes("value-" + i + "...."));
+            }
+
+            assertThat(unit.weight(), is(128L));
+            assertThat(unit.size(), is(4));
+            assertThat(unit.get("key-0"), is(nullValue()));
+            assertThat(unit.get("key-1"), is(nullValue()));
+            assertThat(string(unit.get("key-5")), is("value-5...."));
+            assertThat(segments(), is(2L));
+        }
+    }
+
+    @Test
+    void shouldIgnoreCorruptedRecords() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            unit.put("a", bytes("Hello"));
+            unit.put("b", bytes("World"));
+        }
+
+        final Path segment;
+        try (final Stream<Path> paths = Files.list(directory)) {
+            segment = paths.findFirst().orElseThrow();
+        }
+
+        try (final FileChannel channel = FileChannel.open(segment, WRITE)) {
+            // overwrites the key of the second record
+            channel.write(ByteBuffer.wrap(bytes("X")), 2 * SegmentedStore.HEADER + 2 + 4);
+        }
+
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            assertThat(string(unit.get("a")), is("Hello"));
+            assertThat(unit.get("b"), is(nullValue()));
+        }
+    }
+
+    @Test
+    void shouldNotStoreOversizedRecords() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 64)) {
+            unit.put("a", bytes("Hello"));
+            unit.put("a", new byte[64]);
+
+            assertThat(unit.get("a"), is(nullValue()));
+        }
+    }
+
+    @Test
+    void shouldRejectDirectoryInUse() throws IOException {
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            unit.put("a", bytes("Hello"));
+
+            assertThrows(IOException.class, () -> new SegmentedStore(directory, 1024, 256));
+            assertThat(string(unit.get("a")), is("Hello"));
+        }
+    }
+
+    @Test
+    void shouldReleaseDirectoryOnClose() throws IOException {
+        new SegmentedStore(directory, 1024, 256).close();
+
+        try (final SegmentedStore unit = new SegmentedStore(directory, 1024, 256)) {
+            assertThat(unit.size(), is(0));
+        }
+    }
+
+    @Test
+    void shouldRejectMaxSizeBelowSegmentSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedStore(directory, 64, 128));
+    }
+
+    private long segments() throws IOException {
+        try (final Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.toString().endsWith(".segment")).count();
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(UTF_8);
+    }
+
+    private static String string(final byte[] value) {
+        return new String(value, UTF_8);
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.zalando.riptide.jdk;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+
+import static com.google.common.io.Closeables.closeQuietly;
+
+final class JdkClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final HttpResponse<InputStream> response;
+
+    JdkClientHttpResponse(final HttpResponse<InputStream> response) {
+        this.response = response;
+        response.headers().map().forEach(headers::addAll);
+    }
+
+    @Nonnull
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatusCode.valueOf(response.statusCode());
+    }
+
+    /**
+     * The {@link java.net.http.HttpClient} doesn't expose the reason phrase, hence the standard one is used.
+     */
+    @Nonnull
+    @Override
+    public String getStatusText() {
+        @Nullable final HttpStatus status = HttpStatus.resolve(response.statusCode());
+        return status == null ? "" : status.getReasonPhrase();
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return response.body();
+    }
+
+    @Nonnull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Closing the body before it was fully read cancels the exchange.
+     */
+    @Override
+    public void close() {
+        closeQuietly(response.body());
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.zalando.riptide.jdk;
+
+import com.google.common.collect.ImmutableSet;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.ChannelEntity;
+import org.zalando.riptide.IO;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A non-blocking {@link IO} based on the JDK's {@link HttpClient}, i.e. requests don't occupy a thread while they are
+ * in flight. HTTP/2 is used, if the client and the server support it.
+ *
+ * Responses are passed on as soon as their headers arrive, while the body is still being received. Reading the body
+ * blocks until enough data is available, which happens on one of the client's {@link HttpClient#executor() executor}
+ * threads, unless an executor was passed to {@link org.zalando.riptide.Http#builder() Http}. The client's executor
+ * should therefore not be bounded too tightly.
+ *
+ * Request bodies that fit into a single chunk are sent as is, with a known length. Larger ones are streamed while they
+ * are being written, which blocks the calling thread until the body was sent. {@link ChannelEntity Channel entities},
+ * e.g. {@link org.zalando.riptide.Entities files}, are read straight from their channel.
+ */
+@API(status = EXPERIMENTAL)
+public final class JdkHttpIO implements IO {
+
+    /**
+     * Headers that the {@link HttpClient} either manages itself or refuses to send.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = ImmutableSet.of(
+            "connection", "content-length", "expect", "host", "transfer-encoding", "upgrade");
+
+    private final HttpClient client;
+
+    @Nullable
+    private final Duration timeout;
+
+    public JdkHttpIO(final HttpClient client) {
+        this(client, null);
+    }
+
+    /**
+     * @param client the underlying client
+     * @param timeout the maximum time to wait for the response headers, or {@code null} to wait indefinitely
+     */
+    public JdkHttpIO(final HttpClient client, @Nullable final Duration timeout) {
+        this.client = client;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        final Entity entity = arguments.getEntity();
+
+        if (entity instanceof ChannelEntity) {
+            final HttpHeaders headers = new HttpHeaders();
+            copyTo(arguments.getHeaders(), headers);
+            return send(arguments, headers, publish((ChannelEntity) entity));
+        }
+
+        final StreamingOutputMessage message = new StreamingOutputMessage(arguments);
+        copyTo(arguments.getHeaders(), message.getHeaders());
+
+        try {
+            entity.writeTo(message);
+            message.body.close();
+        } catch (final IOException | RuntimeException e) {
+            message.body.fail(e);
+
+            @Nullable final CompletableFuture<ClientHttpResponse> exchange = message.body.getExchange();
+
+            if (exchange != null && exchange.isCompletedExceptionally()) {
+                // the exchange failed first, which is why the body couldn't be written
+                return exchange;
+            }
+
+            throw e;
+        }
+
+        return requireNonNull(message.body.getExchange());
+    }
+
+    private CompletableFuture<ClientHttpResponse> send(final RequestArguments arguments, final HttpHeaders headers,
+            final BodyPublisher body) {
+
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(arguments.getRequestUri())
+                .method(arguments.getMethod().name(), body);
+
+        headers.forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+
+        return client.sendAsync(builder.build(), BodyHandlers.ofInputStream())
+                .thenApply(JdkClientHttpResponse::new);
+    }
+
+    /**
+     * Reads the entity straight from its channel, which is opened anew for every subscription, i.e. the client can
+     * resend it.
+     */
+    private static BodyPublisher publish(final ChannelEntity entity) {
+        final long length = entity.getContentLength();
+
+        if (length == 0) {
+            return BodyPublishers.noBody();
+        }
+
+        return BodyPublishers.fromPublisher(BodyPublishers.ofInputStream(() -> {
+            try {
+                return Channels.newInputStream(entity.open());
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), length);
+    }
+
+    /**
+     * Streams the body, which starts the exchange. The headers are complete at that point, since they can't be
+     * changed anymore once the body is being written.
+     */
+    private final class StreamingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final StreamingRequestBody body;
+
+        private StreamingOutputMessage(final RequestArguments arguments) {
+            this.body = new StreamingRequestBody(publisher -> send(arguments, headers, publisher));
+        }
+
+        @Nonnull
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Nonnull
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+    }
+
+}
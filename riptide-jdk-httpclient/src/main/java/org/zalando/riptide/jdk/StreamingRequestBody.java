@@ -0,0 +1,283 @@
+package org.zalando.riptide.jdk;
+
+import com.google.common.math.LongMath;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * A request body that is streamed to the {@link java.net.http.HttpClient HttpClient} while it's being written. The
+ * first chunk is held back: a body that fits into it is sent as is, with a known length, just like a buffered one.
+ * Only once it's exceeded, the exchange is started and every further chunk is published as soon as it's full. Writes
+ * block until the client requested more data, i.e. a slow connection applies backpressure to the writer. Elements and
+ * completion are signalled on the writing thread.
+ *
+ * The body can only be published once, i.e. the client can't resend it, e.g. to follow a redirect.
+ */
+final class StreamingRequestBody extends OutputStream implements Flow.Publisher<ByteBuffer> {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Object lock = new Object();
+
+    private final Function<BodyPublisher, CompletableFuture<ClientHttpResponse>> sender;
+
+    private ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+
+    @Nullable
+    private CompletableFuture<ClientHttpResponse> exchange;
+
+    private boolean closed;
+
+    // guarded by lock
+
+    @Nullable
+    private Flow.Subscriber<? super ByteBuffer> subscriber;
+
+    /**
+     * Whether {@link Flow.Subscriber#onSubscribe(Flow.Subscription) onSubscribe} returned, i.e. whether the
+     * subscriber may be signalled.
+     */
+    private boolean subscribed;
+
+    private long demand;
+
+    private boolean cancelled;
+
+    /**
+     * Why the body can't be sent anymore, either because the writer or the exchange failed.
+     */
+    @Nullable
+    private Throwable failure;
+
+    StreamingRequestBody(final Function<BodyPublisher, CompletableFuture<ClientHttpResponse>> sender) {
+        this.sender = sender;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        int position = offset;
+        int remaining = length;
+
+        while (remaining > 0) {
+            if (!chunk.hasRemaining()) {
+                publish();
+            }
+
+            final int count = Math.min(remaining, chunk.remaining());
+            chunk.put(bytes, position, count);
+            position += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Publishes the current chunk, unless it's held back because the exchange didn't start yet.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (exchange != null && chunk.position() > 0) {
+            publish();
+        }
+    }
+
+    /**
+     * Completes the body. Starts the exchange, if it didn't start yet.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (exchange == null) {
+            exchange = sender.apply(chunk.position() == 0 ?
+                    BodyPublishers.noBody() :
+                    BodyPublishers.ofByteArray(chunk.array(), 0, chunk.position()));
+            return;
+        }
+
+        if (chunk.position() > 0) {
+            publish();
+        }
+
+        await(false).onComplete();
+    }
+
+    /**
+     * Aborts the body, e.g. because it couldn't be written completely, which fails the exchange, if it already
+     * started. Otherwise nothing was sent yet.
+     */
+    void fail(final Throwable throwable) {
+        closed = true;
+
+        @Nullable final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        synchronized (lock) {
+            if (failure != null) {
+                return;
+            }
+
+            failure = throwable;
+            subscriber = subscribed ? this.subscriber : null;
+            lock.notifyAll();
+        }
+
+        if (subscriber != null) {
+            subscriber.onError(throwable);
+        }
+    }
+
+    /**
+     * @return the exchange, or {@code null} if it didn't start yet, i.e. before the first chunk was exceeded or the
+     * body was {@link #close() closed}
+     */
+    @Nullable
+    CompletableFuture<ClientHttpResponse> getExchange() {
+        return exchange;
+    }
+
+    private void publish() throws IOException {
+        if (exchange == null) {
+            exchange = sender.apply(BodyPublishers.fromPublisher(this));
+            exchange.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    abort(throwable);
+                }
+            });
+        }
+
+        chunk.flip();
+        final ByteBuffer buffer = chunk;
+        // published buffers belong to the client, they can't be reused
+        chunk = ByteBuffer.allocate(CHUNK_SIZE);
+
+        await(true).onNext(buffer);
+    }
+
+    /**
+     * Waits until the subscriber can be signalled and, if required, requested more data.
+     */
+    private Flow.Subscriber<? super ByteBuffer> await(final boolean requireDemand) throws IOException {
+        synchronized (lock) {
+            while (failure == null && !cancelled && !(subscribed && (!requireDemand || demand > 0))) {
+                try {
+                    lock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while sending request body");
+                }
+            }
+
+            if (failure != null) {
+                throw new IOException("Request failed before its body was sent completely", failure);
+            }
+
+            if (cancelled) {
+                throw new IOException("Request body was cancelled");
+            }
+
+            if (requireDemand) {
+                demand--;
+            }
+
+            return subscriber;
+        }
+    }
+
+    private void abort(final Throwable throwable) {
+        synchronized (lock) {
+            if (failure == null) {
+                failure = throwable;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+        final boolean first;
+
+        synchronized (lock) {
+            first = this.subscriber == null;
+
+            if (first) {
+                this.subscriber = subscriber;
+            }
+        }
+
+        if (!first) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    // nothing to deliver
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to cancel
+                }
+            });
+            subscriber.onError(new IllegalStateException("Request body can only be sent once"));
+            return;
+        }
+
+        subscriber.onSubscribe(new Subscription());
+
+        @Nullable final Throwable failure;
+
+        synchronized (lock) {
+            subscribed = true;
+            failure = this.failure;
+            lock.notifyAll();
+        }
+
+        if (failure != null) {
+            // the body failed before the subscriber could be signalled
+            subscriber.onError(failure);
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            synchronized (lock) {
+                if (n <= 0) {
+                    // the client never does that, and it couldn't be signalled anyway
+                    cancelled = true;
+                } else {
+                    demand = LongMath.saturatedAdd(demand, n);
+                }
+
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (lock) {
+                cancelled = true;
+                lock.notifyAll();
+            }
+        }
+
+    }
+
+}
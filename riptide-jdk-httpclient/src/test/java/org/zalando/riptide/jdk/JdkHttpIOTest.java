@@ -0,0 +1,313 @@
+package org.zalando.riptide.jdk;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.zalando.riptide.Entities;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments.Entity;
+import org.zalando.riptide.capture.Capture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NON_PRIVATE;
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.Types.listOf;
+import static org.zalando.riptide.jdk.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.jdk.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.jdk.MockWebServerUtil.jsonMockResponseFromResource;
+import static org.zalando.riptide.jdk.MockWebServerUtil.textMockResponse;
+import static org.zalando.riptide.jdk.MockWebServerUtil.verify;
+
+final class JdkHttpIOTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HTTP_1_1)
+            .executor(executor)
+            .build();
+
+    private final Http http = Http.builder()
+            .io(new JdkHttpIO(client))
+            .baseUrl(getBaseUrl(server))
+            .converter(new JacksonJsonHttpMessageConverter())
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldReadContributors() throws IOException {
+        server.enqueue(jsonMockResponseFromResource("contributors.json"));
+
+        final Capture<List<User>> capture = Capture.empty();
+
+        final List<User> users = http.get("/repos/{org}/{repo}/contributors", "zalando", "riptide")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(listOf(User.class), capture))
+                .thenApply(capture).join();
+
+        final List<String> names = users.stream()
+                .map(User::getLogin)
+                .collect(toList());
+
+        assertThat(names, hasItems("jhorstmann", "lukasniemeier-zalando", "whiskeysierra"));
+        verify(server, 1, "/repos/zalando/riptide/contributors");
+    }
+
+    @Test
+    void shouldWriteBody() throws InterruptedException {
+        server.enqueue(emptyMockResponse());
+
+        http.post("/")
+                .contentType(APPLICATION_JSON)
+                .header("Content-Length", "1000")
+                .body(singletonList("Hello"))
+                .call(pass())
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getMethod(), is("POST"));
+        assertThat(request.getHeader("Content-Type"), startsWith("application/json"));
+        assertThat(request.getHeader("Content-Length"), is("9"));
+        assertThat(request.getBody().readString(UTF_8), is("[\"Hello\"]"));
+    }
+
+    @Test
+    void shouldStreamLargeBody() throws InterruptedException {
+        server.enqueue(emptyMockResponse());
+
+        final String text = "x".repeat(100_000);
+
+        http.post("/")
+                .contentType(APPLICATION_JSON)
+                .body(singletonList(text))
+                .call(pass())
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getHeader("Transfer-Encoding"), is("chunked"));
+        assertThat(request.getBody().readString(UTF_8), is("[\"" + text + "\"]"));
+    }
+
+    @Test
+    void shouldFailIfLargeBodyCantBeWritten() {
+        server.enqueue(emptyMockResponse());
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                http.post("/")
+                        .body(message -> {
+                            message.getBody().write(new byte[100_000]);
+                            throw new IOException("Body unavailable");
+                        })
+                        .call(pass())
+                        .join());
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+        assertThat(exception.getCause().getMessage(), is("Body unavailable"));
+    }
+
+    @Test
+    void shouldStreamFileBody(@TempDir final Path directory) throws IOException, InterruptedException {
+        server.enqueue(emptyMockResponse());
+
+        final Path file = Files.write(directory.resolve("body.txt"), "Hello, world!".getBytes(UTF_8));
+
+        http.put("/")
+                .contentType(TEXT_PLAIN)
+                .body(Entities.of(file))
+                .call(pass())
+                .join();
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getHeader("Content-Type"), startsWith("text/plain"));
+        assertThat(request.getHeader("Content-Length"), is("13"));
+        assertThat(request.getBody().readString(UTF_8), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldFailIfFileBodyCantBeOpened(@TempDir final Path directory) throws IOException {
+        final Path file = Files.write(directory.resolve("body.txt"), "Hello, world!".getBytes(UTF_8));
+        final Entity entity = Entities.of(file);
+        Files.delete(file);
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                http.put("/")
+                        .body(entity)
+                        .call(pass())
+                        .join());
+
+        // the client reports failing body publishers just like failing input streams
+        assertThat(exception.getCause(), is(instanceOf(UncheckedIOException.class)));
+        assertThat(exception.getCause().getCause(), is(instanceOf(NoSuchFileException.class)));
+    }
+
+    @Test
+    void shouldReadEmptyBody() {
+        server.enqueue(emptyMockResponse());
+
+        http.get("/").call(call(response -> {
+            assertThat(response.getStatusCode(), is(NO_CONTENT));
+            assertThat(response.getBody().read(), is(-1));
+        })).join();
+    }
+
+    @Test
+    void shouldStreamBody() {
+        server.enqueue(textMockResponse("Hello, world!").throttleBody(5, 100, TimeUnit.MILLISECONDS));
+
+        http.get("/").call(call(response -> {
+            assertThat(response.getStatusText(), is("OK"));
+            assertThat(response.getHeaders().getContentType(), is(TEXT_PLAIN));
+            assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello, world!"));
+        })).join();
+    }
+
+    @Test
+    void shouldCancelExchangeWhenClosedEarly() {
+        server.enqueue(textMockResponse("Hello, world!").throttleBody(1, 1, TimeUnit.SECONDS));
+        server.enqueue(textMockResponse("Hello again!"));
+
+        http.get("/").call(pass()).join();
+
+        http.get("/").call(call(response ->
+                assertThat(new String(response.getBody().readAllBytes(), UTF_8), is("Hello again!"))))
+                .join();
+    }
+
+    @Test
+    void shouldFailOnConnectionError() {
+        // the client retries idempotent requests once
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                http.get("/").call(pass()).join());
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void shouldFailOnTruncatedBody() {
+        server.enqueue(textMockResponse("Hello, world!")
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+        http.get("/").call(call(response ->
+                assertThrows(IOException.class, () -> response.getBody().readAllBytes())))
+                .join();
+    }
+
+    @Test
+    void shouldCancelExchange() {
+        server.enqueue(textMockResponse("Hello, world!").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        final CompletableFuture<?> future = http.get("/").call(pass());
+
+        future.cancel(true);
+
+        assertThat(future.isCancelled(), is(true));
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    void shouldTimeOut() {
+        server.enqueue(textMockResponse("Hello, world!").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        final Http http = Http.builder()
+                .io(new JdkHttpIO(client, Duration.ofMillis(100)))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                http.get("/").call(pass()).join());
+
+        assertThat(exception.getCause(), is(instanceOf(HttpTimeoutException.class)));
+    }
+
+    @Test
+    void shouldFallBackToHttp11() throws InterruptedException {
+        server.enqueue(textMockResponse("Hello"));
+
+        final Http http = Http.builder()
+                .io(new JdkHttpIO(HttpClient.newBuilder()
+                        .version(HTTP_2)
+                        .executor(executor)
+                        .build()))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        final Capture<String> capture = Capture.empty();
+
+        final String body = http.get("/")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, capture))
+                .thenApply(capture)
+                .join();
+
+        assertThat(body, is("Hello"));
+        assertThat(server.takeRequest().getHeader("Upgrade"), is("h2c"));
+    }
+
+    @Test
+    void shouldUseStandardReasonPhrase() {
+        server.enqueue(new MockResponse().setResponseCode(299));
+
+        http.get("/").call(call(response ->
+                assertThat(response.getStatusText(), is(""))))
+                .join();
+    }
+
+    @JsonAutoDetect(fieldVisibility = NON_PRIVATE)
+    static class User {
+        String login;
+        int contributions;
+
+        public String getLogin() {
+            return login;
+        }
+    }
+
+}
@@ -29,6 +29,21 @@ public final class LogbookPlugin implements Plugin {
 
     private final Logbook logbook;
 
+    /**
+     * The number of bytes of a response body that are kept in memory, and logged. Everything beyond that is spilled
+     * to a temporary file, which is deleted once the response is closed.
+     */
+    private final int memoryThreshold;
+
+    public LogbookPlugin(final Logbook logbook) {
+        this(logbook, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundNetwork(final RequestExecution execution) {
         return arguments -> {
@@ -37,7 +52,7 @@ public final class LogbookPlugin implements Plugin {
 
             final CompletableFuture<RemoteResponse> future = execution
                     .execute(arguments.withEntity(new LogbookEntity(arguments, stage::set)))
-                    .thenApply(RemoteResponse::new);
+                    .thenApply(response -> new RemoteResponse(response, memoryThreshold));
 
             future.thenAccept(throwingConsumer(response ->
                     stage.get().process(response).write()));
@@ -71,6 +86,12 @@ public final class LogbookPlugin implements Plugin {
             if (message instanceof StreamingHttpOutputMessage) {
                 final StreamingHttpOutputMessage streaming =
                         (StreamingHttpOutputMessage) message;
+
+                // the body is written after the headers were sent, i.e. the length has to be known beforehand
+                if (entity.getContentLength() >= 0 && message.getHeaders().getContentLength() < 0) {
+                    message.getHeaders().setContentLength(entity.getContentLength());
+                }
+
                 streaming.setBody(process::writeTo);
             } else {
                 process.writeTo(message.getBody());
@@ -89,6 +110,11 @@ public final class LogbookPlugin implements Plugin {
             return entity.isEmpty();
         }
 
+        @Override
+        public long getContentLength() {
+            return entity.getContentLength();
+        }
+
         @AllArgsConstructor
         private final class Process implements Closeable {
 
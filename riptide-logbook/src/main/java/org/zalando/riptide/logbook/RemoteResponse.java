@@ -1,6 +1,5 @@
 package org.zalando.riptide.logbook;
 
-import com.google.common.io.ByteStreams;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
@@ -12,15 +11,24 @@ import org.zalando.riptide.CharsetExtractor;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static java.nio.file.StandardOpenOption.READ;
 import static org.zalando.fauxpas.FauxPas.throwingFunction;
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
 import static org.zalando.fauxpas.FauxPas.throwingUnaryOperator;
 
 @AllArgsConstructor
@@ -32,6 +40,12 @@ final class RemoteResponse implements HttpResponse {
 
     private final ClientHttpResponse response;
 
+    /**
+     * The number of bytes of a buffered body that are kept in memory. Everything beyond that is spilled to a
+     * temporary file and is not logged.
+     */
+    private final int memoryThreshold;
+
     private interface State {
 
         default State with() {
@@ -46,7 +60,7 @@ final class RemoteResponse implements HttpResponse {
             return this;
         }
 
-        default InputStream getBody(final InputStream original) {
+        default InputStream getBody(final InputStream original) throws IOException {
             return original;
         }
 
@@ -54,6 +68,10 @@ final class RemoteResponse implements HttpResponse {
             return new byte[0];
         }
 
+        default void discard() {
+            // nothing to discard
+        }
+
     }
 
     private final class Unbuffered implements State {
@@ -87,20 +105,33 @@ final class RemoteResponse implements HttpResponse {
     @AllArgsConstructor
     private final class Buffering implements State {
 
-        private byte[] body;
+        private final byte[] body;
+
+        @Nullable
+        private final Overflow overflow;
 
         private Buffering() throws IOException {
-            this(ByteStreams.toByteArray(response.getBody()));
+            this(response.getBody());
+        }
+
+        private Buffering(final InputStream stream) throws IOException {
+            this(stream.readNBytes(memoryThreshold), spill(stream));
         }
 
         @Override
         public State without() {
-            return new Ignoring(body);
+            return new Ignoring(body, overflow);
         }
 
         @Override
-        public InputStream getBody(final InputStream original) {
-            return new ByteArrayInputStream(body);
+        public InputStream getBody(final InputStream original) throws IOException {
+            final InputStream head = new ByteArrayInputStream(body);
+
+            if (overflow == null) {
+                return head;
+            }
+
+            return new SequenceInputStream(head, overflow.read());
         }
 
         @Override
@@ -108,6 +139,11 @@ final class RemoteResponse implements HttpResponse {
             return body;
         }
 
+        @Override
+        public void discard() {
+            discardOverflow(overflow);
+        }
+
     }
 
     @AllArgsConstructor
@@ -115,9 +151,17 @@ final class RemoteResponse implements HttpResponse {
 
         private final byte[] body;
 
+        @Nullable
+        private final Overflow overflow;
+
         @Override
         public State with() {
-            return new Buffering(body);
+            return new Buffering(body, overflow);
+        }
+
+        @Override
+        public void discard() {
+            discardOverflow(overflow);
         }
 
     }
@@ -126,6 +170,51 @@ final class RemoteResponse implements HttpResponse {
 
     }
 
+    /**
+     * The spilled part of a buffered body. All reads share a single channel, which is opened on first use and closed
+     * before the file is deleted.
+     */
+    private static final class Overflow {
+
+        private final Path file;
+
+        @Nullable
+        private FileChannel channel;
+
+        private Overflow(final Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Reads the file from the start. Closing the returned stream leaves the channel open, since it's shared.
+         */
+        synchronized InputStream read() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(file, READ);
+            }
+
+            channel.position(0);
+
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                @Override
+                public void close() {
+                    // the channel is closed by discard()
+                }
+            };
+        }
+
+        synchronized void discard() throws IOException {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+    }
+
     @Override
     public HttpResponse withBody() {
         state.updateAndGet(throwingUnaryOperator(State::with));
@@ -179,6 +268,36 @@ final class RemoteResponse implements HttpResponse {
                 .getBufferedBody();
     }
 
+    /**
+     * Writes the remainder of the given stream to a temporary file, if there is any.
+     */
+    @Nullable
+    private static Overflow spill(final InputStream stream) throws IOException {
+        final int next = stream.read();
+
+        if (next == -1) {
+            return null;
+        }
+
+        final Path file = Files.createTempFile("riptide-", ".body");
+
+        try (final OutputStream output = Files.newOutputStream(file)) {
+            output.write(next);
+            stream.transferTo(output);
+        } catch (final IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        return new Overflow(file);
+    }
+
+    private static void discardOverflow(@Nullable final Overflow overflow) {
+        if (overflow != null) {
+            throwingRunnable(overflow::discard).run();
+        }
+    }
+
     ClientHttpResponse asClientHttpResponse() {
         return new ClientHttpResponseAdapter();
     }
@@ -199,7 +318,11 @@ final class RemoteResponse implements HttpResponse {
 
         @Override
         public void close() {
-            response.close();
+            try {
+                response.close();
+            } finally {
+                state.get().discard();
+            }
         }
 
         @Nonnull
@@ -20,13 +20,17 @@ import org.zalando.riptide.Http;
 import org.zalando.riptide.compression.RequestCompressionPlugin;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -35,6 +39,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.OK;
 import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.Route.call;
 import static org.zalando.riptide.logbook.MockWebServerUtil.getBaseUrl;
 import static org.zalando.riptide.logbook.MockWebServerUtil.textMockResponse;
 
@@ -123,6 +128,54 @@ final class LogbookPluginTest {
         MockWebServerUtil.verify(server, 1, "/greet", POST.toString());
     }
 
+    @Test
+    void shouldSpillLargeBodiesToDisk() throws IOException {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .plugin(new LogbookPlugin(logbook, 5))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        final AtomicReference<String> body = new AtomicReference<>();
+
+        unit.get("/")
+                .call(call(response -> body.set(new String(response.getBody().readAllBytes(), UTF_8))))
+                .join();
+
+        assertThat(body.get(), is("Hello, world!"));
+
+        final String response = response();
+        assertThat(response, containsString("\"body\":\"Hello\""));
+    }
+
+    @Test
+    void shouldReadSpilledBodyRepeatedly() {
+        server.enqueue(textMockResponse("Hello, world!"));
+
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .plugin(new LogbookPlugin(logbook, 5))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        final AtomicReference<String> body = new AtomicReference<>();
+
+        unit.get("/")
+                .call(call(response -> {
+                    try (final InputStream stream = response.getBody()) {
+                        stream.readAllBytes();
+                    }
+                    body.set(new String(response.getBody().readAllBytes(), UTF_8));
+                }))
+                .join();
+
+        assertThat(body.get(), is("Hello, world!"));
+    }
+
     /**
      * Tests that port 80 is supported:
      */
@@ -0,0 +1,89 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.caching.CacheStatistics;
+
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.binder.BaseUnits.BYTES;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class CacheMetrics implements MeterBinder {
+
+    private final CacheStatistics statistics;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public CacheMetrics(final CacheStatistics statistics) {
+        this(statistics, "http.client.cache", ImmutableList.of());
+    }
+
+    public CacheMetrics withMetricName(final String metricName) {
+        return new CacheMetrics(statistics, metricName, defaultTags);
+    }
+
+    public CacheMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public CacheMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new CacheMetrics(statistics, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        counter("requests", CacheStatistics::getHits)
+                .tag("result", "hit")
+                .description("The number of requests that were served from the cache")
+                .register(registry);
+
+        counter("requests", CacheStatistics::getMisses)
+                .tag("result", "miss")
+                .description("The number of cacheable requests that were served by the server")
+                .register(registry);
+
+        counter("requests", CacheStatistics::getRevalidations)
+                .tag("result", "revalidated")
+                .description("The number of requests that were served from the cache after a successful revalidation")
+                .register(registry);
+
+        counter("requests", CacheStatistics::getStale)
+                .tag("result", "stale")
+                .description("The number of requests that were served with a stale response")
+                .register(registry);
+
+        counter("evictions", CacheStatistics::getEvictions)
+                .description("The number of entries that were evicted from the cache")
+                .register(registry);
+
+        Gauge.builder(metricName + ".size", statistics, CacheStatistics::getSize)
+                .tags(defaultTags)
+                .description("The number of entries in the cache")
+                .register(registry);
+
+        Gauge.builder(metricName + ".weight", statistics, CacheStatistics::getWeight)
+                .tags(defaultTags)
+                .description("The size of all entries in the cache")
+                .baseUnit(BYTES)
+                .register(registry);
+    }
+
+    private FunctionCounter.Builder<CacheStatistics> counter(
+            final String name,
+            final ToDoubleFunction<CacheStatistics> function) {
+        return FunctionCounter.builder(metricName + "." + name, statistics, function)
+                .tags(defaultTags);
+    }
+
+}
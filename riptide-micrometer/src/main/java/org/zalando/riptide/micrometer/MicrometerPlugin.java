@@ -100,6 +100,11 @@ public final class MicrometerPlugin implements Plugin {
                 TagGenerator.composite(generators));
     }
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundNetwork(final RequestExecution execution) {
         return arguments -> {
@@ -0,0 +1,77 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.ThreadPerTaskExecutor;
+
+import java.util.function.Supplier;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.binder.BaseUnits.TASKS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The {@link ThreadPerTaskExecutor} counterpart of {@link ThreadPoolMetrics}. It uses the same metric names, but
+ * measures tasks rather than threads, since threads are neither pooled nor reused.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class ThreadPerTaskMetrics implements MeterBinder {
+
+    private final ThreadPerTaskExecutor executor;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public ThreadPerTaskMetrics(final ThreadPerTaskExecutor executor) {
+        this(executor, "http.client.threads", ImmutableList.of());
+    }
+
+    public ThreadPerTaskMetrics withMetricName(final String metricName) {
+        return new ThreadPerTaskMetrics(executor, metricName, defaultTags);
+    }
+
+    public ThreadPerTaskMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public ThreadPerTaskMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new ThreadPerTaskMetrics(executor, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge("available", () -> executor.getConcurrencyLimit() - executor.getActiveCount())
+                .description("The number of tasks that could be started without waiting")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("leased", executor::getActiveCount)
+                .description("The number of tasks that are currently running")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("max", executor::getConcurrencyLimit)
+                .description("The maximum number of tasks that run concurrently")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("queued", executor::getWaitingCount)
+                .description("The number of tasks that are waiting for a permit")
+                .baseUnit(TASKS)
+                .register(registry);
+    }
+
+    private Gauge.Builder<Supplier<Number>> gauge(
+            final String name,
+            final Supplier<Number> supplier) {
+        return Gauge.builder(metricName + "." + name, supplier)
+                .tags(defaultTags);
+    }
+
+}
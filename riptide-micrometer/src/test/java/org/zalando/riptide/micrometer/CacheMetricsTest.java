@@ -0,0 +1,61 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.caching.CacheStatistics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class CacheMetricsTest {
+
+    private final CacheStatistics statistics = mock(CacheStatistics.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        new CacheMetrics(statistics)
+                .withMetricName("http.client.cache")
+                .withDefaultTags(Tag.of("application", "test"))
+                .bindTo(registry);
+    }
+
+    @Test
+    void shouldMeasureRequests() {
+        when(statistics.getHits()).thenReturn(3L);
+        when(statistics.getMisses()).thenReturn(2L);
+        when(statistics.getRevalidations()).thenReturn(1L);
+        when(statistics.getStale()).thenReturn(4L);
+
+        assertThat(requests("hit"), is(3.0));
+        assertThat(requests("miss"), is(2.0));
+        assertThat(requests("revalidated"), is(1.0));
+        assertThat(requests("stale"), is(4.0));
+    }
+
+    @Test
+    void shouldMeasureContents() {
+        when(statistics.getEvictions()).thenReturn(4L);
+        when(statistics.getSize()).thenReturn(5L);
+        when(statistics.getWeight()).thenReturn(1024L);
+
+        assertThat(registry.find("http.client.cache.evictions").tag("application", "test")
+                .functionCounter().count(), is(4.0));
+        assertThat(registry.find("http.client.cache.size").tag("application", "test")
+                .gauge().value(), is(5.0));
+        assertThat(registry.find("http.client.cache.weight").tag("application", "test")
+                .gauge().value(), is(1024.0));
+    }
+
+    private double requests(final String result) {
+        return registry.find("http.client.cache.requests")
+                .tags("application", "test", "result", result)
+                .functionCounter().count();
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.concurrent.ThreadPerTaskExecutor;
+
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
+
+final class ThreadPerTaskMetricsTest {
+
+    private final ThreadPerTaskExecutor executor =
+            new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 2);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        new ThreadPerTaskMetrics(executor)
+                .withMetricName("http.client.threads")
+                .withDefaultTags(Tag.of("application", "test"))
+                .bindTo(registry);
+    }
+
+    @Test
+    void shouldMeasureInitial() {
+        assertThat(gauge("http.client.threads.available").value(), is(2.0));
+        assertThat(gauge("http.client.threads.leased").value(), is(0.0));
+        assertThat(gauge("http.client.threads.max").value(), is(2.0));
+        assertThat(gauge("http.client.threads.queued").value(), is(0.0));
+    }
+
+    @Test
+    void shouldMeasureFull() throws InterruptedException {
+        executor.execute(throwingRunnable(() -> Thread.sleep(1000)));
+        executor.execute(throwingRunnable(() -> Thread.sleep(1000)));
+        executor.execute(throwingRunnable(() -> Thread.sleep(1000)));
+
+        Thread.sleep(500);
+
+        assertThat(gauge("http.client.threads.available").value(), is(0.0));
+        assertThat(gauge("http.client.threads.leased").value(), is(2.0));
+        assertThat(gauge("http.client.threads.max").value(), is(2.0));
+        assertThat(gauge("http.client.threads.queued").value(), is(1.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.find(name).tag("application", "test").gauge();
+    }
+
+}
@@ -154,6 +154,11 @@ public final class OpenTracingPlugin implements Plugin {
                 CompositeSpanDecorator.composite(decorator, decorators));
     }
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public RequestExecution aroundDispatch(final RequestExecution execution) {
         return arguments -> trace(execution, arguments);
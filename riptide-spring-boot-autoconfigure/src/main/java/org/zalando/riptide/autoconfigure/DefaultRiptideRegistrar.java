@@ -11,7 +11,9 @@ import jakarta.xml.soap.SOAPConstants;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.cache.HttpCacheStorage;
+import org.apache.hc.client5.http.async.HttpAsyncClient;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.nio.AsyncClientConnectionManager;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.springframework.beans.BeanMetadataElement;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -22,13 +24,17 @@ import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
 import org.springframework.web.client.RestOperations;
 import org.zalando.riptide.Http;
+import org.zalando.riptide.IO;
 import org.zalando.riptide.OriginalStackTracePlugin;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.auth.AuthorizationPlugin;
 import org.zalando.riptide.auth.AuthorizationProvider;
 import org.zalando.riptide.auth.PlatformCredentialsAuthorizationProvider;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Storage;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Connections.Transport;
 import org.zalando.riptide.chaos.ChaosPlugin;
 import org.zalando.riptide.chaos.ErrorResponseInjection;
 import org.zalando.riptide.chaos.ExceptionInjection;
@@ -39,10 +45,13 @@ import org.zalando.riptide.compression.RequestCompressionPlugin;
 import org.zalando.riptide.failsafe.BackupRequest;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.httpclient.ApacheAsyncIO;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.cache.MappedCacheStorage;
 import org.zalando.riptide.httpclient.metrics.HttpConnectionPoolMetrics;
 import org.zalando.riptide.logbook.LogbookPlugin;
 import org.zalando.riptide.micrometer.MicrometerPlugin;
+import org.zalando.riptide.micrometer.ThreadPerTaskMetrics;
 import org.zalando.riptide.micrometer.ThreadPoolMetrics;
 import org.zalando.riptide.micrometer.tag.RetryTagGenerator;
 import org.zalando.riptide.opentelemetry.OpenTelemetryPlugin;
@@ -58,6 +67,7 @@ import tools.jackson.databind.json.JsonMapper;
 import javax.annotation.Nullable;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -104,10 +114,14 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return registry.registerIfAbsent(id, Http.class, () -> {
             log.debug("Client [{}]: Registering Http", id);
 
+            final Object executor = createExecutor(id, "http.client.threads", client, client.getThreads());
+
             return genericBeanDefinition(HttpFactory.class)
                     .setFactoryMethod("create")
-                    .addConstructorArgValue(createExecutor(id, "http.client.threads", client, client.getThreads()))
-                    .addConstructorArgReference(registerClientHttpRequestFactory(id, client))
+                    .addConstructorArgValue(executor)
+                    .addConstructorArgReference(isAsync(client) ?
+                            registerIO(id, client, executor) :
+                            registerClientHttpRequestFactory(id, client))
                     .addConstructorArgReference(registerBaseURL(id, client))
                     .addConstructorArgValue(client.getUrlResolution())
                     .addConstructorArgValue(registerHttpMessageConverters(id, client))
@@ -115,6 +129,10 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         });
     }
 
+    private static boolean isAsync(final Client client) {
+        return client.getConnections().getTransport() != Transport.APACHE;
+    }
+
     private void registerHttpOperations(final String id, final Client client) {
         registry.registerIfAbsent(id, RestOperations.class, () ->
                 genericBeanDefinition(HttpOperations.class)
@@ -126,7 +144,35 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
             log.debug("Client [{}]: Registering ClientHttpRequestFactory", id);
             return genericBeanDefinition(ApacheClientHttpRequestFactory.class)
                     .addConstructorArgReference(registerHttpClient(id, client))
-                    .addConstructorArgValue(client.getConnections().getMode());
+                    .addConstructorArgValue(client.getConnections().getMode())
+                    .addConstructorArgValue(getMemoryThreshold(client));
+        });
+    }
+
+    private String registerIO(final String id, final Client client, @Nullable final Object executor) {
+        return registry.registerIfAbsent(id, IO.class, () -> {
+            log.debug("Client [{}]: Registering IO", id);
+
+            final Transport transport = client.getConnections().getTransport();
+
+            if (client.getCaching().getEnabled()) {
+                log.warn("Client [{}]: Caching is not supported by the {} transport and will be ignored",
+                        id, transport);
+            }
+
+            if (transport == Transport.JDK) {
+                return genericBeanDefinition(JdkHttpClientFactory.class)
+                        .setFactoryMethod("createIO")
+                        .addConstructorArgValue(client)
+                        .addConstructorArgReference(registerJdkHttpClient(id, client));
+            }
+
+            // response bodies are read on this executor, i.e. it needs one of its own even if Http doesn't use one
+            return genericBeanDefinition(ApacheAsyncIO.class)
+                    .addConstructorArgReference(registerHttpAsyncClient(id, client))
+                    .addConstructorArgValue(executor == null ?
+                            ref(registerExecutor(id, "http.client.threads", client.getThreads(), client)) :
+                            executor);
         });
     }
 
@@ -158,8 +204,11 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                         .setDestroyMethodName("shutdown"));
 
         if (client.getMetrics().getEnabled()) {
-            registry.registerIfAbsent(id, ThreadPoolMetrics.class, () ->
-                    genericBeanDefinition(ThreadPoolMetrics.class)
+            final Class<?> metricsType = ThreadPoolFactory.isVirtual(threads) ?
+                    ThreadPerTaskMetrics.class : ThreadPoolMetrics.class;
+
+            registry.registerIfAbsent(id, metricsType, () ->
+                    genericBeanDefinition(metricsType)
                             .addConstructorArgReference(executorId)
                             .addConstructorArgValue(metricName)
                             .addConstructorArgValue(ImmutableList.of(clientId(id))));
@@ -360,7 +409,8 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
             final String pluginId = registry.registerIfAbsent(id, LogbookPlugin.class, () -> {
                 log.debug("Client [{}]: Registering [{}]", id, LogbookPlugin.class.getSimpleName());
                 return genericBeanDefinition(LogbookPlugin.class)
-                        .addConstructorArgValue(LOGBOOK_REF);
+                        .addConstructorArgValue(LOGBOOK_REF)
+                        .addConstructorArgValue(getMemoryThreshold(client));
             });
 
             return Optional.of(pluginId);
@@ -368,6 +418,11 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return Optional.empty();
     }
 
+    private static int getMemoryThreshold(final Client client) {
+        return Optional.ofNullable(client.getBuffering().getMemoryThreshold())
+                .orElse(Integer.MAX_VALUE);
+    }
+
     private Optional<String> registerRequestCompressionPlugin(final String id, final Client client) {
         if (client.getRequestCompression().getEnabled()) {
             final String pluginId = registry.registerIfAbsent(id, RequestCompressionPlugin.class, () -> {
@@ -603,6 +658,70 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         }
     }
 
+    private String registerHttpAsyncClient(final String id, final Client client) {
+        return registry.registerIfAbsent(id, HttpAsyncClient.class, () -> {
+            log.debug("Client [{}]: Registering HttpAsyncClient", id);
+
+            final String connectionManager = registerAsyncConnectionManager(id, client);
+
+            if (client.getMetrics().getEnabled()) {
+                registry.registerIfAbsent(id, HttpConnectionPoolMetrics.class, () ->
+                        genericBeanDefinition(HttpConnectionPoolMetrics.class)
+                                .addConstructorArgReference(connectionManager)
+                                .addConstructorArgValue("http.client.connections")
+                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
+            }
+
+            return genericBeanDefinition(HttpAsyncClientFactory.class)
+                    .setFactoryMethod("createHttpAsyncClient")
+                    .addConstructorArgValue(client)
+                    .addConstructorArgValue(configureFirstRequestInterceptors(id, client))
+                    .addConstructorArgReference(connectionManager);
+        });
+    }
+
+    private String registerAsyncConnectionManager(final String id, final Client client) {
+        if (client.getSslBundleUsage().getEnabled() && client.getCertificatePinning().getEnabled()) {
+            throw new SslBundleUsageOrCertificatePinningException(id);
+        }
+
+        if (client.getSslBundleUsage().getEnabled()) {
+            return registry.registerIfAbsent(id, AsyncClientConnectionManager.class, () ->
+                    genericBeanDefinition(HttpAsyncClientFactory.class)
+                            .setFactoryMethod("createAsyncClientConnectionManagerWithSslBundle")
+                            .addConstructorArgValue(client)
+                            .addConstructorArgValue(id)
+                            .addConstructorArgValue(SSL_BUNDLE_REGISTRY_REF));
+        } else {
+            return registry.registerIfAbsent(id, AsyncClientConnectionManager.class, () ->
+                    genericBeanDefinition(HttpAsyncClientFactory.class)
+                            .setFactoryMethod("createAsyncClientConnectionManager")
+                            .addConstructorArgValue(client));
+        }
+    }
+
+    private String registerJdkHttpClient(final String id, final Client client) {
+        if (client.getSslBundleUsage().getEnabled() && client.getCertificatePinning().getEnabled()) {
+            throw new SslBundleUsageOrCertificatePinningException(id);
+        }
+
+        return registry.registerIfAbsent(name(id, "Jdk", java.net.http.HttpClient.class), () -> {
+            log.debug("Client [{}]: Registering JDK HttpClient", id);
+
+            if (client.getSslBundleUsage().getEnabled()) {
+                return genericBeanDefinition(JdkHttpClientFactory.class)
+                        .setFactoryMethod("createHttpClientWithSslBundle")
+                        .addConstructorArgValue(client)
+                        .addConstructorArgValue(id)
+                        .addConstructorArgValue(SSL_BUNDLE_REGISTRY_REF);
+            } else {
+                return genericBeanDefinition(JdkHttpClientFactory.class)
+                        .setFactoryMethod("createHttpClient")
+                        .addConstructorArgValue(client);
+            }
+        });
+    }
+
     private List<BeanMetadataElement> configureFirstRequestInterceptors(final String id, final Client client) {
         final List<BeanMetadataElement> interceptors = list();
 
@@ -615,11 +734,40 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
     }
 
     private Optional<BeanReference> findCacheStorageReference(final String id, final Client client) {
-        if (client.getCaching().getEnabled()) {
+        final Caching caching = client.getCaching();
+
+        if (caching.getEnabled()) {
+            if (caching.getStorage().getEnabled()) {
+                registerCacheStorage(id, caching);
+            }
+
             return registry.findRef(id, HttpCacheStorage.class);
         } else {
             return Optional.empty();
         }
     }
 
+    private void registerCacheStorage(final String id, final Caching caching) {
+        registry.registerIfAbsent(id, HttpCacheStorage.class, () -> {
+            log.debug("Client [{}]: Registering MappedCacheStorage", id);
+
+            final Storage storage = caching.getStorage();
+            @Nullable final Path directory = Optional.ofNullable(storage.getDirectory())
+                    .orElse(caching.getDirectory());
+
+            if (directory == null) {
+                throw new IllegalStateException(String.format(
+                        "Client [%s]: caching.storage.enabled requires caching.storage.directory or caching.directory",
+                        id));
+            }
+
+            // every client needs its own directory, since a directory can only be used by a single storage at a time
+            return genericBeanDefinition(MappedCacheStorage.class)
+                    .addConstructorArgValue(directory.resolve(id))
+                    .addConstructorArgValue(storage.getMaxSize())
+                    .addConstructorArgValue(storage.getSegmentSize())
+                    .setDestroyMethodName("close");
+        });
+    }
+
 }
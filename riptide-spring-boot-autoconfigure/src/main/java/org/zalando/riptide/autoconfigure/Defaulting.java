@@ -4,8 +4,10 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Auth;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Buffering;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Storage;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos;
@@ -57,7 +59,7 @@ final class Defaulting {
         final Connections connections = merge(
                 new Connections(null, null, null, null, null, max(
                         defaults.getConnections().getMaxTotal(),
-                        defaults.getConnections().getMaxPerRoute()), null),
+                        defaults.getConnections().getMaxPerRoute()), null, null),
                 defaults.getConnections());
 
         return new Defaults(
@@ -81,7 +83,8 @@ final class Defaulting {
                 defaults.getTelemetry(),
                 defaults.getChaos(),
                 defaults.getSoap(),
-                defaults.getSslBundleUsage()
+                defaults.getSslBundleUsage(),
+                defaults.getBuffering()
         );
     }
 
@@ -141,7 +144,8 @@ final class Defaulting {
                 merge(base.getTelemetry(), defaults.getTelemetry(), Defaulting::merge),
                 merge(base.getChaos(), defaults.getChaos(), Defaulting::merge),
                 merge(base.getSoap(), defaults.getSoap(), Defaulting::merge),
-                merge(base.getSslBundleUsage(), defaults.getSslBundleUsage(), Defaulting::merge)
+                merge(base.getSslBundleUsage(), defaults.getSslBundleUsage(), Defaulting::merge),
+                merge(base.getBuffering(), defaults.getBuffering(), Defaulting::merge)
         );
     }
 
@@ -167,7 +171,8 @@ final class Defaulting {
                 either(base.getTimeToLive(), defaults.getTimeToLive()),
                 maxPerRoute,
                 maxTotal,
-                either(base.getMode(), defaults.getMode())
+                either(base.getMode(), defaults.getMode()),
+                either(base.getTransport(), defaults.getTransport())
         );
     }
 
@@ -177,7 +182,8 @@ final class Defaulting {
                 either(base.getMinSize(), defaults.getMinSize()),
                 either(base.getMaxSize(), defaults.getMaxSize()),
                 either(base.getKeepAlive(), defaults.getKeepAlive()),
-                either(base.getQueueSize(), defaults.getQueueSize())
+                either(base.getQueueSize(), defaults.getQueueSize()),
+                either(base.getVirtual(), defaults.getVirtual())
         );
     }
 
@@ -218,6 +224,12 @@ final class Defaulting {
         );
     }
 
+    private static Buffering merge(final Buffering base, final Buffering defaults) {
+        return new Buffering(
+                either(base.getMemoryThreshold(), defaults.getMemoryThreshold())
+        );
+    }
+
     private static Logging merge(final Logging base, final Logging defaults) {
         return new Logging(
                 either(base.getEnabled(), defaults.getEnabled())
@@ -301,7 +313,8 @@ final class Defaulting {
                 either(base.getDirectory(), defaults.getDirectory()),
                 either(base.getMaxObjectSize(), defaults.getMaxObjectSize()),
                 either(base.getMaxCacheEntries(), defaults.getMaxCacheEntries()),
-                merge(base.getHeuristic(), defaults.getHeuristic(), Defaulting::merge)
+                merge(base.getHeuristic(), defaults.getHeuristic(), Defaulting::merge),
+                merge(base.getStorage(), defaults.getStorage(), Defaulting::merge)
         );
     }
 
@@ -313,6 +326,15 @@ final class Defaulting {
         );
     }
 
+    private static Storage merge(final Storage base, final Storage defaults) {
+        return new Storage(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getDirectory(), defaults.getDirectory()),
+                either(base.getMaxSize(), defaults.getMaxSize()),
+                either(base.getSegmentSize(), defaults.getSegmentSize())
+        );
+    }
+
     private static Tracing merge(final Tracing base, final Tracing defaults) {
         final boolean enabled = either(base.getEnabled(), defaults.getEnabled());
         final boolean propagateFlowId = either(base.getPropagateFlowId(), defaults.getPropagateFlowId());
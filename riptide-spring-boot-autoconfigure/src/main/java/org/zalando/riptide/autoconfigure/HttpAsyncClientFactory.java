@@ -0,0 +1,79 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.springframework.boot.ssl.SslBundles;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+@SuppressWarnings("unused")
+final class HttpAsyncClientFactory {
+
+    private HttpAsyncClientFactory() {
+
+    }
+
+    public static PoolingAsyncClientConnectionManager createAsyncClientConnectionManager(final Client client)
+            throws GeneralSecurityException, IOException {
+        return createAsyncClientConnectionManager(client, HttpClientFactory.createSSLContext(client));
+    }
+
+    public static PoolingAsyncClientConnectionManager createAsyncClientConnectionManagerWithSslBundle(
+            final Client client, final String clientId, final SslBundles sslBundles) {
+        return createAsyncClientConnectionManager(client,
+                HttpClientFactory.createSslContextFromSslBundle(client, clientId, sslBundles));
+    }
+
+    private static PoolingAsyncClientConnectionManager createAsyncClientConnectionManager(
+            final Client client, final SSLContext context) {
+
+        final Connections connections = client.getConnections();
+
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setTlsStrategy(ClientTlsStrategyBuilder.create()
+                        .setSslContext(context)
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(connections.getConnectTimeout().toTimeout())
+                        .setSocketTimeout(connections.getSocketTimeout().toTimeout())
+                        .build())
+                .setMaxConnTotal(connections.getMaxTotal())
+                .setMaxConnPerRoute(connections.getMaxPerRoute())
+                .build();
+    }
+
+    public static CloseableHttpAsyncClient createHttpAsyncClient(final Client client,
+            final List<HttpRequestInterceptor> firstRequestInterceptors,
+            final PoolingAsyncClientConnectionManager connectionManager) {
+
+        final HttpAsyncClientBuilder builder = HttpAsyncClientBuilder.create();
+
+        firstRequestInterceptors.forEach(builder::addRequestInterceptorFirst);
+
+        final RequestConfig reqConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(client.getConnections().getLeaseRequestTimeout().toTimeout())
+                .build();
+
+        return builder.setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(reqConfig)
+                .disableAutomaticRetries()
+                .build();
+    }
+
+}
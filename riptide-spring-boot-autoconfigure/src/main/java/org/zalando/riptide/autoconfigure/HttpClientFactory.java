@@ -141,7 +141,7 @@ final class HttpClientFactory {
         return HttpClientBuilder.class.cast(builder);
     }
 
-    private static SSLContext createSSLContext(final Client client) throws GeneralSecurityException, IOException {
+    static SSLContext createSSLContext(final Client client) throws GeneralSecurityException, IOException {
         final CertificatePinning pinning = client.getCertificatePinning();
 
         if (pinning.getEnabled()) {
@@ -169,7 +169,7 @@ final class HttpClientFactory {
         return SSLContexts.createDefault();
     }
 
-    protected static SSLContext createSslContextFromSslBundle(final Client client, final String clientId, final SslBundles sslBundles) {
+    static SSLContext createSslContextFromSslBundle(final Client client, final String clientId, final SslBundles sslBundles) {
         final SslBundleUsage sslBundleUsage = client.getSslBundleUsage();
         if(sslBundleUsage.getEnabled()) {
             final String bundleId = Optional.ofNullable(sslBundleUsage.getSslBundleId()).orElse(clientId);
@@ -4,6 +4,7 @@ import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.Http.RequestFactoryStage;
+import org.zalando.riptide.IO;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.UrlResolution;
 
@@ -36,6 +37,23 @@ final class HttpFactory {
                 .build();
     }
 
+    public static Http create(
+            @Nullable final Executor executor,
+            final IO io,
+            final BaseURL baseUrl,
+            final UrlResolution urlResolution,
+            final List<HttpMessageConverter<?>> converters,
+            final List<Plugin> plugins) {
+
+        return configure(executor)
+                .io(io)
+                .baseUrl(baseUrl)
+                .urlResolution(urlResolution)
+                .converters(converters)
+                .plugins(plugins)
+                .build();
+    }
+
     private static RequestFactoryStage configure(
             @Nullable final Executor executor) {
 
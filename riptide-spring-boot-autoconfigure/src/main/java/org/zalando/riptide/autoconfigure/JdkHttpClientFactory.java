@@ -0,0 +1,45 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.springframework.boot.ssl.SslBundles;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
+import org.zalando.riptide.jdk.JdkHttpIO;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.security.GeneralSecurityException;
+
+@SuppressWarnings("unused")
+final class JdkHttpClientFactory {
+
+    private JdkHttpClientFactory() {
+
+    }
+
+    public static HttpClient createHttpClient(final Client client) throws GeneralSecurityException, IOException {
+        return createHttpClient(client, HttpClientFactory.createSSLContext(client));
+    }
+
+    public static HttpClient createHttpClientWithSslBundle(
+            final Client client, final String clientId, final SslBundles sslBundles) {
+        return createHttpClient(client, HttpClientFactory.createSslContextFromSslBundle(client, clientId, sslBundles));
+    }
+
+    private static HttpClient createHttpClient(final Client client, final SSLContext context) {
+        return HttpClient.newBuilder()
+                .version(Version.HTTP_2)
+                .followRedirects(Redirect.NEVER)
+                .connectTimeout(client.getConnections().getConnectTimeout().toDuration())
+                .sslContext(context)
+                .build();
+    }
+
+    public static JdkHttpIO createIO(final Client client, final HttpClient httpClient) {
+        final Connections connections = client.getConnections();
+        return new JdkHttpIO(httpClient, connections.getSocketTimeout().toDuration());
+    }
+
+}
@@ -15,6 +15,7 @@ import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Ke
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.ErrorResponses;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Exceptions;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Latency;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Connections.Transport;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
 
@@ -53,6 +54,8 @@ public final class RiptideProperties {
         private static final int DEFAULT_MAX_CACHE_ENTRIES = 1000;
         private static final float DEFAULT_HEURISTIC_COEFFICIENT = 0.1F;
         private static final TimeValue DEFAULT_HEURISTIC_LIFETIME = TimeValue.ZERO_MILLISECONDS;
+        private static final long DEFAULT_STORAGE_MAX_SIZE_BYTES = 256L * 1024 * 1024;
+        private static final int DEFAULT_STORAGE_SEGMENT_SIZE_BYTES = 16 * 1024 * 1024;
 
         private UrlResolution urlResolution = UrlResolution.RFC;
 
@@ -64,7 +67,8 @@ public final class RiptideProperties {
                 TimeSpan.of(30, SECONDS),
                 20,
                 20,
-                Mode.STREAMING
+                Mode.STREAMING,
+                Transport.APACHE
         );
 
         @NestedConfigurationProperty
@@ -73,7 +77,8 @@ public final class RiptideProperties {
                 1,
                 null,
                 TimeSpan.of(1, MINUTES),
-                0
+                0,
+                false
         );
 
         @NestedConfigurationProperty
@@ -125,6 +130,12 @@ public final class RiptideProperties {
                         false,
                         DEFAULT_HEURISTIC_COEFFICIENT,
                         TimeSpan.of(DEFAULT_HEURISTIC_LIFETIME.toSeconds(), SECONDS)
+                ),
+                new Storage(
+                        false,
+                        null,
+                        DEFAULT_STORAGE_MAX_SIZE_BYTES,
+                        DEFAULT_STORAGE_SEGMENT_SIZE_BYTES
                 )
         );
 
@@ -147,6 +158,9 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private SslBundleUsage sslBundleUsage = new SslBundleUsage(false, null);
 
+        @NestedConfigurationProperty
+        private Buffering buffering = new Buffering(null);
+
     }
 
     @Getter
@@ -220,6 +234,17 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private SslBundleUsage sslBundleUsage;
 
+        @NestedConfigurationProperty
+        private Buffering buffering;
+
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class Buffering {
+        private Integer memoryThreshold;
     }
 
     @Getter
@@ -234,6 +259,11 @@ public final class RiptideProperties {
         private Integer maxPerRoute;
         private Integer maxTotal;
         private Mode mode;
+        private Transport transport;
+
+        public enum Transport {
+            APACHE, APACHE_ASYNC, JDK
+        }
     }
 
     @Getter
@@ -246,6 +276,7 @@ public final class RiptideProperties {
         private Integer maxSize;
         private TimeSpan keepAlive;
         private Integer queueSize;
+        private Boolean virtual;
 
         public Threads(final Integer maxSize) {
             this.maxSize = maxSize;
@@ -390,6 +421,7 @@ public final class RiptideProperties {
         private Integer maxObjectSize;
         private Integer maxCacheEntries;
         private Heuristic heuristic;
+        private Storage storage;
 
         @Getter
         @Setter
@@ -400,6 +432,17 @@ public final class RiptideProperties {
             private Float coefficient;
             private TimeSpan defaultLifeTime;
         }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Storage {
+            private Boolean enabled;
+            private Path directory;
+            private Long maxSize;
+            private Integer segmentSize;
+        }
     }
 
     @Getter
@@ -2,10 +2,13 @@ package org.zalando.riptide.autoconfigure;
 
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
+import org.zalando.riptide.concurrent.ThreadPerTaskExecutor;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors;
 
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static java.lang.Boolean.TRUE;
 import static org.zalando.riptide.concurrent.ThreadPoolExecutors.builder;
 
 @SuppressWarnings("unused")
@@ -15,15 +18,27 @@ final class ThreadPoolFactory {
 
     }
 
-    public static ThreadPoolExecutor create(
+    public static ExecutorService create(
             final String id,
             final Threads threads) {
 
+        final String prefix = "http-" + id + "-";
+
+        if (isVirtual(threads)) {
+            return ThreadPerTaskExecutor.virtual(prefix,
+                    firstNonNull(threads.getMaxSize(), Integer.MAX_VALUE),
+                    firstNonNull(threads.getQueueSize(), Integer.MAX_VALUE));
+        }
+
         return configure(threads)
-                .threadFactory(new CustomizableThreadFactory("http-" + id + "-"))
+                .threadFactory(new CustomizableThreadFactory(prefix))
                 .build();
     }
 
+    static boolean isVirtual(final Threads threads) {
+        return TRUE.equals(threads.getVirtual());
+    }
+
     private static ThreadPoolExecutors.Threads configure(final Threads threads) {
         final int minSize = threads.getMinSize();
         final int maxSize = threads.getMaxSize();
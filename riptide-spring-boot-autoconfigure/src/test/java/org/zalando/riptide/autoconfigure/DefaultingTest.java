@@ -1,9 +1,12 @@
 package org.zalando.riptide.autoconfigure;
 
 import org.junit.jupiter.api.Test;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Buffering;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Storage;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Connections.Transport;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Defaults;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
 
@@ -57,7 +60,7 @@ final class DefaultingTest {
     void shouldNotOverwriteProvidedDefaultThreadsMaxSizeWithConnectionsMaxTotal() {
         final RiptideProperties properties = new RiptideProperties();
         final Defaults defaults = new Defaults();
-        defaults.setThreads(new Threads(true, null, 10, null, null));
+        defaults.setThreads(new Threads(true, null, 10, null, null, null));
         properties.setDefaults(defaults);
         final RiptideProperties actual = Defaulting.withDefaults(properties);
 
@@ -134,7 +137,7 @@ final class DefaultingTest {
         properties.getDefaults().getThreads().setMaxSize(15);
         properties.getDefaults().getConnections().setMaxPerRoute(30);
         final Client client = new Client();
-        client.setThreads(new Threads(true, null, 5, null, null));
+        client.setThreads(new Threads(true, null, 5, null, null, null));
         properties.getClients().put("example", client);
         final RiptideProperties actual = Defaulting.withDefaults(properties);
 
@@ -156,13 +159,54 @@ final class DefaultingTest {
         assertThat(actual.getClients().get("example").getThreads().getMaxSize(), is(50));
     }
 
+    @Test
+    void shouldMergeVirtualThreads() {
+        final RiptideProperties properties = new RiptideProperties();
+        properties.getDefaults().getThreads().setVirtual(true);
+        properties.getClients().put("example", new Client());
+        properties.getClients().put("platform", new Client());
+        properties.getClients().get("platform").setThreads(new Threads(null, null, null, null, null, false));
+        final RiptideProperties actual = Defaulting.withDefaults(properties);
+
+        assertThat(actual.getClients().get("example").getThreads().getVirtual(), is(true));
+        assertThat(actual.getClients().get("platform").getThreads().getVirtual(), is(false));
+    }
+
+    @Test
+    void shouldMergeTransport() {
+        final RiptideProperties properties = new RiptideProperties();
+        properties.getClients().put("example", new Client());
+        properties.getClients().put("async", new Client());
+        properties.getClients().get("async").setConnections(new Connections());
+        properties.getClients().get("async").getConnections().setTransport(Transport.APACHE_ASYNC);
+        final RiptideProperties actual = Defaulting.withDefaults(properties);
+
+        assertThat(actual.getClients().get("example").getConnections().getTransport(), is(Transport.APACHE));
+        assertThat(actual.getClients().get("async").getConnections().getTransport(), is(Transport.APACHE_ASYNC));
+    }
+
+    @Test
+    void shouldFallbackClientBufferingToDefaults() {
+        final RiptideProperties properties = new RiptideProperties();
+        properties.getDefaults().getBuffering().setMemoryThreshold(1024);
+        properties.getClients().put("example", new Client());
+        properties.getClients().put("explicit", new Client());
+        properties.getClients().get("explicit").setBuffering(new Buffering(2048));
+        final RiptideProperties actual = Defaulting.withDefaults(properties);
+
+        assertThat(actual.getClients().get("example").getBuffering().getMemoryThreshold(), is(1024));
+        assertThat(actual.getClients().get("explicit").getBuffering().getMemoryThreshold(), is(2048));
+    }
+
     @Test
     void shouldMergeCaching() {
         final Caching actual = Defaulting.merge(
                 new Caching(false, true, null, 4096, 100,
-                        new Heuristic(Boolean.FALSE, 0.1f, null)),
+                        new Heuristic(Boolean.FALSE, 0.1f, null),
+                        new Storage(true, null, 1024L, null)),
                 new Caching(true, false, Paths.get("/var/cache/http"), 8192, 1000,
-                        new Heuristic(true, 0.25f, TimeSpan.of(1, HOURS))));
+                        new Heuristic(true, 0.25f, TimeSpan.of(1, HOURS)),
+                        new Storage(false, Paths.get("/var/cache/riptide"), 4096L, 512)));
 
         assertThat(actual.getEnabled(), is(false));
         assertThat(actual.getShared(), is(true));
@@ -172,6 +216,10 @@ final class DefaultingTest {
         assertThat(actual.getHeuristic().getEnabled(), is(false));
         assertThat(actual.getHeuristic().getCoefficient(), is(0.1f));
         assertThat(actual.getHeuristic().getDefaultLifeTime(), hasToString("1 hours"));
+        assertThat(actual.getStorage().getEnabled(), is(true));
+        assertThat(actual.getStorage().getDirectory(), is(Paths.get("/var/cache/riptide")));
+        assertThat(actual.getStorage().getMaxSize(), is(1024L));
+        assertThat(actual.getStorage().getSegmentSize(), is(512));
     }
 
 }
@@ -104,7 +104,7 @@ public class HttpClientFactorySslBundleTest {
     final RiptideProperties props = new RiptideProperties();
     final RiptideProperties.Client client = new RiptideProperties.Client();
 
-    client.setThreads(new Threads(false, 0,0, null, 0));
+    client.setThreads(new Threads(false, 0,0, null, 0, false));
     client.setSslBundleUsage(new SslBundleUsage(true, null));
     client.setCertificatePinning(new CertificatePinning(true, null));
 
@@ -0,0 +1,222 @@
+package org.zalando.riptide.stream;
+
+import tools.jackson.databind.ObjectReader;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import static com.google.common.util.concurrent.Uninterruptibles.takeUninterruptibly;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Frames records on the consuming thread and decodes them according to the given {@link ParallelDecoding parallel
+ * decoding}. When used by a parallel stream, batches of raw records are split off instead, which are decoded by
+ * whichever thread processes them.
+ */
+final class DecodingSpliterator<T> implements Spliterator<T> {
+
+    private static final int BATCH_UNIT = 64;
+    private static final int MAX_BATCH = 4096;
+
+    private final Deque<CompletableFuture<T>> pending = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<T>> completed = new LinkedBlockingQueue<>();
+
+    private final RecordFramer framer;
+    private final ObjectReader reader;
+    private final ParallelDecoding decoding;
+
+    @Nullable
+    private UncheckedIOException failure;
+
+    private boolean exhausted;
+    private int batch;
+
+    DecodingSpliterator(final RecordFramer framer, final ObjectReader reader, final ParallelDecoding decoding) {
+        this.framer = framer;
+        this.reader = reader;
+        this.decoding = decoding;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        fill();
+
+        if (pending.isEmpty()) {
+            if (failure != null) {
+                throw failure;
+            }
+
+            return false;
+        }
+
+        action.accept(join(next()));
+        return true;
+    }
+
+    private void fill() {
+        while (!exhausted && pending.size() < decoding.getParallelism()) {
+            @Nullable final byte[] record;
+
+            try {
+                record = frame();
+            } catch (final UncheckedIOException e) {
+                // records that were framed before are still delivered
+                failure = e;
+                return;
+            }
+
+            if (record == null) {
+                return;
+            }
+
+            final CompletableFuture<T> future = supplyAsync(() -> decode(record), decoding.getExecutor());
+
+            if (!decoding.isOrdered()) {
+                future.whenComplete((value, throwable) -> completed.add(future));
+            }
+
+            pending.add(future);
+        }
+    }
+
+    private CompletableFuture<T> next() {
+        if (decoding.isOrdered()) {
+            return pending.removeFirst();
+        }
+
+        final CompletableFuture<T> future = takeUninterruptibly(completed);
+        pending.remove(future);
+        return future;
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<T> trySplit() {
+        // records that are already being decoded have to be delivered first
+        if (exhausted || !pending.isEmpty()) {
+            return null;
+        }
+
+        batch = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+        final List<byte[]> records = new ArrayList<>(batch);
+
+        while (records.size() < batch) {
+            @Nullable final byte[] record = frame();
+
+            if (record == null) {
+                break;
+            }
+
+            records.add(record);
+        }
+
+        return records.isEmpty() ? null : new Batch(records, 0, records.size());
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return decoding.isOrdered() ? ORDERED | IMMUTABLE : IMMUTABLE;
+    }
+
+    /**
+     * Cancels all records that are still being decoded.
+     */
+    void close() {
+        pending.forEach(future -> future.cancel(false));
+        pending.clear();
+        completed.clear();
+    }
+
+    @Nullable
+    private byte[] frame() {
+        try {
+            @Nullable final byte[] record = framer.next();
+            exhausted = record == null;
+            return record;
+        } catch (final IOException e) {
+            exhausted = true;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private T decode(final byte[] record) {
+        return reader.readValue(record);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private final class Batch implements Spliterator<T> {
+
+        private final List<byte[]> records;
+        private final int end;
+        private int index;
+
+        private Batch(final List<byte[]> records, final int index, final int end) {
+            this.records = records;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+
+            action.accept(decode(records.get(index++)));
+            return true;
+        }
+
+        @Nullable
+        @Override
+        public Spliterator<T> trySplit() {
+            final int middle = (index + end) >>> 1;
+
+            if (middle <= index) {
+                return null;
+            }
+
+            final Spliterator<T> prefix = new Batch(records, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return DecodingSpliterator.this.characteristics() | SIZED | SUBSIZED;
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.zalando.riptide.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import static org.zalando.riptide.stream.Streams.APPLICATION_JSON_SEQ;
+import static tools.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+
+/**
+ * Writes the elements of a {@link Stream stream}, {@link Iterator iterator} or {@link Flow.Publisher publisher} one
+ * by one, i.e. only a single element needs to be serialized at any time. Elements are delimited by a line feed and, in
+ * case of {@code application/json-seq}, prefixed by a record separator.
+ *
+ * Output is buffered and only flushed at the end, or whenever a publisher has no element ready to be written.
+ */
+final class ElementWriter {
+
+    private static final char RECORD_SEPARATOR = '\u001E';
+    private static final char LINE_FEED = '\n';
+
+    private final ObjectWriter writer;
+
+    ElementWriter(final JsonMapper mapper) {
+        this.writer = mapper.writer()
+                .without(FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+    }
+
+    void write(final Object body, final MediaType contentType, final OutputStream output) throws IOException {
+        final boolean sequence = APPLICATION_JSON_SEQ.includes(contentType);
+
+        try {
+            if (body instanceof Stream) {
+                try (final Stream<?> stream = (Stream<?>) body) {
+                    write(stream.iterator(), sequence, output);
+                }
+            } else if (body instanceof Iterator) {
+                write((Iterator<?>) body, sequence, output);
+            } else if (body instanceof Flow.Publisher) {
+                try (final PublisherIterator<?> iterator = new PublisherIterator<>((Flow.Publisher<?>) body)) {
+                    write(iterator, sequence, output);
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported body: " + body.getClass().getName());
+            }
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        } catch (final JacksonIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void write(final Iterator<?> iterator, final boolean sequence, final OutputStream output) {
+        try (final JsonGenerator generator = writer.createGenerator(StreamUtils.nonClosing(output))) {
+            while (iterator.hasNext()) {
+                final Object element = iterator.next();
+
+                if (sequence) {
+                    generator.writeRaw(RECORD_SEPARATOR);
+                }
+
+                writer.writeValue(generator, element);
+                generator.writeRaw(LINE_FEED);
+
+                if (iterator instanceof PublisherIterator && !((PublisherIterator<?>) iterator).isReady()) {
+                    // don't hold back what was written so far while waiting for the next element
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.zalando.riptide.stream;
+
+import lombok.Value;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A single <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">server-sent event</a>.
+ *
+ * @param <T> the type of the decoded data
+ * @see Streams#eventsOf(Class)
+ */
+@API(status = EXPERIMENTAL)
+@Value
+public class Event<T> {
+
+    /**
+     * The last event ID that was sent by the server so far, if any. It's not necessarily sent along with every event.
+     */
+    @Nullable
+    String id;
+
+    /**
+     * The event type, {@code message} unless specified otherwise.
+     */
+    String event;
+
+    T data;
+
+}
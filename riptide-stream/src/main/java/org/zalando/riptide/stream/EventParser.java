@@ -0,0 +1,204 @@
+package org.zalando.riptide.stream;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses the {@code text/event-stream} format incrementally, i.e. every event is returned as soon as its terminating
+ * blank line was received. The {@link #getLastEventId() last event ID} and the {@link #getRetry() reconnection time}
+ * are retained across events, as they are needed to reconnect.
+ *
+ * @see <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html#event-stream-interpretation">Event
+ * stream interpretation</a>
+ */
+final class EventParser {
+
+    private static final String DEFAULT_EVENT = "message";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final byte[] buffer = new byte[8192];
+    private byte[] line = new byte[256];
+
+    private final InputStream stream;
+
+    private int position;
+    private int limit;
+    private int length;
+    private boolean skipLineFeed;
+    private boolean first = true;
+
+    private final StringBuilder data = new StringBuilder();
+
+    @Nullable
+    private String event;
+
+    /**
+     * The ID buffer, which only becomes the {@link #lastEventId last event ID} once an event is dispatched.
+     */
+    @Nullable
+    private String id;
+
+    @Nullable
+    private String lastEventId;
+
+    @Nullable
+    private Duration retry;
+
+    EventParser(final InputStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * @return the next event, with its data not yet decoded, or {@code null} at the end of the stream, discarding an
+     * incomplete event
+     */
+    @Nullable
+    Event<String> next() throws IOException {
+        @Nullable String line;
+
+        while ((line = readLine()) != null) {
+            if (line.isEmpty()) {
+                @Nullable final Event<String> event = dispatch();
+
+                if (event != null) {
+                    return event;
+                }
+            } else {
+                process(line);
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    String getLastEventId() {
+        return lastEventId;
+    }
+
+    @Nullable
+    Duration getRetry() {
+        return retry;
+    }
+
+    @Nullable
+    private Event<String> dispatch() {
+        // also applies to blank lines without any data, as opposed to an incomplete event at the end of the stream
+        lastEventId = id;
+
+        try {
+            if (data.length() == 0) {
+                return null;
+            }
+
+            // the last line feed is not part of the data
+            data.setLength(data.length() - 1);
+            return new Event<>(id, event == null ? DEFAULT_EVENT : event, data.toString());
+        } finally {
+            data.setLength(0);
+            event = null;
+        }
+    }
+
+    private void process(final String line) {
+        final int colon = line.indexOf(':');
+
+        if (colon == 0) {
+            // comment, e.g. used as a heartbeat
+            return;
+        }
+
+        final String field = colon < 0 ? line : line.substring(0, colon);
+        final String value = colon < 0 ? "" : line.startsWith(" ", colon + 1) ?
+                line.substring(colon + 2) : line.substring(colon + 1);
+
+        switch (field) {
+            case "event":
+                event = value;
+                break;
+            case "data":
+                data.append(value).append('\n');
+                break;
+            case "id":
+                if (value.indexOf('\0') < 0) {
+                    id = value.isEmpty() ? null : value;
+                }
+                break;
+            case "retry":
+                if (!value.isEmpty() && value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                    try {
+                        retry = Duration.ofMillis(Long.parseLong(value));
+                    } catch (final NumberFormatException e) {
+                        // too large to be meaningful, ignored just like any other invalid value
+                    }
+                }
+                break;
+            default:
+                // unknown fields are ignored
+                break;
+        }
+    }
+
+    /**
+     * Reads a line terminated by either CRLF, LF or CR.
+     *
+     * @return the line without its terminator, or {@code null} at the end of the stream, discarding an incomplete line
+     */
+    @Nullable
+    private String readLine() throws IOException {
+        length = 0;
+
+        while (true) {
+            if (position == limit) {
+                limit = stream.read(buffer);
+                position = 0;
+
+                if (limit == -1) {
+                    limit = 0;
+                    return null;
+                }
+            }
+
+            final byte b = buffer[position++];
+
+            if (skipLineFeed) {
+                skipLineFeed = false;
+
+                if (b == '\n') {
+                    continue;
+                }
+            }
+
+            if (b == '\n' || b == '\r') {
+                skipLineFeed = b == '\r';
+                return decode();
+            }
+
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+
+            line[length++] = b;
+        }
+    }
+
+    private String decode() {
+        final String decoded = new String(line, 0, length, UTF_8);
+
+        if (first) {
+            first = false;
+
+            if (!decoded.isEmpty() && decoded.charAt(0) == BYTE_ORDER_MARK) {
+                return decoded.substring(1);
+            }
+        }
+
+        return decoded;
+    }
+
+}
@@ -0,0 +1,252 @@
+package org.zalando.riptide.stream;
+
+import com.google.common.reflect.TypeToken;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.fauxpas.ThrowingConsumer;
+import org.zalando.riptide.HeaderStage;
+import org.zalando.riptide.Http;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.zalando.riptide.Bindings.anyContentType;
+import static org.zalando.riptide.Bindings.anyStatus;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.contentType;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.NoRoute.noRoute;
+
+/**
+ * Consumes a stream of <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">server-sent
+ * events</a> and reconnects whenever the connection fails or the server ends the stream. Reconnects are delayed by the
+ * reconnection time, which the server may change using the {@code retry} field, and carry the ID of the last event
+ * that was received in the {@code Last-Event-ID} header, i.e. the server is able to resume where the previous
+ * connection stopped.
+ *
+ * The returned future completes once the server responds with {@code 204 No Content}. It fails if the server responds
+ * with anything but {@code 200 OK} and {@code text/event-stream}, if an event can't be decoded, if the consumer fails
+ * or once the maximum number of consecutive reconnects without any event in between is exceeded. Cancelling it stops
+ * consuming events. A response that is being consumed is closed, in the background rather than on the cancelling
+ * thread, and a response that arrives afterwards is closed right away. Aborting it requires an
+ * {@link org.zalando.riptide.IO} that aborts responses when they are closed, e.g. the {@code ApacheAsyncIO}. Others
+ * read the remainder of the response first, i.e. they keep a thread and the connection busy as long as the server
+ * keeps sending.
+ *
+ * <pre>{@code
+ * new EventSource(http)
+ *     .subscribe(URI.create("https://example.org/notifications"), Notification.class, event ->
+ *         process(event.getData()));
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class EventSource {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final Http http;
+    private final JsonMapper mapper;
+    private final Duration retry;
+    private final int maxReconnects;
+
+    public EventSource(final Http http) {
+        this(http, new JsonMapper(), Duration.ofSeconds(3), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param mapper the mapper that decodes the data of events
+     * @return a new event source which decodes events using the given mapper
+     */
+    public EventSource withMapper(final JsonMapper mapper) {
+        return new EventSource(http, mapper, retry, maxReconnects);
+    }
+
+    /**
+     * @param retry the initial reconnection time, defaults to 3 seconds
+     * @return a new event source which waits for the given time before reconnecting, unless the server specifies
+     * otherwise
+     */
+    public EventSource withRetry(final Duration retry) {
+        checkArgument(!retry.isNegative(), "Retry must not be negative");
+        return new EventSource(http, mapper, retry, maxReconnects);
+    }
+
+    /**
+     * @param maxReconnects the number of consecutive reconnects without receiving an event, defaults to unlimited
+     * @return a new event source which gives up after the given number of unsuccessful reconnects
+     */
+    public EventSource withMaxReconnects(final int maxReconnects) {
+        checkArgument(maxReconnects >= 0, "Max reconnects must not be negative");
+        return new EventSource(http, mapper, retry, maxReconnects);
+    }
+
+    public <T> CompletableFuture<Void> subscribe(final URI uri, final Class<T> type,
+            final ThrowingConsumer<Event<T>, ? extends Exception> consumer) {
+        return subscribe(uri, TypeToken.of(type), consumer);
+    }
+
+    public <T> CompletableFuture<Void> subscribe(final URI uri, final TypeToken<T> type,
+            final ThrowingConsumer<Event<T>, ? extends Exception> consumer) {
+        final JavaType dataType = mapper.getTypeFactory().constructType(type.getType());
+        final Subscription<T> subscription = new Subscription<>(uri, dataType, consumer);
+        subscription.connect();
+        return subscription.result;
+    }
+
+    private final class Subscription<T> {
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicReference<ClientHttpResponse> current = new AtomicReference<>();
+
+        private final URI uri;
+        private final JavaType dataType;
+        private final ThrowingConsumer<Event<T>, ? extends Exception> consumer;
+
+        @Nullable
+        private volatile String lastEventId;
+
+        private volatile Duration delay = retry;
+
+        /**
+         * The number of consecutive reconnects that didn't receive a single event.
+         */
+        private volatile int reconnects;
+
+        private Subscription(final URI uri, final JavaType dataType,
+                final ThrowingConsumer<Event<T>, ? extends Exception> consumer) {
+            this.uri = uri;
+            this.dataType = dataType;
+            this.consumer = consumer;
+
+            result.whenComplete((ignored, throwable) -> {
+                if (result.isCancelled()) {
+                    cancel();
+                }
+            });
+        }
+
+        private void connect() {
+            if (result.isDone()) {
+                return;
+            }
+
+            final HeaderStage request = http.get(uri)
+                    .accept(TEXT_EVENT_STREAM)
+                    .header(CACHE_CONTROL, "no-cache");
+
+            @Nullable final String id = lastEventId;
+
+            (id == null ? request : request.header(LAST_EVENT_ID, id))
+                    .dispatch(status(),
+                            on(OK).dispatch(contentType(),
+                                    on(TEXT_EVENT_STREAM).call(this::consume),
+                                    anyContentType().call(noRoute())),
+                            on(NO_CONTENT).call(this::complete),
+                            anyStatus().call(noRoute()))
+                    .whenComplete((response, throwable) -> reconnect(throwable));
+        }
+
+        private void cancel() {
+            // unblocks the thread that is currently waiting for the next event, if any
+            @Nullable final ClientHttpResponse response = current.getAndSet(null);
+
+            if (response != null) {
+                // closing might read the remainder of the response, which never ends for an endless stream
+                runAsync(response::close);
+            }
+        }
+
+        private void consume(final ClientHttpResponse response) throws IOException {
+            current.set(response);
+
+            if (result.isCancelled()) {
+                current.set(null);
+                response.close();
+                return;
+            }
+
+            final EventParser parser = new EventParser(response.getBody());
+            final EventSpliterator<T> events = new EventSpliterator<>(parser, mapper, dataType);
+
+            try {
+                while (!result.isDone() && events.tryAdvance(this::accept)) {
+                    reconnects = 0;
+                }
+            } finally {
+                // also retained if the connection fails half way
+                lastEventId = parser.getLastEventId();
+                @Nullable final Duration retry = parser.getRetry();
+
+                if (retry != null) {
+                    delay = retry;
+                }
+
+                if (current.getAndSet(null) != null) {
+                    response.close();
+                }
+            }
+        }
+
+        private void accept(final Event<T> event) {
+            try {
+                consumer.tryAccept(event);
+            } catch (final Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void complete(final ClientHttpResponse response) {
+            response.close();
+            result.complete(null);
+        }
+
+        private void reconnect(@Nullable final Throwable throwable) {
+            if (result.isDone()) {
+                return;
+            }
+
+            @Nullable final Throwable cause = throwable instanceof CompletionException ?
+                    throwable.getCause() : throwable;
+
+            // only network failures are worth a retry, anything else would just fail again
+            if (cause != null && !(cause instanceof IOException || cause instanceof UncheckedIOException)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            if (reconnects >= maxReconnects) {
+                if (cause == null) {
+                    result.complete(null);
+                } else {
+                    result.completeExceptionally(cause);
+                }
+                return;
+            }
+
+            reconnects++;
+            delayedExecutor(delay.toMillis(), MILLISECONDS).execute(this::connect);
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.zalando.riptide.stream;
+
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the data of every event as soon as it was received. Data of type {@link String} is passed on as is,
+ * everything else is expected to be JSON.
+ */
+final class EventSpliterator<T> implements Spliterator<Event<T>> {
+
+    private final EventParser parser;
+    private final ObjectReader reader;
+    private final boolean raw;
+
+    EventSpliterator(final EventParser parser, final JsonMapper mapper, final JavaType dataType) {
+        this.parser = parser;
+        this.reader = mapper.readerFor(dataType);
+        this.raw = dataType.getRawClass() == String.class;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Event<T>> action) {
+        @Nullable final Event<String> event;
+
+        try {
+            event = parser.next();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (event == null) {
+            return false;
+        }
+
+        action.accept(new Event<>(event.getId(), event.getEvent(), decode(event.getData())));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T decode(final String data) {
+        return raw ? (T) data : reader.readValue(data);
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<Event<T>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.zalando.riptide.stream;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.singletonList;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
+
+/**
+ * Reads {@code text/event-stream} responses as a {@link Stream stream} (or {@link Flow.Publisher publisher}) of
+ * {@link Event events}, decoding the data of every event as it arrives.
+ */
+@AllArgsConstructor
+final class EventStreamConverter<T> implements GenericHttpMessageConverter<Object> {
+
+    private final JsonMapper mapper;
+
+    @Override
+    public boolean canRead(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        // we only support generics
+        return false;
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        final JavaType javaType = mapper.getTypeFactory().constructType(type);
+
+        if (isStream(javaType) || isPublisher(javaType)) {
+            @Nullable final JavaType elementType = javaType.containedType(0);
+            return elementType != null && elementType.getRawClass() == Event.class && canRead(mediaType);
+        }
+
+        return false;
+    }
+
+    private static boolean isStream(final JavaType type) {
+        return Stream.class.isAssignableFrom(type.getRawClass());
+    }
+
+    private static boolean isPublisher(final JavaType type) {
+        return type.getRawClass() == Flow.Publisher.class;
+    }
+
+    private static boolean canRead(@Nullable final MediaType mediaType) {
+        return mediaType == null || TEXT_EVENT_STREAM.isCompatibleWith(mediaType);
+    }
+
+    @Override
+    @Nonnull
+    public List<MediaType> getSupportedMediaTypes() {
+        return singletonList(TEXT_EVENT_STREAM);
+    }
+
+    @Override
+    @Nonnull
+    public Object read(final Class<?> clazz, final HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        // we only support generics
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    @Nonnull
+    public Object read(final Type type, @Nullable final Class<?> contextClass, final HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+
+        final JavaType javaType = mapper.getTypeFactory().constructType(type);
+        final JavaType dataType = javaType.containedType(0).containedTypeOrUnknown(0);
+
+        try {
+            final InputStream body = inputMessage.getBody();
+            final EventSpliterator<T> split = new EventSpliterator<>(new EventParser(body), mapper, dataType);
+            final Stream<Event<T>> stream = StreamSupport.stream(split, false)
+                    .onClose(throwingRunnable(body::close));
+
+            return isPublisher(javaType) ? new StreamPublisher<>(stream) : stream;
+        } catch (final IOException ex) {
+            throw new HttpMessageNotReadableException("Could not read document: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    public boolean canWrite(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    // @Override since 4.2
+    public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public void write(final Object t, @Nullable final MediaType mediaType, final HttpOutputMessage message) {
+        throw new UnsupportedOperationException();
+    }
+
+    // @Override since 4.2
+    public void write(final Object t,
+                      @Nullable final Type type,
+                      @Nullable final MediaType mediaType,
+                      final HttpOutputMessage message) {
+        throw new UnsupportedOperationException();
+    }
+
+}
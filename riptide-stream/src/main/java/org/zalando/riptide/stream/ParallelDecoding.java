@@ -0,0 +1,54 @@
+package org.zalando.riptide.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apiguardian.api.API;
+
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static lombok.AccessLevel.PACKAGE;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Decodes the elements of a stream concurrently. A single thread, the one consuming the stream, splits the response
+ * body into records, i.e. array elements, newline-delimited or {@code json-seq} records, without decoding them. The
+ * raw records are then decoded by the given {@link Executor executor}, with at most {@code parallelism} records in
+ * flight at any time.
+ *
+ * Elements are delivered in their original order by default. {@link #unordered() Unordered} delivery passes on every
+ * element as soon as it was decoded, i.e. a large record doesn't hold back the ones after it.
+ *
+ * Parallel {@link java.util.stream.Stream#parallel() streams} are supported as well: They split off batches of raw
+ * records, which are then decoded by the stream's own worker threads.
+ *
+ * @see Streams#streamConverter(tools.jackson.databind.json.JsonMapper, ParallelDecoding)
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+@Getter(PACKAGE)
+public final class ParallelDecoding {
+
+    private final Executor executor;
+    private final int parallelism;
+    private final boolean ordered;
+
+    /**
+     * @param executor the executor that decodes records
+     * @param parallelism the maximum number of records being decoded, or waiting to be consumed, at the same time
+     * @return a parallel decoding that delivers elements in their original order
+     */
+    public static ParallelDecoding of(final Executor executor, final int parallelism) {
+        checkArgument(parallelism > 0, "Parallelism must be positive");
+        return new ParallelDecoding(executor, parallelism, true);
+    }
+
+    /**
+     * @return a new parallel decoding that delivers elements as soon as they are decoded
+     */
+    public ParallelDecoding unordered() {
+        return new ParallelDecoding(executor, parallelism, false);
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.zalando.riptide.stream;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.databind.JavaType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Reads {@link Flow.Publisher publishers} and writes {@link Flow.Publisher publishers} and {@link Iterator iterators},
+ * using the formats and settings of the given {@link StreamConverter stream converter}, which itself only reads and
+ * writes {@link java.util.stream.Stream streams}.
+ */
+@AllArgsConstructor
+final class PublisherConverter<T> implements GenericHttpMessageConverter<Object> {
+
+    private final StreamConverter<T> converter;
+
+    @Override
+    public boolean canRead(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        // we only support generics
+        return false;
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        final JavaType javaType = converter.getJavaType(type, contextClass);
+        return javaType.getRawClass() == Flow.Publisher.class && converter.canRead(mediaType);
+    }
+
+    @Override
+    @Nonnull
+    public List<MediaType> getSupportedMediaTypes() {
+        return converter.getSupportedMediaTypes();
+    }
+
+    @Override
+    @Nonnull
+    public Object read(final Class<?> clazz, final HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        // we only support generics
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    @Nonnull
+    public Flow.Publisher<T> read(final Type type, @Nullable final Class<?> contextClass,
+            final HttpInputMessage inputMessage) throws HttpMessageNotReadableException {
+        final JavaType javaType = converter.getJavaType(type, contextClass);
+        return new StreamPublisher<>(converter.read(javaType, inputMessage));
+    }
+
+    @Override
+    public boolean canWrite(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return isWritable(clazz) && converter.canWrite(mediaType);
+    }
+
+    // @Override since 4.2
+    public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return canWrite(type == null ? clazz : converter.getJavaType(type, null).getRawClass(), mediaType);
+    }
+
+    private static boolean isWritable(final Class<?> clazz) {
+        return Iterator.class.isAssignableFrom(clazz) || Flow.Publisher.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void write(final Object t, @Nullable final MediaType mediaType, final HttpOutputMessage message)
+            throws IOException {
+        converter.writeElements(t, mediaType, message);
+    }
+
+    // @Override since 4.2
+    public void write(final Object t,
+                      @Nullable final Type type,
+                      @Nullable final MediaType mediaType,
+                      final HttpOutputMessage message) throws IOException {
+        write(t, mediaType, message);
+    }
+
+}
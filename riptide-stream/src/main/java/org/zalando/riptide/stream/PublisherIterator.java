@@ -0,0 +1,147 @@
+package org.zalando.riptide.stream;
+
+import com.google.common.base.Throwables;
+import lombok.AllArgsConstructor;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Consumes a {@link Flow.Publisher publisher} as a blocking {@link Iterator iterator}. At most {@link #PREFETCH}
+ * elements are requested ahead of time, i.e. a fast publisher is slowed down to the pace of the consuming thread.
+ */
+final class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T>, AutoCloseable {
+
+    static final int PREFETCH = 16;
+
+    private static final Object COMPLETE = new Object();
+
+    /**
+     * Demand is bounded by the prefetch, plus a single terminal signal.
+     */
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(PREFETCH + 1);
+
+    private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+
+    @Nullable
+    private Object next;
+
+    private boolean done;
+
+    PublisherIterator(final Flow.Publisher<? extends T> publisher) {
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (this.subscription.compareAndSet(null, subscription)) {
+            subscription.request(PREFETCH);
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(final T element) {
+        queue.add(element);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        queue.add(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(COMPLETE);
+    }
+
+    /**
+     * @return whether the next element, or the end of the publisher, is available without blocking
+     */
+    boolean isReady() {
+        return next != null || !queue.isEmpty();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = take();
+        }
+
+        if (next == COMPLETE) {
+            done = true;
+            return false;
+        }
+
+        if (next instanceof Failure) {
+            done = true;
+            final Throwable throwable = ((Failure) next).throwable;
+            Throwables.throwIfUnchecked(throwable);
+
+            if (throwable instanceof IOException) {
+                throw new UncheckedIOException((IOException) throwable);
+            }
+
+            throw new CompletionException(throwable);
+        }
+
+        return true;
+    }
+
+    private Object take() {
+        try {
+            return queue.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for next element"));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final T element = (T) next;
+        next = null;
+        subscription.get().request(1);
+        return element;
+    }
+
+    /**
+     * Cancels the subscription, unless the publisher already terminated.
+     */
+    @Override
+    public void close() {
+        if (done) {
+            return;
+        }
+
+        done = true;
+
+        @Nullable final Flow.Subscription subscription = this.subscription.get();
+
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Failure {
+        private final Throwable throwable;
+    }
+
+}
@@ -0,0 +1,196 @@
+package org.zalando.riptide.stream;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a stream of JSON values into records of raw bytes, without parsing them. Records are either elements of a
+ * top-level array, which is unwrapped if requested, or top-level values separated by whitespace, newlines or
+ * {@code json-seq} record separators. Only strings and the nesting of objects and arrays are tracked, everything else
+ * is left to the decoder.
+ */
+final class RecordFramer {
+
+    private static final byte RECORD_SEPARATOR = 30;
+
+    private enum State {
+        START, ARRAY, VALUES, END
+    }
+
+    private final byte[] buffer = new byte[8192];
+    private byte[] record = new byte[1024];
+
+    private final InputStream stream;
+    private final boolean unwrap;
+
+    private State state = State.START;
+    private int position;
+    private int limit;
+    private int length;
+
+    /**
+     * @param stream the stream to read
+     * @param unwrap whether the elements of a top-level array should be treated as records
+     */
+    RecordFramer(final InputStream stream, final boolean unwrap) {
+        this.stream = stream;
+        this.unwrap = unwrap;
+    }
+
+    /**
+     * @return the next record, or {@code null} if there are no more records
+     * @throws IOException if reading fails or the stream ends within a record
+     */
+    @Nullable
+    byte[] next() throws IOException {
+        if (state == State.END) {
+            return null;
+        }
+
+        int next = skip();
+
+        if (state == State.START) {
+            if (unwrap && next == '[') {
+                position++;
+                state = State.ARRAY;
+                next = skip();
+            } else {
+                state = State.VALUES;
+            }
+        }
+
+        if (next == -1) {
+            if (state == State.ARRAY) {
+                throw new EOFException("Unexpected end of stream within array");
+            }
+
+            state = State.END;
+            return null;
+        }
+
+        if (state == State.ARRAY && next == ']') {
+            position++;
+            state = State.END;
+            return null;
+        }
+
+        return scan(next);
+    }
+
+    /**
+     * Skips all separators between records.
+     *
+     * @return the first byte of the next record, which is not consumed, or {@code -1} at the end of the stream
+     */
+    private int skip() throws IOException {
+        while (position < limit || fill()) {
+            final byte b = buffer[position];
+
+            if (isWhitespace(b) || b == RECORD_SEPARATOR || (state == State.ARRAY && b == ',')) {
+                position++;
+            } else {
+                return b & 0xFF;
+            }
+        }
+
+        return -1;
+    }
+
+    private byte[] scan(final int first) throws IOException {
+        final boolean scalar = first != '{' && first != '[' && first != '"';
+
+        length = 0;
+        int depth = 0;
+        boolean string = false;
+        boolean escaped = false;
+
+        while (position < limit || fill()) {
+            final int start = position;
+
+            for (; position < limit; position++) {
+                final byte b = buffer[position];
+
+                if (scalar) {
+                    if (isWhitespace(b) || isDelimiter(b)) {
+                        append(start, position);
+                        return copy();
+                    }
+                } else if (string) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        string = false;
+
+                        if (depth == 0) {
+                            append(start, ++position);
+                            return copy();
+                        }
+                    }
+                } else if (b == '"') {
+                    string = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        append(start, ++position);
+                        return copy();
+                    }
+                }
+            }
+
+            append(start, position);
+        }
+
+        if (scalar) {
+            return copy();
+        }
+
+        throw new EOFException("Unexpected end of stream within record");
+    }
+
+    private boolean fill() throws IOException {
+        position = 0;
+        limit = 0;
+
+        while (limit == 0) {
+            final int read = stream.read(buffer);
+
+            if (read == -1) {
+                return false;
+            }
+
+            limit = read;
+        }
+
+        return true;
+    }
+
+    private void append(final int from, final int to) {
+        final int count = to - from;
+
+        if (length + count > record.length) {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, length + count));
+        }
+
+        System.arraycopy(buffer, from, record, length, count);
+        length += count;
+    }
+
+    private byte[] copy() {
+        return Arrays.copyOf(record, length);
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isDelimiter(final byte b) {
+        return b == ',' || b == ']' || b == '}' || b == RECORD_SEPARATOR;
+    }
+
+}
@@ -1,11 +1,14 @@
 package org.zalando.riptide.stream;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
 import tools.jackson.core.JsonParser;
 import tools.jackson.databind.JavaType;
 import tools.jackson.databind.json.JsonMapper;
@@ -23,13 +26,25 @@ import java.util.stream.StreamSupport;
 
 import static org.zalando.fauxpas.FauxPas.throwingRunnable;
 import static org.zalando.riptide.stream.Streams.APPLICATION_JSON_SEQ;
+import static org.zalando.riptide.stream.Streams.APPLICATION_STREAM_JSON;
+import static org.zalando.riptide.stream.Streams.APPLICATION_X_JSON_STREAM;
 
 @AllArgsConstructor
 final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>> {
 
+    private static final List<MediaType> STREAMING_MEDIA_TYPES =
+            List.of(APPLICATION_JSON_SEQ, APPLICATION_STREAM_JSON, APPLICATION_X_JSON_STREAM);
+
     private final JsonMapper mapper;
     private final List<MediaType> supportedMediaTypes;
 
+    @Nullable
+    private final ParallelDecoding decoding;
+
+    StreamConverter(final JsonMapper mapper, final List<MediaType> supportedMediaTypes) {
+        this(mapper, supportedMediaTypes, null);
+    }
+
     @Override
     public boolean canRead(final Class<?> clazz, @Nullable final MediaType mediaType) {
         // we only support generics
@@ -47,7 +62,7 @@ final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>>
         return false;
     }
 
-    private boolean canRead(@Nullable final MediaType mediaType) {
+    boolean canRead(@Nullable final MediaType mediaType) {
         return mediaType == null || getSupportedMediaTypes().stream().anyMatch(mediaType::isCompatibleWith);
     }
 
@@ -73,12 +88,16 @@ final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>>
         return read(javaType, inputMessage);
     }
 
-    private JavaType getJavaType(final Type type, @Nullable final Class<?> contextClass) {
+    JavaType getJavaType(final Type type, @Nullable final Class<?> contextClass) {
         final TypeFactory factory = mapper.getTypeFactory();
         return factory.constructType(type);
     }
 
-    private Stream<T> read(final JavaType javaType, final HttpInputMessage inputMessage) {
+    /**
+     * Only the element type, i.e. the first type parameter, is used. This allows to read other generic types, e.g. a
+     * {@link java.util.concurrent.Flow.Publisher publisher}, as a stream, too.
+     */
+    Stream<T> read(final JavaType javaType, final HttpInputMessage inputMessage) {
         try {
             final JavaType elementType = javaType.containedType(0);
             final InputStream body = extractBody(inputMessage);
@@ -95,6 +114,17 @@ final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>>
     }
 
     private Stream<T> stream(final JavaType elementType, final InputStream stream) throws IOException {
+        if (decoding != null) {
+            final boolean unwrap = !elementType.isArrayType() && !elementType.isCollectionLikeType();
+            final RecordFramer framer = new RecordFramer(stream, unwrap);
+            final DecodingSpliterator<T> split =
+                    new DecodingSpliterator<>(framer, mapper.readerFor(elementType), decoding);
+
+            return StreamSupport.stream(split, false)
+                    .onClose(split::close)
+                    .onClose(throwingRunnable(stream::close));
+        }
+
         final JsonParser parser = mapper.createParser(stream);
         final StreamSpliterator<T> split = new StreamSpliterator<>(elementType, parser);
         return StreamSupport.stream(split, false).onClose(throwingRunnable(parser::close));
@@ -102,25 +132,65 @@ final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>>
 
     @Override
     public boolean canWrite(final Class<?> clazz, @Nullable final MediaType mediaType) {
-        return false;
+        return Stream.class.isAssignableFrom(clazz) && canWrite(mediaType);
     }
 
     // @Override since 4.2
     public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
-        return false;
+        return canWrite(type == null ? clazz : getJavaType(type, null).getRawClass(), mediaType);
+    }
+
+    /**
+     * Elements are written one by one, delimited according to the content type. Other than for reading, the content
+     * type has to be one of the streaming formats, since a plain JSON array can't be told apart from a single element.
+     */
+    boolean canWrite(@Nullable final MediaType mediaType) {
+        return mediaType != null
+                && STREAMING_MEDIA_TYPES.stream().anyMatch(type -> type.includes(mediaType))
+                && getSupportedMediaTypes().stream().anyMatch(type -> type.includes(mediaType));
     }
 
     @Override
-    public void write(final Stream<T> t, @Nullable final MediaType mediaType, final HttpOutputMessage message) {
-        throw new UnsupportedOperationException();
+    public void write(final Stream<T> t, @Nullable final MediaType mediaType, final HttpOutputMessage message)
+            throws IOException {
+        writeElements(t, mediaType, message);
     }
 
     // @Override since 4.2
     public void write(final Stream<T> t,
                       @Nullable final Type type,
                       @Nullable final MediaType mediaType,
-                      final HttpOutputMessage message) {
-        throw new UnsupportedOperationException();
+                      final HttpOutputMessage message) throws IOException {
+        write(t, mediaType, message);
+    }
+
+    /**
+     * Writes anything that the {@link ElementWriter element writer} supports, i.e. also the bodies of a
+     * {@link PublisherConverter publisher converter}.
+     */
+    void writeElements(final Object t, @Nullable final MediaType mediaType, final HttpOutputMessage message)
+            throws IOException {
+
+        final HttpHeaders headers = message.getHeaders();
+        @Nullable final MediaType contentType = mediaType == null ? headers.getContentType() : mediaType;
+
+        if (contentType == null || !canWrite(contentType)) {
+            throw new HttpMessageNotWritableException(
+                    "Could not write " + t.getClass().getName() + " as " + contentType);
+        }
+
+        if (headers.getContentType() == null) {
+            headers.setContentType(contentType);
+        }
+
+        final ElementWriter writer = new ElementWriter(mapper);
+
+        if (message instanceof StreamingHttpOutputMessage) {
+            // the content length is unknown up front, i.e. the body is sent using chunked transfer encoding
+            ((StreamingHttpOutputMessage) message).setBody(output -> writer.write(t, contentType, output));
+        } else {
+            writer.write(t, contentType, message.getBody());
+        }
     }
 
 }
@@ -0,0 +1,227 @@
+package org.zalando.riptide.stream;
+
+import com.google.common.math.LongMath;
+
+import javax.annotation.Nullable;
+import java.util.Spliterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+
+/**
+ * A {@link Flow.Publisher publisher} that decodes the elements of a streamed response body on demand. Elements are
+ * only read and decoded when requested, on the thread that {@link Flow.Subscription#request(long) requests} them,
+ * i.e. a slow subscriber applies backpressure all the way to the connection and no thread is occupied while there is
+ * no outstanding demand.
+ *
+ * The response body can only be consumed once, so there can only be a single subscriber. The underlying connection
+ * is released as soon as the stream completed, failed or was cancelled. Cancelling while another thread is blocked
+ * waiting for the next element releases it in the background, which unblocks that thread. A publisher that is never
+ * subscribed to has to be {@link #close() closed} instead.
+ */
+final class StreamPublisher<T> implements Flow.Publisher<T>, AutoCloseable {
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+    private final Stream<T> stream;
+
+    StreamPublisher(final Stream<T> stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        if (subscribed.compareAndSet(false, true)) {
+            final Subscription subscription = new Subscription(subscriber, stream.spliterator());
+            this.subscription.set(subscription);
+            subscriber.onSubscribe(subscription);
+        } else {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    // nothing to deliver
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to cancel
+                }
+            });
+            subscriber.onError(new IllegalStateException("Publisher only supports a single subscriber"));
+        }
+    }
+
+    /**
+     * Cancels the current subscription, if any, or releases the connection right away otherwise.
+     */
+    @Override
+    public void close() {
+        if (subscribed.compareAndSet(false, true)) {
+            stream.close();
+        } else {
+            @Nullable final Subscription subscription = this.subscription.get();
+
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * Guards {@link #drain()}, i.e. only one thread at a time reads from the stream and signals the subscriber.
+         */
+        private final AtomicInteger work = new AtomicInteger();
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Spliterator<T> spliterator;
+
+        private volatile boolean cancelled;
+
+        @Nullable
+        private volatile Throwable invalid;
+
+        private Subscription(final Flow.Subscriber<? super T> subscriber, final Spliterator<T> spliterator) {
+            this.subscriber = subscriber;
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalid = new IllegalArgumentException("Number of requested elements must be positive, but was " + n);
+            } else {
+                requested.getAndUpdate(current -> LongMath.saturatedAdd(current, n));
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+
+            if (work.get() != 0) {
+                // the draining thread might be blocked on an idle stream, which only releasing it interrupts
+                runAsync(this::release);
+            }
+
+            drain();
+        }
+
+        /**
+         * Delivers as many elements as requested. Signals that arrive while another thread (or a recursive call from
+         * within the subscriber) is draining are picked up by that thread before it returns. Once terminated, the work
+         * counter never drops back to zero, i.e. no further signals are delivered.
+         */
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                final long demand = requested.get();
+                long emitted = 0;
+
+                while (emitted != demand && !cancelled && invalid == null) {
+                    final boolean advanced;
+
+                    try {
+                        advanced = spliterator.tryAdvance(this::emit);
+                    } catch (final RuntimeException e) {
+                        if (cancelled) {
+                            // released by cancel() while reading, the subscriber isn't interested anymore
+                            release();
+                        } else {
+                            fail(e);
+                        }
+                        return;
+                    }
+
+                    if (!advanced) {
+                        if (cancelled) {
+                            release();
+                        } else {
+                            complete();
+                        }
+                        return;
+                    }
+
+                    emitted++;
+                }
+
+                if (cancelled) {
+                    release();
+                    return;
+                }
+
+                @Nullable final Throwable invalid = this.invalid;
+
+                if (invalid != null) {
+                    release();
+                    subscriber.onError(invalid);
+                    return;
+                }
+
+                if (demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit(@Nullable final T element) {
+            if (element == null) {
+                throw new NullPointerException("Stream contains null element");
+            }
+
+            subscriber.onNext(element);
+        }
+
+        private void complete() {
+            try {
+                stream.close();
+            } catch (final RuntimeException e) {
+                subscriber.onError(e);
+                return;
+            }
+
+            subscriber.onComplete();
+        }
+
+        private void fail(final RuntimeException e) {
+            try {
+                stream.close();
+            } catch (final RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            subscriber.onError(e);
+        }
+
+        /**
+         * Releases the connection without signalling the subscriber, e.g. after it cancelled.
+         */
+        private void release() {
+            try {
+                stream.close();
+            } catch (final RuntimeException ignored) {
+                // the subscriber isn't interested in anything anymore
+            }
+        }
+
+    }
+
+}
@@ -9,8 +9,10 @@ import tools.jackson.databind.json.JsonMapper;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 /**
@@ -86,6 +88,93 @@ public final class Streams {
         return streamType.where(elementType, type);
     }
 
+    /**
+     * Creates specialized {@link Flow.Publisher publisher} {@link TypeToken type token} for the given element
+     * {@link Class class type}. Requires the {@link #publisherConverter() publisher converter}. Other than a
+     * {@link Stream stream}, a publisher only reads and decodes elements as they are requested by its subscriber:
+     *
+     * <pre>
+     *     on(...).call(publisherOf(Result.class), publisher -&gt; Flux.from(FlowAdapters.toPublisher(publisher))...)
+     * </pre>
+     *
+     * The publisher supports a single subscriber. It releases the connection after it completed, failed or was
+     * cancelled. A publisher that is never subscribed to has to be closed.
+     *
+     * @param <T> generic publisher element type
+     * @param type element class type.
+     * @return publisher token type.
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> TypeToken<Flow.Publisher<T>> publisherOf(final Class<T> type) {
+        return publisherOf(TypeToken.of(type));
+    }
+
+    /**
+     * Creates specialized {@link Flow.Publisher publisher} {@link TypeToken type token} for the given element
+     * {@link TypeToken type token}.
+     *
+     * @param <T> generic publisher element type
+     * @param type element token type.
+     * @return publisher token type.
+     * @see #publisherOf(Class)
+     */
+    @API(status = EXPERIMENTAL)
+    @SuppressWarnings("serial")
+    public static <T> TypeToken<Flow.Publisher<T>> publisherOf(final TypeToken<T> type) {
+        final TypeToken<Flow.Publisher<T>> publisherType = new TypeToken<Flow.Publisher<T>>() {
+            // no overriding needed.
+        };
+
+        final TypeParameter<T> elementType = new TypeParameter<T>() {
+            // no overriding needed.
+        };
+
+        return publisherType.where(elementType, type);
+    }
+
+    /**
+     * Creates specialized stream {@link TypeToken type token} of {@link Event server-sent events} for the given data
+     * {@link Class class type}. Requires the {@link #eventStreamConverter() event stream converter}. Used to declare
+     * the expected {@code text/event-stream} response in Riptide route as follows:
+     *
+     * <pre>
+     *     on(...).call(eventsOf(Notification.class), forEach(event -&gt; ...))
+     * </pre>
+     *
+     * Use an {@link EventSource event source} to reconnect automatically.
+     *
+     * @param <T> generic event data type
+     * @param type data class type.
+     * @return event stream token type.
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> TypeToken<Stream<Event<T>>> eventsOf(final Class<T> type) {
+        return eventsOf(TypeToken.of(type));
+    }
+
+    /**
+     * Creates specialized stream {@link TypeToken type token} of {@link Event server-sent events} for the given data
+     * {@link TypeToken type token}.
+     *
+     * @param <T> generic event data type
+     * @param type data token type.
+     * @return event stream token type.
+     * @see #eventsOf(Class)
+     */
+    @API(status = EXPERIMENTAL)
+    @SuppressWarnings("serial")
+    public static <T> TypeToken<Stream<Event<T>>> eventsOf(final TypeToken<T> type) {
+        final TypeToken<Event<T>> eventType = new TypeToken<Event<T>>() {
+            // no overriding needed.
+        };
+
+        final TypeParameter<T> dataType = new TypeParameter<T>() {
+            // no overriding needed.
+        };
+
+        return streamOf(eventType.where(dataType, type));
+    }
+
     /**
      * Creates {@link ThrowingConsumer stream consumer} for given {@link ThrowingConsumer element consumer}. Commonly
      * used to wrap a single entity consumer function in a stream consumer function as follows:
@@ -135,6 +224,21 @@ public final class Streams {
                 APPLICATION_JSON_SEQ, APPLICATION_STREAM_JSON, APPLICATION_X_JSON_STREAM));
     }
 
+    /**
+     * Create stream converter with custom {@link JsonMapper object mapper}, that decodes stream elements in parallel.
+     *
+     * @param <T> generic stream element type
+     * @param mapper custom {@link JsonMapper object mapper}.
+     * @param decoding the executor and parallelism used to decode elements.
+     * @return stream converter that decodes elements in parallel.
+     * @see ParallelDecoding
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> StreamConverter<T> streamConverter(final JsonMapper mapper, final ParallelDecoding decoding) {
+        return streamConverter(mapper, Arrays.asList(
+                APPLICATION_JSON_SEQ, APPLICATION_STREAM_JSON, APPLICATION_X_JSON_STREAM), decoding);
+    }
+
     /**
      * Create stream converter with custom {@link JsonMapper object mapper}, and custom list of
      * {@link MediaType supported media types}.
@@ -149,4 +253,80 @@ public final class Streams {
             final List<MediaType> supportedMediaTypes) {
         return new StreamConverter(mapper, supportedMediaTypes);
     }
+
+    /**
+     * Create stream converter with custom {@link JsonMapper object mapper}, and custom list of
+     * {@link MediaType supported media types}, that decodes stream elements in parallel.
+     *
+     * @param <T> generic stream element type
+     * @param mapper custom {@link JsonMapper object mapper}.
+     * @param supportedMediaTypes custom list of {@link MediaType media types}.
+     * @param decoding the executor and parallelism used to decode elements.
+     * @return stream converter that decodes elements in parallel.
+     * @see ParallelDecoding
+     */
+    @API(status = EXPERIMENTAL)
+    @SuppressWarnings("unchecked")
+    public static <T> StreamConverter<T> streamConverter(final JsonMapper mapper,
+            final List<MediaType> supportedMediaTypes, final ParallelDecoding decoding) {
+        return new StreamConverter(mapper, supportedMediaTypes, decoding);
+    }
+
+    /**
+     * Create default publisher converter.
+     *
+     * @param <T> generic publisher element type
+     * @return default publisher converter.
+     * @see #publisherConverter(StreamConverter)
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> PublisherConverter<T> publisherConverter() {
+        return publisherConverter(streamConverter());
+    }
+
+    /**
+     * Create publisher converter that reads {@link #publisherOf(Class) publishers} and writes
+     * {@link Flow.Publisher publishers} and {@link java.util.Iterator iterators}, using the same
+     * {@link JsonMapper object mapper}, {@link MediaType media types} and {@link ParallelDecoding decoding} as the
+     * given {@link StreamConverter stream converter}:
+     *
+     * <pre>
+     *     StreamConverter&lt;Object&gt; converter = streamConverter(mapper);
+     *     Http.builder().converter(converter).converter(publisherConverter(converter))...
+     * </pre>
+     *
+     * @param <T> generic publisher element type
+     * @param converter the stream converter to delegate to.
+     * @return publisher converter.
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> PublisherConverter<T> publisherConverter(final StreamConverter<T> converter) {
+        return new PublisherConverter<>(converter);
+    }
+
+    /**
+     * Create default {@code text/event-stream} converter.
+     *
+     * @param <T> generic event data type
+     * @return default event stream converter.
+     * @see #eventsOf(Class)
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> EventStreamConverter<T> eventStreamConverter() {
+        return eventStreamConverter(new JsonMapper());
+    }
+
+    /**
+     * Create {@code text/event-stream} converter with custom {@link JsonMapper object mapper}, used to decode the data
+     * of every event.
+     *
+     * @param <T> generic event data type
+     * @param mapper custom {@link JsonMapper object mapper}.
+     * @return event stream converter with custom object mapper.
+     * @see #eventsOf(Class)
+     */
+    @API(status = EXPERIMENTAL)
+    public static <T> EventStreamConverter<T> eventStreamConverter(final JsonMapper mapper) {
+        return new EventStreamConverter<>(mapper);
+    }
 }
@@ -0,0 +1,117 @@
+package org.zalando.riptide.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class EventParserTest {
+
+    @Test
+    void shouldParseEvents() throws IOException {
+        assertThat(parse("data: first\n\nevent: update\nid: 1\ndata: second\n\n"), contains(
+                new Event<>(null, "message", "first"),
+                new Event<>("1", "update", "second")));
+    }
+
+    @Test
+    void shouldJoinDataLines() throws IOException {
+        assertThat(parse("data: {\ndata:  \"a\": 1\ndata\ndata: }\n\n"), contains(
+                new Event<>(null, "message", "{\n \"a\": 1\n\n}")));
+    }
+
+    @Test
+    void shouldSupportAllLineTerminators() throws IOException {
+        assertThat(parse("data: a\r\n\r\ndata: b\r\rdata: c\n\n"), contains(
+                new Event<>(null, "message", "a"),
+                new Event<>(null, "message", "b"),
+                new Event<>(null, "message", "c")));
+    }
+
+    @Test
+    void shouldIgnoreCommentsAndUnknownFields() throws IOException {
+        assertThat(parse(": heartbeat\n\nfoo: bar\ndata: a\n: comment\n\n"), contains(
+                new Event<>(null, "message", "a")));
+    }
+
+    @Test
+    void shouldNotDispatchEventsWithoutData() throws IOException {
+        assertThat(parse("event: update\nid: 1\n\n"), is(empty()));
+    }
+
+    @Test
+    void shouldRetainLastEventId() throws IOException {
+        final EventParser unit = parser("id: 1\ndata: a\n\ndata: b\n\nid: 2\n\nid\ndata: c\n\nid: 3\u0000\n\n");
+
+        assertThat(unit.next(), is(new Event<>("1", "message", "a")));
+        assertThat(unit.next(), is(new Event<>("1", "message", "b")));
+        assertThat(unit.next(), is(new Event<>(null, "message", "c")));
+        assertThat(unit.next(), is(nullValue()));
+        assertThat(unit.getLastEventId(), is(nullValue()));
+    }
+
+    @Test
+    void shouldParseRetry() throws IOException {
+        final EventParser unit = parser("retry: 1500\n\nretry: soon\n\nretry: -1\n\nretry: 99999999999999999999\n\n");
+
+        assertThat(unit.next(), is(nullValue()));
+        assertThat(unit.getRetry(), is(Duration.ofMillis(1500)));
+    }
+
+    @Test
+    void shouldDiscardIncompleteEvent() throws IOException {
+        final EventParser unit = parser("id: 1\ndata: a\n\nid: 2\ndata: b\n");
+
+        assertThat(unit.next(), is(new Event<>("1", "message", "a")));
+        assertThat(unit.next(), is(nullValue()));
+        assertThat(unit.getLastEventId(), is("1"));
+    }
+
+    @Test
+    void shouldUpdateLastEventIdOnlyWhenDispatching() throws IOException {
+        final EventParser unit = parser("id: 1\ndata: a\n\nid: 2\n\nid: 3\ndata: b\n");
+
+        assertThat(unit.next(), is(new Event<>("1", "message", "a")));
+        assertThat(unit.getLastEventId(), is("1"));
+        assertThat(unit.next(), is(nullValue()));
+        assertThat(unit.getLastEventId(), is("2"));
+    }
+
+    @Test
+    void shouldSkipByteOrderMark() throws IOException {
+        assertThat(parse("\uFEFFdata: a\n\n"), contains(new Event<>(null, "message", "a")));
+    }
+
+    @Test
+    void shouldParseLongLines() throws IOException {
+        final String data = "x".repeat(20_000);
+        assertThat(parse("data: " + data + "\n\n"), contains(new Event<>(null, "message", data)));
+    }
+
+    private static List<Event<String>> parse(final String stream) throws IOException {
+        final EventParser unit = parser(stream);
+        final List<Event<String>> events = new ArrayList<>();
+
+        Event<String> event;
+        while ((event = unit.next()) != null) {
+            events.add(event);
+        }
+
+        return events;
+    }
+
+    private static EventParser parser(final String stream) {
+        return new EventParser(new ByteArrayInputStream(stream.getBytes(UTF_8)));
+    }
+
+}
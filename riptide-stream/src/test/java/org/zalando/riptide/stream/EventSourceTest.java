@@ -0,0 +1,250 @@
+package org.zalando.riptide.stream;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.UnexpectedResponseException;
+import org.zalando.riptide.httpclient.ApacheAsyncIO;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AT_START;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.zalando.riptide.stream.EventSource.LAST_EVENT_ID;
+import static org.zalando.riptide.stream.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.stream.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.stream.MockWebServerUtil.getRecordedRequest;
+import static org.zalando.riptide.stream.MockWebServerUtil.jsonMockResponse;
+
+final class EventSourceTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    // closing a response aborts it, rather than draining the remainder of an endless stream
+    private final ApacheAsyncIO io = new ApacheAsyncIO(HttpAsyncClients.createDefault(), executor);
+
+    private final List<CompletableFuture<ClientHttpResponse>> exchanges = new CopyOnWriteArrayList<>();
+
+    private final Http http = Http.builder()
+            .io(arguments -> {
+                // spies on responses, to verify that they are closed
+                final CompletableFuture<ClientHttpResponse> exchange =
+                        io.execute(arguments).thenApply(Mockito::spy);
+                exchanges.add(exchange);
+                return exchange;
+            })
+            .baseUrl(getBaseUrl(server))
+            .build();
+
+    private final URI uri = URI.create(getBaseUrl(server) + "/events");
+
+    private final EventSource unit = new EventSource(http)
+            .withRetry(Duration.ZERO);
+
+    private final List<Event<String>> events = new CopyOnWriteArrayList<>();
+
+    @SneakyThrows
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+        io.destroy();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldReconnectWithLastEventId() {
+        server.enqueue(eventStreamResponse("retry: 10\nid: 1\ndata: a\n\n"));
+        server.enqueue(eventStreamResponse("id: 2\ndata: b\n\n"));
+        server.enqueue(emptyMockResponse());
+
+        unit.withRetry(Duration.ofMinutes(1)).subscribe(uri, String.class, events::add).join();
+
+        assertThat(events, contains(
+                new Event<>("1", "message", "a"),
+                new Event<>("2", "message", "b")));
+
+        final RecordedRequest first = getRecordedRequest(server);
+        assertThat(first.getHeader(ACCEPT), is("text/event-stream"));
+        assertThat(first.getHeader(LAST_EVENT_ID), is(nullValue()));
+        assertThat(getRecordedRequest(server).getHeader(LAST_EVENT_ID), is("1"));
+        assertThat(getRecordedRequest(server).getHeader(LAST_EVENT_ID), is("2"));
+    }
+
+    @Test
+    void shouldReconnectAfterNetworkFailure() {
+        server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AT_START));
+        server.enqueue(eventStreamResponse("data: a\n\n"));
+        server.enqueue(emptyMockResponse());
+
+        unit.subscribe(uri, String.class, events::add).join();
+
+        assertThat(events, contains(new Event<>(null, "message", "a")));
+        assertThat(server.getRequestCount(), is(3));
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxReconnects() {
+        server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AT_START));
+
+        final CompletableFuture<Void> future = unit.withMaxReconnects(2)
+                .subscribe(uri, String.class, events::add);
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+        assertThat(server.getRequestCount(), is(3));
+    }
+
+    @Test
+    void shouldCompleteWhenStreamEndsWithoutReconnects() {
+        server.enqueue(eventStreamResponse("data: a\n\n"));
+
+        unit.withMaxReconnects(0).subscribe(uri, String.class, events::add).join();
+
+        assertThat(events, contains(new Event<>(null, "message", "a")));
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test
+    void shouldFailOnUnexpectedStatus() {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.subscribe(uri, String.class, events::add)::join);
+
+        assertThat(exception.getCause(), is(instanceOf(UnexpectedResponseException.class)));
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test
+    void shouldFailOnUnexpectedContentType() {
+        server.enqueue(jsonMockResponse("{}"));
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.subscribe(uri, String.class, events::add)::join);
+
+        assertThat(exception.getCause(), is(instanceOf(UnexpectedResponseException.class)));
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test
+    void shouldFailIfConsumerFails() {
+        server.enqueue(eventStreamResponse("data: a\n\ndata: b\n\n"));
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.subscribe(uri, String.class, event -> {
+                    events.add(event);
+                    throw new IllegalStateException();
+                })::join);
+
+        assertThat(exception.getCause(), is(instanceOf(IllegalStateException.class)));
+        assertThat(events, contains(new Event<>(null, "message", "a")));
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test
+    void shouldStopOnCancel() throws InterruptedException {
+        server.enqueue(eventStreamResponse("data: tick\n\n".repeat(10_000))
+                .throttleBody(64, 1, SECONDS));
+
+        final CountDownLatch received = new CountDownLatch(1);
+
+        final CompletableFuture<Void> future = unit.subscribe(uri, String.class, event -> received.countDown());
+
+        assertTrue(received.await(5, SECONDS));
+        future.cancel(true);
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, SECONDS));
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test
+    void shouldCloseResponseThatArrivesAfterCancelling() throws Exception {
+        server.enqueue(eventStreamResponse("data: a\n\n")
+                .setHeadersDelay(500, MILLISECONDS));
+
+        final CompletableFuture<Void> future = unit.subscribe(uri, String.class, events::add);
+
+        assertThat(getRecordedRequest(server), is(notNullValue()));
+        future.cancel(true);
+
+        assertThat(exchanges, hasSize(1));
+        verify(exchanges.get(0).get(5, SECONDS), timeout(5_000).atLeastOnce()).close();
+        assertThat(events, is(empty()));
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test
+    void shouldNotBlockCancellingThread() throws Exception {
+        server.enqueue(eventStreamResponse("data: tick\n\n".repeat(10_000))
+                .throttleBody(64, 1, SECONDS));
+
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            // closing a response of the blocking client reads the remainder of the endless stream
+            final Http http = Http.builder()
+                    .executor(executor)
+                    .requestFactory(new ApacheClientHttpRequestFactory(client))
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            final CountDownLatch received = new CountDownLatch(1);
+
+            final CompletableFuture<Void> future = new EventSource(http)
+                    .subscribe(uri, String.class, event -> received.countDown());
+
+            assertTrue(received.await(5, SECONDS));
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> future.cancel(true));
+            assertTrue(future.isCancelled());
+
+            // ends the stream, which is still being read in the background
+            server.shutdown();
+        }
+    }
+
+    private static MockResponse eventStreamResponse(final String body) {
+        return new MockResponse()
+                .setBody(body)
+                .setHeader(CONTENT_TYPE, "text/event-stream");
+    }
+
+}
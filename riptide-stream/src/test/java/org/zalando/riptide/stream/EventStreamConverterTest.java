@@ -0,0 +1,122 @@
+package org.zalando.riptide.stream;
+
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.zalando.riptide.Http;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.stream.Streams.eventStreamConverter;
+import static org.zalando.riptide.stream.Streams.eventsOf;
+import static org.zalando.riptide.stream.Streams.forEach;
+import static org.zalando.riptide.stream.Streams.streamOf;
+
+final class EventStreamConverterTest {
+
+    private final MockRestServiceServer server;
+    private final Http http;
+
+    EventStreamConverterTest() {
+        final MockSetup setup = new MockSetup("https://api.example.com", singletonList(eventStreamConverter()));
+        this.server = setup.getServer();
+        this.http = setup.getRest();
+    }
+
+    @Test
+    void shouldSupportRead() {
+        final EventStreamConverter<Object> unit = eventStreamConverter(new JsonMapper());
+
+        assertTrue(unit.canRead(eventsOf(AccountBody.class).getType(), null, TEXT_EVENT_STREAM));
+        assertTrue(unit.canRead(eventsOf(AccountBody.class).getType(), null, null));
+        assertTrue(unit.canRead(Streams.publisherOf(new TypeToken<Event<String>>() {
+        }).getType(), null, TEXT_EVENT_STREAM));
+
+        assertFalse(unit.canRead(eventsOf(AccountBody.class).getType(), null, APPLICATION_JSON));
+        assertFalse(unit.canRead(streamOf(AccountBody.class).getType(), null, TEXT_EVENT_STREAM));
+        assertFalse(unit.canRead(Event.class, TEXT_EVENT_STREAM));
+        assertFalse(unit.canWrite(Event.class, TEXT_EVENT_STREAM));
+    }
+
+    @Test
+    void shouldReadEvents() {
+        server.expect(requestTo("https://api.example.com/accounts")).andRespond(withSuccess()
+                .body("""
+                        : connected
+
+                        id: 1
+                        event: created
+                        data: {"id": "1234567890", "name": "Acme Corporation"}
+
+                        id: 2
+                        event: updated
+                        data: {"id": "1234567890",
+                        data:  "name": "Acme GmbH"}
+
+                        """)
+                .contentType(TEXT_EVENT_STREAM));
+
+        final List<Event<AccountBody>> events = new ArrayList<>();
+
+        http.get("/accounts")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(eventsOf(AccountBody.class), forEach(events::add)))
+                .join();
+
+        assertThat(events, contains(
+                new Event<>("1", "created", new AccountBody("1234567890", "Acme Corporation")),
+                new Event<>("2", "updated", new AccountBody("1234567890", "Acme GmbH"))));
+    }
+
+    @Test
+    void shouldReadRawData() {
+        server.expect(requestTo("https://api.example.com/ticks")).andRespond(withSuccess()
+                .body("data: tick\n\ndata: tock\n\n")
+                .contentType(TEXT_EVENT_STREAM));
+
+        final List<String> data = new ArrayList<>();
+
+        http.get("/ticks")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(eventsOf(String.class), forEach(event -> data.add(event.getData()))))
+                .join();
+
+        assertThat(data, contains("tick", "tock"));
+    }
+
+    @Test
+    void shouldFailOnInvalidData() {
+        server.expect(requestTo("https://api.example.com/accounts")).andRespond(withSuccess()
+                .body("data: {\"id\":\n\n")
+                .contentType(TEXT_EVENT_STREAM));
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                http.get("/accounts")
+                        .dispatch(series(),
+                                on(SUCCESSFUL).call(eventsOf(AccountBody.class), forEach(event -> {
+                                })))
+                        .join());
+
+        assertThat(exception.getCause(), is(instanceOf(JacksonException.class)));
+    }
+
+}
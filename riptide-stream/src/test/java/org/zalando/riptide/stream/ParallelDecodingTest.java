@@ -0,0 +1,156 @@
+package org.zalando.riptide.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.zalando.riptide.Http;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.stream.Streams.APPLICATION_JSON_SEQ;
+import static org.zalando.riptide.stream.Streams.APPLICATION_X_JSON_STREAM;
+import static org.zalando.riptide.stream.Streams.forEach;
+import static org.zalando.riptide.stream.Streams.streamConverter;
+import static org.zalando.riptide.stream.Streams.streamOf;
+
+final class ParallelDecodingTest {
+
+    private static final String URL = "https://api.example.com/accounts";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldDecodeArrayElementsInOrder() {
+        final List<AccountBody> accounts = new CopyOnWriteArrayList<>();
+
+        setup(ParallelDecoding.of(executor, 2), "account-list.json", APPLICATION_X_JSON_STREAM,
+                http -> http.get("/accounts").dispatch(series(),
+                        on(SUCCESSFUL).call(streamOf(AccountBody.class), forEach(accounts::add))));
+
+        assertThat(accounts, contains(
+                new AccountBody("1234567890", "Acme Corporation"),
+                new AccountBody("1234567891", "Acme Company"),
+                new AccountBody("1234567892", "Acme GmbH"),
+                new AccountBody("1234567893", "Acme SE")));
+    }
+
+    @Test
+    void shouldDecodeJsonSequenceUnordered() {
+        final List<AccountBody> accounts = new CopyOnWriteArrayList<>();
+
+        setup(ParallelDecoding.of(executor, 4).unordered(), "account-sequence.json", APPLICATION_JSON_SEQ,
+                http -> http.get("/accounts").dispatch(series(),
+                        on(SUCCESSFUL).call(streamOf(AccountBody.class), forEach(accounts::add))));
+
+        assertThat(accounts, containsInAnyOrder(
+                new AccountBody("1234567890", "Acme Corporation"),
+                new AccountBody("1234567891", "Acme Company"),
+                new AccountBody("1234567892", "Acme GmbH"),
+                new AccountBody("1234567893", "Acme SE")));
+    }
+
+    @Test
+    void shouldDecodeInParallelStream() {
+        final String body = IntStream.range(0, 1000)
+                .mapToObj(i -> "{\"id\":\"" + i + "\",\"name\":\"Account " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        final AtomicReference<List<String>> ids = new AtomicReference<>();
+
+        final MockSetup setup = new MockSetup("https://api.example.com",
+                singletonList(streamConverter(new JsonMapper(), ParallelDecoding.of(executor, 4))));
+        setup.getServer().expect(requestTo(URL)).andRespond(withSuccess()
+                .body(new InputStreamResource(new ByteArrayInputStream(body.getBytes(UTF_8))))
+                .contentType(APPLICATION_X_JSON_STREAM));
+
+        setup.getRest().get("/accounts")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(streamOf(AccountBody.class), (Stream<AccountBody> stream) -> {
+                            try (stream) {
+                                ids.set(stream.parallel().map(AccountBody::getId).toList());
+                            }
+                        }))
+                .join();
+
+        assertThat(ids.get(), is(IntStream.range(0, 1000).mapToObj(String::valueOf).toList()));
+    }
+
+    @Test
+    void shouldFailOnInvalidRecord() {
+        final List<AccountBody> accounts = new CopyOnWriteArrayList<>();
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                setup(ParallelDecoding.of(executor, 2), "account-fail.json", APPLICATION_X_JSON_STREAM,
+                        http -> http.get("/accounts").dispatch(series(),
+                                on(SUCCESSFUL).call(streamOf(AccountBody.class), forEach(accounts::add)))));
+
+        assertThat(exception.getCause(), is(instanceOf(UncheckedIOException.class)));
+        assertThat(accounts, contains(new AccountBody("1234567890", "Acme Corporation")));
+    }
+
+    @Test
+    void shouldFailOnMalformedRecord() {
+        final MockSetup setup = new MockSetup("https://api.example.com",
+                singletonList(streamConverter(new JsonMapper(), ParallelDecoding.of(executor, 2))));
+        setup.getServer().expect(requestTo(URL)).andRespond(withSuccess()
+                .body("{\"id\":\"1\"}\n{\"id\":}\n")
+                .contentType(APPLICATION_X_JSON_STREAM));
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                setup.getRest().get("/accounts").dispatch(series(),
+                        on(SUCCESSFUL).call(streamOf(AccountBody.class), forEach(account -> {})))
+                        .join());
+
+        assertThat(exception.getCause(), is(instanceOf(StreamReadException.class)));
+    }
+
+    private void setup(final ParallelDecoding decoding, final String resource, final MediaType contentType,
+            final Function<Http, CompletableFuture<?>> request) {
+
+        final MockSetup setup = new MockSetup("https://api.example.com",
+                singletonList(streamConverter(new JsonMapper(), decoding)));
+        final MockRestServiceServer server = setup.getServer();
+
+        server.expect(requestTo(URL)).andRespond(withSuccess()
+                .body(new ClassPathResource(resource))
+                .contentType(contentType));
+
+        request.apply(setup.getRest()).join();
+    }
+
+}
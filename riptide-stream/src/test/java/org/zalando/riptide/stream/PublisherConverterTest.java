@@ -0,0 +1,145 @@
+package org.zalando.riptide.stream;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_XML;
+import static org.zalando.riptide.stream.Streams.APPLICATION_JSON_SEQ;
+import static org.zalando.riptide.stream.Streams.APPLICATION_X_JSON_STREAM;
+import static org.zalando.riptide.stream.Streams.publisherConverter;
+import static org.zalando.riptide.stream.Streams.streamConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.json.JsonMapper;
+
+final class PublisherConverterTest {
+
+    private final HttpMessageConverter<Object> unit = publisherConverter();
+
+    @Test
+    void shouldSupportMediaTypesOfStreamConverter() {
+        final List<MediaType> medias = unit.getSupportedMediaTypes();
+        assertThat(medias, hasItem(APPLICATION_X_JSON_STREAM));
+        assertThat(medias, hasItem(APPLICATION_JSON_SEQ));
+    }
+
+    @Test
+    void shouldSupportReadGeneric() {
+        final PublisherConverter<Object> unit = publisherConverter(streamConverter(
+            new JsonMapper(),
+            singletonList(APPLICATION_X_JSON_STREAM)
+        ));
+
+        assertFalse(unit.canRead(Flow.Publisher.class, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canRead(Streams.streamOf(AccountBody.class).getType(), getClass(), null));
+        assertFalse(unit.canRead(Streams.publisherOf(AccountBody.class).getType(), getClass(), APPLICATION_XML));
+
+        assertTrue(unit.canRead(Streams.publisherOf(AccountBody.class).getType(), getClass(), null));
+        assertTrue(unit.canRead(Streams.publisherOf(AccountBody.class).getType(), getClass(),
+                APPLICATION_X_JSON_STREAM));
+    }
+
+    @Test
+    void shouldReadPublisher() throws Exception {
+        final Type type = Streams.publisherOf(AccountBody.class).getType();
+        final PublisherConverter<AccountBody> unit = publisherConverter();
+        final HttpInputMessage input = mock(HttpInputMessage.class);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_X_JSON_STREAM);
+        when(input.getHeaders()).thenReturn(headers);
+        when(input.getBody()).thenReturn(new ClassPathResource("account-stream.json").getInputStream());
+
+        final Flow.Publisher<AccountBody> publisher = unit.read(type, null, input);
+        assertThat(publisher, is(instanceOf(AutoCloseable.class)));
+
+        final List<AccountBody> accounts = new ArrayList<>();
+
+        try (PublisherIterator<AccountBody> iterator = new PublisherIterator<>(publisher)) {
+            iterator.forEachRemaining(accounts::add);
+        }
+
+        assertThat(accounts, contains(
+                new AccountBody("1234567890", "Acme Corporation"),
+                new AccountBody("1234567891", "Acme Company"),
+                new AccountBody("1234567892", "Acme GmbH"),
+                new AccountBody("1234567893", "Acme SE")));
+    }
+
+    @Test
+    void shouldSupportWrite() {
+        assertFalse(unit.canWrite(AccountBody.class, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canWrite(Stream.class, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canWrite(SubmissionPublisher.class, APPLICATION_JSON));
+        assertFalse(unit.canWrite(SubmissionPublisher.class, null));
+
+        assertTrue(unit.canWrite(List.of(1).iterator().getClass(), APPLICATION_JSON_SEQ));
+        assertTrue(unit.canWrite(SubmissionPublisher.class, APPLICATION_X_JSON_STREAM));
+    }
+
+    @Test
+    void shouldWriteIteratorAsSequence() throws IOException {
+        final MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        unit.write(List.of(1, "two", List.of(3)).iterator(), APPLICATION_JSON_SEQ, output);
+
+        assertThat(output.getHeaders().getContentType(), is(APPLICATION_JSON_SEQ));
+        assertThat(output.getBodyAsString(), is("\u001e1\n\u001e\"two\"\n\u001e[3]\n"));
+    }
+
+    @Test
+    void shouldWritePublisher() throws IOException {
+        final MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        final List<Integer> elements = IntStream.range(0, 100).boxed().toList();
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+                executor.submit(() -> {
+                    // waits for the writer to subscribe
+                    while (!publisher.hasSubscribers()) {
+                        Thread.onSpinWait();
+                    }
+                    elements.forEach(publisher::submit);
+                    publisher.close();
+                });
+
+                unit.write(publisher, APPLICATION_X_JSON_STREAM, output);
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        assertThat(output.getBodyAsString(), is(elements.stream()
+                .map(element -> element + "\n")
+                .collect(Collectors.joining())));
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.zalando.riptide.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.zalando.riptide.stream.PublisherIterator.PREFETCH;
+
+final class PublisherIteratorTest {
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    @Test
+    void shouldBoundDemand() {
+        final List<Flow.Subscriber<? super Integer>> subscribers = new ArrayList<>();
+        final PublisherIterator<Integer> unit = new PublisherIterator<>(subscriber -> {
+            subscribers.add(subscriber);
+            subscriber.onSubscribe(subscription());
+        });
+
+        assertThat(requested.get(), is((long) PREFETCH));
+
+        IntStream.range(0, PREFETCH).forEach(subscribers.get(0)::onNext);
+
+        assertThat(unit.next(), is(0));
+        assertThat(requested.get(), is((long) PREFETCH + 1));
+        assertTrue(unit.isReady());
+    }
+
+    @Test
+    void shouldIterateUntilComplete() {
+        final PublisherIterator<Integer> unit = new PublisherIterator<>(subscriber -> {
+            subscriber.onSubscribe(subscription());
+            subscriber.onNext(1);
+            subscriber.onNext(2);
+            subscriber.onComplete();
+        });
+
+        final List<Integer> elements = new ArrayList<>();
+        unit.forEachRemaining(elements::add);
+
+        assertThat(elements, contains(1, 2));
+        assertFalse(unit.hasNext());
+
+        unit.close();
+        assertFalse(cancelled.get());
+    }
+
+    @Test
+    void shouldPropagateErrors() {
+        final PublisherIterator<Integer> unit = new PublisherIterator<>(subscriber -> {
+            subscriber.onSubscribe(subscription());
+            subscriber.onNext(1);
+            subscriber.onError(new IOException("Connection reset"));
+        });
+
+        assertThat(unit.next(), is(1));
+        assertThrows(UncheckedIOException.class, unit::hasNext);
+    }
+
+    @Test
+    void shouldCancelOnClose() {
+        final PublisherIterator<Integer> unit = new PublisherIterator<>(subscriber -> {
+            subscriber.onSubscribe(subscription());
+            subscriber.onNext(1);
+        });
+
+        assertThat(unit.next(), is(1));
+        assertFalse(unit.isReady());
+
+        unit.close();
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void shouldFailOnInterrupt() {
+        final PublisherIterator<Integer> unit = new PublisherIterator<>(subscriber ->
+                subscriber.onSubscribe(subscription()));
+
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThrows(UncheckedIOException.class, unit::hasNext);
+            assertTrue(cancelled.get());
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    private Flow.Subscription subscription() {
+        return new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        };
+    }
+
+}
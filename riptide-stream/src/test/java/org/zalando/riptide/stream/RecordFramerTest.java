@@ -0,0 +1,83 @@
+package org.zalando.riptide.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class RecordFramerTest {
+
+    @Test
+    void shouldUnwrapArrayElements() throws IOException {
+        assertThat(frame("[{\"a\":1}, {\"b\":[2,3]} ,\n4, \"x\",null]", true),
+                contains("{\"a\":1}", "{\"b\":[2,3]}", "4", "\"x\"", "null"));
+    }
+
+    @Test
+    void shouldNotUnwrapArraysIfNotRequested() throws IOException {
+        assertThat(frame("[1,2]\n[3]", false), contains("[1,2]", "[3]"));
+    }
+
+    @Test
+    void shouldFrameNewlineDelimitedValues() throws IOException {
+        assertThat(frame("{\"a\":1}\n{\"b\":2}\r\n\n{\"c\":3}", true),
+                contains("{\"a\":1}", "{\"b\":2}", "{\"c\":3}"));
+    }
+
+    @Test
+    void shouldFrameJsonSequences() throws IOException {
+        assertThat(frame("\u001e{\"a\":1}\n\u001e{\"b\":2}\n\u001e42\n", true),
+                contains("{\"a\":1}", "{\"b\":2}", "42"));
+    }
+
+    @Test
+    void shouldIgnoreBracesAndQuotesInStrings() throws IOException {
+        assertThat(frame("[{\"a\":\"}]{[\\\"\\\\\"},{\"b\":\"\"}]", true),
+                contains("{\"a\":\"}]{[\\\"\\\\\"}", "{\"b\":\"\"}"));
+    }
+
+    @Test
+    void shouldFrameRecordsLargerThanBuffer() throws IOException {
+        final String large = "{\"a\":\"" + "x".repeat(20_000) + "\"}";
+        assertThat(frame(large + "\n" + large, true), contains(large, large));
+    }
+
+    @Test
+    void shouldFrameEmptyStreams() throws IOException {
+        assertThat(frame("", true), empty());
+        assertThat(frame("[]", true), empty());
+        assertThat(frame(" \n ", true), empty());
+    }
+
+    @Test
+    void shouldFailOnTruncatedRecord() {
+        assertThrows(EOFException.class, () -> frame("{\"a\":1}\n{\"b\":", true));
+    }
+
+    @Test
+    void shouldFailOnTruncatedArray() {
+        assertThrows(EOFException.class, () -> frame("[{\"a\":1},", true));
+    }
+
+    private static List<String> frame(final String content, final boolean unwrap) throws IOException {
+        final RecordFramer unit = new RecordFramer(new ByteArrayInputStream(content.getBytes(UTF_8)), unwrap);
+        final List<String> records = new ArrayList<>();
+
+        byte[] record;
+        while ((record = unit.next()) != null) {
+            records.add(new String(record, UTF_8));
+        }
+
+        return records;
+    }
+
+}
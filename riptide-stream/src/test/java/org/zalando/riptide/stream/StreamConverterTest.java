@@ -1,5 +1,6 @@
 package org.zalando.riptide.stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
@@ -19,22 +20,31 @@ import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_XML;
 import static org.zalando.riptide.stream.Streams.APPLICATION_JSON_SEQ;
+import static org.zalando.riptide.stream.Streams.APPLICATION_STREAM_JSON;
 import static org.zalando.riptide.stream.Streams.APPLICATION_X_JSON_STREAM;
 import static org.zalando.riptide.stream.Streams.streamConverter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.zalando.riptide.Types;
 import tools.jackson.core.JsonParser;
 import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.type.TypeFactory;
@@ -81,18 +91,42 @@ final class StreamConverterTest {
         assertTrue(unit.canRead(Streams.streamOf(List[].class).getType(), getClass(), APPLICATION_X_JSON_STREAM));
         assertTrue(unit.canRead(Streams.streamOf(AccountBody.class).getType(), getClass(), null));
         assertTrue(unit.canRead(Streams.streamOf(AccountBody[].class).getType(), getClass(), null));
+        assertFalse(unit.canRead(Streams.publisherOf(AccountBody.class).getType(), getClass(), null));
     }
 
     @Test
-    void shouldNotSupportWrite() {
-        final HttpMessageConverter<Stream<AccountBody>> unit = streamConverter();
+    void shouldSupportWrite() {
+        final HttpMessageConverter<Stream<Object>> unit = streamConverter();
+
         assertFalse(unit.canWrite(AccountBody.class, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canWrite(List.class, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canWrite(Stream.class, APPLICATION_JSON));
+        assertFalse(unit.canWrite(Stream.class, null));
+
+        assertTrue(unit.canWrite(Stream.class, APPLICATION_X_JSON_STREAM));
+        assertTrue(unit.canWrite(Stream.of(1).getClass(), APPLICATION_STREAM_JSON));
+        assertFalse(unit.canWrite(List.of(1).iterator().getClass(), APPLICATION_JSON_SEQ));
+        assertFalse(unit.canWrite(SubmissionPublisher.class, APPLICATION_X_JSON_STREAM));
     }
 
     @Test
-    void shouldNotSupportWriteGeneric() {
+    void shouldNotWriteUnsupportedMediaTypes() {
+        final HttpMessageConverter<Stream<Object>> unit = streamConverter(
+            new JsonMapper(),
+            singletonList(APPLICATION_JSON)
+        );
+
+        assertFalse(unit.canWrite(Stream.class, APPLICATION_JSON));
+        assertFalse(unit.canWrite(Stream.class, APPLICATION_X_JSON_STREAM));
+    }
+
+    @Test
+    void shouldSupportWriteGeneric() {
         final StreamConverter<AccountBody> unit = streamConverter();
-        assertFalse(unit.canWrite(Streams.streamOf(AccountBody.class).getType(), null, APPLICATION_X_JSON_STREAM));
+
+        assertTrue(unit.canWrite(Streams.streamOf(AccountBody.class).getType(), null, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canWrite(Types.listOf(AccountBody.class).getType(), null, APPLICATION_X_JSON_STREAM));
+        assertFalse(unit.canWrite(Streams.streamOf(AccountBody.class).getType(), null, APPLICATION_XML));
     }
 
     private HttpInputMessage mockWithContentType(final MediaType mediaType) {
@@ -205,18 +239,70 @@ final class StreamConverterTest {
     }
 
     @Test
-    void writeNotSupported() {
-        final HttpMessageConverter<Stream<Object>> unit = streamConverter();
+    void shouldWriteStream() throws IOException {
+        final HttpMessageConverter<Stream<AccountBody>> unit = streamConverter();
+        final MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        unit.write(Stream.of(
+                new AccountBody("1234567890", "Acme Corporation"),
+                new AccountBody("1234567891", "Acme Company")), APPLICATION_X_JSON_STREAM, output);
 
-        assertThrows(UnsupportedOperationException.class, () ->
-                unit.write(null, APPLICATION_X_JSON_STREAM, null));
+        assertThat(output.getHeaders().getContentType(), is(APPLICATION_X_JSON_STREAM));
+        assertThat(output.getBodyAsString(), is(
+                "{\"id\":\"1234567890\",\"name\":\"Acme Corporation\"}\n" +
+                "{\"id\":\"1234567891\",\"name\":\"Acme Company\"}\n"));
     }
 
     @Test
-    void writeGenericNotSupported() {
-        final StreamConverter<AccountBody> unit = streamConverter();
+    void shouldCloseStreamAfterWriting() throws IOException {
+        final HttpMessageConverter<Stream<Integer>> unit = streamConverter();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        unit.write(Stream.of(1).onClose(() -> closed.set(true)), APPLICATION_X_JSON_STREAM,
+                new MockHttpOutputMessage());
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void shouldStreamBodyIfSupported() throws IOException {
+        final HttpMessageConverter<Stream<Integer>> unit = streamConverter();
+        final StreamingHttpOutputMessage output = mock(StreamingHttpOutputMessage.class);
+        final HttpHeaders headers = new HttpHeaders();
+        when(output.getHeaders()).thenReturn(headers);
+
+        unit.write(Stream.of(1, 2), APPLICATION_STREAM_JSON, output);
+
+        final ArgumentCaptor<StreamingHttpOutputMessage.Body> captor =
+                ArgumentCaptor.forClass(StreamingHttpOutputMessage.Body.class);
+        verify(output).setBody(captor.capture());
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        captor.getValue().writeTo(stream);
+
+        assertThat(stream.toString(UTF_8), is("1\n2\n"));
+        assertFalse(captor.getValue().repeatable());
+        assertThat(headers.getContentType(), is(APPLICATION_STREAM_JSON));
+        assertThat(headers.getContentLength(), is(-1L));
+    }
+
+    @Test
+    void shouldFailToWriteWithoutStreamingContentType() {
+        final HttpMessageConverter<Stream<Integer>> unit = streamConverter();
+
+        assertThrows(HttpMessageNotWritableException.class, () ->
+                unit.write(Stream.of(1), null, new MockHttpOutputMessage()));
+        assertThrows(HttpMessageNotWritableException.class, () ->
+                unit.write(Stream.of(1), APPLICATION_JSON, new MockHttpOutputMessage()));
+    }
+
+    @Test
+    void shouldWriteGeneric() throws IOException {
+        final StreamConverter<Integer> unit = streamConverter();
+        final MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        unit.write(Stream.of(1), Streams.streamOf(Integer.class).getType(), APPLICATION_X_JSON_STREAM, output);
 
-        assertThrows(UnsupportedOperationException.class, () ->
-                unit.write(null, Streams.streamOf(AccountBody.class).getType(), APPLICATION_X_JSON_STREAM, null));
+        assertThat(output.getBodyAsString(), is("1\n"));
     }
 }
@@ -4,11 +4,15 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import lombok.SneakyThrows;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
@@ -17,14 +21,18 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NON_PRIVATE;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
@@ -33,9 +41,12 @@ import static org.zalando.riptide.Bindings.on;
 import static org.zalando.riptide.Navigators.reasonPhrase;
 import static org.zalando.riptide.Navigators.series;
 import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode.STREAMING;
 import static org.zalando.riptide.stream.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.stream.MockWebServerUtil.getRecordedRequest;
 import static org.zalando.riptide.stream.MockWebServerUtil.jsonMockResponseFromResource;
 import static org.zalando.riptide.stream.MockWebServerUtil.verify;
+import static org.zalando.riptide.stream.Streams.APPLICATION_X_JSON_STREAM;
 import static org.zalando.riptide.stream.Streams.streamConverter;
 import static org.zalando.riptide.stream.Streams.streamOf;
 
@@ -114,4 +125,33 @@ final class StreamIOTest {
 
     }
 
+    @Test
+    void shouldStreamRequestBody() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(OK.value()));
+
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            final Http http = Http.builder()
+                    .executor(executor)
+                    .requestFactory(new ApacheClientHttpRequestFactory(client, STREAMING))
+                    .baseUrl(getBaseUrl(server))
+                    .converter(streamConverter())
+                    .build();
+
+            http.post("/users")
+                    .contentType(APPLICATION_X_JSON_STREAM)
+                    .body(IntStream.range(0, 1000).mapToObj(i -> singletonMap("login", "user-" + i)))
+                    .call(pass())
+                    .join();
+        }
+
+        final RecordedRequest request = getRecordedRequest(server);
+
+        assertThat(request.getHeader("Transfer-Encoding"), is("chunked"));
+        assertThat(request.getHeader("Content-Type"), is(APPLICATION_X_JSON_STREAM.toString()));
+
+        final List<String> lines = request.getBody().readUtf8().lines().toList();
+        assertThat(lines, hasSize(1000));
+        assertThat(lines.get(999), is("{\"login\":\"user-999\"}"));
+    }
+
 }
@@ -0,0 +1,331 @@
+package org.zalando.riptide.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.web.client.MockRestServiceServer;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.stream.Streams.APPLICATION_X_JSON_STREAM;
+import static org.zalando.riptide.stream.Streams.publisherConverter;
+import static org.zalando.riptide.stream.Streams.publisherOf;
+import static org.zalando.riptide.stream.Streams.streamConverter;
+
+final class StreamPublisherTest {
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final StreamPublisher<Integer> unit = new StreamPublisher<>(
+            IntStream.range(0, 5).boxed()
+                    .peek(element -> pulled.incrementAndGet())
+                    .onClose(() -> closed.set(true)));
+
+    @Test
+    void shouldDecodeOnDemand() {
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+
+        assertThat(pulled.get(), is(0));
+
+        subscriber.request(1);
+        assertThat(subscriber.elements, contains(0));
+        assertThat(pulled.get(), is(1));
+
+        subscriber.request(2);
+        assertThat(subscriber.elements, contains(0, 1, 2));
+        assertThat(pulled.get(), is(3));
+        assertThat(subscriber.completed, is(false));
+        assertThat(closed.get(), is(false));
+
+        subscriber.request(10);
+        assertThat(subscriber.elements, contains(0, 1, 2, 3, 4));
+        assertThat(subscriber.completed, is(true));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldSupportUnboundedDemand() {
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.elements, contains(0, 1, 2, 3, 4));
+        assertThat(subscriber.completed, is(true));
+    }
+
+    @Test
+    void shouldNotRecurseWhenRequestingFromOnNext() {
+        final int size = 100_000;
+        final StreamPublisher<Integer> unit = new StreamPublisher<>(IntStream.range(0, size).boxed());
+
+        final Recorder<Integer> subscriber = new Recorder<>(recorder -> recorder.request(1));
+        unit.subscribe(subscriber);
+        subscriber.request(1);
+
+        assertThat(subscriber.elements, hasSize(size));
+        assertThat(subscriber.completed, is(true));
+    }
+
+    @Test
+    void shouldReleaseOnCancel() {
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+
+        subscriber.request(1);
+        subscriber.cancel();
+        subscriber.request(1);
+
+        assertThat(subscriber.elements, contains(0));
+        assertThat(subscriber.completed, is(false));
+        assertThat(subscriber.error, is(nullValue()));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldReleaseOnCancelFromOnNext() {
+        final Recorder<Integer> subscriber = new Recorder<>(Recorder::cancel);
+        unit.subscribe(subscriber);
+
+        subscriber.request(3);
+
+        assertThat(subscriber.elements, contains(0));
+        assertThat(pulled.get(), is(1));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldReleaseOnCancelWhileWaitingForNextElement() throws Exception {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+
+        // just like an idle stream, which only returns once the connection is closed
+        final Spliterator<Integer> idle = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, 0) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super Integer> action) {
+                reading.countDown();
+
+                try {
+                    released.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                throw new UncheckedIOException(new IOException("Socket closed"));
+            }
+        };
+
+        final StreamPublisher<Integer> unit = new StreamPublisher<>(
+                StreamSupport.stream(idle, false).onClose(released::countDown));
+
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+
+        final CompletableFuture<Void> request = CompletableFuture.runAsync(() -> subscriber.request(1));
+        assertTrue(reading.await(5, SECONDS));
+
+        subscriber.cancel();
+
+        request.get(5, SECONDS);
+        assertThat(subscriber.elements, is(empty()));
+        assertThat(subscriber.completed, is(false));
+        assertThat(subscriber.error, is(nullValue()));
+    }
+
+    @Test
+    void shouldRejectNonPositiveDemand() {
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+
+        subscriber.request(0);
+
+        assertThat(subscriber.elements, is(empty()));
+        assertThat(subscriber.error, is(instanceOf(IllegalArgumentException.class)));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldRejectSecondSubscriber() {
+        unit.subscribe(new Recorder<>());
+
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+
+        assertThat(subscriber.error, is(instanceOf(IllegalStateException.class)));
+        assertThat(closed.get(), is(false));
+    }
+
+    @Test
+    void shouldFailOnError() {
+        final StreamPublisher<Integer> unit = new StreamPublisher<>(Stream.of(1, 2, 3)
+                .peek(element -> {
+                    if (element == 2) {
+                        throw new UncheckedIOException(new IOException("Connection reset"));
+                    }
+                })
+                .onClose(() -> closed.set(true)));
+
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+        subscriber.request(3);
+
+        assertThat(subscriber.elements, contains(1));
+        assertThat(subscriber.error, is(instanceOf(UncheckedIOException.class)));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldFailOnNullElement() {
+        final StreamPublisher<Integer> unit = new StreamPublisher<>(Stream.of(1, null, 3));
+
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+        subscriber.request(3);
+
+        assertThat(subscriber.elements, contains(1));
+        assertThat(subscriber.error, is(instanceOf(NullPointerException.class)));
+    }
+
+    @Test
+    void shouldReleaseWhenClosedWithoutSubscriber() {
+        unit.close();
+
+        assertThat(pulled.get(), is(0));
+        assertThat(closed.get(), is(true));
+
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+        assertThat(subscriber.error, is(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    void shouldCancelWhenClosed() {
+        final Recorder<Integer> subscriber = new Recorder<>();
+        unit.subscribe(subscriber);
+        subscriber.request(1);
+
+        unit.close();
+        subscriber.request(1);
+
+        assertThat(subscriber.elements, contains(0));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldPublishResponse() {
+        final MockSetup setup = new MockSetup("https://api.example.com",
+                singletonList(publisherConverter(streamConverter(new JsonMapper()))));
+        final MockRestServiceServer server = setup.getServer();
+
+        server.expect(requestTo("https://api.example.com/accounts")).andRespond(withSuccess()
+                .body(new ClassPathResource("account-stream.json"))
+                .contentType(APPLICATION_X_JSON_STREAM));
+
+        final AtomicReference<Flow.Publisher<AccountBody>> publisher = new AtomicReference<>();
+
+        setup.getRest().get("/accounts")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(publisherOf(AccountBody.class), publisher::set))
+                .join();
+
+        final Recorder<AccountBody> subscriber = new Recorder<>();
+        publisher.get().subscribe(subscriber);
+
+        subscriber.request(2);
+        assertThat(subscriber.elements, contains(
+                new AccountBody("1234567890", "Acme Corporation"),
+                new AccountBody("1234567891", "Acme Company")));
+
+        subscriber.request(Long.MAX_VALUE);
+        assertThat(subscriber.elements, hasSize(4));
+        assertThat(subscriber.completed, is(true));
+    }
+
+    private static final class Recorder<T> implements Flow.Subscriber<T> {
+
+        private final List<T> elements = new ArrayList<>();
+        private final Consumer<Recorder<T>> onNext;
+
+        @Nullable
+        private Flow.Subscription subscription;
+
+        private boolean completed;
+
+        @Nullable
+        private Throwable error;
+
+        private Recorder() {
+            this(recorder -> {
+            });
+        }
+
+        private Recorder(final Consumer<Recorder<T>> onNext) {
+            this.onNext = onNext;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final T element) {
+            elements.add(element);
+            onNext.accept(this);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+
+        private void request(final long n) {
+            subscription.request(n);
+        }
+
+        private void cancel() {
+            subscription.cancel();
+        }
+
+    }
+
+}